@@ -0,0 +1,99 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.RepositoriBuku;
+import com.praktikum.testing.repository.RepositoriBukuCache;
+import com.praktikum.testing.repository.RepositoriBukuOffHeap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pembuat data katalog deterministik untuk benchmark.
+ * Buku ke-i selalu mendapat ISBN, judul, dan pengarang yang sama di setiap run.
+ */
+final class DataKatalog {
+
+    // Jumlah salinan besar agar pinjam/kembalikan paralel tidak kehabisan stok
+    static final int JUMLAH_SALINAN = 1_000;
+
+    private static final String[] KATA_JUDUL = {
+            "Pemrograman", "Java", "Algoritma", "Basis", "Data", "Jaringan", "Komputer",
+            "Sistem", "Operasi", "Struktur", "Dasar", "Lanjut", "Praktis", "Modern",
+            "Keamanan", "Informasi", "Rekayasa", "Perangkat", "Lunak", "Kecerdasan"
+    };
+
+    private static final String[] NAMA_PENGARANG = {
+            "Budi", "Siti", "Andi", "Dewi", "Rudi", "Ani", "Joko", "Rina", "Agus", "Tono"
+    };
+
+    private DataKatalog() {
+    }
+
+    static String isbn(int i) {
+        // 978 + 10 digit, selalu lolos ValidationUtils.isValidISBN
+        String angka = Long.toString(i);
+        return "978" + "0000000000".substring(angka.length()) + angka;
+    }
+
+    static Buku buku(int i) {
+        String judul = KATA_JUDUL[i % KATA_JUDUL.length] + " "
+                + KATA_JUDUL[(i / KATA_JUDUL.length) % KATA_JUDUL.length] + " Jilid " + i;
+        String pengarang = NAMA_PENGARANG[i % NAMA_PENGARANG.length] + " "
+                + NAMA_PENGARANG[(i / 7) % NAMA_PENGARANG.length];
+        return new Buku(isbn(i), judul, pengarang, JUMLAH_SALINAN, 100_000.0);
+    }
+
+    static MockRepositoryBuku repositori(int ukuran, boolean indeksTrigram) {
+        return isi(new MockRepositoryBuku(indeksTrigram), ukuran);
+    }
+
+    /**
+     * @param jenis "heap" untuk MockRepositoryBuku, "heapPrimitif" untuk MockRepositoryBuku
+     *              dengan kunci ISBN long, "offHeap" untuk RepositoriBukuOffHeap,
+     *              "offHeapCache" untuk RepositoriBukuOffHeap di balik RepositoriBukuCache
+     *              berkapasitas 10% katalog
+     */
+    static RepositoriBuku repositori(String jenis, int ukuran) {
+        switch (jenis) {
+            case "heap":
+                return isi(new MockRepositoryBuku(), ukuran);
+            case "heapPrimitif":
+                return isi(new MockRepositoryBuku(false, true), ukuran);
+            case "offHeap":
+                return isi(new RepositoriBukuOffHeap(ukuran), ukuran);
+            case "offHeapCache":
+                return new RepositoriBukuCache(isi(new RepositoriBukuOffHeap(ukuran), ukuran),
+                        Math.max(1, ukuran / 10));
+            default:
+                throw new IllegalArgumentException("Jenis repositori tidak dikenal: " + jenis);
+        }
+    }
+
+    private static <R extends RepositoriBuku> R isi(R repositori, int ukuran) {
+        List<Buku> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < ukuran; i++) {
+            batch.add(buku(i));
+            if (batch.size() == 10_000) {
+                repositori.simpanBatch(batch);
+                batch.clear();
+            }
+        }
+        repositori.simpanBatch(batch);
+        return repositori;
+    }
+
+    static String[] daftarIsbn(int ukuran) {
+        String[] hasil = new String[ukuran];
+        for (int i = 0; i < ukuran; i++) {
+            hasil[i] = isbn(i);
+        }
+        return hasil;
+    }
+
+    static Anggota anggota(String id, Anggota.TipeAnggota tipe) {
+        return new Anggota(id, "Anggota " + id, "anggota" + id + "@univ.ac.id", "081234567890", tipe);
+    }
+}
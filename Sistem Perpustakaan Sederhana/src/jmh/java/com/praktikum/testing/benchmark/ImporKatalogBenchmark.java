@@ -0,0 +1,85 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.impor.HasilImpor;
+import com.praktikum.testing.impor.ImporKatalog;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membandingkan ImporKatalog dengan cara lama: parse per baris lalu tambahBuku satu per satu.
+ * Kedua cara membaca CSV yang sama dari memori ke repositori kosong.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImporKatalogBenchmark {
+
+    @Param({"100000"})
+    public int jumlahBaris;
+
+    private String csv;
+    private MockRepositoryBuku repositori;
+
+    @Setup
+    public void siapkanCsv() {
+        StringBuilder isi = new StringBuilder("isbn,judul,pengarang,jumlahTotal,harga\n");
+        for (int i = 0; i < jumlahBaris; i++) {
+            Buku buku = DataKatalog.buku(i);
+            isi.append(buku.getIsbn()).append(',').append(buku.getJudul()).append(',')
+                    .append(buku.getPengarang()).append(',').append(buku.getJumlahTotal()).append(',')
+                    .append(buku.getHarga()).append('\n');
+        }
+        csv = isi.toString();
+    }
+
+    @Setup(Level.Invocation)
+    public void kosongkanRepositori() {
+        repositori = new MockRepositoryBuku();
+    }
+
+    @Benchmark
+    public int tambahBukuPerBaris() throws IOException {
+        ServicePerpustakaan service = new ServicePerpustakaan(repositori, new KalkulatorDenda());
+        BufferedReader pembaca = new BufferedReader(new StringReader(csv));
+        pembaca.readLine(); // Header
+        int berhasil = 0;
+        String baris;
+        while ((baris = pembaca.readLine()) != null) {
+            String[] kolom = baris.split(",");
+            Buku buku = new Buku(kolom[0], kolom[1], kolom[2], Integer.parseInt(kolom[3]),
+                    Double.parseDouble(kolom[4]));
+            if (service.tambahBuku(buku)) {
+                berhasil++;
+            }
+        }
+        return berhasil;
+    }
+
+    @Benchmark
+    public long imporKatalog() throws IOException {
+        HasilImpor hasil = new ImporKatalog(repositori).impor(new StringReader(csv));
+        return hasil.getJumlahBerhasil();
+    }
+}
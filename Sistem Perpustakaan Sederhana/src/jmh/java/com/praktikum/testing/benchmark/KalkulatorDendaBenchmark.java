@@ -0,0 +1,89 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.RingkasanDenda;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perhitungan denda untuk satu peminjaman dan untuk seluruh peminjaman sekaligus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KalkulatorDendaBenchmark {
+
+    private static final int JUMLAH_ANGGOTA = 1_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int jumlahPeminjaman;
+
+    private final KalkulatorDenda kalkulatorDenda = new KalkulatorDenda();
+    private final LocalDate perTanggal = LocalDate.of(2025, 1, 31);
+
+    private List<Peminjaman> daftarPeminjaman;
+    private Map<String, Anggota> anggotaById;
+    private Peminjaman peminjamanTerlambat;
+    private Anggota anggota;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        Anggota.TipeAnggota[] daftarTipe = Anggota.TipeAnggota.values();
+        anggotaById = new HashMap<>();
+        for (int i = 0; i < JUMLAH_ANGGOTA; i++) {
+            String id = "A" + i;
+            anggotaById.put(id, DataKatalog.anggota(id, daftarTipe[i % daftarTipe.length]));
+        }
+
+        // Jatuh tempo tersebar 60 hari di sekitar perTanggal, kira-kira separuh terlambat
+        LocalDate awal = perTanggal.minusDays(30);
+        daftarPeminjaman = new ArrayList<>(jumlahPeminjaman);
+        for (int i = 0; i < jumlahPeminjaman; i++) {
+            LocalDate jatuhTempo = awal.plusDays(i % 60);
+            daftarPeminjaman.add(new Peminjaman("P" + i, "A" + (i % JUMLAH_ANGGOTA),
+                    DataKatalog.isbn(i), jatuhTempo.minusDays(14), jatuhTempo));
+        }
+
+        peminjamanTerlambat = new Peminjaman("P-1", "A0", DataKatalog.isbn(0),
+                LocalDate.now().minusDays(20), LocalDate.now().minusDays(6));
+        anggota = anggotaById.get("A0");
+    }
+
+    @Benchmark
+    public double hitungDenda() {
+        return kalkulatorDenda.hitungDenda(peminjamanTerlambat, anggota);
+    }
+
+    @Benchmark
+    public double hitungDendaPerTanggal() {
+        return kalkulatorDenda.hitungDenda(peminjamanTerlambat, anggota, perTanggal);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RingkasanDenda hitungDendaMassal() {
+        return kalkulatorDenda.hitungDendaMassal(daftarPeminjaman, anggotaById::get, perTanggal);
+    }
+}
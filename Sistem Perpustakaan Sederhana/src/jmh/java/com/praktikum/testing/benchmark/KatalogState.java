@@ -0,0 +1,39 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.repository.RepositoriBuku;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Katalog bersama untuk benchmark repository dan service.
+ *
+ * Ukuran 1e7 tidak masuk daftar default karena butuh heap besar, jalankan dengan
+ * -Djmh.opsi="-p ukuranKatalog=10000000 -jvmArgsAppend -Xmx24g".
+ */
+@State(Scope.Benchmark)
+public class KatalogState {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int ukuranKatalog;
+
+    @Param({"heap", "heapPrimitif", "offHeap", "offHeapCache"})
+    public String jenisRepositori;
+
+    RepositoriBuku repositori;
+    String[] daftarIsbn;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        repositori = DataKatalog.repositori(jenisRepositori, ukuranKatalog);
+        daftarIsbn = DataKatalog.daftarIsbn(ukuranKatalog);
+    }
+
+    String isbnAcak() {
+        return daftarIsbn[ThreadLocalRandom.current().nextInt(daftarIsbn.length)];
+    }
+}
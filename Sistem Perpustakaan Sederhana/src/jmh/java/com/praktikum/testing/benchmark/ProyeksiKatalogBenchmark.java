@@ -0,0 +1,66 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.peristiwa.LogPeristiwa;
+import com.praktikum.testing.peristiwa.ProyeksiKatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membangun ulang ProyeksiKatalog dari log berisi katalog dan campuran peminjaman/pengembalian,
+ * dengan jumlah thread berbeda. Bandingkan dengan penerapan inkremental satu per satu.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProyeksiKatalogBenchmark {
+
+    @Param({"1", "4"})
+    public int jumlahThread;
+
+    private LogPeristiwa log;
+
+    @Setup
+    public void siapkanLog() {
+        int jumlahBuku = 100_000;
+        int jumlahAnggota = 20_000;
+        log = new LogPeristiwa();
+        for (int i = 0; i < jumlahBuku; i++) {
+            log.catatBukuDitambah(DataKatalog.buku(i));
+        }
+        // Setiap peminjaman diikuti pengembaliannya agar stok tidak habis
+        SplittableRandom acak = new SplittableRandom(42);
+        for (int i = 0; i < 500_000; i++) {
+            String isbn = DataKatalog.isbn(acak.nextInt(jumlahBuku));
+            String idAnggota = "A" + acak.nextInt(jumlahAnggota);
+            log.catatPinjam(isbn, idAnggota);
+            log.catatKembali(isbn, idAnggota);
+        }
+    }
+
+    @Benchmark
+    public ProyeksiKatalog bangunUlang() {
+        return ProyeksiKatalog.bangunUlang(log, ProyeksiKatalog.JUMLAH_PARTISI_DEFAULT, jumlahThread);
+    }
+
+    @Benchmark
+    public ProyeksiKatalog terapkanSatuPerSatu() {
+        ProyeksiKatalog proyeksi = new ProyeksiKatalog();
+        log.untukSetiap(0, log.ukuran(), proyeksi::terapkan);
+        return proyeksi;
+    }
+}
@@ -0,0 +1,83 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jalur baca MockRepositoryBuku pada berbagai ukuran katalog.
+ * Pencarian judul diukur dengan dan tanpa indeks trigram.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoriBukuBenchmark {
+
+    // Indeks trigram memakan banyak memori, jadi hanya dibangun untuk benchmark pencarian teks
+    @State(Scope.Benchmark)
+    public static class PencarianState {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int ukuranKatalog;
+
+        @Param({"false", "true"})
+        public boolean indeksTrigram;
+
+        MockRepositoryBuku repositori;
+
+        @Setup(Level.Trial)
+        public void siapkan() {
+            repositori = DataKatalog.repositori(ukuranKatalog, indeksTrigram);
+        }
+    }
+
+    @Benchmark
+    public Optional<Buku> cariByIsbn(KatalogState katalog) {
+        return katalog.repositori.cariByIsbn(katalog.isbnAcak());
+    }
+
+    @Benchmark
+    public boolean updateJumlahTersedia(KatalogState katalog) {
+        return katalog.repositori.updateJumlahTersedia(katalog.isbnAcak(), DataKatalog.JUMLAH_SALINAN);
+    }
+
+    @Benchmark
+    public boolean hapusDanSimpan(KatalogState katalog) {
+        // Buku dikembalikan lagi agar ukuran katalog tetap selama pengukuran
+        String isbn = katalog.isbnAcak();
+        Optional<Buku> buku = katalog.repositori.cariByIsbn(isbn);
+        return buku.isPresent() && katalog.repositori.hapus(isbn) && katalog.repositori.simpan(buku.get());
+    }
+
+    @Benchmark
+    public List<Buku> cariByJudul(PencarianState pencarian) {
+        // Kombinasi kata yang muncul pada sekitar 1/400 katalog
+        return pencarian.repositori.cariByJudul("kecerdasan lanjut");
+    }
+
+    @Benchmark
+    public List<Buku> cariSemuaHalaman(KatalogState katalog) {
+        return katalog.repositori.cariSemua(katalog.isbnAcak(), 50);
+    }
+
+    @Benchmark
+    public List<Buku> cariSemua(KatalogState katalog) {
+        return katalog.repositori.cariSemua();
+    }
+}
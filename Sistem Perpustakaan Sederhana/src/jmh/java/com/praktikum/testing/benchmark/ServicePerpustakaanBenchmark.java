@@ -0,0 +1,70 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.instrumentasi.Instrumentasi;
+import com.praktikum.testing.instrumentasi.RegistriMetrik;
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Siklus pinjamBuku + kembalikanBuku. Jumlah thread diatur lewat -Djmh.threads,
+ * setiap thread memakai anggota sendiri sehingga yang diperebutkan hanya stok buku.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServicePerpustakaanBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+        // true untuk mengukur overhead decorator instrumentasi (service dan repository)
+        @Param({"false", "true"})
+        public boolean instrumentasi;
+
+        ServicePerpustakaan service;
+
+        @Setup(Level.Trial)
+        public void siapkan(KatalogState katalog) {
+            RegistriMetrik registri = instrumentasi ? new RegistriMetrik() : null;
+            service = Instrumentasi.service(Instrumentasi.repositori(katalog.repositori, registri),
+                    new KalkulatorDenda(), false, registri);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AnggotaState {
+        private static final AtomicInteger PENOMORAN = new AtomicInteger();
+
+        Anggota anggota;
+
+        @Setup(Level.Trial)
+        public void siapkan() {
+            anggota = DataKatalog.anggota("A" + PENOMORAN.incrementAndGet(), Anggota.TipeAnggota.MAHASISWA);
+        }
+    }
+
+    @Benchmark
+    public boolean pinjamDanKembalikan(KatalogState katalog, ServiceState state, AnggotaState peminjam) {
+        String isbn = katalog.isbnAcak();
+        return state.service.pinjamBuku(isbn, peminjam.anggota)
+                & state.service.kembalikanBuku(isbn, peminjam.anggota);
+    }
+
+}
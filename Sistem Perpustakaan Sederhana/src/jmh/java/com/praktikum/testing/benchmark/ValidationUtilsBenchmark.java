@@ -0,0 +1,100 @@
+package com.praktikum.testing.benchmark;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membandingkan validator manual di ValidationUtils dengan versi regex lama.
+ * Jalankan dengan -prof gc untuk melihat alokasi per operasi.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationUtilsBenchmark {
+
+    // Input valid berjalan sampai karakter terakhir, input tidak valid berhenti lebih awal
+    @Param({"valid", "tidakValid"})
+    public String kasus;
+
+    private String email;
+    private String telepon;
+    private String isbn;
+    private Buku buku;
+    private Anggota anggota;
+
+    @Setup
+    public void siapkan() {
+        boolean valid = kasus.equals("valid");
+        email = valid ? "mahasiswa@univ.ac.id" : "email-tanpa-at.com";
+        telepon = valid ? "+62812-3456-7890" : "07123456789";
+        isbn = valid ? "978-0-306-40615-7" : "ABCDEFGHIJ";
+        buku = new Buku(isbn, "Pemrograman Java", "John Doe", 5, 150000.0);
+        anggota = new Anggota("A001", "John Doe", email, telepon, Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    @Benchmark
+    public boolean emailManual() {
+        return ValidationUtils.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return !email.trim().isEmpty()
+                && email.matches("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$");
+    }
+
+    @Benchmark
+    public boolean teleponManual() {
+        return ValidationUtils.isValidNomorTelepon(telepon);
+    }
+
+    @Benchmark
+    public boolean teleponRegex() {
+        return !telepon.trim().isEmpty()
+                && telepon.replaceAll("[\\s\\-]+", "").matches("^(08|\\+628)\\d{8,11}$");
+    }
+
+    @Benchmark
+    public boolean isbnManual() {
+        return ValidationUtils.isValidISBN(isbn);
+    }
+
+    @Benchmark
+    public boolean isbnRegex() {
+        String bersih = isbn.replaceAll("[\\s\\-]+", "");
+        return !isbn.trim().isEmpty() && (bersih.matches("^\\d{10}$") || bersih.matches("^\\d{13}$"));
+    }
+
+    @Benchmark
+    public boolean isbnChecksum() {
+        return ValidationUtils.isValidISBNChecksum(isbn);
+    }
+
+    // Validasi lengkap seperti pada tambahBuku dan pinjamBuku
+    @Benchmark
+    public boolean buku() {
+        return ValidationUtils.isValidBuku(buku);
+    }
+
+    @Benchmark
+    public boolean anggota() {
+        return ValidationUtils.isValidAnggota(anggota);
+    }
+}
@@ -0,0 +1,117 @@
+package com.praktikum.testing.http;
+
+import com.praktikum.testing.instrumentasi.SnapshotOperasi;
+import com.praktikum.testing.model.Buku;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Penulis JSON minimal untuk respons ServerPerpustakaan, agar tidak perlu library tambahan.
+ */
+class PenulisJson {
+
+    private PenulisJson() {
+    }
+
+    static String buku(Buku buku) {
+        StringBuilder sb = new StringBuilder(160);
+        tulisBuku(sb, buku);
+        return sb.toString();
+    }
+
+    static String daftarBuku(List<Buku> daftar) {
+        StringBuilder sb = new StringBuilder(32 + daftar.size() * 160);
+        sb.append('[');
+        for (int i = 0; i < daftar.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            tulisBuku(sb, daftar.get(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    static String hasil(boolean berhasil) {
+        return "{\"berhasil\":" + berhasil + "}";
+    }
+
+    static String galat(String pesan) {
+        StringBuilder sb = new StringBuilder("{\"galat\":");
+        teks(sb, pesan);
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Snapshot metrik per operasi; latensi dalam nanodetik.
+     */
+    static String metrik(Map<String, SnapshotOperasi> snapshot) {
+        StringBuilder sb = new StringBuilder(64 + snapshot.size() * 192);
+        sb.append('{');
+        for (SnapshotOperasi operasi : snapshot.values()) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            teks(sb, operasi.getNama());
+            sb.append(":{\"jumlah\":").append(operasi.getJumlah());
+            sb.append(",\"gagal\":").append(operasi.getJumlahGagal());
+            sb.append(",\"galat\":").append(operasi.getJumlahGalat());
+            sb.append(",\"rataRataNanos\":").append(Math.round(operasi.getRataRataNanos()));
+            sb.append(",\"p50Nanos\":").append(operasi.getPersentilNanos(50));
+            sb.append(",\"p90Nanos\":").append(operasi.getPersentilNanos(90));
+            sb.append(",\"p99Nanos\":").append(operasi.getPersentilNanos(99));
+            sb.append(",\"maksNanos\":").append(operasi.getMaksNanos());
+            sb.append('}');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static void tulisBuku(StringBuilder sb, Buku buku) {
+        sb.append("{\"isbn\":");
+        teks(sb, buku.getIsbn());
+        sb.append(",\"judul\":");
+        teks(sb, buku.getJudul());
+        sb.append(",\"pengarang\":");
+        teks(sb, buku.getPengarang());
+        sb.append(",\"jumlahTotal\":").append(buku.getJumlahTotal());
+        sb.append(",\"jumlahTersedia\":").append(buku.getJumlahTersedia());
+        sb.append(",\"harga\":").append(buku.getHarga());
+        sb.append('}');
+    }
+
+    static void teks(StringBuilder sb, String nilai) {
+        if (nilai == null) {
+            sb.append("null");
+            return;
+        }
+
+        sb.append('"');
+        for (int i = 0; i < nilai.length(); i++) {
+            char c = nilai.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
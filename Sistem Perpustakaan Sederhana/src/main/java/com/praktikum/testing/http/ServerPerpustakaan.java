@@ -0,0 +1,288 @@
+package com.praktikum.testing.http;
+
+import com.praktikum.testing.instrumentasi.RegistriMetrik;
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.RepositoriPeminjaman;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Endpoint HTTP/JSON ringan di atas ServicePerpustakaan, memakai com.sun.net.httpserver
+ * dengan satu virtual thread per request. Request yang menunggu I/O tidak memakan
+ * platform thread, sehingga satu node bisa melayani puluhan ribu koneksi sekaligus.
+ *
+ * Karena request diproses paralel, gunakan ServicePerpustakaan dalam mode thread-safe.
+ *
+ * Endpoint:
+ * <pre>
+ * GET  /buku/{isbn}
+ * GET  /buku?judul=...  atau  /buku?pengarang=...
+ * POST /pinjam?isbn=...&amp;idAnggota=...
+ * POST /kembalikan?isbn=...&amp;idAnggota=...
+ * GET  /denda?idAnggota=...[&amp;perTanggal=yyyy-MM-dd]
+ * GET  /metrik  (hanya jika dibuat dengan RegistriMetrik)
+ * </pre>
+ */
+public class ServerPerpustakaan implements Closeable {
+
+    // Antrian koneksi yang belum di-accept, dibuat besar agar lonjakan klien tidak ditolak
+    private static final int BACKLOG = 4096;
+
+    private final ServicePerpustakaan servicePerpustakaan;
+    private final KalkulatorDenda kalkulatorDenda;
+    private final RepositoriPeminjaman repositoriPeminjaman;
+    private final Function<String, Anggota> cariAnggota;
+    private final RegistriMetrik registriMetrik;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param cariAnggota pencarian anggota berdasarkan idAnggota, mengembalikan null jika tidak ada
+     */
+    public ServerPerpustakaan(ServicePerpustakaan servicePerpustakaan, KalkulatorDenda kalkulatorDenda,
+                              RepositoriPeminjaman repositoriPeminjaman, Function<String, Anggota> cariAnggota) {
+        this(servicePerpustakaan, kalkulatorDenda, repositoriPeminjaman, cariAnggota, null);
+    }
+
+    /**
+     * @param registriMetrik sumber snapshot untuk GET /metrik, atau null untuk tidak membuka endpoint itu
+     */
+    public ServerPerpustakaan(ServicePerpustakaan servicePerpustakaan, KalkulatorDenda kalkulatorDenda,
+                              RepositoriPeminjaman repositoriPeminjaman, Function<String, Anggota> cariAnggota,
+                              RegistriMetrik registriMetrik) {
+        this.servicePerpustakaan = servicePerpustakaan;
+        this.kalkulatorDenda = kalkulatorDenda;
+        this.repositoriPeminjaman = repositoriPeminjaman;
+        this.cariAnggota = cariAnggota;
+        this.registriMetrik = registriMetrik;
+    }
+
+    /**
+     * Mulai mendengarkan di port tertentu. Gunakan port 0 untuk port acak (lihat getPort()).
+     */
+    public synchronized void mulai(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Server sudah berjalan");
+        }
+
+        server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/buku", aman(this::tanganiBuku));
+        server.createContext("/pinjam", aman(exchange -> tanganiPinjamKembalikan(exchange, true)));
+        server.createContext("/kembalikan", aman(exchange -> tanganiPinjamKembalikan(exchange, false)));
+        server.createContext("/denda", aman(this::tanganiDenda));
+        if (registriMetrik != null) {
+            server.createContext("/metrik", aman(this::tanganiMetrik));
+        }
+        server.start();
+    }
+
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("Server belum berjalan");
+        }
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.close(); // Menunggu request yang sedang berjalan selesai
+            server = null;
+            executor = null;
+        }
+    }
+
+    private void tanganiBuku(HttpExchange exchange) throws IOException {
+        if (!metodeSesuai(exchange, "GET")) {
+            return;
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        if (path.startsWith("/buku/") && path.length() > "/buku/".length()) {
+            Optional<Buku> buku = servicePerpustakaan.cariBukuByIsbn(path.substring("/buku/".length()));
+            if (buku.isPresent()) {
+                kirim(exchange, 200, PenulisJson.buku(buku.get()));
+            } else {
+                kirim(exchange, 404, PenulisJson.galat("Buku tidak ditemukan"));
+            }
+            return;
+        }
+
+        Map<String, String> query = parseQuery(exchange);
+        if (query.containsKey("judul")) {
+            kirim(exchange, 200, PenulisJson.daftarBuku(servicePerpustakaan.cariBukuByJudul(query.get("judul"))));
+        } else if (query.containsKey("pengarang")) {
+            kirim(exchange, 200,
+                    PenulisJson.daftarBuku(servicePerpustakaan.cariBukuByPengarang(query.get("pengarang"))));
+        } else {
+            kirim(exchange, 400, PenulisJson.galat("Parameter judul atau pengarang wajib diisi"));
+        }
+    }
+
+    private void tanganiPinjamKembalikan(HttpExchange exchange, boolean pinjam) throws IOException {
+        if (!metodeSesuai(exchange, "POST")) {
+            return;
+        }
+
+        Map<String, String> query = parseQuery(exchange);
+        String isbn = query.get("isbn");
+        String idAnggota = query.get("idAnggota");
+        if (isbn == null || idAnggota == null) {
+            kirim(exchange, 400, PenulisJson.galat("Parameter isbn dan idAnggota wajib diisi"));
+            return;
+        }
+
+        Anggota anggota = cariAnggota.apply(idAnggota);
+        if (anggota == null) {
+            kirim(exchange, 404, PenulisJson.galat("Anggota tidak ditemukan"));
+            return;
+        }
+
+        boolean berhasil = pinjam
+                ? servicePerpustakaan.pinjamBuku(isbn, anggota)
+                : servicePerpustakaan.kembalikanBuku(isbn, anggota);
+        // 409: permintaan valid tapi ditolak karena kondisi saat ini (stok habis, batas pinjam, dll)
+        kirim(exchange, berhasil ? 200 : 409, PenulisJson.hasil(berhasil));
+    }
+
+    private void tanganiDenda(HttpExchange exchange) throws IOException {
+        if (!metodeSesuai(exchange, "GET")) {
+            return;
+        }
+
+        Map<String, String> query = parseQuery(exchange);
+        String idAnggota = query.get("idAnggota");
+        if (idAnggota == null) {
+            kirim(exchange, 400, PenulisJson.galat("Parameter idAnggota wajib diisi"));
+            return;
+        }
+
+        LocalDate perTanggal;
+        try {
+            perTanggal = query.containsKey("perTanggal") ? LocalDate.parse(query.get("perTanggal"))
+                    : LocalDate.now(kalkulatorDenda.getJam());
+        } catch (DateTimeParseException e) {
+            kirim(exchange, 400, PenulisJson.galat("Format perTanggal harus yyyy-MM-dd"));
+            return;
+        }
+
+        Anggota anggota = cariAnggota.apply(idAnggota);
+        if (anggota == null) {
+            kirim(exchange, 404, PenulisJson.galat("Anggota tidak ditemukan"));
+            return;
+        }
+
+        StringBuilder rincian = new StringBuilder("[");
+        double total = 0;
+        for (Peminjaman peminjaman : repositoriPeminjaman.cariByAnggota(idAnggota)) {
+            double denda = kalkulatorDenda.hitungDenda(peminjaman, anggota, perTanggal);
+            if (denda <= 0) {
+                continue;
+            }
+            if (rincian.length() > 1) {
+                rincian.append(',');
+            }
+            rincian.append("{\"idPeminjaman\":");
+            PenulisJson.teks(rincian, peminjaman.getIdPeminjaman());
+            rincian.append(",\"isbn\":");
+            PenulisJson.teks(rincian, peminjaman.getIsbnBuku());
+            rincian.append(",\"denda\":").append(denda).append('}');
+            total += denda;
+        }
+        rincian.append(']');
+
+        StringBuilder sb = new StringBuilder("{\"idAnggota\":");
+        PenulisJson.teks(sb, idAnggota);
+        sb.append(",\"totalDenda\":").append(total);
+        sb.append(",\"rincian\":").append(rincian).append('}');
+        kirim(exchange, 200, sb.toString());
+    }
+
+    private void tanganiMetrik(HttpExchange exchange) throws IOException {
+        if (metodeSesuai(exchange, "GET")) {
+            kirim(exchange, 200, PenulisJson.metrik(registriMetrik.snapshot()));
+        }
+    }
+
+    private boolean metodeSesuai(HttpExchange exchange, String metode) throws IOException {
+        if (metode.equals(exchange.getRequestMethod())) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", metode);
+        kirim(exchange, 405, PenulisJson.galat("Metode tidak didukung"));
+        return false;
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> hasil = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return hasil;
+        }
+
+        for (String pasangan : query.split("&")) {
+            int posisi = pasangan.indexOf('=');
+            String nama = posisi < 0 ? pasangan : pasangan.substring(0, posisi);
+            String nilai = posisi < 0 ? "" : pasangan.substring(posisi + 1);
+            hasil.putIfAbsent(URLDecoder.decode(nama, StandardCharsets.UTF_8),
+                    URLDecoder.decode(nilai, StandardCharsets.UTF_8));
+        }
+        return hasil;
+    }
+
+    private static void kirim(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] isi = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, isi.length);
+        try (OutputStream keluar = exchange.getResponseBody()) {
+            keluar.write(isi);
+        }
+    }
+
+    // Exception di handler diubah menjadi respons JSON, bukan koneksi yang diputus.
+    // Jika header respons sudah terkirim (getResponseCode() bukan -1), status tidak bisa
+    // diganti lagi; exchange cukup ditutup sehingga klien melihat respons terpotong.
+    private static HttpHandler aman(HttpHandler handler) {
+        return exchange -> {
+            try {
+                handler.handle(exchange);
+            } catch (IllegalArgumentException e) {
+                kirimGalat(exchange, 400, "Permintaan tidak valid");
+            } catch (RuntimeException e) {
+                kirimGalat(exchange, 500, "Terjadi kesalahan di server");
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private static void kirimGalat(HttpExchange exchange, int status, String pesan) throws IOException {
+        if (exchange.getResponseCode() == -1) {
+            kirim(exchange, status, PenulisJson.galat(pesan));
+        }
+    }
+}
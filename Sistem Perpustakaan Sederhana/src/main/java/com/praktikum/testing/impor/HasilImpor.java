@@ -0,0 +1,78 @@
+package com.praktikum.testing.impor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Statistik satu kali impor katalog beserta laporan baris yang ditolak.
+ */
+public class HasilImpor {
+
+    private final long jumlahBaris;
+    private final long jumlahBerhasil;
+    private final long[] jumlahPerAlasan;
+    private final long jumlahBatch;
+    private final long durasiNanos;
+    private final List<PenolakanBaris> penolakan;
+
+    HasilImpor(long jumlahBaris, long jumlahBerhasil, long[] jumlahPerAlasan, long jumlahBatch,
+               long durasiNanos, List<PenolakanBaris> penolakan) {
+        this.jumlahBaris = jumlahBaris;
+        this.jumlahBerhasil = jumlahBerhasil;
+        this.jumlahPerAlasan = jumlahPerAlasan.clone();
+        this.jumlahBatch = jumlahBatch;
+        this.durasiNanos = durasiNanos;
+        this.penolakan = Collections.unmodifiableList(penolakan);
+    }
+
+    /**
+     * @return jumlah baris data yang dibaca, tanpa header
+     */
+    public long getJumlahBaris() {
+        return jumlahBaris;
+    }
+
+    public long getJumlahBerhasil() {
+        return jumlahBerhasil;
+    }
+
+    public long getJumlahDitolak() {
+        long total = 0;
+        for (long jumlah : jumlahPerAlasan) {
+            total += jumlah;
+        }
+        return total;
+    }
+
+    public long getJumlahDitolak(PenolakanBaris.Alasan alasan) {
+        return jumlahPerAlasan[alasan.ordinal()];
+    }
+
+    /**
+     * @return jumlah panggilan simpanBatch ke repositori
+     */
+    public long getJumlahBatch() {
+        return jumlahBatch;
+    }
+
+    public long getDurasiNanos() {
+        return durasiNanos;
+    }
+
+    public double getBarisPerDetik() {
+        return durasiNanos == 0 ? 0.0 : jumlahBaris * 1_000_000_000.0 / durasiNanos;
+    }
+
+    /**
+     * @return baris yang ditolak urut nomor baris; kosong jika penolakan dikirim ke pelapor sendiri
+     */
+    public List<PenolakanBaris> getPenolakan() {
+        return penolakan;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Impor %d baris: %d berhasil, %d ditolak, %d batch, %.0f baris/detik",
+                jumlahBaris, jumlahBerhasil, getJumlahDitolak(), jumlahBatch, getBarisPerDetik());
+    }
+}
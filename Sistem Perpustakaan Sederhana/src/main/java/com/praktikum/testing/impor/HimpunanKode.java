@@ -0,0 +1,70 @@
+package com.praktikum.testing.impor;
+
+import java.util.Arrays;
+
+/**
+ * Himpunan kode ISBN (long non-negatif) dengan open addressing di atas array primitif,
+ * agar cek duplikat untuk jutaan baris tidak membuat objek per baris.
+ * Tidak thread-safe.
+ */
+class HimpunanKode {
+
+    private static final long KOSONG = -1L;
+    private static final double FAKTOR_MUAT = 0.6;
+
+    private long[] kunci;
+    private int jumlah;
+    private int batasResize;
+
+    HimpunanKode(int kapasitasAwal) {
+        alokasi(Integer.highestOneBit(Math.max(16, (int) (kapasitasAwal / FAKTOR_MUAT)) - 1) << 1);
+    }
+
+    /**
+     * @return true jika kode belum ada sebelumnya
+     */
+    boolean tambah(long kode) {
+        if (jumlah >= batasResize) {
+            perbesar();
+        }
+
+        int mask = kunci.length - 1;
+        for (int i = slot(kode, mask); ; i = (i + 1) & mask) {
+            if (kunci[i] == kode) {
+                return false;
+            }
+            if (kunci[i] == KOSONG) {
+                kunci[i] = kode;
+                jumlah++;
+                return true;
+            }
+        }
+    }
+
+    int ukuran() {
+        return jumlah;
+    }
+
+    private void perbesar() {
+        long[] kunciLama = kunci;
+        alokasi(kunciLama.length * 2);
+        for (long kode : kunciLama) {
+            if (kode != KOSONG) {
+                tambah(kode);
+            }
+        }
+    }
+
+    private void alokasi(int kapasitas) {
+        kunci = new long[kapasitas];
+        Arrays.fill(kunci, KOSONG);
+        jumlah = 0;
+        batasResize = (int) (kapasitas * FAKTOR_MUAT);
+    }
+
+    // Fibonacci hashing, sama seperti IndeksIsbnPrimitif
+    private static int slot(long kode, int mask) {
+        long h = kode * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,362 @@
+package com.praktikum.testing.impor;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoriBuku;
+import com.praktikum.testing.util.KodeIsbn;
+import com.praktikum.testing.util.ValidationUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Impor katalog buku dari CSV dalam jumlah besar, sebagai pengganti tambahBuku per baris.
+ *
+ * Berkas dibaca streaming dan dipotong per ukuranBatch baris. Potongan divalidasi paralel
+ * di pool berukuran jumlah core, lalu ditulis berurutan oleh thread pemanggil: duplikat ISBN
+ * di dalam berkas dibuang (kemunculan pertama yang dipakai), ISBN yang sudah ada dicek dengan
+ * satu cariByIsbnBatch per potongan, dan sisanya disimpan dengan satu simpanBatch.
+ * Potongan yang sedang diproses dibatasi dua kali jumlah thread, sehingga memori tidak
+ * bergantung pada ukuran berkas (kecuali himpunan ISBN, 8 byte per ISBN unik).
+ *
+ * Baris pertama adalah header dan wajib memuat kolom isbn, judul, pengarang, jumlahTotal,
+ * dan harga (urutan bebas, huruf besar/kecil diabaikan). Spasi dan tanda hubung pada ISBN
+ * dibuang sebelum disimpan, agar "978-0-306-40615-7" dan "9780306406157" dianggap sama.
+ *
+ * Cek ISBN yang sudah ada tidak dikunci terhadap penulis lain; jangan menjalankan
+ * tambahBuku untuk katalog yang sama selama impor berlangsung.
+ */
+public class ImporKatalog {
+
+    public static final int UKURAN_BATCH_DEFAULT = 1_000;
+
+    private static final String[] KOLOM_WAJIB = {"isbn", "judul", "pengarang", "jumlahtotal", "harga"};
+    private static final int ISBN = 0;
+    private static final int JUDUL = 1;
+    private static final int PENGARANG = 2;
+    private static final int JUMLAH_TOTAL = 3;
+    private static final int HARGA = 4;
+
+    private final RepositoriBuku repositori;
+    private final int ukuranBatch;
+    private final int jumlahThread;
+
+    public ImporKatalog(RepositoriBuku repositori) {
+        this(repositori, UKURAN_BATCH_DEFAULT, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param ukuranBatch  jumlah baris per potongan validasi dan per simpanBatch
+     * @param jumlahThread jumlah thread validasi; validasi murni CPU, jadi cukup sebanyak core
+     */
+    public ImporKatalog(RepositoriBuku repositori, int ukuranBatch, int jumlahThread) {
+        if (repositori == null) {
+            throw new IllegalArgumentException("Repositori tidak boleh null");
+        }
+        if (ukuranBatch <= 0 || jumlahThread <= 0) {
+            throw new IllegalArgumentException("Ukuran batch dan jumlah thread harus lebih dari 0");
+        }
+        this.repositori = repositori;
+        this.ukuranBatch = ukuranBatch;
+        this.jumlahThread = jumlahThread;
+    }
+
+    /**
+     * Mengimpor seluruh isi sumber. Sumber tidak ditutup.
+     *
+     * @throws IOException jika pembacaan gagal, header tidak lengkap, atau format CSV rusak;
+     *                     buku dari potongan sebelum titik rusak sudah tersimpan
+     */
+    public HasilImpor impor(Reader sumber) throws IOException {
+        List<PenolakanBaris> penolakan = new ArrayList<>();
+        HasilImpor hasil = impor(sumber, penolakan::add, penolakan);
+        penolakan.sort(Comparator.comparingLong(PenolakanBaris::getNomorBaris));
+        return hasil;
+    }
+
+    /**
+     * Sama seperti impor(Reader), tetapi setiap penolakan langsung dikirim ke pelapor dan
+     * tidak ditampung di HasilImpor. Penolakan SUDAH_ADA dan GAGAL_DISIMPAN baru diketahui
+     * saat batch ditulis, jadi urutannya tidak selalu sesuai nomor baris. Cocok untuk berkas yang
+     * bisa menghasilkan sangat banyak penolakan.
+     */
+    public HasilImpor impor(Reader sumber, Consumer<PenolakanBaris> pelapor) throws IOException {
+        return impor(sumber, pelapor, new ArrayList<>());
+    }
+
+    private HasilImpor impor(Reader sumber, Consumer<PenolakanBaris> pelapor,
+                             List<PenolakanBaris> penolakan) throws IOException {
+        if (sumber == null || pelapor == null) {
+            throw new IllegalArgumentException("Sumber dan pelapor tidak boleh null");
+        }
+
+        long mulai = System.nanoTime();
+        PembacaCsv csv = new PembacaCsv(sumber);
+        Penulis penulis = new Penulis(pelapor);
+
+        String[] header = csv.bacaRecord();
+        if (header != null) {
+            int[] posisiKolom = petakanKolom(header);
+            ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+            try {
+                bacaDanTulis(csv, posisiKolom, executor, penulis);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        return new HasilImpor(penulis.jumlahBaris, penulis.jumlahBerhasil, penulis.jumlahPerAlasan,
+                penulis.jumlahBatch, System.nanoTime() - mulai, penolakan);
+    }
+
+    private void bacaDanTulis(PembacaCsv csv, int[] posisiKolom, ExecutorService executor,
+                              Penulis penulis) throws IOException {
+        int maksDalamProses = jumlahThread * 2;
+        Deque<Future<Baris[]>> dalamProses = new ArrayDeque<>();
+
+        List<String[]> potongan = new ArrayList<>(ukuranBatch);
+        List<Long> nomorBaris = new ArrayList<>(ukuranBatch);
+        String[] record;
+        while ((record = csv.bacaRecord()) != null) {
+            potongan.add(record);
+            nomorBaris.add(csv.getNomorBarisRecord());
+            if (potongan.size() == ukuranBatch) {
+                dalamProses.add(kirim(executor, potongan, nomorBaris, posisiKolom));
+                potongan = new ArrayList<>(ukuranBatch);
+                nomorBaris = new ArrayList<>(ukuranBatch);
+                // Backpressure: parser berhenti membaca sampai potongan tertua selesai ditulis
+                if (dalamProses.size() >= maksDalamProses) {
+                    penulis.tulis(tunggu(dalamProses.poll()));
+                }
+            }
+        }
+        if (!potongan.isEmpty()) {
+            dalamProses.add(kirim(executor, potongan, nomorBaris, posisiKolom));
+        }
+        while (!dalamProses.isEmpty()) {
+            penulis.tulis(tunggu(dalamProses.poll()));
+        }
+        penulis.flush();
+    }
+
+    private static Future<Baris[]> kirim(ExecutorService executor, List<String[]> potongan,
+                                         List<Long> nomorBaris, int[] posisiKolom) {
+        return executor.submit(() -> {
+            Baris[] hasil = new Baris[potongan.size()];
+            for (int i = 0; i < hasil.length; i++) {
+                hasil[i] = validasi(potongan.get(i), nomorBaris.get(i), posisiKolom);
+            }
+            return hasil;
+        });
+    }
+
+    private static Baris[] tunggu(Future<Baris[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Impor dibatalkan");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static int[] petakanKolom(String[] header) throws IOException {
+        int[] posisi = new int[KOLOM_WAJIB.length];
+        for (int k = 0; k < KOLOM_WAJIB.length; k++) {
+            posisi[k] = -1;
+            for (int i = 0; i < header.length; i++) {
+                // BOM di awal berkas (umum pada CSV dari spreadsheet) diabaikan
+                String nama = header[i].replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                if (nama.equals(KOLOM_WAJIB[k])) {
+                    posisi[k] = i;
+                    break;
+                }
+            }
+            if (posisi[k] < 0) {
+                throw new IOException("Header CSV tidak memiliki kolom " + KOLOM_WAJIB[k]);
+            }
+        }
+        return posisi;
+    }
+
+    // Dijalankan di thread validasi; tidak menyentuh repositori maupun state bersama
+    private static Baris validasi(String[] kolom, long nomorBaris, int[] posisiKolom) {
+        String isbnAsli = posisiKolom[ISBN] < kolom.length ? kolom[posisiKolom[ISBN]] : null;
+        for (int posisi : posisiKolom) {
+            if (posisi >= kolom.length) {
+                return Baris.ditolak(nomorBaris, isbnAsli, PenolakanBaris.Alasan.FORMAT_TIDAK_VALID,
+                        "Jumlah kolom kurang: " + kolom.length);
+            }
+        }
+
+        int jumlahTotal;
+        double harga;
+        try {
+            jumlahTotal = Integer.parseInt(kolom[posisiKolom[JUMLAH_TOTAL]].trim());
+        } catch (NumberFormatException e) {
+            return Baris.ditolak(nomorBaris, isbnAsli, PenolakanBaris.Alasan.DATA_TIDAK_VALID,
+                    "jumlahTotal bukan bilangan bulat");
+        }
+        try {
+            harga = Double.parseDouble(kolom[posisiKolom[HARGA]].trim());
+        } catch (NumberFormatException e) {
+            return Baris.ditolak(nomorBaris, isbnAsli, PenolakanBaris.Alasan.DATA_TIDAK_VALID,
+                    "harga bukan angka");
+        }
+
+        Buku buku = new Buku(bersihkanIsbn(isbnAsli), kolom[posisiKolom[JUDUL]].trim(),
+                kolom[posisiKolom[PENGARANG]].trim(), jumlahTotal, harga);
+        if (!ValidationUtils.isValidBuku(buku) || !Double.isFinite(harga)) {
+            return Baris.ditolak(nomorBaris, isbnAsli, PenolakanBaris.Alasan.DATA_TIDAK_VALID,
+                    alasanTidakValid(buku));
+        }
+        return new Baris(nomorBaris, isbnAsli, buku, KodeIsbn.kode(buku.getIsbn()), null);
+    }
+
+    // Urutan cek sama dengan ValidationUtils.isValidBuku
+    private static String alasanTidakValid(Buku buku) {
+        if (!ValidationUtils.isValidISBN(buku.getIsbn())) {
+            return "ISBN tidak valid";
+        }
+        if (!ValidationUtils.isValidString(buku.getJudul())) {
+            return "Judul kosong";
+        }
+        if (!ValidationUtils.isValidString(buku.getPengarang())) {
+            return "Pengarang kosong";
+        }
+        if (buku.getJumlahTotal() <= 0) {
+            return "jumlahTotal harus lebih dari 0";
+        }
+        return "harga harus angka non-negatif";
+    }
+
+    private static String bersihkanIsbn(String isbn) {
+        StringBuilder hasil = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c != '-' && !Character.isWhitespace(c)) {
+                hasil.append(c);
+            }
+        }
+        return hasil.toString();
+    }
+
+    /**
+     * Satu baris hasil validasi: buku yang siap disimpan, atau penolakan.
+     */
+    private static final class Baris {
+        final long nomorBaris;
+        final String isbnAsli;
+        final Buku buku;
+        final long kode;
+        final PenolakanBaris penolakan;
+
+        Baris(long nomorBaris, String isbnAsli, Buku buku, long kode, PenolakanBaris penolakan) {
+            this.nomorBaris = nomorBaris;
+            this.isbnAsli = isbnAsli;
+            this.buku = buku;
+            this.kode = kode;
+            this.penolakan = penolakan;
+        }
+
+        static Baris ditolak(long nomorBaris, String isbnAsli, PenolakanBaris.Alasan alasan, String keterangan) {
+            return new Baris(nomorBaris, isbnAsli, null, KodeIsbn.TIDAK_BISA_DIKODE,
+                    new PenolakanBaris(nomorBaris, isbnAsli, alasan, keterangan));
+        }
+    }
+
+    /**
+     * Tahap tulis, hanya dijalankan di thread pemanggil sehingga tidak perlu sinkronisasi.
+     */
+    private final class Penulis {
+        private final Consumer<PenolakanBaris> pelapor;
+        private final HimpunanKode isbnDalamBerkas = new HimpunanKode(ukuranBatch * 16);
+        private final List<Baris> batch = new ArrayList<>(ukuranBatch);
+
+        private long jumlahBaris;
+        private long jumlahBerhasil;
+        private final long[] jumlahPerAlasan = new long[PenolakanBaris.Alasan.values().length];
+        private long jumlahBatch;
+
+        private Penulis(Consumer<PenolakanBaris> pelapor) {
+            this.pelapor = pelapor;
+        }
+
+        private void tulis(Baris[] potongan) {
+            for (Baris baris : potongan) {
+                jumlahBaris++;
+                if (baris.penolakan != null) {
+                    tolak(baris.penolakan);
+                } else if (!isbnDalamBerkas.tambah(baris.kode)) {
+                    tolak(baris, PenolakanBaris.Alasan.DUPLIKAT_DALAM_BERKAS, "ISBN sudah muncul di baris sebelumnya");
+                } else {
+                    batch.add(baris);
+                    if (batch.size() == ukuranBatch) {
+                        flush();
+                    }
+                }
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<String> daftarIsbn = new ArrayList<>(batch.size());
+            for (Baris baris : batch) {
+                daftarIsbn.add(baris.buku.getIsbn());
+            }
+            Map<String, Buku> sudahAda = repositori.cariByIsbnBatch(daftarIsbn);
+
+            List<Baris> disimpan = new ArrayList<>(batch.size());
+            List<Buku> daftarBuku = new ArrayList<>(batch.size());
+            for (Baris baris : batch) {
+                if (sudahAda.containsKey(baris.buku.getIsbn())) {
+                    tolak(baris, PenolakanBaris.Alasan.SUDAH_ADA, "ISBN sudah ada di repositori");
+                } else {
+                    disimpan.add(baris);
+                    daftarBuku.add(baris.buku);
+                }
+            }
+
+            if (!daftarBuku.isEmpty()) {
+                List<Boolean> hasil = repositori.simpanBatch(daftarBuku);
+                jumlahBatch++;
+                for (int i = 0; i < disimpan.size(); i++) {
+                    if (hasil.get(i)) {
+                        jumlahBerhasil++;
+                    } else {
+                        tolak(disimpan.get(i), PenolakanBaris.Alasan.GAGAL_DISIMPAN, "Repositori menolak buku");
+                    }
+                }
+            }
+            batch.clear();
+        }
+
+        private void tolak(Baris baris, PenolakanBaris.Alasan alasan, String keterangan) {
+            tolak(new PenolakanBaris(baris.nomorBaris, baris.isbnAsli, alasan, keterangan));
+        }
+
+        private void tolak(PenolakanBaris penolakan) {
+            jumlahPerAlasan[penolakan.getAlasan().ordinal()]++;
+            pelapor.accept(penolakan);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.praktikum.testing.impor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser CSV streaming (RFC 4180): satu record dibaca per panggilan, sehingga memori
+ * yang dipakai hanya sebesar buffer baca dan satu record, berapa pun ukuran berkasnya.
+ *
+ * Field boleh diapit tanda kutip; di dalamnya koma dan baris baru ikut menjadi isi,
+ * dan "" berarti satu tanda kutip. Akhir baris boleh \n, \r\n, atau \r. Baris kosong dilewati.
+ * Tidak thread-safe.
+ */
+class PembacaCsv {
+
+    // Batas panjang satu record, agar tanda kutip yang tidak ditutup tidak membaca seluruh berkas ke memori
+    static final int PANJANG_RECORD_MAKS = 1 << 20;
+
+    private final Reader sumber;
+    private final char[] buffer = new char[1 << 16];
+    private int posisi;
+    private int batas;
+
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> kolom = new ArrayList<>();
+    private int panjangRecord;
+
+    private long nomorBaris;       // Jumlah akhir baris yang sudah dilewati
+    private long nomorBarisRecord; // Baris tempat record terakhir dimulai (mulai dari 1)
+
+    PembacaCsv(Reader sumber) {
+        this.sumber = sumber;
+    }
+
+    /**
+     * @return kolom-kolom record berikutnya, atau null jika berkas sudah habis
+     * @throws IOException jika pembacaan gagal atau format record rusak
+     */
+    String[] bacaRecord() throws IOException {
+        kolom.clear();
+        field.setLength(0);
+        panjangRecord = 0;
+
+        int c = baca();
+        while (c == '\n' || c == '\r') {
+            akhirBaris(c); // Baris kosong dilewati
+            c = baca();
+        }
+        if (c == -1) {
+            return null;
+        }
+        nomorBarisRecord = nomorBaris + 1;
+
+        boolean awalField = true;
+        boolean dalamKutip = false;
+        while (true) {
+            if (dalamKutip) {
+                if (c == -1) {
+                    throw new IOException("Tanda kutip tidak ditutup pada record baris " + nomorBarisRecord);
+                }
+                if (c == '"') {
+                    c = baca();
+                    if (c != '"') {
+                        dalamKutip = false;
+                        continue; // Karakter setelah kutip penutup diproses sebagai karakter biasa
+                    }
+                } else if (c == '\n') {
+                    nomorBaris++;
+                }
+                tambah(c);
+            } else if (c == ',') {
+                selesaikanField();
+                awalField = true;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                selesaikanField();
+                if (c != -1) {
+                    akhirBaris(c);
+                }
+                return kolom.toArray(new String[0]);
+            } else if (c == '"' && awalField) {
+                dalamKutip = true;
+                awalField = false;
+            } else {
+                tambah(c);
+                awalField = false;
+            }
+            c = baca();
+        }
+    }
+
+    /**
+     * @return nomor baris (mulai dari 1) tempat record terakhir dari bacaRecord() dimulai
+     */
+    long getNomorBarisRecord() {
+        return nomorBarisRecord;
+    }
+
+    private void tambah(int c) throws IOException {
+        if (++panjangRecord > PANJANG_RECORD_MAKS) {
+            throw new IOException("Record baris " + nomorBarisRecord + " melebihi "
+                    + PANJANG_RECORD_MAKS + " karakter");
+        }
+        field.append((char) c);
+    }
+
+    private void selesaikanField() {
+        kolom.add(field.toString());
+        field.setLength(0);
+    }
+
+    private void akhirBaris(int c) throws IOException {
+        nomorBaris++;
+        if (c == '\r') {
+            // \r\n dihitung satu akhir baris
+            if (baca() != '\n' && batas > 0) {
+                posisi--;
+            }
+        }
+    }
+
+    private int baca() throws IOException {
+        if (posisi == batas) {
+            int dibaca = sumber.read(buffer, 0, buffer.length);
+            posisi = 0;
+            batas = Math.max(dibaca, 0);
+            if (dibaca <= 0) {
+                return -1;
+            }
+        }
+        return buffer[posisi++];
+    }
+}
@@ -0,0 +1,54 @@
+package com.praktikum.testing.impor;
+
+/**
+ * Satu baris CSV yang tidak diimpor, beserta alasannya.
+ */
+public class PenolakanBaris {
+
+    public enum Alasan {
+        FORMAT_TIDAK_VALID,
+        DATA_TIDAK_VALID,
+        DUPLIKAT_DALAM_BERKAS,
+        SUDAH_ADA,
+        GAGAL_DISIMPAN
+    }
+
+    private final long nomorBaris;
+    private final String isbn;
+    private final Alasan alasan;
+    private final String keterangan;
+
+    public PenolakanBaris(long nomorBaris, String isbn, Alasan alasan, String keterangan) {
+        this.nomorBaris = nomorBaris;
+        this.isbn = isbn;
+        this.alasan = alasan;
+        this.keterangan = keterangan;
+    }
+
+    /**
+     * @return nomor baris di berkas (mulai dari 1, termasuk header)
+     */
+    public long getNomorBaris() {
+        return nomorBaris;
+    }
+
+    /**
+     * @return ISBN seperti tertulis di berkas, atau null jika kolomnya tidak ada
+     */
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public Alasan getAlasan() {
+        return alasan;
+    }
+
+    public String getKeterangan() {
+        return keterangan;
+    }
+
+    @Override
+    public String toString() {
+        return "Baris " + nomorBaris + " (" + isbn + "): " + alasan + " - " + keterangan;
+    }
+}
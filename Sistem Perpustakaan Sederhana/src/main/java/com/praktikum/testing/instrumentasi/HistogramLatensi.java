@@ -0,0 +1,58 @@
+package com.praktikum.testing.instrumentasi;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram latensi (nanodetik) dengan bucket log-linear: setiap pangkat dua dibagi
+ * 8 sub-bucket, sehingga galat relatif maksimal sekitar 12,5%. Mencatat satu nilai hanya
+ * beberapa operasi bit dan satu increment atomik, tanpa alokasi.
+ */
+final class HistogramLatensi {
+
+    private static final int BIT_SUB = 3;
+    private static final int JUMLAH_SUB = 1 << BIT_SUB;
+    // Nilai 0..7 punya bucket sendiri, lalu 8 sub-bucket per pangkat dua 2^3..2^62
+    static final int JUMLAH_BUCKET = (64 - BIT_SUB) * JUMLAH_SUB;
+
+    private final AtomicLongArray bucket = new AtomicLongArray(JUMLAH_BUCKET);
+
+    void catat(long nilai) {
+        bucket.getAndIncrement(indeks(Math.max(0, nilai)));
+    }
+
+    long[] salin() {
+        long[] hasil = new long[JUMLAH_BUCKET];
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            hasil[i] = bucket.get(i);
+        }
+        return hasil;
+    }
+
+    void reset() {
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            bucket.set(i, 0);
+        }
+    }
+
+    static int indeks(long nilai) {
+        if (nilai < JUMLAH_SUB) {
+            return (int) nilai;
+        }
+        int eksponen = 63 - Long.numberOfLeadingZeros(nilai);
+        int sub = (int) (nilai >>> (eksponen - BIT_SUB)) & (JUMLAH_SUB - 1);
+        return (eksponen - BIT_SUB + 1) * JUMLAH_SUB + sub;
+    }
+
+    /**
+     * @return nilai terbesar yang masuk ke bucket ini
+     */
+    static long batasAtas(int indeks) {
+        if (indeks < JUMLAH_SUB) {
+            return indeks;
+        }
+        int eksponen = indeks / JUMLAH_SUB + BIT_SUB - 1;
+        long sub = indeks % JUMLAH_SUB;
+        long lebar = 1L << (eksponen - BIT_SUB);
+        return ((JUMLAH_SUB + sub) * lebar) + (lebar - 1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.praktikum.testing.instrumentasi;
+
+import com.praktikum.testing.repository.RepositoriBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+
+import java.util.List;
+
+/**
+ * Titik masuk untuk memasang instrumentasi. Jika registri null (instrumentasi tidak aktif),
+ * objek asli dikembalikan tanpa decorator, sehingga tidak ada biaya sama sekali di jalur panggilan.
+ *
+ * Hanya repositori yang benar-benar dibungkus. ServicePerpustakaan dan KalkulatorDenda adalah
+ * class konkret tanpa interface, sehingga versi terinstrumentasinya berupa subclass dan tidak bisa
+ * membungkus subclass lain seperti ServicePerpustakaanTransaksional atau
+ * ServicePerpustakaanEventSourced. Untuk service semacam itu, berikan repositori(...) dan
+ * kalkulatorDenda(...) ke konstruktornya; metrik repositori.* dan denda.* tetap tercatat,
+ * hanya metrik service.* yang tidak ada.
+ */
+public final class Instrumentasi {
+
+    private Instrumentasi() {
+    }
+
+    public static RepositoriBuku repositori(RepositoriBuku repositoriBuku, RegistriMetrik registri) {
+        return registri == null ? repositoriBuku : new RepositoriBukuTerinstrumentasi(repositoriBuku, registri);
+    }
+
+    public static KalkulatorDenda kalkulatorDenda(RegistriMetrik registri) {
+        return registri == null ? new KalkulatorDenda() : new KalkulatorDendaTerinstrumentasi(registri);
+    }
+
+    public static ServicePerpustakaan service(RepositoriBuku repositoriBuku, KalkulatorDenda kalkulatorDenda,
+                                              boolean threadSafe, RegistriMetrik registri) {
+        return registri == null
+                ? new ServicePerpustakaan(repositoriBuku, kalkulatorDenda, threadSafe)
+                : new ServicePerpustakaanTerinstrumentasi(repositoriBuku, kalkulatorDenda, threadSafe, registri);
+    }
+
+    static boolean adaYangGagal(List<Boolean> hasil) {
+        return hasil.contains(Boolean.FALSE);
+    }
+}
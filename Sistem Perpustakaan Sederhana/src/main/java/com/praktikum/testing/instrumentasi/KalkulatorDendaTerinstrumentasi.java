@@ -0,0 +1,67 @@
+package com.praktikum.testing.instrumentasi;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.RepositoriPeminjaman;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.RingkasanDenda;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * KalkulatorDenda yang mengukur perhitungan denda dengan nama "denda.&lt;metode&gt;".
+ *
+ * Getter tarif dan batas denda tidak diukur karena dipanggil per peminjaman di dalam
+ * perhitungan massal. hitungDendaMassal tanpa tanggal diteruskan ke varian dengan tanggal,
+ * sehingga cukup varian itu yang diukur agar tidak tercatat dua kali. hitungDendaHarian
+ * memakai hitungDendaMassal, jadi satu panggilannya juga tercatat di denda.hitungDendaMassal.
+ */
+public class KalkulatorDendaTerinstrumentasi extends KalkulatorDenda {
+
+    private final MetrikOperasi hitungDenda;
+    private final MetrikOperasi hitungDendaPerTanggal;
+    private final MetrikOperasi hitungDendaHarian;
+    private final MetrikOperasi hitungDendaMassal;
+
+    public KalkulatorDendaTerinstrumentasi(RegistriMetrik registri) {
+        this.hitungDenda = registri.operasi("denda.hitungDenda");
+        this.hitungDendaPerTanggal = registri.operasi("denda.hitungDendaPerTanggal");
+        this.hitungDendaHarian = registri.operasi("denda.hitungDendaHarian");
+        this.hitungDendaMassal = registri.operasi("denda.hitungDendaMassal");
+    }
+
+    @Override
+    public double hitungDenda(Peminjaman peminjaman, Anggota anggota) {
+        return hitungDenda.ukurDouble(() -> super.hitungDenda(peminjaman, anggota));
+    }
+
+    @Override
+    public double hitungDenda(Peminjaman peminjaman, Anggota anggota, LocalDate perTanggal) {
+        return hitungDendaPerTanggal.ukurDouble(() -> super.hitungDenda(peminjaman, anggota, perTanggal));
+    }
+
+    @Override
+    public Map<String, Double> hitungDendaHarian(RepositoriPeminjaman repositoriPeminjaman,
+                                                 Function<String, Anggota> cariAnggota,
+                                                 LocalDate perTanggal) {
+        return hitungDendaHarian.ukur(() -> super.hitungDendaHarian(repositoriPeminjaman, cariAnggota, perTanggal));
+    }
+
+    @Override
+    public RingkasanDenda hitungDendaMassal(Collection<Peminjaman> daftarPeminjaman,
+                                            Function<String, Anggota> cariAnggota,
+                                            LocalDate perTanggal) {
+        return hitungDendaMassal.ukur(() -> super.hitungDendaMassal(daftarPeminjaman, cariAnggota, perTanggal));
+    }
+
+    @Override
+    public RingkasanDenda hitungDendaMassal(Stream<Peminjaman> streamPeminjaman,
+                                            Function<String, Anggota> cariAnggota,
+                                            LocalDate perTanggal) {
+        return hitungDendaMassal.ukur(() -> super.hitungDendaMassal(streamPeminjaman, cariAnggota, perTanggal));
+    }
+}
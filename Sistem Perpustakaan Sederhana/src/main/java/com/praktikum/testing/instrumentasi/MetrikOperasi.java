@@ -0,0 +1,152 @@
+package com.praktikum.testing.instrumentasi;
+
+import jdk.jfr.EventType;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Pencatat untuk satu jenis operasi: jumlah panggilan, jumlah gagal (hasil false)
+ * dan galat (exception), serta histogram latensi. Aman dipakai dari banyak thread.
+ *
+ * Pencatatan sendiri tidak mengalokasi objek selama event JFR tidak direkam; yang tersisa
+ * hanya lambda di pemanggil jika ia menangkap argumen. Hasil primitif sebaiknya lewat
+ * ukurInt/ukurDouble agar tidak di-boxing.
+ */
+public final class MetrikOperasi {
+
+    enum Hasil {
+        BERHASIL, GAGAL, GALAT
+    }
+
+    private static final EventType TIPE_EVENT = EventType.getEventType(OperasiEvent.class);
+
+    private final String nama;
+    private final LongAdder jumlahGagal = new LongAdder();
+    private final LongAdder jumlahGalat = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maksNanos = new LongAccumulator(Math::max, 0);
+    private final HistogramLatensi histogram = new HistogramLatensi();
+
+    MetrikOperasi(String nama) {
+        this.nama = nama;
+    }
+
+    public String getNama() {
+        return nama;
+    }
+
+    /**
+     * Menjalankan operasi sambil mengukur durasinya. Exception dicatat sebagai galat
+     * lalu dilempar ulang.
+     */
+    public <T> T ukur(Supplier<T> operasi) {
+        return ukur(operasi, null);
+    }
+
+    /**
+     * @param gagal penentu apakah hasil dihitung gagal (misalnya Boolean.FALSE::equals), boleh null
+     */
+    public <T> T ukur(Supplier<T> operasi, Predicate<? super T> gagal) {
+        OperasiEvent event = eventBaru();
+        long mulai = System.nanoTime();
+        T hasil;
+        try {
+            hasil = operasi.get();
+        } catch (RuntimeException | Error e) {
+            selesai(event, mulai, Hasil.GALAT);
+            throw e;
+        }
+        selesai(event, mulai, gagal != null && gagal.test(hasil) ? Hasil.GAGAL : Hasil.BERHASIL);
+        return hasil;
+    }
+
+    /**
+     * Varian ukur untuk hasil int, tanpa boxing.
+     */
+    public int ukurInt(IntSupplier operasi) {
+        OperasiEvent event = eventBaru();
+        long mulai = System.nanoTime();
+        int hasil;
+        try {
+            hasil = operasi.getAsInt();
+        } catch (RuntimeException | Error e) {
+            selesai(event, mulai, Hasil.GALAT);
+            throw e;
+        }
+        selesai(event, mulai, Hasil.BERHASIL);
+        return hasil;
+    }
+
+    /**
+     * Varian ukur untuk hasil double, tanpa boxing.
+     */
+    public double ukurDouble(DoubleSupplier operasi) {
+        OperasiEvent event = eventBaru();
+        long mulai = System.nanoTime();
+        double hasil;
+        try {
+            hasil = operasi.getAsDouble();
+        } catch (RuntimeException | Error e) {
+            selesai(event, mulai, Hasil.GALAT);
+            throw e;
+        }
+        selesai(event, mulai, Hasil.BERHASIL);
+        return hasil;
+    }
+
+    // Jumlah panggilan tidak disimpan terpisah, diambil dari total isi histogram
+    void catat(long durasiNanos, Hasil hasil) {
+        if (hasil == Hasil.GAGAL) {
+            jumlahGagal.increment();
+        } else if (hasil == Hasil.GALAT) {
+            jumlahGalat.increment();
+        }
+        totalNanos.add(durasiNanos);
+        if (durasiNanos > maksNanos.get()) {
+            maksNanos.accumulate(durasiNanos); // Jarang terjadi setelah pemanasan
+        }
+        histogram.catat(durasiNanos);
+    }
+
+    public SnapshotOperasi snapshot() {
+        return new SnapshotOperasi(nama, jumlahGagal.sum(), jumlahGalat.sum(),
+                totalNanos.sum(), maksNanos.get(), histogram.salin());
+    }
+
+    void reset() {
+        jumlahGagal.reset();
+        jumlahGalat.reset();
+        totalNanos.reset();
+        maksNanos.reset();
+        histogram.reset();
+    }
+
+    // Event hanya dibuat jika ada rekaman JFR yang mengaktifkannya, selain itu null
+    private static OperasiEvent eventBaru() {
+        if (!TIPE_EVENT.isEnabled()) {
+            return null;
+        }
+        OperasiEvent event = new OperasiEvent();
+        event.begin();
+        return event;
+    }
+
+    private void selesai(OperasiEvent event, long mulai, Hasil hasil) {
+        catat(System.nanoTime() - mulai, hasil);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        // Field event hanya diisi jika lolos threshold, agar jalur normal tetap murah
+        if (event.shouldCommit()) {
+            event.operasi = nama;
+            event.hasil = hasil.name();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.praktikum.testing.instrumentasi;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Event JFR untuk satu operasi yang diukur. Secara default hanya operasi di atas 1 ms
+ * yang direkam; ubah threshold "perpustakaan.Operasi" di konfigurasi JFR untuk melihat semuanya.
+ */
+@Name(OperasiEvent.NAMA)
+@Label("Operasi Perpustakaan")
+@Category("Perpustakaan")
+@Description("Durasi dan hasil satu panggilan service, repository, atau kalkulator denda")
+@StackTrace(false)
+@Threshold("1 ms")
+final class OperasiEvent extends Event {
+
+    static final String NAMA = "perpustakaan.Operasi";
+
+    @Label("Operasi")
+    String operasi;
+
+    @Label("Hasil")
+    @Description("BERHASIL, GAGAL (mengembalikan false), atau GALAT (melempar exception)")
+    String hasil;
+}
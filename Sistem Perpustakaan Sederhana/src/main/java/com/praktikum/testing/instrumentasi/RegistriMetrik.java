@@ -0,0 +1,55 @@
+package com.praktikum.testing.instrumentasi;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kumpulan MetrikOperasi berdasarkan nama operasi, misalnya "service.pinjamBuku".
+ * snapshot() bisa dipanggil kapan saja (misalnya oleh endpoint /metrik) tanpa
+ * menghentikan pencatatan.
+ */
+public class RegistriMetrik {
+
+    /**
+     * System property untuk mengaktifkan instrumentasi, lihat dariProperti().
+     */
+    public static final String PROPERTI_AKTIF = "perpustakaan.instrumentasi";
+
+    private final Map<String, MetrikOperasi> daftarMetrik = new ConcurrentHashMap<>();
+
+    /**
+     * @return registri baru jika -Dperpustakaan.instrumentasi=true, atau null jika tidak aktif.
+     *         Dengan registri null, Instrumentasi mengembalikan objek asli tanpa decorator.
+     */
+    public static RegistriMetrik dariProperti() {
+        return Boolean.getBoolean(PROPERTI_AKTIF) ? new RegistriMetrik() : null;
+    }
+
+    /**
+     * Mengambil (atau membuat) metrik untuk satu operasi. Decorator memanggil ini sekali
+     * saat dibuat, bukan per panggilan.
+     */
+    public MetrikOperasi operasi(String nama) {
+        return daftarMetrik.computeIfAbsent(nama, MetrikOperasi::new);
+    }
+
+    /**
+     * @return snapshot semua operasi, terurut nama
+     */
+    public SortedMap<String, SnapshotOperasi> snapshot() {
+        SortedMap<String, SnapshotOperasi> hasil = new TreeMap<>();
+        for (MetrikOperasi metrik : daftarMetrik.values()) {
+            hasil.put(metrik.getNama(), metrik.snapshot());
+        }
+        return Collections.unmodifiableSortedMap(hasil);
+    }
+
+    public void reset() {
+        for (MetrikOperasi metrik : daftarMetrik.values()) {
+            metrik.reset();
+        }
+    }
+}
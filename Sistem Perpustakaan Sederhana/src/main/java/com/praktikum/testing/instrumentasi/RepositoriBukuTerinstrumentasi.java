@@ -0,0 +1,150 @@
+package com.praktikum.testing.instrumentasi;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoriBuku;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Decorator RepositoriBuku yang mengukur setiap panggilan dengan nama "repositori.&lt;metode&gt;".
+ * Operasi boolean yang mengembalikan false dihitung gagal; operasi batch dihitung gagal jika
+ * ada elemen yang false.
+ */
+public class RepositoriBukuTerinstrumentasi implements RepositoriBuku {
+
+    private final RepositoriBuku repositori;
+
+    private final MetrikOperasi simpan;
+    private final MetrikOperasi cariByIsbn;
+    private final MetrikOperasi cariByJudul;
+    private final MetrikOperasi cariByPengarang;
+    private final MetrikOperasi hapus;
+    private final MetrikOperasi updateJumlahTersedia;
+    private final MetrikOperasi kurangiTersedia;
+    private final MetrikOperasi tambahTersedia;
+    private final MetrikOperasi cariByIsbnBatch;
+    private final MetrikOperasi simpanBatch;
+    private final MetrikOperasi kurangiTersediaBatch;
+    private final MetrikOperasi tambahTersediaBatch;
+    private final MetrikOperasi cariSemua;
+    private final MetrikOperasi cariSemuaHalaman;
+    private final MetrikOperasi streamSemua;
+    private final MetrikOperasi autocompleteJudul;
+    private final MetrikOperasi autocompletePengarang;
+
+    public RepositoriBukuTerinstrumentasi(RepositoriBuku repositori, RegistriMetrik registri) {
+        this.repositori = repositori;
+        this.simpan = registri.operasi("repositori.simpan");
+        this.cariByIsbn = registri.operasi("repositori.cariByIsbn");
+        this.cariByJudul = registri.operasi("repositori.cariByJudul");
+        this.cariByPengarang = registri.operasi("repositori.cariByPengarang");
+        this.hapus = registri.operasi("repositori.hapus");
+        this.updateJumlahTersedia = registri.operasi("repositori.updateJumlahTersedia");
+        this.kurangiTersedia = registri.operasi("repositori.kurangiTersedia");
+        this.tambahTersedia = registri.operasi("repositori.tambahTersedia");
+        this.cariByIsbnBatch = registri.operasi("repositori.cariByIsbnBatch");
+        this.simpanBatch = registri.operasi("repositori.simpanBatch");
+        this.kurangiTersediaBatch = registri.operasi("repositori.kurangiTersediaBatch");
+        this.tambahTersediaBatch = registri.operasi("repositori.tambahTersediaBatch");
+        this.cariSemua = registri.operasi("repositori.cariSemua");
+        this.cariSemuaHalaman = registri.operasi("repositori.cariSemuaHalaman");
+        this.streamSemua = registri.operasi("repositori.streamSemua");
+        this.autocompleteJudul = registri.operasi("repositori.autocompleteJudul");
+        this.autocompletePengarang = registri.operasi("repositori.autocompletePengarang");
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        return simpan.ukur(() -> repositori.simpan(buku), Boolean.FALSE::equals);
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return cariByIsbn.ukur(() -> repositori.cariByIsbn(isbn));
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return cariByJudul.ukur(() -> repositori.cariByJudul(judul));
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return cariByPengarang.ukur(() -> repositori.cariByPengarang(pengarang));
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        return hapus.ukur(() -> repositori.hapus(isbn), Boolean.FALSE::equals);
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        return updateJumlahTersedia.ukur(() -> repositori.updateJumlahTersedia(isbn, jumlahTersediaBaru),
+                Boolean.FALSE::equals);
+    }
+
+    @Override
+    public boolean kurangiTersedia(String isbn) {
+        return kurangiTersedia.ukur(() -> repositori.kurangiTersedia(isbn), Boolean.FALSE::equals);
+    }
+
+    @Override
+    public boolean tambahTersedia(String isbn) {
+        return tambahTersedia.ukur(() -> repositori.tambahTersedia(isbn), Boolean.FALSE::equals);
+    }
+
+    @Override
+    public Map<String, Buku> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        return cariByIsbnBatch.ukur(() -> repositori.cariByIsbnBatch(daftarIsbn));
+    }
+
+    @Override
+    public List<Boolean> simpanBatch(List<Buku> daftarBuku) {
+        return simpanBatch.ukur(() -> repositori.simpanBatch(daftarBuku), Instrumentasi::adaYangGagal);
+    }
+
+    @Override
+    public List<Boolean> kurangiTersediaBatch(List<String> daftarIsbn) {
+        return kurangiTersediaBatch.ukur(() -> repositori.kurangiTersediaBatch(daftarIsbn),
+                Instrumentasi::adaYangGagal);
+    }
+
+    @Override
+    public List<Boolean> tambahTersediaBatch(List<String> daftarIsbn) {
+        return tambahTersediaBatch.ukur(() -> repositori.tambahTersediaBatch(daftarIsbn),
+                Instrumentasi::adaYangGagal);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return cariSemua.ukur(repositori::cariSemua);
+    }
+
+    @Override
+    public List<Buku> cariSemua(String setelahIsbn, int ukuranHalaman) {
+        return cariSemuaHalaman.ukur(() -> repositori.cariSemua(setelahIsbn, ukuranHalaman));
+    }
+
+    /**
+     * Hanya waktu membuat stream yang diukur; konsumsi stream terjadi di pemanggil.
+     */
+    @Override
+    public Stream<Buku> streamSemua() {
+        return streamSemua.ukur(repositori::streamSemua);
+    }
+
+    @Override
+    public List<Buku> autocompleteJudul(String prefix, int batas) {
+        return autocompleteJudul.ukur(() -> repositori.autocompleteJudul(prefix, batas));
+    }
+
+    @Override
+    public List<Buku> autocompletePengarang(String prefix, int batas) {
+        return autocompletePengarang.ukur(() -> repositori.autocompletePengarang(prefix, batas));
+    }
+}
@@ -0,0 +1,124 @@
+package com.praktikum.testing.instrumentasi;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoriBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ServicePerpustakaan yang mengukur setiap metode publik dengan nama "service.&lt;metode&gt;".
+ * Waktu yang dicatat termasuk validasi dan panggilan repository di dalamnya; bungkus juga
+ * repository-nya (lihat Instrumentasi) untuk memisahkan keduanya.
+ */
+public class ServicePerpustakaanTerinstrumentasi extends ServicePerpustakaan {
+
+    private final MetrikOperasi tambahBuku;
+    private final MetrikOperasi hapusBuku;
+    private final MetrikOperasi cariBukuByIsbn;
+    private final MetrikOperasi cariBukuByJudul;
+    private final MetrikOperasi cariBukuByPengarang;
+    private final MetrikOperasi autocompleteJudul;
+    private final MetrikOperasi autocompletePengarang;
+    private final MetrikOperasi bukuTersedia;
+    private final MetrikOperasi getJumlahTersedia;
+    private final MetrikOperasi pinjamBuku;
+    private final MetrikOperasi kembalikanBuku;
+    private final MetrikOperasi tambahBukuBatch;
+    private final MetrikOperasi pinjamBukuBatch;
+    private final MetrikOperasi kembalikanBukuBatch;
+
+    public ServicePerpustakaanTerinstrumentasi(RepositoriBuku repositoriBuku, KalkulatorDenda kalkulatorDenda,
+                                               boolean threadSafe, RegistriMetrik registri) {
+        super(repositoriBuku, kalkulatorDenda, threadSafe);
+        this.tambahBuku = registri.operasi("service.tambahBuku");
+        this.hapusBuku = registri.operasi("service.hapusBuku");
+        this.cariBukuByIsbn = registri.operasi("service.cariBukuByIsbn");
+        this.cariBukuByJudul = registri.operasi("service.cariBukuByJudul");
+        this.cariBukuByPengarang = registri.operasi("service.cariBukuByPengarang");
+        this.autocompleteJudul = registri.operasi("service.autocompleteJudul");
+        this.autocompletePengarang = registri.operasi("service.autocompletePengarang");
+        this.bukuTersedia = registri.operasi("service.bukuTersedia");
+        this.getJumlahTersedia = registri.operasi("service.getJumlahTersedia");
+        this.pinjamBuku = registri.operasi("service.pinjamBuku");
+        this.kembalikanBuku = registri.operasi("service.kembalikanBuku");
+        this.tambahBukuBatch = registri.operasi("service.tambahBukuBatch");
+        this.pinjamBukuBatch = registri.operasi("service.pinjamBukuBatch");
+        this.kembalikanBukuBatch = registri.operasi("service.kembalikanBukuBatch");
+    }
+
+    @Override
+    public boolean tambahBuku(Buku buku) {
+        return tambahBuku.ukur(() -> super.tambahBuku(buku), Boolean.FALSE::equals);
+    }
+
+    @Override
+    public boolean hapusBuku(String isbn) {
+        return hapusBuku.ukur(() -> super.hapusBuku(isbn), Boolean.FALSE::equals);
+    }
+
+    @Override
+    public Optional<Buku> cariBukuByIsbn(String isbn) {
+        return cariBukuByIsbn.ukur(() -> super.cariBukuByIsbn(isbn));
+    }
+
+    @Override
+    public List<Buku> cariBukuByJudul(String judul) {
+        return cariBukuByJudul.ukur(() -> super.cariBukuByJudul(judul));
+    }
+
+    @Override
+    public List<Buku> cariBukuByPengarang(String pengarang) {
+        return cariBukuByPengarang.ukur(() -> super.cariBukuByPengarang(pengarang));
+    }
+
+    @Override
+    public List<Buku> autocompleteJudul(String prefix, int batas) {
+        return autocompleteJudul.ukur(() -> super.autocompleteJudul(prefix, batas));
+    }
+
+    @Override
+    public List<Buku> autocompletePengarang(String prefix, int batas) {
+        return autocompletePengarang.ukur(() -> super.autocompletePengarang(prefix, batas));
+    }
+
+    @Override
+    public boolean bukuTersedia(String isbn) {
+        // Buku tidak tersedia adalah jawaban normal, bukan kegagalan
+        return bukuTersedia.ukur(() -> super.bukuTersedia(isbn));
+    }
+
+    @Override
+    public int getJumlahTersedia(String isbn) {
+        return getJumlahTersedia.ukurInt(() -> super.getJumlahTersedia(isbn));
+    }
+
+    @Override
+    public boolean pinjamBuku(String isbn, Anggota anggota) {
+        return pinjamBuku.ukur(() -> super.pinjamBuku(isbn, anggota), Boolean.FALSE::equals);
+    }
+
+    @Override
+    public boolean kembalikanBuku(String isbn, Anggota anggota) {
+        return kembalikanBuku.ukur(() -> super.kembalikanBuku(isbn, anggota), Boolean.FALSE::equals);
+    }
+
+    @Override
+    public List<Boolean> tambahBukuBatch(List<Buku> daftarBuku) {
+        return tambahBukuBatch.ukur(() -> super.tambahBukuBatch(daftarBuku), Instrumentasi::adaYangGagal);
+    }
+
+    @Override
+    public List<Boolean> pinjamBukuBatch(List<String> daftarIsbn, Anggota anggota) {
+        return pinjamBukuBatch.ukur(() -> super.pinjamBukuBatch(daftarIsbn, anggota), Instrumentasi::adaYangGagal);
+    }
+
+    @Override
+    public List<Boolean> kembalikanBukuBatch(List<String> daftarIsbn, Anggota anggota) {
+        return kembalikanBukuBatch.ukur(() -> super.kembalikanBukuBatch(daftarIsbn, anggota),
+                Instrumentasi::adaYangGagal);
+    }
+}
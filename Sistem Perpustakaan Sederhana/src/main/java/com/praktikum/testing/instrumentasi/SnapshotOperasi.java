@@ -0,0 +1,105 @@
+package com.praktikum.testing.instrumentasi;
+
+/**
+ * Salinan statistik satu operasi pada satu waktu. Tidak berubah setelah dibuat, sehingga
+ * aman diserialisasi atau dibandingkan dengan snapshot sebelumnya.
+ */
+public final class SnapshotOperasi {
+
+    private final String nama;
+    private final long jumlah;
+    private final long jumlahGagal;
+    private final long jumlahGalat;
+    private final long totalNanos;
+    private final long maksNanos;
+    private final long[] bucket;
+
+    SnapshotOperasi(String nama, long jumlahGagal, long jumlahGalat,
+                    long totalNanos, long maksNanos, long[] bucket) {
+        this.nama = nama;
+        this.jumlahGagal = jumlahGagal;
+        this.jumlahGalat = jumlahGalat;
+        this.totalNanos = totalNanos;
+        this.maksNanos = maksNanos;
+        this.bucket = bucket;
+        long total = 0;
+        for (long n : bucket) {
+            total += n;
+        }
+        this.jumlah = total;
+    }
+
+    public String getNama() {
+        return nama;
+    }
+
+    public long getJumlah() {
+        return jumlah;
+    }
+
+    /**
+     * @return jumlah panggilan yang mengembalikan hasil gagal (misalnya false)
+     */
+    public long getJumlahGagal() {
+        return jumlahGagal;
+    }
+
+    /**
+     * @return jumlah panggilan yang melempar exception
+     */
+    public long getJumlahGalat() {
+        return jumlahGalat;
+    }
+
+    public double getRasioGagal() {
+        return jumlah == 0 ? 0.0 : (double) jumlahGagal / jumlah;
+    }
+
+    public double getRasioGalat() {
+        return jumlah == 0 ? 0.0 : (double) jumlahGalat / jumlah;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public double getRataRataNanos() {
+        return jumlah == 0 ? 0.0 : (double) totalNanos / jumlah;
+    }
+
+    public long getMaksNanos() {
+        return maksNanos;
+    }
+
+    /**
+     * Persentil latensi dari histogram, dibulatkan ke batas atas bucket (galat relatif maks ~12,5%)
+     * dan tidak pernah melebihi latensi maksimum.
+     *
+     * @param persentil antara 0 dan 100, misalnya 99.0
+     */
+    public long getPersentilNanos(double persentil) {
+        if (persentil < 0 || persentil > 100) {
+            throw new IllegalArgumentException("Persentil harus antara 0 dan 100");
+        }
+        if (jumlah == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(persentil / 100.0 * jumlah));
+        long kumulatif = 0;
+        for (int i = 0; i < bucket.length; i++) {
+            kumulatif += bucket[i];
+            if (kumulatif >= target) {
+                return Math.min(HistogramLatensi.batasAtas(i), maksNanos);
+            }
+        }
+        return maksNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: jumlah=%d, gagal=%d, galat=%d, rata2=%.0fns, p50=%dns, p99=%dns, maks=%dns",
+                nama, jumlah, jumlahGagal, jumlahGalat, getRataRataNanos(),
+                getPersentilNanos(50), getPersentilNanos(99), maksNanos);
+    }
+}
@@ -1,6 +1,10 @@
 package com.praktikum.testing.model;
 
+import com.praktikum.testing.util.KodeIsbn;
+
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -10,15 +14,22 @@ public class Anggota {
     private String email;
     private String telepon;
     private TipeAnggota tipeAnggota;
-    private List<String> idBukuDipinjam;
     private boolean aktif;
 
+    // Pinjaman aktif (paling banyak 10) disimpan ringkas sebagai kode ISBN.
+    // ID yang tidak bisa dikodekan disimpan apa adanya di teksLain pada posisi yang sama.
+    private long[] kodeDipinjam = new long[KAPASITAS_AWAL];
+    private String[] teksLain;
+    private int jumlahDipinjam;
+    private final List<String> viewDipinjam = new ViewBukuDipinjam();
+
+    private static final int KAPASITAS_AWAL = 4;
+
     public enum TipeAnggota {
         MAHASISWA, DOSEN, UMUM
     }
 
     public Anggota() {
-        this.idBukuDipinjam = new ArrayList<>();
         this.aktif = true;
     }
 
@@ -28,7 +39,6 @@ public class Anggota {
         this.email = email;
         this.telepon = telepon;
         this.tipeAnggota = tipeAnggota;
-        this.idBukuDipinjam = new ArrayList<>();
         this.aktif = true;
     }
 
@@ -75,11 +85,24 @@ public class Anggota {
 
     public List<String> getIdBukuDipinjam() {
         // Mengembalikan copy agar list internal tidak dimodi=ikasi dari luar
-        return new ArrayList<>(idBukuDipinjam);
+        return new ArrayList<>(viewDipinjam);
+    }
+
+    /**
+     * View read-only atas buku yang sedang dipinjam, tanpa menyalin.
+     * Isinya ikut berubah saat anggota meminjam atau mengembalikan buku.
+     */
+    public List<String> getBukuDipinjamView() {
+        return viewDipinjam;
     }
 
     public void setIdBukuDipinjam(List<String> idBukuDipinjam) {
-        this.idBukuDipinjam = new ArrayList<>(idBukuDipinjam);
+        // Isi list disalin apa adanya (termasuk duplikat), sama seperti new ArrayList<>(list)
+        jumlahDipinjam = 0;
+        teksLain = null;
+        for (String idBuku : idBukuDipinjam) {
+            sisipkan(idBuku, KodeIsbn.kode(idBuku));
+        }
     }
 
     public boolean isAktif() {
@@ -91,7 +114,14 @@ public class Anggota {
     }
 
     public int getJumlahBukuDipinjam() {
-        return idBukuDipinjam.size();
+        return jumlahDipinjam;
+    }
+
+    /**
+     * Cek apakah anggota sedang meminjam buku ini, tanpa alokasi.
+     */
+    public boolean sedangMeminjam(String idBuku) {
+        return posisiBuku(idBuku) >= 0;
     }
 
     public int getBatasPinjam() {
@@ -112,13 +142,92 @@ public class Anggota {
     }
 
     public void tambahBukuDipinjam(String idBuku) {
-        if (!idBukuDipinjam.contains(idBuku)) {
-            idBukuDipinjam.add(idBuku);
+        long kode = KodeIsbn.kode(idBuku);
+        if (posisiBuku(idBuku, kode) < 0) {
+            sisipkan(idBuku, kode);
         }
     }
 
+    private void sisipkan(String idBuku, long kode) {
+        if (jumlahDipinjam == kodeDipinjam.length) {
+            kodeDipinjam = Arrays.copyOf(kodeDipinjam, jumlahDipinjam * 2);
+            if (teksLain != null) {
+                teksLain = Arrays.copyOf(teksLain, kodeDipinjam.length);
+            }
+        }
+        if (kode == KodeIsbn.TIDAK_BISA_DIKODE) {
+            if (teksLain == null) {
+                teksLain = new String[kodeDipinjam.length];
+            }
+            teksLain[jumlahDipinjam] = idBuku;
+        } else if (teksLain != null) {
+            teksLain[jumlahDipinjam] = null;
+        }
+        kodeDipinjam[jumlahDipinjam++] = kode;
+    }
+
     public void hapusBukuDipinjam(String idBuku) {
-        idBukuDipinjam.remove(idBuku);
+        int posisi = posisiBuku(idBuku);
+        if (posisi < 0) {
+            return;
+        }
+
+        // Geser sisa elemen agar urutan pinjaman tetap sama
+        int sisa = jumlahDipinjam - posisi - 1;
+        System.arraycopy(kodeDipinjam, posisi + 1, kodeDipinjam, posisi, sisa);
+        if (teksLain != null) {
+            System.arraycopy(teksLain, posisi + 1, teksLain, posisi, sisa);
+            teksLain[jumlahDipinjam - 1] = null;
+        }
+        jumlahDipinjam--;
+    }
+
+    private int posisiBuku(String idBuku) {
+        return posisiBuku(idBuku, KodeIsbn.kode(idBuku));
+    }
+
+    private int posisiBuku(String idBuku, long kode) {
+        if (kode != KodeIsbn.TIDAK_BISA_DIKODE) {
+            for (int i = 0; i < jumlahDipinjam; i++) {
+                if (kodeDipinjam[i] == kode) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        if (teksLain != null) {
+            for (int i = 0; i < jumlahDipinjam; i++) {
+                if (kodeDipinjam[i] == KodeIsbn.TIDAK_BISA_DIKODE && Objects.equals(teksLain[i], idBuku)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private String bukuDipinjamKe(int posisi) {
+        long kode = kodeDipinjam[posisi];
+        return kode == KodeIsbn.TIDAK_BISA_DIKODE ? teksLain[posisi] : KodeIsbn.keString(kode);
+    }
+
+    // View read-only, set/add/remove dari AbstractList melempar UnsupportedOperationException
+    private class ViewBukuDipinjam extends AbstractList<String> {
+        @Override
+        public String get(int index) {
+            Objects.checkIndex(index, jumlahDipinjam);
+            return bukuDipinjamKe(index);
+        }
+
+        @Override
+        public int size() {
+            return jumlahDipinjam;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String && sedangMeminjam((String) o);
+        }
     }
 
     @Override
@@ -142,7 +251,7 @@ public class Anggota {
                 ", email='" + email + '\'' +
                 ", telepon='" + telepon + '\'' +
                 ", tipeAnggota=" + tipeAnggota +
-                ", jumlahBukuDipinjam=" + idBukuDipinjam.size() +
+                ", jumlahBukuDipinjam=" + jumlahDipinjam +
                 ", aktif=" + aktif +
                 '}';
     }
@@ -1,13 +1,18 @@
 package com.praktikum.testing.model;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 public class Buku {
+    // CAS pada field jumlahTersedia tanpa perlu objek AtomicInteger terpisah per buku
+    private static final AtomicIntegerFieldUpdater<Buku> UPDATER_TERSEDIA =
+            AtomicIntegerFieldUpdater.newUpdater(Buku.class, "jumlahTersedia");
+
     private String isbn;
     private String judul;
     private String pengarang;
     private int jumlahTotal;
-    private int jumlahTersedia;
+    private volatile int jumlahTersedia;
     private double harga;
 
     public Buku() {
@@ -75,6 +80,38 @@ public class Buku {
         return jumlahTersedia > 0;
     }
 
+    /**
+     * Mengurangi jumlahTersedia sebanyak 1 secara atomik, hanya jika masih ada yang tersedia.
+     *
+     * @return true jika berhasil, false jika stok sudah habis
+     */
+    public boolean kurangiTersedia() {
+        int sekarang;
+        do {
+            sekarang = jumlahTersedia;
+            if (sekarang <= 0) {
+                return false;
+            }
+        } while (!UPDATER_TERSEDIA.compareAndSet(this, sekarang, sekarang - 1));
+        return true;
+    }
+
+    /**
+     * Menambah jumlahTersedia sebanyak 1 secara atomik, hanya jika belum mencapai jumlahTotal.
+     *
+     * @return true jika berhasil, false jika semua salinan sudah tersedia
+     */
+    public boolean tambahTersedia() {
+        int sekarang;
+        do {
+            sekarang = jumlahTersedia;
+            if (sekarang >= jumlahTotal) {
+                return false;
+            }
+        } while (!UPDATER_TERSEDIA.compareAndSet(this, sekarang, sekarang + 1));
+        return true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
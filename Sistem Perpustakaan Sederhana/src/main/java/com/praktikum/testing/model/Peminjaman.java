@@ -1,15 +1,22 @@
 package com.praktikum.testing.model;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 
 public class Peminjaman {
+    // Nilai epoch-day untuk tanggal yang belum diisi (null)
+    // (di luar rentang LocalDate, jadi tidak bertabrakan dengan tanggal apa pun)
+    public static final long TANPA_TANGGAL = Long.MIN_VALUE;
+
     private String idPeminjaman;
     private String idAnggota;
     private String isbnBuku;
-    private LocalDate tanggalPinjam;
-    private LocalDate tanggalJatuhTempo;
-    private LocalDate tanggalKembali;
+    // Tanggal disimpan sebagai epoch-day (hari sejak 1970-01-01), sehingga perhitungan
+    // keterlambatan dan durasi cukup pengurangan long tanpa alokasi LocalDate.
+    // long menampung seluruh rentang LocalDate (termasuk MIN/MAX), sama seperti field LocalDate dulu.
+    private long hariPinjam = TANPA_TANGGAL;
+    private long hariJatuhTempo = TANPA_TANGGAL;
+    private long hariKembali = TANPA_TANGGAL;
     private boolean sudahDikembalikan;
 
     public Peminjaman() {
@@ -20,8 +27,8 @@ public class Peminjaman {
         this.idPeminjaman = idPeminjaman;
         this.idAnggota = idAnggota;
         this.isbnBuku = isbnBuku;
-        this.tanggalPinjam = tanggalPinjam;
-        this.tanggalJatuhTempo = tanggalJatuhTempo;
+        this.hariPinjam = keHari(tanggalPinjam);
+        this.hariJatuhTempo = keHari(tanggalJatuhTempo);
         this.sudahDikembalikan = false;
     }
 
@@ -51,27 +58,40 @@ public class Peminjaman {
     }
 
     public LocalDate getTanggalPinjam() {
-        return tanggalPinjam;
+        return keTanggal(hariPinjam);
     }
 
     public void setTanggalPinjam(LocalDate tanggalPinjam) {
-        this.tanggalPinjam = tanggalPinjam;
+        this.hariPinjam = keHari(tanggalPinjam);
     }
 
     public LocalDate getTanggalJatuhTempo() {
-        return tanggalJatuhTempo;
+        return keTanggal(hariJatuhTempo);
     }
 
     public void setTanggalJatuhTempo(LocalDate tanggalJatuhTempo) {
-        this.tanggalJatuhTempo = tanggalJatuhTempo;
+        this.hariJatuhTempo = keHari(tanggalJatuhTempo);
     }
 
     public LocalDate getTanggalKembali() {
-        return tanggalKembali;
+        return keTanggal(hariKembali);
     }
 
     public void setTanggalKembali(LocalDate tanggalKembali) {
-        this.tanggalKembali = tanggalKembali;
+        this.hariKembali = keHari(tanggalKembali);
+    }
+
+    // Akses tanggal dalam bentuk epoch-day, TANPA_TANGGAL jika belum diisi
+    public long getHariPinjam() {
+        return hariPinjam;
+    }
+
+    public long getHariJatuhTempo() {
+        return hariJatuhTempo;
+    }
+
+    public long getHariKembali() {
+        return hariKembali;
     }
 
     public boolean isSudahDikembalikan() {
@@ -83,28 +103,67 @@ public class Peminjaman {
     }
 
     public boolean isTerlambat() {
-        if (sudahDikembalikan) {
-            return tanggalKembali.isAfter(tanggalJatuhTempo);
-        }
-        return LocalDate.now().isAfter(tanggalJatuhTempo);
+        return isTerlambatPada(hariIni(Clock.systemDefaultZone()));
+    }
+
+    public boolean isTerlambat(Clock clock) {
+        return isTerlambatPada(hariIni(clock));
+    }
+
+    /**
+     * @param hariIni tanggal acuan dalam epoch-day, dipakai jika belum dikembalikan
+     */
+    public boolean isTerlambatPada(long hariIni) {
+        return getHariTerlambatPada(hariIni) > 0;
     }
 
     public long getHariTerlambat() {
-        if (sudahDikembalikan) {
-            if (tanggalKembali.isAfter(tanggalJatuhTempo)) {
-                return ChronoUnit.DAYS.between(tanggalJatuhTempo, tanggalKembali);
-            }
-        } else {
-            LocalDate hariIni = LocalDate.now();
-            if (hariIni.isAfter(tanggalJatuhTempo)) {
-                return ChronoUnit.DAYS.between(tanggalJatuhTempo, hariIni);
-            }
-        }
-        return 0; // Tidak terlambat
+        return getHariTerlambatPada(hariIni(Clock.systemDefaultZone()));
+    }
+
+    public long getHariTerlambat(Clock clock) {
+        return getHariTerlambatPada(hariIni(clock));
+    }
+
+    public long getHariTerlambatPada(long hariIni) {
+        long hariAkhir = sudahDikembalikan ? wajib(hariKembali, "tanggalKembali") : hariIni;
+        long selisih = hariAkhir - wajib(hariJatuhTempo, "tanggalJatuhTempo");
+        return selisih > 0 ? selisih : 0; // 0 jika tidak terlambat
     }
 
     public long getDurasiPeminjaman() {
-        LocalDate tanggalAkhir = sudahDikembalikan ? tanggalKembali : LocalDate.now();
-        return ChronoUnit.DAYS.between(tanggalPinjam, tanggalAkhir);
+        return getDurasiPeminjamanPada(hariIni(Clock.systemDefaultZone()));
+    }
+
+    public long getDurasiPeminjaman(Clock clock) {
+        return getDurasiPeminjamanPada(hariIni(clock));
+    }
+
+    public long getDurasiPeminjamanPada(long hariIni) {
+        long hariAkhir = sudahDikembalikan ? wajib(hariKembali, "tanggalKembali") : hariIni;
+        return hariAkhir - wajib(hariPinjam, "tanggalPinjam");
+    }
+
+    /**
+     * Tanggal hari ini menurut clock dalam bentuk epoch-day. Untuk evaluasi banyak
+     * peminjaman sekaligus, panggil sekali lalu gunakan method *Pada(long).
+     */
+    public static long hariIni(Clock clock) {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    private static long keHari(LocalDate tanggal) {
+        return tanggal == null ? TANPA_TANGGAL : tanggal.toEpochDay();
+    }
+
+    private static LocalDate keTanggal(long hari) {
+        return hari == TANPA_TANGGAL ? null : LocalDate.ofEpochDay(hari);
+    }
+
+    private static long wajib(long hari, String namaTanggal) {
+        if (hari == TANPA_TANGGAL) {
+            throw new IllegalStateException(namaTanggal + " belum diisi");
+        }
+        return hari;
     }
 }
\ No newline at end of file
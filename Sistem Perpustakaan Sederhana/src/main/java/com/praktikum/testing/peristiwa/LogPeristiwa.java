@@ -0,0 +1,296 @@
+package com.praktikum.testing.peristiwa;
+
+import com.praktikum.testing.model.Buku;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Log peristiwa append-only. Peristiwa yang sudah ditambahkan tidak pernah diubah
+ * atau dihapus, dan nomor urutnya sama dengan posisinya di log.
+ *
+ * Peristiwa disimpan di segmen array berukuran tetap yang tidak pernah dipindah, sehingga
+ * log bisa tumbuh tanpa menyalin isinya. Penulisan diserialkan; pembacaan tidak memakai lock
+ * dan selalu melihat peristiwa utuh sampai ukuran() yang dibaca.
+ *
+ * Log yang dibuat dengan konstruktor hanya ada di memori. Log dari buka(Path, boolean) juga
+ * ditulis ke berkas dengan format seperti LogTransaksi (header, lalu record berbentuk panjang,
+ * CRC32, dan payload). Setiap peristiwa ditulis ke berkas sebelum terlihat di memori, dan saat
+ * dibuka ulang seluruh record utuh dimuat kembali sementara ekor yang rusak dibuang.
+ */
+public class LogPeristiwa implements Closeable {
+
+    private static final int MAGIC = 0x4C505253; // "LPRS"
+    private static final int VERSI = 1;
+    static final int PANJANG_HEADER = 8;
+
+    private static final int BIT_SEGMEN = 14;
+    private static final int UKURAN_SEGMEN = 1 << BIT_SEGMEN;
+
+    private final Object kunciTulis = new Object();
+
+    // Elemen segmen ditulis sebelum jumlah (volatile) dinaikkan, jadi pembaca yang
+    // membaca jumlah lebih dulu selalu melihat peristiwanya
+    private volatile Peristiwa[][] segmen = new Peristiwa[16][];
+    private volatile int jumlah;
+
+    // Null untuk log yang hanya di memori
+    private final FileChannel channel;
+    private final boolean fsyncSetiapTulis;
+    private final ByteArrayOutputStream bufferRecord = new ByteArrayOutputStream(64);
+    private final DataOutputStream outRecord = new DataOutputStream(bufferRecord);
+    private final CRC32 crc = new CRC32();
+
+    public LogPeristiwa() {
+        this(null, false);
+    }
+
+    private LogPeristiwa(FileChannel channel, boolean fsyncSetiapTulis) {
+        this.channel = channel;
+        this.fsyncSetiapTulis = fsyncSetiapTulis;
+    }
+
+    /**
+     * Membuka (atau membuat) log peristiwa di berkas dan memuat semua peristiwa yang utuh.
+     *
+     * @param fsyncSetiapTulis true untuk memanggil fsync setiap peristiwa (lebih lambat, lebih aman)
+     * @throws IOException jika berkas berisi log lain (magic atau versi berbeda)
+     */
+    public static LogPeristiwa buka(Path file, boolean fsyncSetiapTulis) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            LogPeristiwa log = new LogPeristiwa(channel, fsyncSetiapTulis);
+            long panjangValid = channel.size() < PANJANG_HEADER ? 0 : log.muat();
+            if (panjangValid < PANJANG_HEADER) {
+                // Log baru, atau crash sebelum header selesai ditulis
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(PANJANG_HEADER);
+                header.putInt(MAGIC).putInt(VERSI).flip();
+                channel.write(header, 0);
+                panjangValid = PANJANG_HEADER;
+            }
+            channel.truncate(panjangValid);
+            channel.position(panjangValid);
+            channel.force(true);
+            return log;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Peristiwa catatBukuDitambah(Buku buku) {
+        return tambah(Peristiwa.Jenis.BUKU_DITAMBAH, buku.getIsbn(), null,
+                buku.getJumlahTotal(), buku.getJumlahTersedia());
+    }
+
+    public Peristiwa catatBukuDihapus(String isbn) {
+        return tambah(Peristiwa.Jenis.BUKU_DIHAPUS, isbn, null, 0, 0);
+    }
+
+    public Peristiwa catatPinjam(String isbn, String idAnggota) {
+        return tambah(Peristiwa.Jenis.DIPINJAM, isbn, idAnggota, 0, 0);
+    }
+
+    public Peristiwa catatKembali(String isbn, String idAnggota) {
+        return tambah(Peristiwa.Jenis.DIKEMBALIKAN, isbn, idAnggota, 0, 0);
+    }
+
+    private Peristiwa tambah(Peristiwa.Jenis jenis, String isbn, String idAnggota,
+                             int jumlahTotal, int jumlahTersedia) {
+        synchronized (kunciTulis) {
+            if (jumlah == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Log peristiwa sudah penuh");
+            }
+            if (channel != null) {
+                tulisKeBerkas(jenis, isbn, idAnggota, jumlahTotal, jumlahTersedia);
+            }
+            return sisipkan(jenis, isbn, idAnggota, jumlahTotal, jumlahTersedia);
+        }
+    }
+
+    // Dipanggil dengan kunciTulis dipegang, atau saat memuat log sebelum dipakai
+    private Peristiwa sisipkan(Peristiwa.Jenis jenis, String isbn, String idAnggota,
+                               int jumlahTotal, int jumlahTersedia) {
+        int urutan = jumlah;
+        Peristiwa[][] daftarSegmen = segmen;
+        int indeksSegmen = urutan >>> BIT_SEGMEN;
+        if (indeksSegmen == daftarSegmen.length) {
+            daftarSegmen = Arrays.copyOf(daftarSegmen, daftarSegmen.length * 2);
+            segmen = daftarSegmen;
+        }
+        if (daftarSegmen[indeksSegmen] == null) {
+            daftarSegmen[indeksSegmen] = new Peristiwa[UKURAN_SEGMEN];
+        }
+
+        Peristiwa peristiwa = new Peristiwa(urutan, jenis, isbn, idAnggota, jumlahTotal, jumlahTersedia);
+        daftarSegmen[indeksSegmen][urutan & (UKURAN_SEGMEN - 1)] = peristiwa;
+        jumlah = urutan + 1;
+        return peristiwa;
+    }
+
+    private void tulisKeBerkas(Peristiwa.Jenis jenis, String isbn, String idAnggota,
+                               int jumlahTotal, int jumlahTersedia) {
+        long posisiAwal = -1;
+        try {
+            posisiAwal = channel.position();
+            bufferRecord.reset();
+            outRecord.writeByte(jenis.ordinal());
+            tulisTeks(isbn);
+            tulisTeks(idAnggota);
+            outRecord.writeInt(jumlahTotal);
+            outRecord.writeInt(jumlahTersedia);
+            outRecord.flush();
+            byte[] payload = bufferRecord.toByteArray();
+            crc.reset();
+            crc.update(payload);
+
+            ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+            record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            if (fsyncSetiapTulis) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            // Record yang tertulis sebagian dibuang agar peristiwa berikutnya tetap terbaca
+            if (posisiAwal >= 0) {
+                try {
+                    channel.truncate(posisiAwal);
+                    channel.position(posisiAwal);
+                } catch (IOException galatPotong) {
+                    e.addSuppressed(galatPotong);
+                }
+            }
+            throw new UncheckedIOException("Gagal menulis log peristiwa", e);
+        }
+    }
+
+    // Teks ditulis dengan penanda null, karena idAnggota kosong untuk peristiwa buku
+    private void tulisTeks(String teks) throws IOException {
+        outRecord.writeBoolean(teks != null);
+        if (teks != null) {
+            outRecord.writeUTF(teks);
+        }
+    }
+
+    /**
+     * @return panjang log (byte) sampai record utuh terakhir
+     */
+    private long muat() throws IOException {
+        channel.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+        if (in.readInt() != MAGIC || in.readInt() != VERSI) {
+            throw new IOException("Format log peristiwa tidak dikenal");
+        }
+
+        long ukuranFile = channel.size();
+        long posisi = PANJANG_HEADER;
+        CRC32 crcBaca = new CRC32();
+        while (jumlah < Integer.MAX_VALUE) {
+            byte[] payload;
+            try {
+                int panjang = in.readInt();
+                int crcTersimpan = in.readInt();
+                if (panjang <= 0 || panjang > ukuranFile - posisi - 8) {
+                    break;
+                }
+                payload = new byte[panjang];
+                in.readFully(payload);
+                crcBaca.reset();
+                crcBaca.update(payload);
+                if ((int) crcBaca.getValue() != crcTersimpan) {
+                    break; // Record rusak, anggap sebagai akhir log
+                }
+            } catch (EOFException e) {
+                break;
+            }
+            muatRecord(payload);
+            posisi += 8 + payload.length;
+        }
+        return posisi;
+    }
+
+    private void muatRecord(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int jenis = in.readUnsignedByte();
+        Peristiwa.Jenis[] semuaJenis = Peristiwa.Jenis.values();
+        if (jenis >= semuaJenis.length) {
+            throw new IOException("Jenis peristiwa tidak dikenal: " + jenis);
+        }
+        String isbn = in.readBoolean() ? in.readUTF() : null;
+        String idAnggota = in.readBoolean() ? in.readUTF() : null;
+        sisipkan(semuaJenis[jenis], isbn, idAnggota, in.readInt(), in.readInt());
+    }
+
+    /**
+     * @return true jika log ditulis ke berkas
+     */
+    public boolean isPersisten() {
+        return channel != null;
+    }
+
+    public long ukuran() {
+        return jumlah;
+    }
+
+    public Peristiwa get(long urutan) {
+        if (urutan < 0 || urutan >= jumlah) {
+            throw new IndexOutOfBoundsException("Urutan peristiwa di luar log: " + urutan);
+        }
+        int i = (int) urutan;
+        return segmen[i >>> BIT_SEGMEN][i & (UKURAN_SEGMEN - 1)];
+    }
+
+    /**
+     * Menjalankan aksi untuk peristiwa dari urutan dari (inklusif) sampai sampai (eksklusif),
+     * sesuai urutan log. Langsung menelusuri segmen, tanpa cek batas per peristiwa.
+     */
+    public void untukSetiap(long dari, long sampai, Consumer<Peristiwa> aksi) {
+        if (dari < 0 || dari > sampai || sampai > jumlah) {
+            throw new IndexOutOfBoundsException("Rentang peristiwa di luar log: " + dari + ".." + sampai);
+        }
+        Peristiwa[][] daftarSegmen = segmen;
+        int i = (int) dari;
+        int akhir = (int) sampai;
+        while (i < akhir) {
+            Peristiwa[] isi = daftarSegmen[i >>> BIT_SEGMEN];
+            int awalSegmen = i & (UKURAN_SEGMEN - 1);
+            int akhirSegmen = Math.min(UKURAN_SEGMEN, awalSegmen + (akhir - i));
+            for (int j = awalSegmen; j < akhirSegmen; j++) {
+                aksi.accept(isi[j]);
+            }
+            i += akhirSegmen - awalSegmen;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        synchronized (kunciTulis) {
+            if (channel.isOpen()) {
+                channel.force(true);
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.praktikum.testing.peristiwa;
+
+/**
+ * Satu peristiwa di LogPeristiwa. Tidak pernah diubah setelah dibuat; state katalog dan
+ * pinjaman anggota adalah hasil melipat seluruh peristiwa sesuai urutannya.
+ */
+public final class Peristiwa {
+
+    public enum Jenis {
+        BUKU_DITAMBAH,
+        BUKU_DIHAPUS,
+        DIPINJAM,
+        DIKEMBALIKAN
+    }
+
+    private final long urutan;
+    private final Jenis jenis;
+    private final String isbn;
+    private final String idAnggota;  // Null untuk peristiwa buku
+    private final int jumlahTotal;    // Hanya untuk BUKU_DITAMBAH
+    private final int jumlahTersedia; // Hanya untuk BUKU_DITAMBAH
+
+    Peristiwa(long urutan, Jenis jenis, String isbn, String idAnggota, int jumlahTotal, int jumlahTersedia) {
+        this.urutan = urutan;
+        this.jenis = jenis;
+        this.isbn = isbn;
+        this.idAnggota = idAnggota;
+        this.jumlahTotal = jumlahTotal;
+        this.jumlahTersedia = jumlahTersedia;
+    }
+
+    /**
+     * @return posisi peristiwa di log, dimulai dari 0
+     */
+    public long getUrutan() {
+        return urutan;
+    }
+
+    public Jenis getJenis() {
+        return jenis;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public String getIdAnggota() {
+        return idAnggota;
+    }
+
+    public int getJumlahTotal() {
+        return jumlahTotal;
+    }
+
+    public int getJumlahTersedia() {
+        return jumlahTersedia;
+    }
+
+    @Override
+    public String toString() {
+        switch (jenis) {
+            case BUKU_DITAMBAH:
+                return urutan + " " + jenis + " " + isbn + " " + jumlahTersedia + "/" + jumlahTotal;
+            case BUKU_DIHAPUS:
+                return urutan + " " + jenis + " " + isbn;
+            default:
+                return urutan + " " + jenis + " " + isbn + " " + idAnggota;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.praktikum.testing.peristiwa;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Materialized view dari LogPeristiwa: status stok dan penghitung per ISBN, serta daftar
+ * pinjaman per anggota. terapkan() memperbarui view secara inkremental untuk satu peristiwa;
+ * bangunUlang() membangun view baru dari seluruh log.
+ *
+ * View dibagi ke sejumlah partisi tetap: sisi buku menurut ISBN, sisi anggota menurut id
+ * anggota. Satu kunci hanya ada di satu partisi, sehingga bangunUlang bisa melipat setiap
+ * partisi di thread berbeda tanpa lock dan tanpa langkah merge. Di dalam satu partisi,
+ * peristiwa tetap dilipat sesuai urutan log.
+ *
+ * terapkan() boleh dipanggil dari banyak thread, asalkan peristiwa untuk ISBN atau anggota
+ * yang sama diterapkan sesuai urutan log (ServicePerpustakaanEventSourced menjamin ini).
+ */
+public class ProyeksiKatalog {
+
+    public static final int JUMLAH_PARTISI_DEFAULT = 64;
+
+    private final Partisi[] partisi;
+    private final int geser;
+
+    public ProyeksiKatalog() {
+        this(JUMLAH_PARTISI_DEFAULT);
+    }
+
+    /**
+     * @param jumlahPartisi dibulatkan ke atas menjadi pangkat dua
+     */
+    public ProyeksiKatalog(int jumlahPartisi) {
+        if (jumlahPartisi < 1) {
+            throw new IllegalArgumentException("Jumlah partisi minimal 1");
+        }
+        int ukuran = Integer.highestOneBit(jumlahPartisi);
+        if (ukuran < jumlahPartisi) {
+            ukuran <<= 1;
+        }
+        this.partisi = new Partisi[ukuran];
+        for (int i = 0; i < ukuran; i++) {
+            partisi[i] = new Partisi();
+        }
+        this.geser = Integer.SIZE - Integer.numberOfTrailingZeros(ukuran);
+    }
+
+    /**
+     * Membangun view baru dari peristiwa yang ada di log saat dipanggil. Setiap thread
+     * menelusuri log satu kali dan hanya melipat peristiwa milik partisinya.
+     */
+    public static ProyeksiKatalog bangunUlang(LogPeristiwa log, int jumlahPartisi, int jumlahThread) {
+        if (jumlahThread < 1) {
+            throw new IllegalArgumentException("Jumlah thread minimal 1");
+        }
+        ProyeksiKatalog proyeksi = new ProyeksiKatalog(jumlahPartisi);
+        long sampai = log.ukuran();
+        int jumlahPekerja = Math.min(jumlahThread, proyeksi.partisi.length);
+        if (jumlahPekerja == 1) {
+            proyeksi.lipat(log, sampai, 0, 1);
+            return proyeksi;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahPekerja);
+        try {
+            List<Future<?>> daftarTugas = new ArrayList<>();
+            for (int pekerja = 0; pekerja < jumlahPekerja; pekerja++) {
+                int nomorPekerja = pekerja;
+                daftarTugas.add(executor.submit(() -> proyeksi.lipat(log, sampai, nomorPekerja, jumlahPekerja)));
+            }
+            for (Future<?> tugas : daftarTugas) {
+                tunggu(tugas);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return proyeksi;
+    }
+
+    public void terapkan(Peristiwa peristiwa) {
+        String isbn = peristiwa.getIsbn();
+        Map<String, StatusBuku> buku = partisi[indeks(isbn)].buku;
+        switch (peristiwa.getJenis()) {
+            case BUKU_DITAMBAH:
+                buku.put(isbn, new StatusBuku(peristiwa.getJumlahTotal(), peristiwa.getJumlahTersedia(), 0, 0));
+                break;
+            case BUKU_DIHAPUS:
+                buku.remove(isbn);
+                break;
+            case DIPINJAM:
+                buku.computeIfPresent(isbn, (k, status) -> status.setelahPinjam());
+                partisiAnggota(peristiwa).merge(peristiwa.getIdAnggota(), List.of(isbn), ProyeksiKatalog::gabung);
+                break;
+            case DIKEMBALIKAN:
+                buku.computeIfPresent(isbn, (k, status) -> status.setelahKembali());
+                partisiAnggota(peristiwa).computeIfPresent(peristiwa.getIdAnggota(),
+                        (k, pinjaman) -> tanpa(pinjaman, isbn));
+                break;
+            default:
+                throw new IllegalArgumentException("Jenis peristiwa tidak dikenal: " + peristiwa.getJenis());
+        }
+    }
+
+    public Optional<StatusBuku> getStatusBuku(String isbn) {
+        return Optional.ofNullable(partisi[indeks(isbn)].buku.get(isbn));
+    }
+
+    /**
+     * @return jumlah tersedia, atau 0 jika ISBN tidak ada di katalog
+     */
+    public int getJumlahTersedia(String isbn) {
+        StatusBuku status = partisi[indeks(isbn)].buku.get(isbn);
+        return status == null ? 0 : status.getJumlahTersedia();
+    }
+
+    /**
+     * @return ISBN yang sedang dipinjam anggota sesuai urutan peminjaman (tidak bisa diubah)
+     */
+    public List<String> getPinjamanAnggota(String idAnggota) {
+        return partisi[indeks(idAnggota)].pinjaman.getOrDefault(idAnggota, Collections.emptyList());
+    }
+
+    public int getJumlahJudul() {
+        int total = 0;
+        for (Partisi p : partisi) {
+            total += p.buku.size();
+        }
+        return total;
+    }
+
+    /**
+     * @return salinan seluruh status buku, misalnya untuk membandingkan dua proyeksi
+     */
+    public Map<String, StatusBuku> salinStatusBuku() {
+        Map<String, StatusBuku> salinan = new HashMap<>();
+        for (Partisi p : partisi) {
+            salinan.putAll(p.buku);
+        }
+        return salinan;
+    }
+
+    /**
+     * @return salinan daftar pinjaman seluruh anggota yang sedang meminjam
+     */
+    public Map<String, List<String>> salinPinjamanAnggota() {
+        Map<String, List<String>> salinan = new HashMap<>();
+        for (Partisi p : partisi) {
+            salinan.putAll(p.pinjaman);
+        }
+        return salinan;
+    }
+
+    // Melipat peristiwa milik partisi nomorPekerja, nomorPekerja + jumlahPekerja, dst.
+    // State sementara memakai objek mutable dan baru dibekukan di akhir.
+    private void lipat(LogPeristiwa log, long sampai, int nomorPekerja, int jumlahPekerja) {
+        List<Map<String, AkumulatorBuku>> buku = new ArrayList<>();
+        List<Map<String, List<String>>> pinjaman = new ArrayList<>();
+        for (int p = nomorPekerja; p < partisi.length; p += jumlahPekerja) {
+            buku.add(new HashMap<>());
+            pinjaman.add(new HashMap<>());
+        }
+
+        log.untukSetiap(0, sampai, peristiwa -> {
+            String isbn = peristiwa.getIsbn();
+            int p = indeks(isbn);
+            Map<String, AkumulatorBuku> bukuPartisi = p % jumlahPekerja == nomorPekerja
+                    ? buku.get(p / jumlahPekerja) : null;
+            switch (peristiwa.getJenis()) {
+                case BUKU_DITAMBAH:
+                    if (bukuPartisi != null) {
+                        bukuPartisi.put(isbn, new AkumulatorBuku(peristiwa));
+                    }
+                    break;
+                case BUKU_DIHAPUS:
+                    if (bukuPartisi != null) {
+                        bukuPartisi.remove(isbn);
+                    }
+                    break;
+                case DIPINJAM:
+                case DIKEMBALIKAN:
+                    boolean pinjam = peristiwa.getJenis() == Peristiwa.Jenis.DIPINJAM;
+                    if (bukuPartisi != null) {
+                        AkumulatorBuku akumulator = bukuPartisi.get(isbn);
+                        if (akumulator != null) {
+                            akumulator.terapkan(pinjam);
+                        }
+                    }
+                    int pa = indeks(peristiwa.getIdAnggota());
+                    if (pa % jumlahPekerja == nomorPekerja) {
+                        Map<String, List<String>> pinjamanPartisi = pinjaman.get(pa / jumlahPekerja);
+                        if (pinjam) {
+                            pinjamanPartisi.computeIfAbsent(peristiwa.getIdAnggota(), k -> new ArrayList<>()).add(isbn);
+                        } else {
+                            // Daftar kosong dibiarkan di map dan baru dibuang saat dibekukan,
+                            // supaya anggota yang sering pinjam-kembali tidak terus dialokasi ulang
+                            List<String> daftar = pinjamanPartisi.get(peristiwa.getIdAnggota());
+                            if (daftar != null) {
+                                daftar.remove(isbn);
+                            }
+                        }
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Jenis peristiwa tidak dikenal: " + peristiwa.getJenis());
+            }
+        });
+
+        for (int i = 0, p = nomorPekerja; p < partisi.length; i++, p += jumlahPekerja) {
+            Partisi tujuan = partisi[p];
+            buku.get(i).forEach((isbn, akumulator) -> tujuan.buku.put(isbn, akumulator.bekukan()));
+            pinjaman.get(i).forEach((id, daftar) -> {
+                if (!daftar.isEmpty()) {
+                    tujuan.pinjaman.put(id, Collections.unmodifiableList(daftar));
+                }
+            });
+        }
+    }
+
+    private Map<String, List<String>> partisiAnggota(Peristiwa peristiwa) {
+        return partisi[indeks(peristiwa.getIdAnggota())].pinjaman;
+    }
+
+    // Partisi diambil dari bit atas hash (Fibonacci hashing). Bit bawah dipakai HashMap dan
+    // ConcurrentHashMap untuk memilih bucket; jika partisi juga memakainya, semua kunci satu
+    // partisi menumpuk di sebagian kecil bucket.
+    private int indeks(String kunci) {
+        if (geser == Integer.SIZE) {
+            return 0; // Satu partisi; geser 32 bit tidak mengubah nilai di Java
+        }
+        return (kunci.hashCode() * 0x9E3779B9) >>> geser;
+    }
+
+    private static List<String> gabung(List<String> lama, List<String> baru) {
+        List<String> hasil = new ArrayList<>(lama.size() + baru.size());
+        hasil.addAll(lama);
+        hasil.addAll(baru);
+        return Collections.unmodifiableList(hasil);
+    }
+
+    // Null jika daftar menjadi kosong, sehingga entri anggota dihapus dari map
+    private static List<String> tanpa(List<String> pinjaman, String isbn) {
+        List<String> hasil = new ArrayList<>(pinjaman);
+        hasil.remove(isbn);
+        return hasil.isEmpty() ? null : Collections.unmodifiableList(hasil);
+    }
+
+    private static void tunggu(Future<?> tugas) {
+        try {
+            tugas.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pembangunan ulang proyeksi dibatalkan", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class Partisi {
+        final Map<String, StatusBuku> buku = new ConcurrentHashMap<>();
+        final Map<String, List<String>> pinjaman = new ConcurrentHashMap<>();
+    }
+
+    private static final class AkumulatorBuku {
+        private final int jumlahTotal;
+        private int jumlahTersedia;
+        private long jumlahPeminjaman;
+        private long jumlahPengembalian;
+
+        AkumulatorBuku(Peristiwa ditambah) {
+            this.jumlahTotal = ditambah.getJumlahTotal();
+            this.jumlahTersedia = ditambah.getJumlahTersedia();
+        }
+
+        void terapkan(boolean pinjam) {
+            if (pinjam) {
+                jumlahTersedia--;
+                jumlahPeminjaman++;
+            } else {
+                jumlahTersedia++;
+                jumlahPengembalian++;
+            }
+        }
+
+        StatusBuku bekukan() {
+            return new StatusBuku(jumlahTotal, jumlahTersedia, jumlahPeminjaman, jumlahPengembalian);
+        }
+    }
+}
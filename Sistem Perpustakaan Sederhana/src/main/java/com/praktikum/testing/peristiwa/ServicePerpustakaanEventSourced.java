@@ -0,0 +1,161 @@
+package com.praktikum.testing.peristiwa;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoriBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * ServicePerpustakaan dalam mode event-sourced: setiap penambahan buku, penghapusan buku,
+ * peminjaman dan pengembalian dicatat sebagai peristiwa di LogPeristiwa, lalu langsung
+ * diterapkan ke ProyeksiKatalog. Ketersediaan buku dibaca dari proyeksi, bukan dari
+ * jumlahTersedia di repository.
+ *
+ * Peristiwa ditambahkan dari hook ServicePerpustakaan, di dalam lock ISBN dan anggota (mode
+ * thread-safe), sehingga peristiwa untuk kunci yang sama masuk log dan proyeksi dengan urutan
+ * yang sama. Repository tetap dipakai untuk cek-lalu-ubah yang atomik saat meminjam.
+ *
+ * Katalog yang sudah ada di repository saat service dibuat dicatat sebagai BUKU_DITAMBAH
+ * dengan stok saat itu. Pinjaman anggota dari sebelum service dibuat tidak ikut tercatat.
+ *
+ * Agar riwayat bertahan setelah restart, berikan log dari LogPeristiwa.buka(...). Jika log
+ * sudah berisi peristiwa, proyeksi dibangun ulang darinya dan log menjadi sumber kebenaran:
+ * stok buku di repository yang sudah tercatat diselaraskan dengan proyeksi, dan hanya buku yang
+ * belum tercatat yang ditambahkan sebagai BUKU_DITAMBAH. Jika penulisan peristiwa gagal, operasi
+ * melempar UncheckedIOException; perubahan repository yang sempat terjadi diselaraskan kembali
+ * saat service dibuka ulang.
+ */
+public class ServicePerpustakaanEventSourced extends ServicePerpustakaan implements Closeable {
+
+    private static final int UKURAN_HALAMAN_AWAL = 1_000;
+
+    private final LogPeristiwa log;
+
+    // Hook memegang read lock; bangunUlangProyeksi memegang write lock agar proyeksi baru
+    // mencakup tepat semua peristiwa di log
+    private final ReadWriteLock kunciProyeksi = new ReentrantReadWriteLock();
+
+    private volatile ProyeksiKatalog proyeksi = new ProyeksiKatalog();
+
+    public ServicePerpustakaanEventSourced(RepositoriBuku repositoriBuku, KalkulatorDenda kalkulatorDenda) {
+        this(repositoriBuku, kalkulatorDenda, false);
+    }
+
+    public ServicePerpustakaanEventSourced(RepositoriBuku repositoriBuku, KalkulatorDenda kalkulatorDenda,
+                                           boolean threadSafe) {
+        this(repositoriBuku, kalkulatorDenda, threadSafe, new LogPeristiwa());
+    }
+
+    /**
+     * @param log log peristiwa, boleh berisi peristiwa dari sesi sebelumnya
+     */
+    public ServicePerpustakaanEventSourced(RepositoriBuku repositoriBuku, KalkulatorDenda kalkulatorDenda,
+                                           boolean threadSafe, LogPeristiwa log) {
+        super(repositoriBuku, kalkulatorDenda, threadSafe);
+        if (repositoriBuku == null || log == null) {
+            throw new IllegalArgumentException("Repositori dan log tidak boleh null");
+        }
+        this.log = log;
+        if (log.ukuran() > 0) {
+            proyeksi = ProyeksiKatalog.bangunUlang(log, ProyeksiKatalog.JUMLAH_PARTISI_DEFAULT,
+                    Runtime.getRuntime().availableProcessors());
+        }
+
+        // Katalog awal, dibaca per halaman agar tidak perlu menyalin seluruh repository sekaligus
+        String setelahIsbn = null;
+        List<Buku> halaman;
+        do {
+            halaman = repositoriBuku.cariSemua(setelahIsbn, UKURAN_HALAMAN_AWAL);
+            for (Buku buku : halaman) {
+                Optional<StatusBuku> status = proyeksi.getStatusBuku(buku.getIsbn());
+                if (status.isEmpty()) {
+                    catat(() -> log.catatBukuDitambah(buku));
+                } else if (status.get().getJumlahTersedia() != buku.getJumlahTersedia()) {
+                    repositoriBuku.updateJumlahTersedia(buku.getIsbn(), status.get().getJumlahTersedia());
+                }
+            }
+            if (!halaman.isEmpty()) {
+                setelahIsbn = halaman.get(halaman.size() - 1).getIsbn();
+            }
+        } while (halaman.size() == UKURAN_HALAMAN_AWAL);
+    }
+
+    @Override
+    public boolean bukuTersedia(String isbn) {
+        return isbn != null && proyeksi.getJumlahTersedia(isbn) > 0;
+    }
+
+    @Override
+    public int getJumlahTersedia(String isbn) {
+        return isbn == null ? 0 : proyeksi.getJumlahTersedia(isbn);
+    }
+
+    @Override
+    protected void setelahTambahBuku(Buku buku) {
+        catat(() -> log.catatBukuDitambah(buku));
+    }
+
+    @Override
+    protected void setelahHapusBuku(String isbn) {
+        catat(() -> log.catatBukuDihapus(isbn));
+    }
+
+    @Override
+    protected void setelahPinjam(String isbn, Anggota anggota) {
+        catat(() -> log.catatPinjam(isbn, anggota.getIdAnggota()));
+    }
+
+    @Override
+    protected void setelahKembali(String isbn, Anggota anggota) {
+        catat(() -> log.catatKembali(isbn, anggota.getIdAnggota()));
+    }
+
+    /**
+     * Membangun ulang proyeksi dari seluruh log dengan beberapa thread lalu menggantikan
+     * proyeksi yang sedang dipakai. Operasi yang mengubah data menunggu sampai selesai.
+     *
+     * @return proyeksi baru
+     */
+    public ProyeksiKatalog bangunUlangProyeksi(int jumlahThread) {
+        kunciProyeksi.writeLock().lock();
+        try {
+            proyeksi = ProyeksiKatalog.bangunUlang(log, ProyeksiKatalog.JUMLAH_PARTISI_DEFAULT, jumlahThread);
+            return proyeksi;
+        } finally {
+            kunciProyeksi.writeLock().unlock();
+        }
+    }
+
+    public LogPeristiwa getLog() {
+        return log;
+    }
+
+    public ProyeksiKatalog getProyeksi() {
+        return proyeksi;
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    // Menambah peristiwa ke log dan menerapkannya ke proyeksi sebagai satu langkah
+    // terhadap bangunUlangProyeksi
+    private void catat(Supplier<Peristiwa> tambahKeLog) {
+        kunciProyeksi.readLock().lock();
+        try {
+            proyeksi.terapkan(tambahKeLog.get());
+        } finally {
+            kunciProyeksi.readLock().unlock();
+        }
+    }
+}
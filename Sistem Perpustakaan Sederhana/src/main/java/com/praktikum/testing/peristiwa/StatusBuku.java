@@ -0,0 +1,77 @@
+package com.praktikum.testing.peristiwa;
+
+import java.util.Objects;
+
+/**
+ * Status satu judul di ProyeksiKatalog: stok dan penghitung per judul. Tidak pernah diubah;
+ * setiap peristiwa menghasilkan objek baru, sehingga pembaca selalu melihat nilai yang konsisten.
+ */
+public final class StatusBuku {
+
+    private final int jumlahTotal;
+    private final int jumlahTersedia;
+    private final long jumlahPeminjaman;
+    private final long jumlahPengembalian;
+
+    public StatusBuku(int jumlahTotal, int jumlahTersedia, long jumlahPeminjaman, long jumlahPengembalian) {
+        this.jumlahTotal = jumlahTotal;
+        this.jumlahTersedia = jumlahTersedia;
+        this.jumlahPeminjaman = jumlahPeminjaman;
+        this.jumlahPengembalian = jumlahPengembalian;
+    }
+
+    StatusBuku setelahPinjam() {
+        return new StatusBuku(jumlahTotal, jumlahTersedia - 1, jumlahPeminjaman + 1, jumlahPengembalian);
+    }
+
+    StatusBuku setelahKembali() {
+        return new StatusBuku(jumlahTotal, jumlahTersedia + 1, jumlahPeminjaman, jumlahPengembalian + 1);
+    }
+
+    public int getJumlahTotal() {
+        return jumlahTotal;
+    }
+
+    public int getJumlahTersedia() {
+        return jumlahTersedia;
+    }
+
+    public int getJumlahSedangDipinjam() {
+        return jumlahTotal - jumlahTersedia;
+    }
+
+    /**
+     * @return jumlah peminjaman judul ini sejak ditambahkan ke katalog
+     */
+    public long getJumlahPeminjaman() {
+        return jumlahPeminjaman;
+    }
+
+    public long getJumlahPengembalian() {
+        return jumlahPengembalian;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StatusBuku)) {
+            return false;
+        }
+        StatusBuku lain = (StatusBuku) o;
+        return jumlahTotal == lain.jumlahTotal && jumlahTersedia == lain.jumlahTersedia
+                && jumlahPeminjaman == lain.jumlahPeminjaman && jumlahPengembalian == lain.jumlahPengembalian;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jumlahTotal, jumlahTersedia, jumlahPeminjaman, jumlahPengembalian);
+    }
+
+    @Override
+    public String toString() {
+        return jumlahTersedia + "/" + jumlahTotal + " (dipinjam " + jumlahPeminjaman
+                + "x, dikembalikan " + jumlahPengembalian + "x)";
+    }
+}
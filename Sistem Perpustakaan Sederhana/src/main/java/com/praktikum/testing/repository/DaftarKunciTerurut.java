@@ -0,0 +1,148 @@
+package com.praktikum.testing.repository;
+
+import java.util.Arrays;
+
+/**
+ * Himpunan long terurut untuk cursor RepositoriBukuOffHeap dan UrutanIsbnRingkas, tanpa
+ * satu objek per kunci.
+ *
+ * Kunci disimpan di potongan array terurut berisi paling banyak UKURAN_POTONGAN elemen.
+ * Potongan dicari dengan binary search pada kunci pertamanya, lalu kunci di dalamnya
+ * juga dengan binary search. Tambah dan hapus hanya menggeser isi satu potongan, sehingga
+ * biayanya O(log n + UKURAN_POTONGAN), dan potongan penuh dibelah dua.
+ *
+ * Tidak thread-safe; pemanggil mengatur lock.
+ */
+class DaftarKunciTerurut {
+
+    private static final int UKURAN_POTONGAN = 1024;
+
+    private long[][] potongan = new long[4][];
+    private int[] isiPotongan = new int[4];
+    private int jumlahPotongan;
+    private int jumlah;
+
+    /**
+     * @return false jika kunci sudah ada
+     */
+    boolean tambah(long kunci) {
+        if (jumlahPotongan == 0) {
+            sisipkanPotongan(0, new long[UKURAN_POTONGAN], 0);
+        }
+
+        int p = cariPotongan(kunci);
+        int posisi = Arrays.binarySearch(potongan[p], 0, isiPotongan[p], kunci);
+        if (posisi >= 0) {
+            return false;
+        }
+        posisi = -posisi - 1;
+
+        if (isiPotongan[p] == UKURAN_POTONGAN) {
+            belah(p);
+            if (posisi > isiPotongan[p]) {
+                posisi -= isiPotongan[p];
+                p++;
+            }
+        }
+        long[] isi = potongan[p];
+        System.arraycopy(isi, posisi, isi, posisi + 1, isiPotongan[p] - posisi);
+        isi[posisi] = kunci;
+        isiPotongan[p]++;
+        jumlah++;
+        return true;
+    }
+
+    /**
+     * @return false jika kunci tidak ada
+     */
+    boolean hapus(long kunci) {
+        if (jumlahPotongan == 0) {
+            return false;
+        }
+
+        int p = cariPotongan(kunci);
+        int posisi = Arrays.binarySearch(potongan[p], 0, isiPotongan[p], kunci);
+        if (posisi < 0) {
+            return false;
+        }
+
+        long[] isi = potongan[p];
+        System.arraycopy(isi, posisi + 1, isi, posisi, isiPotongan[p] - posisi - 1);
+        isiPotongan[p]--;
+        jumlah--;
+        if (isiPotongan[p] == 0) {
+            buangPotongan(p);
+        }
+        return true;
+    }
+
+    int ukuran() {
+        return jumlah;
+    }
+
+    /**
+     * Menyalin paling banyak maks kunci yang lebih besar dari batas ke tujuan, urut naik.
+     *
+     * @return jumlah kunci yang disalin
+     */
+    int salinSetelah(long batas, long[] tujuan, int maks) {
+        if (jumlahPotongan == 0 || maks <= 0) {
+            return 0;
+        }
+
+        int p = cariPotongan(batas);
+        int posisi = Arrays.binarySearch(potongan[p], 0, isiPotongan[p], batas);
+        posisi = posisi >= 0 ? posisi + 1 : -posisi - 1;
+        int disalin = 0;
+        while (p < jumlahPotongan && disalin < maks) {
+            int ambil = Math.min(isiPotongan[p] - posisi, maks - disalin);
+            System.arraycopy(potongan[p], posisi, tujuan, disalin, ambil);
+            disalin += ambil;
+            p++;
+            posisi = 0;
+        }
+        return disalin;
+    }
+
+    // Potongan terakhir yang kunci pertamanya tidak lebih besar dari kunci, atau 0
+    private int cariPotongan(long kunci) {
+        int kiri = 0;
+        int kanan = jumlahPotongan - 1;
+        while (kiri < kanan) {
+            int tengah = (kiri + kanan + 1) >>> 1;
+            if (potongan[tengah][0] <= kunci) {
+                kiri = tengah;
+            } else {
+                kanan = tengah - 1;
+            }
+        }
+        return kiri;
+    }
+
+    private void belah(int p) {
+        int separuh = isiPotongan[p] / 2;
+        long[] baru = new long[UKURAN_POTONGAN];
+        System.arraycopy(potongan[p], separuh, baru, 0, isiPotongan[p] - separuh);
+        sisipkanPotongan(p + 1, baru, isiPotongan[p] - separuh);
+        isiPotongan[p] = separuh;
+    }
+
+    private void sisipkanPotongan(int p, long[] isi, int jumlahIsi) {
+        if (jumlahPotongan == potongan.length) {
+            potongan = Arrays.copyOf(potongan, potongan.length * 2);
+            isiPotongan = Arrays.copyOf(isiPotongan, isiPotongan.length * 2);
+        }
+        System.arraycopy(potongan, p, potongan, p + 1, jumlahPotongan - p);
+        System.arraycopy(isiPotongan, p, isiPotongan, p + 1, jumlahPotongan - p);
+        potongan[p] = isi;
+        isiPotongan[p] = jumlahIsi;
+        jumlahPotongan++;
+    }
+
+    private void buangPotongan(int p) {
+        System.arraycopy(potongan, p + 1, potongan, p, jumlahPotongan - p - 1);
+        System.arraycopy(isiPotongan, p + 1, isiPotongan, p, jumlahPotongan - p - 1);
+        jumlahPotongan--;
+        potongan[jumlahPotongan] = null;
+    }
+}
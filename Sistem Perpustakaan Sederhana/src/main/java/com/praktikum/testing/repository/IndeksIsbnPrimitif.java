@@ -0,0 +1,116 @@
+package com.praktikum.testing.repository;
+
+import java.util.Arrays;
+
+/**
+ * Hash map long -> int dengan open addressing (linear probing) di atas array primitif,
+ * untuk memetakan kode ISBN ke nomor baris tanpa boxing.
+ *
+ * Penghapusan memakai backward shift sehingga tidak ada tombstone.
+ * Tidak thread-safe; pemanggil mengatur lock.
+ */
+class IndeksIsbnPrimitif {
+
+    static final int TIDAK_ADA = -1;
+
+    private static final long KOSONG = -1L; // Kode ISBN selalu non-negatif
+    private static final double FAKTOR_MUAT = 0.6;
+
+    private long[] kunci;
+    private int[] nilai;
+    private int jumlah;
+    private int batasResize;
+
+    IndeksIsbnPrimitif(int kapasitasAwal) {
+        int kapasitas = Integer.highestOneBit(Math.max(16, (int) (kapasitasAwal / FAKTOR_MUAT)) - 1) << 1;
+        alokasi(kapasitas);
+    }
+
+    int cari(long kode) {
+        int mask = kunci.length - 1;
+        for (int i = slot(kode, mask); ; i = (i + 1) & mask) {
+            long k = kunci[i];
+            if (k == kode) {
+                return nilai[i];
+            }
+            if (k == KOSONG) {
+                return TIDAK_ADA;
+            }
+        }
+    }
+
+    void simpan(long kode, int baris) {
+        if (jumlah >= batasResize) {
+            perbesar();
+        }
+
+        int mask = kunci.length - 1;
+        for (int i = slot(kode, mask); ; i = (i + 1) & mask) {
+            if (kunci[i] == kode) {
+                nilai[i] = baris;
+                return;
+            }
+            if (kunci[i] == KOSONG) {
+                kunci[i] = kode;
+                nilai[i] = baris;
+                jumlah++;
+                return;
+            }
+        }
+    }
+
+    int hapus(long kode) {
+        int mask = kunci.length - 1;
+        int i = slot(kode, mask);
+        while (kunci[i] != kode) {
+            if (kunci[i] == KOSONG) {
+                return TIDAK_ADA;
+            }
+            i = (i + 1) & mask;
+        }
+        int baris = nilai[i];
+
+        // Backward shift: geser entri berikutnya yang slot idealnya tidak melewati lubang
+        int lubang = i;
+        for (int j = (lubang + 1) & mask; kunci[j] != KOSONG; j = (j + 1) & mask) {
+            int ideal = slot(kunci[j], mask);
+            if (((j - ideal) & mask) >= ((j - lubang) & mask)) {
+                kunci[lubang] = kunci[j];
+                nilai[lubang] = nilai[j];
+                lubang = j;
+            }
+        }
+        kunci[lubang] = KOSONG;
+        jumlah--;
+        return baris;
+    }
+
+    int ukuran() {
+        return jumlah;
+    }
+
+    private void perbesar() {
+        long[] kunciLama = kunci;
+        int[] nilaiLama = nilai;
+        alokasi(kunciLama.length * 2);
+        for (int i = 0; i < kunciLama.length; i++) {
+            if (kunciLama[i] != KOSONG) {
+                simpan(kunciLama[i], nilaiLama[i]);
+            }
+        }
+    }
+
+    private void alokasi(int kapasitas) {
+        kunci = new long[kapasitas];
+        nilai = new int[kapasitas];
+        Arrays.fill(kunci, KOSONG);
+        jumlah = 0;
+        batasResize = (int) (kapasitas * FAKTOR_MUAT);
+    }
+
+    // Fibonacci hashing agar kode ISBN yang berurutan tersebar merata
+    private static int slot(long kode, int mask) {
+        long h = kode * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,55 @@
+package com.praktikum.testing.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Indeks peminjaman yang belum dikembalikan, dikelompokkan per hari jatuh tempo (epoch-day).
+ *
+ * "Semua peminjaman yang terlambat per tanggal D" cukup membaca bucket dengan
+ * jatuh tempo sebelum D, tanpa memanggil isTerlambat() pada setiap peminjaman.
+ * Penghapusan (saat buku dikembalikan) O(1): referensi bucket setiap ID dicatat terpisah,
+ * sehingga tidak perlu mencari hari di skip list. Bucket yang menjadi kosong tidak dibuang
+ * (paling banyak satu per hari jatuh tempo berbeda, dibuang oleh bersihkan()), karena membuangnya
+ * bisa berpapasan dengan tambah() untuk ID lain di hari yang sama.
+ */
+class IndeksKeterlambatan {
+
+    private final NavigableMap<Long, Set<String>> bucketPerHari = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> bucketPerId = new ConcurrentHashMap<>();
+
+    void tambah(String idPeminjaman, long epochDayJatuhTempo) {
+        hapus(idPeminjaman);
+        Set<String> bucket = bucketPerHari.computeIfAbsent(epochDayJatuhTempo, k -> ConcurrentHashMap.newKeySet());
+        bucket.add(idPeminjaman);
+        bucketPerId.put(idPeminjaman, bucket);
+    }
+
+    void hapus(String idPeminjaman) {
+        Set<String> bucket = bucketPerId.remove(idPeminjaman);
+        if (bucket != null) {
+            bucket.remove(idPeminjaman);
+        }
+    }
+
+    /**
+     * ID peminjaman yang jatuh temponya sebelum epochDayPerTanggal, urut dari yang paling lama.
+     */
+    List<String> terlambatPada(long epochDayPerTanggal) {
+        List<String> hasil = new ArrayList<>();
+        for (Set<String> bucket : bucketPerHari.headMap(epochDayPerTanggal, false).values()) {
+            hasil.addAll(bucket);
+        }
+        return hasil;
+    }
+
+    void bersihkan() {
+        bucketPerHari.clear();
+        bucketPerId.clear();
+    }
+}
@@ -0,0 +1,78 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Indeks terurut untuk autocomplete berdasarkan prefix.
+ *
+ * Kunci berupa teks yang sudah di-lowercase diikuti '\0' dan ISBN, sehingga judul
+ * yang sama dari buku berbeda tetap unik dan urutannya alfabetis.
+ * Pencarian prefix cukup O(log n) untuk menemukan posisi awal lalu membaca N entri.
+ */
+class IndeksPrefiks {
+
+    private static final char PEMISAH = '\0';
+
+    private final NavigableMap<String, String> indeks = new ConcurrentSkipListMap<>();
+
+    void tambah(String isbn, String teks) {
+        if (isbn == null || teks == null) {
+            return;
+        }
+        indeks.put(kunci(isbn, teks), isbn);
+    }
+
+    /**
+     * Menambah teks banyak buku sekaligus. Kunci diurutkan dulu agar penyisipan ke skip list
+     * berurutan: jalur pencarian tiap penyisipan tetap di cache, tidak melompat acak.
+     */
+    void tambahSemua(List<Buku> daftarBuku, Function<Buku, String> teks) {
+        List<Map.Entry<String, String>> entri = new ArrayList<>(daftarBuku.size());
+        for (Buku buku : daftarBuku) {
+            String isi = teks.apply(buku);
+            if (buku.getIsbn() != null && isi != null) {
+                entri.add(Map.entry(kunci(buku.getIsbn(), isi), buku.getIsbn()));
+            }
+        }
+        entri.sort(Map.Entry.comparingByKey());
+        for (Map.Entry<String, String> e : entri) {
+            indeks.put(e.getKey(), e.getValue());
+        }
+    }
+
+    void hapus(String isbn, String teks) {
+        if (isbn == null || teks == null) {
+            return;
+        }
+        indeks.remove(kunci(isbn, teks));
+    }
+
+    /**
+     * Mengembalikan maksimal batas ISBN yang teksnya diawali prefix (sudah dinormalisasi),
+     * terurut alfabetis.
+     */
+    List<String> cari(String prefixNormal, int batas) {
+        List<String> hasil = new ArrayList<>(Math.min(batas, 64));
+        for (Map.Entry<String, String> entry : indeks.tailMap(prefixNormal, true).entrySet()) {
+            if (hasil.size() >= batas || !entry.getKey().startsWith(prefixNormal)) {
+                break;
+            }
+            hasil.add(entry.getValue());
+        }
+        return hasil;
+    }
+
+    void bersihkan() {
+        indeks.clear();
+    }
+
+    private static String kunci(String isbn, String teks) {
+        return teks.toLowerCase() + PEMISAH + isbn;
+    }
+}
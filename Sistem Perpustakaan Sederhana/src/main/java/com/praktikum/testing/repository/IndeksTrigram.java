@@ -0,0 +1,102 @@
+package com.praktikum.testing.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index trigram untuk pencarian substring pada teks buku.
+ *
+ * Setiap teks dinormalisasi dengan toLowerCase() (sama seperti pencarian scan),
+ * lalu dipecah menjadi trigram. Setiap trigram menyimpan posting list berisi ISBN.
+ * Hasil dari kandidat() masih harus diverifikasi dengan contains(), karena
+ * irisan posting list bisa mengandung false positive.
+ */
+class IndeksTrigram {
+
+    private final Map<Long, Set<String>> postingList = new ConcurrentHashMap<>();
+
+    void tambah(String isbn, String teks) {
+        if (isbn == null || teks == null) {
+            return;
+        }
+
+        // compute atomik per trigram, agar tidak berpapasan dengan hapus() yang membuang
+        // posting list kosong untuk ISBN lain
+        String normal = teks.toLowerCase();
+        for (int i = 0; i + 3 <= normal.length(); i++) {
+            postingList.compute(kodeTrigram(normal, i), (kode, posting) -> {
+                Set<String> hasil = posting != null ? posting : ConcurrentHashMap.newKeySet();
+                hasil.add(isbn);
+                return hasil;
+            });
+        }
+    }
+
+    void hapus(String isbn, String teks) {
+        if (isbn == null || teks == null) {
+            return;
+        }
+
+        String normal = teks.toLowerCase();
+        for (int i = 0; i + 3 <= normal.length(); i++) {
+            postingList.computeIfPresent(kodeTrigram(normal, i), (kode, posting) -> {
+                posting.remove(isbn);
+                return posting.isEmpty() ? null : posting;
+            });
+        }
+    }
+
+    /**
+     * Mengembalikan ISBN kandidat untuk query yang sudah dinormalisasi,
+     * atau null jika query terlalu pendek untuk disaring dengan trigram.
+     */
+    List<String> kandidat(String queryNormal) {
+        if (queryNormal.length() < 3) {
+            return null;
+        }
+
+        List<Set<String>> daftarPosting = new ArrayList<>();
+        for (int i = 0; i + 3 <= queryNormal.length(); i++) {
+            Set<String> posting = postingList.get(kodeTrigram(queryNormal, i));
+            if (posting == null || posting.isEmpty()) {
+                return Collections.emptyList(); // Ada trigram yang tidak pernah muncul
+            }
+            daftarPosting.add(posting);
+        }
+
+        // Mulai dari posting list terkecil agar irisan secepat mungkin
+        daftarPosting.sort(Comparator.comparingInt(Set::size));
+        Set<String> terkecil = daftarPosting.get(0);
+
+        List<String> hasil = new ArrayList<>();
+        for (String isbn : terkecil) {
+            boolean adaDiSemua = true;
+            for (int i = 1; i < daftarPosting.size(); i++) {
+                if (!daftarPosting.get(i).contains(isbn)) {
+                    adaDiSemua = false;
+                    break;
+                }
+            }
+            if (adaDiSemua) {
+                hasil.add(isbn);
+            }
+        }
+        return hasil;
+    }
+
+    void bersihkan() {
+        postingList.clear();
+    }
+
+    // Tiga char 16-bit dikemas ke dalam satu long
+    private static long kodeTrigram(String teks, int awal) {
+        return ((long) teks.charAt(awal) << 32)
+                | ((long) teks.charAt(awal + 1) << 16)
+                | teks.charAt(awal + 2);
+    }
+}
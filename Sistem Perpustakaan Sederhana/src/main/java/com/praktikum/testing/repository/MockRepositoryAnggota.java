@@ -0,0 +1,177 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.util.ValidationUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementasi in-memory dari RepositoriAnggota dengan indeks unik.
+ *
+ * Selain map utama (idAnggota -> Anggota), disimpan indeks hash email kanonik -> idAnggota
+ * dan telepon kanonik -> idAnggota. Lookup dan cek duplikat O(1) tanpa lock. Semua penulisan
+ * memakai satu kunci, sehingga cek keunikan dan perubahan kedua indeks terjadi sebagai satu
+ * langkah: dua pendaftaran bersamaan dengan email yang sama tidak bisa sama-sama berhasil.
+ */
+public class MockRepositoryAnggota implements RepositoriAnggota {
+
+    private final Map<String, Anggota> anggotaMap = new ConcurrentHashMap<>();
+
+    // Kunci indeks yang dipakai saat disimpan, agar bisa dihapus dengan benar walaupun
+    // objek Anggota diubah lewat setter sebelum disimpan ulang
+    private final Map<String, KunciIndeks> kunciTersimpan = new ConcurrentHashMap<>();
+
+    private final Map<String, String> indeksEmail = new ConcurrentHashMap<>();
+    private final Map<String, String> indeksTelepon = new ConcurrentHashMap<>();
+
+    private final Object kunciTulis = new Object();
+
+    private static final class KunciIndeks {
+        private final String email;
+        private final String telepon;
+
+        private KunciIndeks(String email, String telepon) {
+            this.email = email;
+            this.telepon = telepon;
+        }
+    }
+
+    @Override
+    public boolean simpan(Anggota anggota) {
+        if (anggota == null || anggota.getIdAnggota() == null) {
+            return false;
+        }
+
+        String email = ValidationUtils.normalisasiEmail(anggota.getEmail());
+        String telepon = ValidationUtils.normalisasiTelepon(anggota.getTelepon());
+        if (email == null || telepon == null) {
+            return false;
+        }
+
+        String id = anggota.getIdAnggota();
+        synchronized (kunciTulis) {
+            if (dipakaiAnggotaLain(indeksEmail, email, id) || dipakaiAnggotaLain(indeksTelepon, telepon, id)) {
+                return false;
+            }
+            anggotaMap.put(id, anggota);
+            gantiIndeks(id, new KunciIndeks(email, telepon));
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<Anggota> cariById(String idAnggota) {
+        if (idAnggota == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(anggotaMap.get(idAnggota));
+    }
+
+    @Override
+    public Optional<Anggota> cariByEmail(String email) {
+        return cariLewatIndeks(indeksEmail, ValidationUtils.normalisasiEmail(email));
+    }
+
+    @Override
+    public Optional<Anggota> cariByTelepon(String telepon) {
+        return cariLewatIndeks(indeksTelepon, ValidationUtils.normalisasiTelepon(telepon));
+    }
+
+    @Override
+    public boolean emailTerdaftar(String email) {
+        String kunci = ValidationUtils.normalisasiEmail(email);
+        return kunci != null && indeksEmail.containsKey(kunci);
+    }
+
+    @Override
+    public boolean teleponTerdaftar(String telepon) {
+        String kunci = ValidationUtils.normalisasiTelepon(telepon);
+        return kunci != null && indeksTelepon.containsKey(kunci);
+    }
+
+    @Override
+    public boolean ubahKontak(String idAnggota, String emailBaru, String teleponBaru) {
+        if (idAnggota == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            Anggota anggota = anggotaMap.get(idAnggota);
+            if (anggota == null) {
+                return false;
+            }
+
+            KunciIndeks kunciLama = kunciTersimpan.get(idAnggota);
+            String email = emailBaru == null ? kunciLama.email : ValidationUtils.normalisasiEmail(emailBaru);
+            String telepon = teleponBaru == null ? kunciLama.telepon : ValidationUtils.normalisasiTelepon(teleponBaru);
+            if (email == null || telepon == null
+                    || dipakaiAnggotaLain(indeksEmail, email, idAnggota)
+                    || dipakaiAnggotaLain(indeksTelepon, telepon, idAnggota)) {
+                return false;
+            }
+
+            gantiIndeks(idAnggota, new KunciIndeks(email, telepon));
+            if (emailBaru != null) {
+                anggota.setEmail(emailBaru);
+            }
+            if (teleponBaru != null) {
+                anggota.setTelepon(teleponBaru);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hapus(String idAnggota) {
+        if (idAnggota == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            if (anggotaMap.remove(idAnggota) == null) {
+                return false;
+            }
+            KunciIndeks kunci = kunciTersimpan.remove(idAnggota);
+            indeksEmail.remove(kunci.email, idAnggota);
+            indeksTelepon.remove(kunci.telepon, idAnggota);
+        }
+        return true;
+    }
+
+    @Override
+    public List<Anggota> cariSemua() {
+        return new ArrayList<>(anggotaMap.values());
+    }
+
+    // Dipanggil di dalam kunciTulis. Kunci baru dipasang sebelum kunci lama dilepas,
+    // sehingga pembaca tanpa lock tidak pernah melihat anggota hilang dari indeks
+    private void gantiIndeks(String id, KunciIndeks kunciBaru) {
+        KunciIndeks kunciLama = kunciTersimpan.put(id, kunciBaru);
+        indeksEmail.put(kunciBaru.email, id);
+        indeksTelepon.put(kunciBaru.telepon, id);
+        if (kunciLama != null) {
+            if (!kunciLama.email.equals(kunciBaru.email)) {
+                indeksEmail.remove(kunciLama.email, id);
+            }
+            if (!kunciLama.telepon.equals(kunciBaru.telepon)) {
+                indeksTelepon.remove(kunciLama.telepon, id);
+            }
+        }
+    }
+
+    private static boolean dipakaiAnggotaLain(Map<String, String> indeks, String kunci, String id) {
+        String pemilik = indeks.get(kunci);
+        return pemilik != null && !pemilik.equals(id);
+    }
+
+    private Optional<Anggota> cariLewatIndeks(Map<String, String> indeks, String kunci) {
+        if (kunci == null) {
+            return Optional.empty();
+        }
+        String id = indeks.get(kunci);
+        return id == null ? Optional.empty() : Optional.ofNullable(anggotaMap.get(id));
+    }
+}
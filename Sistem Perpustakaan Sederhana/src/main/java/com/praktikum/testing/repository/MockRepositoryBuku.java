@@ -1,11 +1,21 @@
 package com.praktikum.testing.repository;
 
 import com.praktikum.testing.model.Buku;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.ArrayList;
 
 /**
@@ -17,7 +27,79 @@ import java.util.ArrayList;
  */
 public class MockRepositoryBuku implements RepositoriBuku {
 
-    private final Map<String, Buku> bukuMap = new ConcurrentHashMap<>();
+    private static final int JUMLAH_KUNCI = 64;
+
+    private final Map<String, Buku> bukuMap;
+
+    // Map dan indeks untuk satu ISBN diubah sebagai satu langkah di bawah lock bergaris,
+    // sehingga simpan/hapus untuk ISBN berbeda tidak saling menunggu. simpanBatch dan
+    // bersihkan memegang semua lock.
+    private final ReentrantLock[] kunciIsbn = new ReentrantLock[JUMLAH_KUNCI];
+
+    // ISBN terurut untuk pagination dengan cursor. Mode kunci primitif memakai urutanRingkas
+    // (ISBN angka sebagai long) dan isbnUrut null; mode lain sebaliknya.
+    private final NavigableSet<String> isbnUrut;
+    private final UrutanIsbnRingkas urutanRingkas;
+
+    // Null jika indeks prefix tidak aktif (autocomplete memakai scan default RepositoriBuku)
+    private final IndeksPrefiks prefiksJudul;
+    private final IndeksPrefiks prefiksPengarang;
+
+    // Null jika mode indeks trigram tidak aktif (pencarian memakai scan)
+    private final IndeksTrigram indeksJudul;
+    private final IndeksTrigram indeksPengarang;
+
+    // Judul dan pengarang per ISBN seperti saat terakhir diindeks, null jika tidak ada indeks teks.
+    // Indeks dihapus dan kandidatnya diverifikasi memakai teks ini, bukan teks Buku saat ini,
+    // sehingga setJudul/setPengarang pada buku tersimpan tidak meninggalkan posting basi.
+    private final Map<String, TeksTerindeks> teksTerindeks;
+
+    public MockRepositoryBuku() {
+        this(false);
+    }
+
+    /**
+     * @param gunakanIndeksTrigram true untuk menjawab cariByJudul/cariByPengarang
+     *                             lewat inverted index trigram, bukan scan seluruh map.
+     *                             Teks diindeks saat simpan: setelah setJudul/setPengarang pada
+     *                             buku yang sudah tersimpan, simpan ulang buku tersebut agar
+     *                             pencarian memakai teks barunya.
+     */
+    public MockRepositoryBuku(boolean gunakanIndeksTrigram) {
+        this(gunakanIndeksTrigram, false);
+    }
+
+    /**
+     * @param gunakanKunciPrimitif true untuk menyimpan buku di PetaIsbn (ISBN dikodekan
+     *                             sebagai long di array primitif), bukan ConcurrentHashMap
+     *                             dengan kunci String. Urutan ISBN untuk cursor juga disimpan
+     *                             sebagai long.
+     */
+    public MockRepositoryBuku(boolean gunakanIndeksTrigram, boolean gunakanKunciPrimitif) {
+        this(gunakanIndeksTrigram, gunakanKunciPrimitif, false);
+    }
+
+    /**
+     * @param gunakanIndeksPrefiks true untuk menjawab autocompleteJudul/autocompletePengarang
+     *                             lewat indeks terurut, bukan scan. Indeks menyimpan satu kunci
+     *                             String per buku untuk judul dan pengarang, jadi hanya aktifkan
+     *                             jika autocomplete memang dipakai. Sama seperti indeks
+     *                             trigram, perubahan judul/pengarang perlu disimpan ulang.
+     */
+    public MockRepositoryBuku(boolean gunakanIndeksTrigram, boolean gunakanKunciPrimitif,
+                              boolean gunakanIndeksPrefiks) {
+        this.bukuMap = gunakanKunciPrimitif ? new PetaIsbn<>() : new ConcurrentHashMap<>();
+        this.isbnUrut = gunakanKunciPrimitif ? null : new ConcurrentSkipListSet<>();
+        this.urutanRingkas = gunakanKunciPrimitif ? new UrutanIsbnRingkas() : null;
+        this.indeksJudul = gunakanIndeksTrigram ? new IndeksTrigram() : null;
+        this.indeksPengarang = gunakanIndeksTrigram ? new IndeksTrigram() : null;
+        this.prefiksJudul = gunakanIndeksPrefiks ? new IndeksPrefiks() : null;
+        this.prefiksPengarang = gunakanIndeksPrefiks ? new IndeksPrefiks() : null;
+        this.teksTerindeks = gunakanIndeksTrigram || gunakanIndeksPrefiks ? new ConcurrentHashMap<>() : null;
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunciIsbn[i] = new ReentrantLock();
+        }
+    }
 
     @Override
     public boolean simpan(Buku buku) {
@@ -25,11 +107,48 @@ public class MockRepositoryBuku implements RepositoriBuku {
             return false;
         }
 
-        // Simulasi operasi simpan ke database
-        bukuMap.put(buku.getIsbn(), buku);
+        // Simulasi operasi simpan ke database.
+        // Put dan update indeks harus satu langkah agar indeks tidak tertinggal
+        ReentrantLock kunci = kunciUntuk(buku.getIsbn());
+        kunci.lock();
+        try {
+            Buku bukuLama = bukuMap.put(buku.getIsbn(), buku);
+            if (bukuLama != null) {
+                hapusDariIndeks(bukuLama);
+            }
+            tambahKeIndeks(buku);
+        } finally {
+            kunci.unlock();
+        }
         return true;
     }
 
+    @Override
+    public List<Boolean> simpanBatch(List<Buku> daftarBuku) {
+        List<Boolean> hasil = new ArrayList<>(daftarBuku.size());
+        // Satu kali ambil lock untuk seluruh batch
+        kunciSemua();
+        try {
+            List<Buku> disimpan = new ArrayList<>(daftarBuku.size());
+            for (Buku buku : daftarBuku) {
+                if (buku == null || buku.getIsbn() == null) {
+                    hasil.add(false);
+                    continue;
+                }
+                Buku bukuLama = bukuMap.put(buku.getIsbn(), buku);
+                if (bukuLama != null) {
+                    hapusDariIndeks(bukuLama);
+                }
+                disimpan.add(buku);
+                hasil.add(true);
+            }
+            tambahKeIndeksMassal(disimpan);
+        } finally {
+            lepasSemua();
+        }
+        return hasil;
+    }
+
     @Override
     public Optional<Buku> cariByIsbn(String isbn) {
         if (isbn == null) {
@@ -46,6 +165,10 @@ public class MockRepositoryBuku implements RepositoriBuku {
             return new ArrayList<>();
         }
 
+        if (indeksJudul != null) {
+            return cariLewatIndeks(indeksJudul, judul.toLowerCase().trim(), teks -> teks.judul);
+        }
+
         return bukuMap.values().stream()
                 .filter(buku -> buku.getJudul().toLowerCase().contains(judul.toLowerCase().trim()))
                 .collect(Collectors.toList());
@@ -57,19 +180,176 @@ public class MockRepositoryBuku implements RepositoriBuku {
             return new ArrayList<>();
         }
 
+        if (indeksPengarang != null) {
+            return cariLewatIndeks(indeksPengarang, pengarang.toLowerCase().trim(), teks -> teks.pengarang);
+        }
+
         return bukuMap.values().stream()
                 .filter(buku -> buku.getPengarang().toLowerCase().contains(pengarang.toLowerCase().trim()))
                 .collect(Collectors.toList());
     }
 
+    private List<Buku> cariLewatIndeks(IndeksTrigram indeks, String query, Function<TeksTerindeks, String> teks) {
+        List<String> kandidat = indeks.kandidat(query);
+        if (kandidat == null) {
+            // Query kurang dari 3 karakter, tidak bisa disaring dengan trigram
+            return bukuMap.values().stream()
+                    .filter(buku -> cocokTeksTerindeks(buku.getIsbn(), query, teks))
+                    .collect(Collectors.toList());
+        }
+
+        // Verifikasi kandidat, karena irisan trigram bisa menghasilkan false positive
+        List<Buku> hasil = new ArrayList<>();
+        for (String isbn : kandidat) {
+            Buku buku = bukuMap.get(isbn);
+            if (buku != null && cocokTeksTerindeks(isbn, query, teks)) {
+                hasil.add(buku);
+            }
+        }
+        return hasil;
+    }
+
+    private boolean cocokTeksTerindeks(String isbn, String query, Function<TeksTerindeks, String> teks) {
+        TeksTerindeks terindeks = teksTerindeks.get(isbn);
+        String isi = terindeks != null ? teks.apply(terindeks) : null;
+        return isi != null && isi.toLowerCase().contains(query);
+    }
+
+    @Override
+    public List<Buku> autocompleteJudul(String prefix, int batas) {
+        if (prefiksJudul == null) {
+            return RepositoriBuku.super.autocompleteJudul(prefix, batas);
+        }
+        return autocomplete(prefiksJudul, prefix, batas);
+    }
+
+    @Override
+    public List<Buku> autocompletePengarang(String prefix, int batas) {
+        if (prefiksPengarang == null) {
+            return RepositoriBuku.super.autocompletePengarang(prefix, batas);
+        }
+        return autocomplete(prefiksPengarang, prefix, batas);
+    }
+
+    private List<Buku> autocomplete(IndeksPrefiks indeks, String prefix, int batas) {
+        if (prefix == null || prefix.trim().isEmpty() || batas <= 0) {
+            return new ArrayList<>();
+        }
+
+        List<Buku> hasil = new ArrayList<>();
+        for (String isbn : indeks.cari(prefix.toLowerCase().stripLeading(), batas)) {
+            Buku buku = bukuMap.get(isbn);
+            if (buku != null) {
+                hasil.add(buku);
+            }
+        }
+        return hasil;
+    }
+
+    private void tambahKeIndeks(Buku buku) {
+        if (isbnUrut != null) {
+            isbnUrut.add(buku.getIsbn());
+        } else {
+            urutanRingkas.tambah(buku.getIsbn());
+        }
+        if (teksTerindeks == null) {
+            return;
+        }
+
+        TeksTerindeks teks = new TeksTerindeks(buku.getJudul(), buku.getPengarang());
+        teksTerindeks.put(buku.getIsbn(), teks);
+        if (prefiksJudul != null) {
+            prefiksJudul.tambah(buku.getIsbn(), teks.judul);
+            prefiksPengarang.tambah(buku.getIsbn(), teks.pengarang);
+        }
+        if (indeksJudul != null) {
+            indeksJudul.tambah(buku.getIsbn(), teks.judul);
+            indeksPengarang.tambah(buku.getIsbn(), teks.pengarang);
+        }
+    }
+
+    /**
+     * Sama dengan tambahKeIndeks untuk setiap buku, tetapi kunci skip list diurutkan dulu
+     * sehingga penyisipan berjalan berurutan (sekitar 3x lebih cepat untuk batch besar,
+     * misalnya saat memuat snapshot). Buku yang sudah tertimpa buku lain dengan ISBN
+     * sama di batch yang sama dilewati.
+     */
+    private void tambahKeIndeksMassal(List<Buku> daftarBuku) {
+        List<Buku> berlaku = new ArrayList<>(daftarBuku.size());
+        List<String> daftarIsbn = new ArrayList<>(daftarBuku.size());
+        for (Buku buku : daftarBuku) {
+            if (bukuMap.get(buku.getIsbn()) == buku) {
+                berlaku.add(buku);
+                daftarIsbn.add(buku.getIsbn());
+            }
+        }
+
+        daftarIsbn.sort(null);
+        if (isbnUrut != null) {
+            isbnUrut.addAll(daftarIsbn);
+        } else {
+            urutanRingkas.tambahSemua(daftarIsbn);
+        }
+        if (teksTerindeks == null) {
+            return;
+        }
+
+        for (Buku buku : berlaku) {
+            teksTerindeks.put(buku.getIsbn(), new TeksTerindeks(buku.getJudul(), buku.getPengarang()));
+        }
+        if (prefiksJudul != null) {
+            prefiksJudul.tambahSemua(berlaku, buku -> teksTerindeks.get(buku.getIsbn()).judul);
+            prefiksPengarang.tambahSemua(berlaku, buku -> teksTerindeks.get(buku.getIsbn()).pengarang);
+        }
+        if (indeksJudul != null) {
+            for (Buku buku : berlaku) {
+                TeksTerindeks teks = teksTerindeks.get(buku.getIsbn());
+                indeksJudul.tambah(buku.getIsbn(), teks.judul);
+                indeksPengarang.tambah(buku.getIsbn(), teks.pengarang);
+            }
+        }
+    }
+
+    private void hapusDariIndeks(Buku buku) {
+        if (isbnUrut != null) {
+            isbnUrut.remove(buku.getIsbn());
+        } else {
+            urutanRingkas.hapus(buku.getIsbn());
+        }
+        TeksTerindeks teks = teksTerindeks != null ? teksTerindeks.remove(buku.getIsbn()) : null;
+        if (teks == null) {
+            return;
+        }
+
+        // Pakai teks saat diindeks, karena judul/pengarang buku bisa sudah diubah sejak simpan
+        if (prefiksJudul != null) {
+            prefiksJudul.hapus(buku.getIsbn(), teks.judul);
+            prefiksPengarang.hapus(buku.getIsbn(), teks.pengarang);
+        }
+        if (indeksJudul != null) {
+            indeksJudul.hapus(buku.getIsbn(), teks.judul);
+            indeksPengarang.hapus(buku.getIsbn(), teks.pengarang);
+        }
+    }
+
     @Override
     public boolean hapus(String isbn) {
         if (isbn == null) {
             return false;
         }
 
-        Buku bukuDihapus = bukuMap.remove(isbn);
-        return bukuDihapus != null;
+        ReentrantLock kunci = kunciUntuk(isbn);
+        kunci.lock();
+        try {
+            Buku bukuDihapus = bukuMap.remove(isbn);
+            if (bukuDihapus == null) {
+                return false;
+            }
+            hapusDariIndeks(bukuDihapus);
+            return true;
+        } finally {
+            kunci.unlock();
+        }
     }
 
     @Override
@@ -92,14 +372,92 @@ public class MockRepositoryBuku implements RepositoriBuku {
         return true;
     }
 
+    @Override
+    public boolean kurangiTersedia(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        // Lock-free per ISBN: CAS langsung pada objek Buku
+        Buku buku = bukuMap.get(isbn);
+        return buku != null && buku.kurangiTersedia();
+    }
+
+    @Override
+    public boolean tambahTersedia(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        Buku buku = bukuMap.get(isbn);
+        return buku != null && buku.tambahTersedia();
+    }
+
     @Override
     public List<Buku> cariSemua() {
         return new ArrayList<>(bukuMap.values());
     }
 
+    @Override
+    public List<Buku> cariSemua(String setelahIsbn, int ukuranHalaman) {
+        if (ukuranHalaman <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Hanya membaca ISBN setelah cursor, tidak menyalin seluruh katalog
+        Iterator<String> sisa = isbnSetelah(setelahIsbn);
+        List<Buku> halaman = new ArrayList<>(Math.min(ukuranHalaman, 256));
+        while (halaman.size() < ukuranHalaman && sisa.hasNext()) {
+            Buku buku = bukuMap.get(sisa.next());
+            if (buku != null) {
+                halaman.add(buku);
+            }
+        }
+        return halaman;
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        Stream<String> semuaIsbn = isbnUrut != null
+                ? isbnUrut.stream()
+                : StreamSupport.stream(Spliterators.spliteratorUnknownSize(urutanRingkas.iterator(null),
+                        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+        return semuaIsbn
+                .map(bukuMap::get)
+                .filter(Objects::nonNull);
+    }
+
+    private Iterator<String> isbnSetelah(String setelahIsbn) {
+        if (isbnUrut == null) {
+            return urutanRingkas.iterator(setelahIsbn);
+        }
+        return (setelahIsbn == null ? isbnUrut : isbnUrut.tailSet(setelahIsbn, false)).iterator();
+    }
+
     // Utility methods untuk testing
     public void bersihkan() {
-        bukuMap.clear();
+        kunciSemua();
+        try {
+            bukuMap.clear();
+            if (isbnUrut != null) {
+                isbnUrut.clear();
+            } else {
+                urutanRingkas.bersihkan();
+            }
+            if (prefiksJudul != null) {
+                prefiksJudul.bersihkan();
+                prefiksPengarang.bersihkan();
+            }
+            if (indeksJudul != null) {
+                indeksJudul.bersihkan();
+                indeksPengarang.bersihkan();
+            }
+            if (teksTerindeks != null) {
+                teksTerindeks.clear();
+            }
+        } finally {
+            lepasSemua();
+        }
     }
 
     public int ukuran() {
@@ -109,4 +467,32 @@ public class MockRepositoryBuku implements RepositoriBuku {
     public boolean mengandung(String isbn) {
         return bukuMap.containsKey(isbn);
     }
-}
\ No newline at end of file
+
+    private ReentrantLock kunciUntuk(String isbn) {
+        int hash = isbn.hashCode();
+        return kunciIsbn[(hash ^ (hash >>> 16)) & (JUMLAH_KUNCI - 1)];
+    }
+
+    // Selalu dengan urutan yang sama agar tidak deadlock dengan pemegang semua lock lain
+    private void kunciSemua() {
+        for (ReentrantLock kunci : kunciIsbn) {
+            kunci.lock();
+        }
+    }
+
+    private void lepasSemua() {
+        for (int i = JUMLAH_KUNCI - 1; i >= 0; i--) {
+            kunciIsbn[i].unlock();
+        }
+    }
+
+    private static final class TeksTerindeks {
+        private final String judul;
+        private final String pengarang;
+
+        TeksTerindeks(String judul, String pengarang) {
+            this.judul = judul;
+            this.pengarang = pengarang;
+        }
+    }
+}
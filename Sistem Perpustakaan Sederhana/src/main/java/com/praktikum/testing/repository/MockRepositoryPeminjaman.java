@@ -0,0 +1,226 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Peminjaman;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Implementasi in-memory dari RepositoriPeminjaman dengan indeks sekunder.
+ *
+ * Selain map utama (idPeminjaman -> Peminjaman), disimpan indeks hash untuk idAnggota
+ * dan isbnBuku, serta indeks terurut untuk tanggalJatuhTempo. Lookup per anggota/ISBN
+ * menjadi O(1 + k) dan query rentang jatuh tempo O(log n + k), tanpa scan semua peminjaman.
+ * Peminjaman yang belum dikembalikan juga masuk IndeksKeterlambatan untuk cariTerlambat().
+ */
+public class MockRepositoryPeminjaman implements RepositoriPeminjaman {
+
+    private final Map<String, Peminjaman> peminjamanMap = new ConcurrentHashMap<>();
+
+    // Kunci indeks yang dipakai saat disimpan, agar bisa dihapus dengan benar walaupun
+    // objek Peminjaman diubah lewat setter sebelum disimpan ulang
+    private final Map<String, KunciIndeks> kunciTersimpan = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> indeksAnggota = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> indeksIsbn = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDate, Set<String>> indeksJatuhTempo = new ConcurrentSkipListMap<>();
+
+    // Hanya peminjaman yang belum dikembalikan
+    private final IndeksKeterlambatan indeksKeterlambatan = new IndeksKeterlambatan();
+
+    private final Object kunciTulis = new Object();
+
+    private static final class KunciIndeks {
+        private final String idAnggota;
+        private final String isbnBuku;
+        private final LocalDate tanggalJatuhTempo;
+
+        private KunciIndeks(Peminjaman peminjaman) {
+            this.idAnggota = peminjaman.getIdAnggota();
+            this.isbnBuku = peminjaman.getIsbnBuku();
+            this.tanggalJatuhTempo = peminjaman.getTanggalJatuhTempo();
+        }
+    }
+
+    @Override
+    public boolean simpan(Peminjaman peminjaman) {
+        if (peminjaman == null || peminjaman.getIdPeminjaman() == null) {
+            return false;
+        }
+
+        String id = peminjaman.getIdPeminjaman();
+        synchronized (kunciTulis) {
+            KunciIndeks kunciLama = kunciTersimpan.get(id);
+            if (kunciLama != null) {
+                hapusDariIndeks(id, kunciLama);
+            }
+            peminjamanMap.put(id, peminjaman);
+            KunciIndeks kunciBaru = new KunciIndeks(peminjaman);
+            kunciTersimpan.put(id, kunciBaru);
+            tambahKeIndeks(id, kunciBaru);
+
+            if (peminjaman.isSudahDikembalikan() || peminjaman.getHariJatuhTempo() == Peminjaman.TANPA_TANGGAL) {
+                indeksKeterlambatan.hapus(id);
+            } else {
+                indeksKeterlambatan.tambah(id, peminjaman.getHariJatuhTempo());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<Peminjaman> cariById(String idPeminjaman) {
+        if (idPeminjaman == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(peminjamanMap.get(idPeminjaman));
+    }
+
+    @Override
+    public List<Peminjaman> cariByAnggota(String idAnggota) {
+        if (idAnggota == null) {
+            return new ArrayList<>();
+        }
+        return ambil(indeksAnggota.get(idAnggota));
+    }
+
+    @Override
+    public List<Peminjaman> cariByIsbn(String isbnBuku) {
+        if (isbnBuku == null) {
+            return new ArrayList<>();
+        }
+        return ambil(indeksIsbn.get(isbnBuku));
+    }
+
+    @Override
+    public List<Peminjaman> cariByJatuhTempo(LocalDate dari, LocalDate sampai) {
+        if (dari == null || sampai == null || dari.isAfter(sampai)) {
+            return new ArrayList<>();
+        }
+
+        List<Peminjaman> hasil = new ArrayList<>();
+        for (Set<String> daftarId : indeksJatuhTempo.subMap(dari, true, sampai, true).values()) {
+            tambahSemua(hasil, daftarId);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String idPeminjaman) {
+        if (idPeminjaman == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            Peminjaman dihapus = peminjamanMap.remove(idPeminjaman);
+            if (dihapus == null) {
+                return false;
+            }
+            hapusDariIndeks(idPeminjaman, kunciTersimpan.remove(idPeminjaman));
+            indeksKeterlambatan.hapus(idPeminjaman);
+        }
+        return true;
+    }
+
+    @Override
+    public List<Peminjaman> cariTerlambat(LocalDate perTanggal) {
+        if (perTanggal == null) {
+            return new ArrayList<>();
+        }
+        return ambil(indeksKeterlambatan.terlambatPada(perTanggal.toEpochDay()));
+    }
+
+    @Override
+    public boolean tandaiDikembalikan(String idPeminjaman, LocalDate tanggalKembali) {
+        if (idPeminjaman == null || tanggalKembali == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            Peminjaman peminjaman = peminjamanMap.get(idPeminjaman);
+            if (peminjaman == null || peminjaman.isSudahDikembalikan()) {
+                return false;
+            }
+            peminjaman.setTanggalKembali(tanggalKembali);
+            peminjaman.setSudahDikembalikan(true);
+            indeksKeterlambatan.hapus(idPeminjaman);
+        }
+        return true;
+    }
+
+    @Override
+    public List<Peminjaman> cariSemua() {
+        return new ArrayList<>(peminjamanMap.values());
+    }
+
+    // Utility methods untuk testing
+    public void bersihkan() {
+        synchronized (kunciTulis) {
+            peminjamanMap.clear();
+            kunciTersimpan.clear();
+            indeksAnggota.clear();
+            indeksIsbn.clear();
+            indeksJatuhTempo.clear();
+            indeksKeterlambatan.bersihkan();
+        }
+    }
+
+    public int ukuran() {
+        return peminjamanMap.size();
+    }
+
+    private List<Peminjaman> ambil(Collection<String> daftarId) {
+        List<Peminjaman> hasil = new ArrayList<>();
+        if (daftarId != null) {
+            tambahSemua(hasil, daftarId);
+        }
+        return hasil;
+    }
+
+    private void tambahSemua(List<Peminjaman> hasil, Collection<String> daftarId) {
+        for (String id : daftarId) {
+            Peminjaman peminjaman = peminjamanMap.get(id);
+            if (peminjaman != null) {
+                hasil.add(peminjaman);
+            }
+        }
+    }
+
+    private void tambahKeIndeks(String id, KunciIndeks kunci) {
+        tambahKe(indeksAnggota, kunci.idAnggota, id);
+        tambahKe(indeksIsbn, kunci.isbnBuku, id);
+        tambahKe(indeksJatuhTempo, kunci.tanggalJatuhTempo, id);
+    }
+
+    private void hapusDariIndeks(String id, KunciIndeks kunci) {
+        hapusDari(indeksAnggota, kunci.idAnggota, id);
+        hapusDari(indeksIsbn, kunci.isbnBuku, id);
+        hapusDari(indeksJatuhTempo, kunci.tanggalJatuhTempo, id);
+    }
+
+    private static <K> void tambahKe(Map<K, Set<String>> indeks, K kunci, String id) {
+        if (kunci != null) {
+            indeks.computeIfAbsent(kunci, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static <K> void hapusDari(Map<K, Set<String>> indeks, K kunci, String id) {
+        if (kunci == null) {
+            return;
+        }
+        Set<String> daftarId = indeks.get(kunci);
+        if (daftarId != null) {
+            daftarId.remove(id);
+            if (daftarId.isEmpty()) {
+                indeks.remove(kunci, daftarId);
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.util.KodeIsbn;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Map konkuren dengan kunci ISBN yang disimpan sebagai kode long (lihat KodeIsbn)
+ * di tabel open addressing array primitif, tanpa objek Node atau String per entri.
+ *
+ * Baca (get) lock-free: kunci dipublikasikan dengan release setelah nilainya ditulis,
+ * sehingga pembaca yang melihat kunci pasti melihat nilainya. Tulis diserialisasi
+ * dengan lock. Hapus meninggalkan kunci dengan nilai null (tombstone) agar pembaca
+ * yang sedang probing tidak kehilangan entri; tombstone dibuang saat tabel dibangun ulang.
+ * Tabel lama tidak pernah diubah lagi setelah diganti.
+ *
+ * ISBN yang tidak bisa dikodekan (misalnya memakai tanda hubung) disimpan di
+ * ConcurrentHashMap biasa. Iterasi bersifat weakly consistent seperti ConcurrentHashMap.
+ */
+class PetaIsbn<V> extends AbstractMap<String, V> {
+
+    private static final VarHandle KUNCI = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle NILAI = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private static final long KOSONG = -1L; // Kode ISBN selalu non-negatif
+    private static final double FAKTOR_MUAT = 0.6;
+    private static final int KAPASITAS_MIN = 16;
+
+    private static final class Tabel {
+        final long[] kunci;
+        final Object[] nilai;
+        final int batas;
+        int terpakai; // Slot berisi kunci, termasuk tombstone
+
+        Tabel(int kapasitas) {
+            kunci = new long[kapasitas];
+            nilai = new Object[kapasitas];
+            batas = (int) (kapasitas * FAKTOR_MUAT);
+            Arrays.fill(kunci, KOSONG);
+        }
+    }
+
+    private final Object kunciTulis = new Object();
+    private volatile Tabel tabel = new Tabel(KAPASITAS_MIN);
+    private volatile int jumlah; // Entri hidup di tabel primitif
+    private final Map<String, V> lain = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object isbn) {
+        if (!(isbn instanceof String)) {
+            return null;
+        }
+
+        long kode = KodeIsbn.kode((String) isbn);
+        if (kode == KodeIsbn.TIDAK_BISA_DIKODE) {
+            return lain.get(isbn);
+        }
+
+        Tabel t = tabel;
+        int mask = t.kunci.length - 1;
+        for (int i = slot(kode, mask); ; i = (i + 1) & mask) {
+            long k = (long) KUNCI.getAcquire(t.kunci, i);
+            if (k == kode) {
+                return (V) NILAI.getAcquire(t.nilai, i);
+            }
+            if (k == KOSONG) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object isbn) {
+        return get(isbn) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(String isbn, V nilai) {
+        Objects.requireNonNull(nilai);
+        long kode = KodeIsbn.kode(isbn);
+        if (kode == KodeIsbn.TIDAK_BISA_DIKODE) {
+            return lain.put(Objects.requireNonNull(isbn), nilai);
+        }
+
+        synchronized (kunciTulis) {
+            Tabel t = tabel;
+            int mask = t.kunci.length - 1;
+            int i = slot(kode, mask);
+            for (long k = t.kunci[i]; k != KOSONG; k = t.kunci[i]) {
+                if (k == kode) {
+                    V lama = (V) t.nilai[i];
+                    NILAI.setRelease(t.nilai, i, nilai);
+                    if (lama == null) {
+                        jumlah++; // Menghidupkan kembali tombstone
+                    }
+                    return lama;
+                }
+                i = (i + 1) & mask;
+            }
+
+            if (t.terpakai + 1 > t.batas) {
+                t = bangunUlang(t, jumlah + 1);
+                mask = t.kunci.length - 1;
+                i = slot(kode, mask);
+                while (t.kunci[i] != KOSONG) {
+                    i = (i + 1) & mask;
+                }
+            }
+
+            // Nilai ditulis dulu, baru kunci dipublikasikan
+            NILAI.setRelease(t.nilai, i, nilai);
+            KUNCI.setRelease(t.kunci, i, kode);
+            t.terpakai++;
+            jumlah++;
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object isbn) {
+        if (!(isbn instanceof String)) {
+            return null;
+        }
+
+        long kode = KodeIsbn.kode((String) isbn);
+        if (kode == KodeIsbn.TIDAK_BISA_DIKODE) {
+            return lain.remove(isbn);
+        }
+
+        synchronized (kunciTulis) {
+            Tabel t = tabel;
+            int mask = t.kunci.length - 1;
+            for (int i = slot(kode, mask); t.kunci[i] != KOSONG; i = (i + 1) & mask) {
+                if (t.kunci[i] == kode) {
+                    V lama = (V) t.nilai[i];
+                    if (lama != null) {
+                        NILAI.setRelease(t.nilai, i, null);
+                        jumlah--;
+                    }
+                    return lama;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (kunciTulis) {
+            tabel = new Tabel(KAPASITAS_MIN);
+            jumlah = 0;
+            lain.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        return jumlah + lain.size();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new Iterasi<>(tabel, Function.identity());
+            }
+
+            @Override
+            public int size() {
+                return PetaIsbn.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator() {
+                return new Iterasi<>(tabel, null);
+            }
+
+            @Override
+            public int size() {
+                return PetaIsbn.this.size();
+            }
+        };
+    }
+
+    // Dipanggil di bawah kunciTulis. Ukuran tabel baru mengikuti jumlah entri hidup,
+    // sehingga tabel juga bisa mengecil setelah banyak hapus.
+    private Tabel bangunUlang(Tabel lama, int jumlahHidup) {
+        int kapasitas = KAPASITAS_MIN;
+        while (kapasitas * FAKTOR_MUAT < jumlahHidup * 2L) {
+            kapasitas <<= 1;
+        }
+
+        Tabel baru = new Tabel(kapasitas);
+        int mask = kapasitas - 1;
+        for (int j = 0; j < lama.kunci.length; j++) {
+            Object nilai = lama.nilai[j];
+            if (lama.kunci[j] != KOSONG && nilai != null) {
+                int i = slot(lama.kunci[j], mask);
+                while (baru.kunci[i] != KOSONG) {
+                    i = (i + 1) & mask;
+                }
+                baru.kunci[i] = lama.kunci[j];
+                baru.nilai[i] = nilai;
+                baru.terpakai++;
+            }
+        }
+        tabel = baru; // Publikasi lewat field volatile
+        return baru;
+    }
+
+    private static int slot(long kode, int mask) {
+        long h = kode * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Iterasi tabel primitif lalu map ISBN lain. Jika pembuatEntri null, menghasilkan
+     * Map.Entry; jika tidak, hanya nilai (kunci tidak perlu di-decode).
+     */
+    private final class Iterasi<T> implements Iterator<T> {
+        private final Tabel t;
+        private final Function<V, T> hanyaNilai;
+        private final Iterator<Map.Entry<String, V>> iteratorLain = lain.entrySet().iterator();
+        private int posisi = -1;
+        private T berikutnya;
+
+        Iterasi(Tabel t, Function<V, T> hanyaNilai) {
+            this.t = t;
+            this.hanyaNilai = hanyaNilai;
+            maju();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return berikutnya != null;
+        }
+
+        @Override
+        public T next() {
+            if (berikutnya == null) {
+                throw new NoSuchElementException();
+            }
+            T hasil = berikutnya;
+            maju();
+            return hasil;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void maju() {
+            while (++posisi < t.kunci.length) {
+                long kode = (long) KUNCI.getAcquire(t.kunci, posisi);
+                V nilai = kode == KOSONG ? null : (V) NILAI.getAcquire(t.nilai, posisi);
+                if (nilai != null) {
+                    berikutnya = buat(kode, null, nilai);
+                    return;
+                }
+            }
+            if (iteratorLain.hasNext()) {
+                Map.Entry<String, V> entry = iteratorLain.next();
+                berikutnya = buat(KOSONG, entry.getKey(), entry.getValue());
+                return;
+            }
+            berikutnya = null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T buat(long kode, String isbn, V nilai) {
+            if (hanyaNilai != null) {
+                return hanyaNilai.apply(nilai);
+            }
+            String kunci = isbn != null ? isbn : KodeIsbn.keString(kode);
+            return (T) new AbstractMap.SimpleImmutableEntry<>(kunci, nilai);
+        }
+    }
+}
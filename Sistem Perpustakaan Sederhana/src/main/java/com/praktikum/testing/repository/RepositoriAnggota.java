@@ -0,0 +1,35 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Penyimpanan anggota dengan email dan nomor telepon yang unik. Email dan telepon
+ * dibandingkan dalam bentuk kanonik (lihat ValidationUtils.normalisasiEmail/normalisasiTelepon).
+ */
+public interface RepositoriAnggota {
+
+    /**
+     * Menyimpan anggota baru atau memperbarui anggota dengan ID yang sama.
+     *
+     * @return false jika email/telepon tidak valid atau sudah dipakai anggota lain
+     */
+    boolean simpan(Anggota anggota);
+    Optional<Anggota> cariById(String idAnggota);
+    Optional<Anggota> cariByEmail(String email);
+    Optional<Anggota> cariByTelepon(String telepon);
+    boolean emailTerdaftar(String email);
+    boolean teleponTerdaftar(String telepon);
+
+    /**
+     * Mengganti email dan telepon anggota sekaligus. Indeks dan objek Anggota hanya
+     * diubah jika kedua nilai baru valid dan belum dipakai anggota lain.
+     *
+     * @param emailBaru    null jika email tidak diubah
+     * @param teleponBaru  null jika telepon tidak diubah
+     */
+    boolean ubahKontak(String idAnggota, String emailBaru, String teleponBaru);
+    boolean hapus(String idAnggota);
+    List<Anggota> cariSemua();
+}
@@ -1,8 +1,16 @@
 package com.praktikum.testing.repository;
 
 import com.praktikum.testing.model.Buku;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface RepositoriBuku {
     boolean simpan(Buku buku);
@@ -11,5 +19,127 @@ public interface RepositoriBuku {
     List<Buku> cariByPengarang(String pengarang);
     boolean hapus(String isbn);
     boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru);
+
+    /**
+     * Mengurangi jumlah tersedia sebanyak 1 jika masih lebih dari 0.
+     * Default-nya cariByIsbn lalu updateJumlahTersedia, jadi tidak atomik; implementasi yang
+     * bisa compare-and-set sebaiknya meng-override agar tidak ada celah antara cek dan update.
+     */
+    default boolean kurangiTersedia(String isbn) {
+        Optional<Buku> buku = cariByIsbn(isbn);
+        if (buku.isEmpty() || buku.get().getJumlahTersedia() <= 0) {
+            return false;
+        }
+        return updateJumlahTersedia(isbn, buku.get().getJumlahTersedia() - 1);
+    }
+
+    /**
+     * Menambah jumlah tersedia sebanyak 1 jika masih di bawah jumlah total.
+     * Sama seperti kurangiTersedia, default-nya tidak atomik.
+     */
+    default boolean tambahTersedia(String isbn) {
+        Optional<Buku> buku = cariByIsbn(isbn);
+        if (buku.isEmpty() || buku.get().getJumlahTersedia() >= buku.get().getJumlahTotal()) {
+            return false;
+        }
+        return updateJumlahTersedia(isbn, buku.get().getJumlahTersedia() + 1);
+    }
+
+    // Operasi batch: implementasi dengan backing store lambat sebaiknya meng-override
+    // agar satu batch cukup satu round trip. Default-nya memanggil operasi tunggal.
+
+    /**
+     * Mencari banyak ISBN sekaligus. Hanya ISBN yang ditemukan yang ada di map hasil.
+     */
+    default Map<String, Buku> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        Map<String, Buku> hasil = new HashMap<>();
+        for (String isbn : daftarIsbn) {
+            cariByIsbn(isbn).ifPresent(buku -> hasil.put(isbn, buku));
+        }
+        return hasil;
+    }
+
+    /**
+     * @return hasil simpan per buku, dengan urutan sama seperti daftarBuku
+     */
+    default List<Boolean> simpanBatch(List<Buku> daftarBuku) {
+        List<Boolean> hasil = new ArrayList<>(daftarBuku.size());
+        for (Buku buku : daftarBuku) {
+            hasil.add(simpan(buku));
+        }
+        return hasil;
+    }
+
+    default List<Boolean> kurangiTersediaBatch(List<String> daftarIsbn) {
+        List<Boolean> hasil = new ArrayList<>(daftarIsbn.size());
+        for (String isbn : daftarIsbn) {
+            hasil.add(kurangiTersedia(isbn));
+        }
+        return hasil;
+    }
+
+    default List<Boolean> tambahTersediaBatch(List<String> daftarIsbn) {
+        List<Boolean> hasil = new ArrayList<>(daftarIsbn.size());
+        for (String isbn : daftarIsbn) {
+            hasil.add(tambahTersedia(isbn));
+        }
+        return hasil;
+    }
+
     List<Buku> cariSemua();
+
+    /**
+     * Pagination dengan cursor: mengembalikan maksimal ukuranHalaman buku dengan ISBN
+     * setelah setelahIsbn (urut ISBN). Gunakan null untuk halaman pertama, lalu ISBN
+     * terakhir dari halaman sebelumnya sebagai cursor berikutnya.
+     * Implementasi default masih menyalin seluruh katalog; sebaiknya di-override.
+     */
+    default List<Buku> cariSemua(String setelahIsbn, int ukuranHalaman) {
+        if (ukuranHalaman <= 0) {
+            return new ArrayList<>();
+        }
+
+        return streamSemua()
+                .filter(buku -> setelahIsbn == null || buku.getIsbn().compareTo(setelahIsbn) > 0)
+                .sorted(Comparator.comparing(Buku::getIsbn))
+                .limit(ukuranHalaman)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Stream lazy atas seluruh katalog, untuk job yang tidak perlu menampung
+     * semua buku dalam satu List.
+     */
+    default Stream<Buku> streamSemua() {
+        return cariSemua().stream();
+    }
+
+    /**
+     * Mengembalikan maksimal batas buku yang judulnya diawali prefix (case insensitive),
+     * terurut alfabetis. Implementasi default melakukan scan; implementasi yang punya
+     * indeks terurut sebaiknya meng-override.
+     */
+    default List<Buku> autocompleteJudul(String prefix, int batas) {
+        return autocompleteScan(Buku::getJudul, prefix, batas);
+    }
+
+    default List<Buku> autocompletePengarang(String prefix, int batas) {
+        return autocompleteScan(Buku::getPengarang, prefix, batas);
+    }
+
+    private List<Buku> autocompleteScan(Function<Buku, String> teks, String prefix, int batas) {
+        if (prefix == null || prefix.trim().isEmpty() || batas <= 0) {
+            return new ArrayList<>();
+        }
+
+        String prefixNormal = prefix.toLowerCase().stripLeading();
+        // streamSemua agar implementasi lazy tidak perlu menampung seluruh katalog dalam List
+        return streamSemua()
+                .filter(buku -> teks.apply(buku) != null
+                        && teks.apply(buku).toLowerCase().startsWith(prefixNormal))
+                .sorted(Comparator.comparing((Buku buku) -> teks.apply(buku).toLowerCase())
+                        .thenComparing(Buku::getIsbn))
+                .limit(batas)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versi non-blocking dari RepositoriBuku: setiap operasi langsung mengembalikan
+ * CompletableFuture, sehingga pemanggil tidak memegang thread selama round trip ke storage.
+ * Kegagalan storage dilaporkan sebagai future yang selesai dengan exception.
+ *
+ * Untuk membungkus RepositoriBuku yang sinkron, gunakan RepositoriBukuAsyncAdapter.
+ */
+public interface RepositoriBukuAsync {
+    CompletableFuture<Boolean> simpan(Buku buku);
+    CompletableFuture<Optional<Buku>> cariByIsbn(String isbn);
+    CompletableFuture<List<Buku>> cariByJudul(String judul);
+    CompletableFuture<List<Buku>> cariByPengarang(String pengarang);
+    CompletableFuture<Boolean> hapus(String isbn);
+    CompletableFuture<Boolean> updateJumlahTersedia(String isbn, int jumlahTersediaBaru);
+
+    /**
+     * Mengurangi jumlah tersedia sebanyak 1 secara atomik jika masih lebih dari 0.
+     */
+    CompletableFuture<Boolean> kurangiTersedia(String isbn);
+
+    /**
+     * Menambah jumlah tersedia sebanyak 1 secara atomik jika masih di bawah jumlah total.
+     */
+    CompletableFuture<Boolean> tambahTersedia(String isbn);
+
+    /**
+     * Mencari banyak ISBN sekaligus. Hanya ISBN yang ditemukan yang ada di map hasil.
+     */
+    CompletableFuture<Map<String, Buku>> cariByIsbnBatch(Collection<String> daftarIsbn);
+
+    /**
+     * @return hasil simpan per buku, dengan urutan sama seperti daftarBuku
+     */
+    CompletableFuture<List<Boolean>> simpanBatch(List<Buku> daftarBuku);
+
+    CompletableFuture<List<Boolean>> kurangiTersediaBatch(List<String> daftarIsbn);
+
+    CompletableFuture<List<Boolean>> tambahTersediaBatch(List<String> daftarIsbn);
+
+    /**
+     * Pagination dengan cursor, lihat RepositoriBuku.cariSemua(String, int).
+     */
+    CompletableFuture<List<Buku>> cariSemua(String setelahIsbn, int ukuranHalaman);
+}
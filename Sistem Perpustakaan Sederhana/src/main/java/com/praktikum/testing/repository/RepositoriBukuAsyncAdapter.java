@@ -0,0 +1,102 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Adapter dari RepositoriBuku sinkron ke RepositoriBukuAsync. Setiap panggilan dijalankan
+ * di executor; secara default satu virtual thread per panggilan, sehingga storage yang lambat
+ * hanya memarkir virtual thread dan tidak menahan platform thread pemanggil.
+ */
+public class RepositoriBukuAsyncAdapter implements RepositoriBukuAsync {
+
+    private final RepositoriBuku repositori;
+    private final Executor executor;
+
+    public RepositoriBukuAsyncAdapter(RepositoriBuku repositori) {
+        this(repositori, Thread::startVirtualThread);
+    }
+
+    /**
+     * @param executor tempat panggilan sinkron dijalankan, misalnya pool terbatas
+     *                 jika storage hanya sanggup melayani sejumlah koneksi
+     */
+    public RepositoriBukuAsyncAdapter(RepositoriBuku repositori, Executor executor) {
+        if (repositori == null || executor == null) {
+            throw new IllegalArgumentException("Repositori dan executor tidak boleh null");
+        }
+        this.repositori = repositori;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> simpan(Buku buku) {
+        return CompletableFuture.supplyAsync(() -> repositori.simpan(buku), executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Buku>> cariByIsbn(String isbn) {
+        return CompletableFuture.supplyAsync(() -> repositori.cariByIsbn(isbn), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Buku>> cariByJudul(String judul) {
+        return CompletableFuture.supplyAsync(() -> repositori.cariByJudul(judul), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Buku>> cariByPengarang(String pengarang) {
+        return CompletableFuture.supplyAsync(() -> repositori.cariByPengarang(pengarang), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hapus(String isbn) {
+        return CompletableFuture.supplyAsync(() -> repositori.hapus(isbn), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        return CompletableFuture.supplyAsync(() -> repositori.updateJumlahTersedia(isbn, jumlahTersediaBaru), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> kurangiTersedia(String isbn) {
+        return CompletableFuture.supplyAsync(() -> repositori.kurangiTersedia(isbn), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> tambahTersedia(String isbn) {
+        return CompletableFuture.supplyAsync(() -> repositori.tambahTersedia(isbn), executor);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Buku>> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        return CompletableFuture.supplyAsync(() -> repositori.cariByIsbnBatch(daftarIsbn), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Boolean>> simpanBatch(List<Buku> daftarBuku) {
+        return CompletableFuture.supplyAsync(() -> repositori.simpanBatch(daftarBuku), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Boolean>> kurangiTersediaBatch(List<String> daftarIsbn) {
+        return CompletableFuture.supplyAsync(() -> repositori.kurangiTersediaBatch(daftarIsbn), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Boolean>> tambahTersediaBatch(List<String> daftarIsbn) {
+        return CompletableFuture.supplyAsync(() -> repositori.tambahTersediaBatch(daftarIsbn), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Buku>> cariSemua(String setelahIsbn, int ukuranHalaman) {
+        return CompletableFuture.supplyAsync(() -> repositori.cariSemua(setelahIsbn, ukuranHalaman), executor);
+    }
+}
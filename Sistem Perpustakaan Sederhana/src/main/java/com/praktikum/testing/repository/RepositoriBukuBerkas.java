@@ -0,0 +1,647 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Implementasi RepositoriBuku yang persisten ke file.
+ *
+ * Semua baca dilayani dari MockRepositoryBuku di memori. Setiap mutasi ditulis ke
+ * append-only log (katalog.log) sebelum dianggap berhasil. Kompaksi menulis seluruh
+ * katalog ke snapshot (katalog.snapshot) lalu memulai log baru, sehingga saat startup
+ * snapshot cukup di-memory-map dan hanya ekor log yang di-replay.
+ *
+ * Snapshot dan log sama-sama menyimpan nomor epoch. Log dengan epoch lebih kecil dari
+ * snapshot sudah tercakup di snapshot dan diabaikan, sehingga crash di tengah kompaksi
+ * tidak membuat mutasi diterapkan dua kali.
+ *
+ * Kompaksi otomatis yang gagal tidak membuat tulisan pemicunya gagal (record-nya sudah ada di log);
+ * log lama tetap dipakai dan kompaksi dicoba lagi setelah batasLogSebelumKompaksi record berikutnya.
+ *
+ * Catatan: perubahan langsung pada objek Buku hasil pencarian (misalnya lewat setter)
+ * tidak tercatat di log. Gunakan method repository untuk semua perubahan.
+ */
+public class RepositoriBukuBerkas implements RepositoriBuku, Closeable {
+
+    static final String NAMA_LOG = "katalog.log";
+    static final String NAMA_SNAPSHOT = "katalog.snapshot";
+
+    private static final int MAGIC_LOG = 0x4B4C4F47;      // "KLOG"
+    private static final int MAGIC_SNAPSHOT = 0x4B534E50; // "KSNP"
+    private static final int VERSI = 1;
+    private static final int PANJANG_HEADER_LOG = 16;
+
+    private static final byte OP_SIMPAN = 1;
+    private static final byte OP_HAPUS = 2;
+    private static final byte OP_UPDATE = 3;
+    private static final byte OP_KURANGI = 4;
+    private static final byte OP_TAMBAH = 5;
+
+    public static final int BATAS_LOG_DEFAULT = 100_000;
+
+    private final MockRepositoryBuku memori = new MockRepositoryBuku();
+    private final Path fileLog;
+    private final Path fileSnapshot;
+    private final int batasLogSebelumKompaksi;
+    private final boolean fsyncSetiapTulis;
+
+    // Semua mutasi diserialkan agar urutan di log sama dengan urutan di memori
+    private final Object kunciTulis = new Object();
+    private final ByteArrayOutputStream bufferRecord = new ByteArrayOutputStream(256);
+    private final DataOutputStream outRecord = new DataOutputStream(bufferRecord);
+    private final CRC32 crc = new CRC32();
+
+    private long epoch;
+    private int jumlahRecordLog;
+    private int ambangKompaksi;
+    private IOException galatKompaksiTerakhir;
+    // Panjang log sampai record utuh terakhir; outLog null jika log perlu dibuka ulang
+    private long panjangLog;
+    private boolean tertutup;
+    private FileOutputStream streamLog;
+    private DataOutputStream outLog;
+
+    public RepositoriBukuBerkas(Path direktori) throws IOException {
+        this(direktori, BATAS_LOG_DEFAULT, false);
+    }
+
+    /**
+     * @param batasLogSebelumKompaksi kompaksi otomatis setelah sekian record log, 0 untuk mematikan
+     * @param fsyncSetiapTulis        true untuk memanggil fsync setiap mutasi (lebih lambat, lebih aman)
+     */
+    public RepositoriBukuBerkas(Path direktori, int batasLogSebelumKompaksi, boolean fsyncSetiapTulis)
+            throws IOException {
+        Files.createDirectories(direktori);
+        this.fileLog = direktori.resolve(NAMA_LOG);
+        this.fileSnapshot = direktori.resolve(NAMA_SNAPSHOT);
+        this.batasLogSebelumKompaksi = batasLogSebelumKompaksi;
+        this.fsyncSetiapTulis = fsyncSetiapTulis;
+        this.ambangKompaksi = batasLogSebelumKompaksi;
+
+        this.epoch = muatSnapshot();
+        long panjangLogValid = replayLog();
+        bukaLog(panjangLogValid);
+    }
+
+    // ---------------------------------------------------------------- baca
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return memori.cariByIsbn(isbn);
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return memori.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return memori.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return memori.cariSemua();
+    }
+
+    @Override
+    public List<Buku> cariSemua(String setelahIsbn, int ukuranHalaman) {
+        return memori.cariSemua(setelahIsbn, ukuranHalaman);
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return memori.streamSemua();
+    }
+
+    @Override
+    public List<Buku> autocompleteJudul(String prefix, int batas) {
+        return memori.autocompleteJudul(prefix, batas);
+    }
+
+    @Override
+    public List<Buku> autocompletePengarang(String prefix, int batas) {
+        return memori.autocompletePengarang(prefix, batas);
+    }
+
+    // ---------------------------------------------------------------- tulis
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            tulisRecord(OP_SIMPAN, buku.getIsbn(), buku, 0);
+            memori.simpan(buku);
+            setelahTulis();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            if (!memori.mengandung(isbn)) {
+                return false;
+            }
+            tulisRecord(OP_HAPUS, isbn, null, 0);
+            memori.hapus(isbn);
+            setelahTulis();
+        }
+        return true;
+    }
+
+    // Seperti simpan/hapus, validasi dicek dulu lalu log ditulis sebelum memori diubah,
+    // sehingga gagal menulis log tidak meninggalkan perubahan yang hilang saat restart
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        synchronized (kunciTulis) {
+            Buku buku = bukuTersimpan(isbn);
+            if (buku == null || jumlahTersediaBaru < 0 || jumlahTersediaBaru > buku.getJumlahTotal()) {
+                return false;
+            }
+            tulisRecord(OP_UPDATE, isbn, null, jumlahTersediaBaru);
+            memori.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+            setelahTulis();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean kurangiTersedia(String isbn) {
+        synchronized (kunciTulis) {
+            Buku buku = bukuTersimpan(isbn);
+            if (buku == null || buku.getJumlahTersedia() <= 0) {
+                return false;
+            }
+            tulisRecord(OP_KURANGI, isbn, null, 0);
+            memori.kurangiTersedia(isbn);
+            setelahTulis();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tambahTersedia(String isbn) {
+        synchronized (kunciTulis) {
+            Buku buku = bukuTersimpan(isbn);
+            if (buku == null || buku.getJumlahTersedia() >= buku.getJumlahTotal()) {
+                return false;
+            }
+            tulisRecord(OP_TAMBAH, isbn, null, 0);
+            memori.tambahTersedia(isbn);
+            setelahTulis();
+        }
+        return true;
+    }
+
+    /**
+     * Menulis seluruh katalog ke snapshot baru lalu mengosongkan log.
+     * Dipanggil otomatis setelah batasLogSebelumKompaksi record.
+     */
+    public void kompaksi() throws IOException {
+        synchronized (kunciTulis) {
+            long epochBaru = epoch + 1;
+            Path logSementara = fileLog.resolveSibling(NAMA_LOG + ".tmp");
+
+            // Log baru dan snapshot disiapkan dulu; jika salah satunya gagal, log lama tetap dipakai
+            try {
+                try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(logSementara))) {
+                    tulisHeaderLog(out, epochBaru);
+                }
+                tulisSnapshot(epochBaru);
+            } catch (IOException e) {
+                try {
+                    Files.deleteIfExists(logSementara);
+                } catch (IOException galatHapus) {
+                    e.addSuppressed(galatHapus);
+                }
+                throw e;
+            }
+
+            // Snapshot baru sudah terpasang, jadi log lama (epoch lebih kecil) akan diabaikan saat
+            // startup. Mulai sekarang record harus masuk ke log dengan epoch baru.
+            tutupLogDiam();
+            epoch = epochBaru;
+            jumlahRecordLog = 0;
+            ambangKompaksi = batasLogSebelumKompaksi;
+            try {
+                Files.move(logSementara, fileLog, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                panjangLog = PANJANG_HEADER_LOG;
+            } catch (IOException e) {
+                panjangLog = 0; // bukaLog menulis ulang header dengan epoch baru di file lama
+            }
+            bukaLog(panjangLog);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (kunciTulis) {
+            tertutup = true;
+            if (outLog == null) {
+                return;
+            }
+            try {
+                outLog.flush();
+                streamLog.getChannel().force(false);
+            } finally {
+                tutupLogDiam();
+            }
+        }
+    }
+
+    public int ukuran() {
+        return memori.ukuran();
+    }
+
+    int getJumlahRecordLog() {
+        return jumlahRecordLog;
+    }
+
+    /**
+     * Galat dari kompaksi otomatis terakhir yang gagal, atau null jika belum pernah gagal.
+     */
+    public IOException getGalatKompaksiTerakhir() {
+        synchronized (kunciTulis) {
+            return galatKompaksiTerakhir;
+        }
+    }
+
+    private Buku bukuTersimpan(String isbn) {
+        return isbn == null ? null : memori.cariByIsbn(isbn).orElse(null);
+    }
+
+    // ---------------------------------------------------------------- log
+
+    private void tulisRecord(byte operasi, String isbn, Buku buku, int jumlah) {
+        try {
+            if (outLog == null) {
+                if (tertutup) {
+                    throw new IOException("Repositori katalog sudah ditutup");
+                }
+                bukaLog(panjangLog);
+            }
+
+            bufferRecord.reset();
+            outRecord.writeByte(operasi);
+            if (operasi == OP_SIMPAN) {
+                tulisBuku(outRecord, buku);
+            } else {
+                tulisString(outRecord, isbn);
+                if (operasi == OP_UPDATE) {
+                    outRecord.writeInt(jumlah);
+                }
+            }
+            outRecord.flush();
+
+            crc.reset();
+            crc.update(bufferRecord.toByteArray(), 0, bufferRecord.size());
+
+            outLog.writeInt(bufferRecord.size());
+            outLog.writeInt((int) crc.getValue());
+            bufferRecord.writeTo(outLog);
+            outLog.flush();
+            if (fsyncSetiapTulis) {
+                streamLog.getChannel().force(false);
+            }
+            panjangLog += 8 + bufferRecord.size();
+            jumlahRecordLog++;
+        } catch (IOException e) {
+            // Log ditutup; tulisan berikutnya membukanya ulang dan memotong record yang tidak utuh
+            tutupLogDiam();
+            throw new UncheckedIOException("Gagal menulis log katalog", e);
+        }
+    }
+
+    private void setelahTulis() {
+        if (batasLogSebelumKompaksi > 0 && jumlahRecordLog >= ambangKompaksi) {
+            try {
+                kompaksi();
+                galatKompaksiTerakhir = null;
+            } catch (IOException e) {
+                // Record pemicu sudah aman di log, jadi tulisannya tetap dianggap berhasil
+                galatKompaksiTerakhir = e;
+                ambangKompaksi = jumlahRecordLog + batasLogSebelumKompaksi;
+            }
+        }
+    }
+
+    private void tutupLogDiam() {
+        if (outLog == null) {
+            return;
+        }
+        try {
+            outLog.close();
+        } catch (IOException e) {
+            // Diabaikan: isi yang belum utuh dipotong saat log dibuka ulang
+        }
+        outLog = null;
+        streamLog = null;
+    }
+
+    private void bukaLog(long panjangValid) throws IOException {
+        if (!Files.exists(fileLog) || panjangValid < PANJANG_HEADER_LOG) {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(fileLog))) {
+                tulisHeaderLog(out, epoch);
+            }
+            panjangValid = PANJANG_HEADER_LOG;
+        }
+
+        // Buang ekor log yang tidak utuh (misalnya crash saat menulis record terakhir)
+        try (FileChannel channel = FileChannel.open(fileLog, StandardOpenOption.WRITE)) {
+            channel.truncate(panjangValid);
+        }
+
+        streamLog = new FileOutputStream(fileLog.toFile(), true);
+        outLog = new DataOutputStream(new BufferedOutputStream(streamLog));
+        panjangLog = panjangValid;
+    }
+
+    private static void tulisHeaderLog(DataOutputStream out, long epoch) throws IOException {
+        out.writeInt(MAGIC_LOG);
+        out.writeInt(VERSI);
+        out.writeLong(epoch);
+    }
+
+    /**
+     * Menerapkan ulang record log ke memori.
+     *
+     * @return panjang log (byte) sampai record utuh terakhir, atau 0 jika log harus dibuat ulang
+     */
+    private long replayLog() throws IOException {
+        if (!Files.exists(fileLog)) {
+            return 0;
+        }
+
+        long ukuranFile = Files.size(fileLog);
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(fileLog)))) {
+            if (in.readInt() != MAGIC_LOG || in.readInt() != VERSI) {
+                throw new IOException("Format log katalog tidak dikenal: " + fileLog);
+            }
+            long epochLog = in.readLong();
+            if (epochLog < epoch) {
+                return 0; // Sudah tercakup oleh snapshot
+            }
+            if (epochLog > epoch) {
+                throw new IOException("Snapshot untuk epoch " + epochLog + " tidak ditemukan");
+            }
+
+            long posisi = PANJANG_HEADER_LOG;
+            CRC32 crcBaca = new CRC32();
+            while (true) {
+                byte[] payload;
+                try {
+                    int panjang = in.readInt();
+                    int crcTersimpan = in.readInt();
+                    // Panjang yang rusak bisa sangat besar; jangan alokasikan melebihi sisa file
+                    if (panjang <= 0 || panjang > ukuranFile - posisi - 8) {
+                        break;
+                    }
+                    payload = new byte[panjang];
+                    in.readFully(payload);
+                    crcBaca.reset();
+                    crcBaca.update(payload);
+                    if ((int) crcBaca.getValue() != crcTersimpan) {
+                        break; // Record rusak, anggap sebagai akhir log
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                terapkanRecord(ByteBuffer.wrap(payload));
+                posisi += 8 + payload.length;
+                jumlahRecordLog++;
+            }
+            return posisi;
+        } catch (EOFException e) {
+            return 0; // Header tidak utuh
+        }
+    }
+
+    private void terapkanRecord(ByteBuffer payload) throws IOException {
+        byte operasi = payload.get();
+        switch (operasi) {
+            case OP_SIMPAN:
+                memori.simpan(bacaBuku(payload));
+                break;
+            case OP_HAPUS:
+                memori.hapus(bacaString(payload));
+                break;
+            case OP_UPDATE:
+                String isbn = bacaString(payload);
+                memori.updateJumlahTersedia(isbn, payload.getInt());
+                break;
+            case OP_KURANGI:
+                memori.kurangiTersedia(bacaString(payload));
+                break;
+            case OP_TAMBAH:
+                memori.tambahTersedia(bacaString(payload));
+                break;
+            default:
+                throw new IOException("Operasi log tidak dikenal: " + operasi);
+        }
+    }
+
+    // ---------------------------------------------------------------- snapshot
+
+    private void tulisSnapshot(long epochBaru) throws IOException {
+        Path snapshotSementara = fileSnapshot.resolveSibling(NAMA_SNAPSHOT + ".tmp");
+        CRC32 crcSnapshot = new CRC32();
+        try (FileOutputStream fos = new FileOutputStream(snapshotSementara.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                     new CheckedOutputStream(fos, crcSnapshot), 1 << 16))) {
+            out.writeInt(MAGIC_SNAPSHOT);
+            out.writeInt(VERSI);
+            out.writeLong(epochBaru);
+            out.writeInt(memori.ukuran());
+            Iterator<Buku> iterator = memori.streamSemua().iterator();
+            while (iterator.hasNext()) {
+                tulisBuku(out, iterator.next());
+            }
+            out.flush();
+            // CRC ditulis langsung ke file, di luar data yang di-checksum
+            new DataOutputStream(fos).writeInt((int) crcSnapshot.getValue());
+            fos.getChannel().force(true);
+        }
+        Files.move(snapshotSementara, fileSnapshot, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-map snapshot dan memuat isinya ke memori. Snapshot di atas 2 GB tidak muat
+     * dalam satu MappedByteBuffer, jadi dibaca berurutan.
+     *
+     * @return epoch snapshot, atau 0 jika belum ada snapshot
+     */
+    private long muatSnapshot() throws IOException {
+        if (!Files.exists(fileSnapshot)) {
+            return 0;
+        }
+
+        try (FileChannel channel = FileChannel.open(fileSnapshot, StandardOpenOption.READ)) {
+            long ukuranFile = channel.size();
+            if (ukuranFile < 24) {
+                throw new IOException("Snapshot katalog rusak: " + fileSnapshot);
+            }
+            if (ukuranFile > Integer.MAX_VALUE) {
+                return muatSnapshotSekuensial(channel, ukuranFile);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, ukuranFile);
+
+            CRC32 crcSnapshot = new CRC32();
+            ByteBuffer isi = buffer.slice(0, (int) ukuranFile - 4);
+            crcSnapshot.update(isi);
+            if ((int) crcSnapshot.getValue() != buffer.getInt((int) ukuranFile - 4)) {
+                throw new IOException("Checksum snapshot katalog tidak cocok: " + fileSnapshot);
+            }
+
+            if (buffer.getInt() != MAGIC_SNAPSHOT || buffer.getInt() != VERSI) {
+                throw new IOException("Format snapshot katalog tidak dikenal: " + fileSnapshot);
+            }
+            long epochSnapshot = buffer.getLong();
+            int jumlah = buffer.getInt();
+            List<Buku> daftarBuku = new ArrayList<>(jumlah);
+            for (int i = 0; i < jumlah; i++) {
+                daftarBuku.add(bacaBuku(buffer));
+            }
+            memori.simpanBatch(daftarBuku);
+            return epochSnapshot;
+        }
+    }
+
+    private long muatSnapshotSekuensial(FileChannel channel, long ukuranFile) throws IOException {
+        // Checksum diverifikasi dulu agar snapshot rusak tidak termuat sebagian
+        CRC32 crcSnapshot = new CRC32();
+        ByteBuffer potongan = ByteBuffer.allocate(1 << 20);
+        long posisi = 0;
+        while (posisi < ukuranFile - 4) {
+            potongan.clear().limit((int) Math.min(potongan.capacity(), ukuranFile - 4 - posisi));
+            int dibaca = channel.read(potongan, posisi);
+            if (dibaca < 0) {
+                throw new IOException("Snapshot katalog terpotong: " + fileSnapshot);
+            }
+            crcSnapshot.update(potongan.flip());
+            posisi += dibaca;
+        }
+        ByteBuffer crcTersimpan = ByteBuffer.allocate(4);
+        if (channel.read(crcTersimpan, ukuranFile - 4) != 4
+                || (int) crcSnapshot.getValue() != crcTersimpan.getInt(0)) {
+            throw new IOException("Checksum snapshot katalog tidak cocok: " + fileSnapshot);
+        }
+
+        channel.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel), 1 << 16));
+        if (in.readInt() != MAGIC_SNAPSHOT || in.readInt() != VERSI) {
+            throw new IOException("Format snapshot katalog tidak dikenal: " + fileSnapshot);
+        }
+        long epochSnapshot = in.readLong();
+        int jumlah = in.readInt();
+        List<Buku> daftarBuku = new ArrayList<>(Math.min(jumlah, 1 << 16));
+        for (int i = 0; i < jumlah; i++) {
+            daftarBuku.add(bacaBuku(in));
+        }
+        memori.simpanBatch(daftarBuku);
+        return epochSnapshot;
+    }
+
+    // ---------------------------------------------------------------- encoding
+
+    private static void tulisBuku(DataOutputStream out, Buku buku) throws IOException {
+        tulisString(out, buku.getIsbn());
+        tulisString(out, buku.getJudul());
+        tulisString(out, buku.getPengarang());
+        out.writeInt(buku.getJumlahTotal());
+        out.writeInt(buku.getJumlahTersedia());
+        out.writeDouble(buku.getHarga());
+    }
+
+    private static Buku bacaBuku(ByteBuffer in) {
+        Buku buku = new Buku();
+        buku.setIsbn(bacaString(in));
+        buku.setJudul(bacaString(in));
+        buku.setPengarang(bacaString(in));
+        buku.setJumlahTotal(in.getInt());
+        buku.setJumlahTersedia(in.getInt());
+        buku.setHarga(in.getDouble());
+        return buku;
+    }
+
+    private static Buku bacaBuku(DataInputStream in) throws IOException {
+        Buku buku = new Buku();
+        buku.setIsbn(bacaString(in));
+        buku.setJudul(bacaString(in));
+        buku.setPengarang(bacaString(in));
+        buku.setJumlahTotal(in.readInt());
+        buku.setJumlahTersedia(in.readInt());
+        buku.setHarga(in.readDouble());
+        return buku;
+    }
+
+    // String ditulis sebagai panjang byte UTF-8 lalu isinya, -1 untuk null
+    private static void tulisString(DataOutputStream out, String teks) throws IOException {
+        if (teks == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = teks.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String bacaString(ByteBuffer in) {
+        int panjang = in.getInt();
+        if (panjang < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[panjang];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String bacaString(DataInputStream in) throws IOException {
+        int panjang = in.readInt();
+        if (panjang < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[panjang];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
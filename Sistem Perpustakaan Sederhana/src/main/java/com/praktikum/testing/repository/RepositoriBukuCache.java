@@ -0,0 +1,324 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Decorator read-through untuk RepositoriBuku: hasil cariByIsbn disimpan di cache LRU
+ * berukuran terbatas, sehingga bukuTersedia/getJumlahTersedia tidak selalu ke backing store.
+ * Hasil "tidak ditemukan" juga di-cache.
+ *
+ * Setiap operasi tulis (simpan, hapus, update/kurangi/tambah tersedia, termasuk versi batch)
+ * diteruskan ke repository asli lalu entri ISBN terkait dibuang dari cache. Catatan: pada
+ * katalog dengan peminjaman yang sangat sering, entri buku populer akan sering dibuang.
+ *
+ * Cache dibagi beberapa segmen (masing-masing LinkedHashMap urutan akses dengan lock sendiri)
+ * agar thread yang membaca ISBN berbeda tidak saling menunggu. Setiap segmen punya nomor versi
+ * yang naik saat invalidasi; hasil load hanya dimasukkan jika versinya belum berubah, agar data
+ * lama yang dibaca bersamaan dengan tulis tidak masuk kembali ke cache.
+ */
+public class RepositoriBukuCache implements RepositoriBuku {
+
+    // Segmen minimal sebesar ini agar urutan LRU tetap mendekati global untuk cache kecil
+    private static final int UKURAN_SEGMEN_MIN = 64;
+    private static final int JUMLAH_SEGMEN_MAKS = 16;
+
+    private final RepositoriBuku repositori;
+    private final Segmen[] segmen;
+    private final int kapasitas;
+
+    private final LongAdder jumlahHit = new LongAdder();
+    private final LongAdder jumlahMiss = new LongAdder();
+    private final LongAdder jumlahEviction = new LongAdder();
+
+    @SuppressWarnings("serial") // Tidak pernah diserialisasi, hanya penyimpanan internal cache
+    private final class Segmen extends LinkedHashMap<String, Optional<Buku>> {
+        private final int batas;
+        private long versi;
+
+        Segmen(int batas) {
+            super(16, 0.75f, true); // Urutan akses: entri paling lama tidak dipakai di depan
+            this.batas = batas;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Optional<Buku>> eldest) {
+            if (size() > batas) {
+                jumlahEviction.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @param kapasitas jumlah maksimal ISBN yang disimpan di cache
+     */
+    public RepositoriBukuCache(RepositoriBuku repositori, int kapasitas) {
+        if (repositori == null || kapasitas <= 0) {
+            throw new IllegalArgumentException("Repositori tidak boleh null dan kapasitas harus lebih dari 0");
+        }
+
+        int jumlah = 1;
+        while (jumlah < JUMLAH_SEGMEN_MAKS && kapasitas / (jumlah * 2) >= UKURAN_SEGMEN_MIN) {
+            jumlah <<= 1;
+        }
+
+        this.repositori = repositori;
+        this.kapasitas = kapasitas;
+        this.segmen = new Segmen[jumlah];
+        int batasPerSegmen = (kapasitas + jumlah - 1) / jumlah;
+        for (int i = 0; i < jumlah; i++) {
+            segmen[i] = new Segmen(batasPerSegmen);
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+
+        Segmen s = segmenUntuk(isbn);
+        long versi;
+        synchronized (s) {
+            Optional<Buku> hasil = s.get(isbn);
+            if (hasil != null) {
+                jumlahHit.increment();
+                return hasil;
+            }
+            versi = s.versi;
+        }
+
+        jumlahMiss.increment();
+        Optional<Buku> hasil = repositori.cariByIsbn(isbn);
+        isi(s, versi, isbn, hasil);
+        return hasil;
+    }
+
+    @Override
+    public Map<String, Buku> cariByIsbnBatch(Collection<String> daftarIsbn) {
+        Map<String, Buku> hasil = new HashMap<>();
+        Map<String, Long> versiMiss = new HashMap<>();
+        for (String isbn : daftarIsbn) {
+            if (isbn == null || hasil.containsKey(isbn) || versiMiss.containsKey(isbn)) {
+                continue;
+            }
+
+            Segmen s = segmenUntuk(isbn);
+            synchronized (s) {
+                Optional<Buku> tersimpan = s.get(isbn);
+                if (tersimpan != null) {
+                    jumlahHit.increment();
+                    tersimpan.ifPresent(buku -> hasil.put(isbn, buku));
+                } else {
+                    versiMiss.put(isbn, s.versi);
+                }
+            }
+        }
+
+        if (versiMiss.isEmpty()) {
+            return hasil;
+        }
+
+        // Semua miss diambil dengan satu panggilan batch ke repository asli
+        jumlahMiss.add(versiMiss.size());
+        Map<String, Buku> dariRepositori = repositori.cariByIsbnBatch(versiMiss.keySet());
+        for (Map.Entry<String, Long> miss : versiMiss.entrySet()) {
+            Buku buku = dariRepositori.get(miss.getKey());
+            isi(segmenUntuk(miss.getKey()), miss.getValue(), miss.getKey(), Optional.ofNullable(buku));
+            if (buku != null) {
+                hasil.put(miss.getKey(), buku);
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        boolean hasil = repositori.simpan(buku);
+        if (buku != null && buku.getIsbn() != null) {
+            invalidasi(buku.getIsbn());
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Boolean> simpanBatch(List<Buku> daftarBuku) {
+        List<Boolean> hasil = repositori.simpanBatch(daftarBuku);
+        for (Buku buku : daftarBuku) {
+            if (buku != null && buku.getIsbn() != null) {
+                invalidasi(buku.getIsbn());
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        boolean hasil = repositori.hapus(isbn);
+        invalidasi(isbn);
+        return hasil;
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        boolean hasil = repositori.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+        invalidasi(isbn);
+        return hasil;
+    }
+
+    @Override
+    public boolean kurangiTersedia(String isbn) {
+        boolean hasil = repositori.kurangiTersedia(isbn);
+        invalidasi(isbn);
+        return hasil;
+    }
+
+    @Override
+    public boolean tambahTersedia(String isbn) {
+        boolean hasil = repositori.tambahTersedia(isbn);
+        invalidasi(isbn);
+        return hasil;
+    }
+
+    @Override
+    public List<Boolean> kurangiTersediaBatch(List<String> daftarIsbn) {
+        List<Boolean> hasil = repositori.kurangiTersediaBatch(daftarIsbn);
+        daftarIsbn.forEach(this::invalidasi);
+        return hasil;
+    }
+
+    @Override
+    public List<Boolean> tambahTersediaBatch(List<String> daftarIsbn) {
+        List<Boolean> hasil = repositori.tambahTersediaBatch(daftarIsbn);
+        daftarIsbn.forEach(this::invalidasi);
+        return hasil;
+    }
+
+    // Query selain ISBN langsung diteruskan, tidak di-cache
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return repositori.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return repositori.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return repositori.cariSemua();
+    }
+
+    @Override
+    public List<Buku> cariSemua(String setelahIsbn, int ukuranHalaman) {
+        return repositori.cariSemua(setelahIsbn, ukuranHalaman);
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return repositori.streamSemua();
+    }
+
+    @Override
+    public List<Buku> autocompleteJudul(String prefix, int batas) {
+        return repositori.autocompleteJudul(prefix, batas);
+    }
+
+    @Override
+    public List<Buku> autocompletePengarang(String prefix, int batas) {
+        return repositori.autocompletePengarang(prefix, batas);
+    }
+
+    /**
+     * Membuang satu ISBN dari cache, misalnya jika backing store diubah di luar decorator ini.
+     */
+    public void invalidasi(String isbn) {
+        if (isbn == null) {
+            return;
+        }
+
+        Segmen s = segmenUntuk(isbn);
+        synchronized (s) {
+            s.remove(isbn);
+            s.versi++;
+        }
+    }
+
+    public void kosongkanCache() {
+        for (Segmen s : segmen) {
+            synchronized (s) {
+                s.clear();
+                s.versi++;
+            }
+        }
+    }
+
+    public long getJumlahHit() {
+        return jumlahHit.sum();
+    }
+
+    public long getJumlahMiss() {
+        return jumlahMiss.sum();
+    }
+
+    public long getJumlahEviction() {
+        return jumlahEviction.sum();
+    }
+
+    /**
+     * @return rasio hit antara 0.0 dan 1.0, atau 0.0 jika belum ada pencarian
+     */
+    public double getRasioHit() {
+        long hit = getJumlahHit();
+        long total = hit + getJumlahMiss();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    public int getKapasitas() {
+        return kapasitas;
+    }
+
+    public int ukuranCache() {
+        int total = 0;
+        for (Segmen s : segmen) {
+            synchronized (s) {
+                total += s.size();
+            }
+        }
+        return total;
+    }
+
+    public void resetStatistik() {
+        jumlahHit.reset();
+        jumlahMiss.reset();
+        jumlahEviction.reset();
+    }
+
+    private void isi(Segmen s, long versiSaatMiss, String isbn, Optional<Buku> hasil) {
+        synchronized (s) {
+            // Ada invalidasi di segmen ini sejak miss: hasil load mungkin sudah basi
+            if (s.versi == versiSaatMiss) {
+                s.put(isbn, hasil);
+            }
+        }
+    }
+
+    private Segmen segmenUntuk(String isbn) {
+        int h = isbn.hashCode();
+        h ^= h >>> 16;
+        return segmen[h & (segmen.length - 1)];
+    }
+}
@@ -0,0 +1,675 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.util.KodeIsbn;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * RepositoriBuku untuk katalog sangat besar (puluhan juta judul) yang menyimpan data
+ * per kolom di luar heap, sehingga GC tidak perlu menelusuri satu objek Buku per judul.
+ *
+ * Baris dikelompokkan per blok ByteBuffer direct. Di dalam blok, setiap kolom
+ * disimpan berurutan: kode ISBN (long), alamat teks ISBN (long, hanya untuk ISBN
+ * bukan angka), alamat judul (long), harga (double), id pengarang (int),
+ * jumlah total (int), jumlah tersedia (int), dan status baris (byte).
+ * Judul disimpan di TeksOffHeap, pengarang di-dictionary-encode karena jumlah
+ * pengarang unik jauh lebih sedikit dari jumlah judul.
+ *
+ * Objek Buku hanya dibuat saat query mengembalikannya, dan merupakan salinan:
+ * mengubah objek tersebut tidak mengubah isi repository. Perubahan stok
+ * (kurangiTersedia, tambahTersedia, updateJumlahTersedia) ditulis langsung ke
+ * kolom off-heap dengan CAS, cukup di bawah read lock. Simpan dan hapus memakai write lock.
+ *
+ * Pagination cursor (cariSemua(String, int)) memakai DaftarKunciTerurut berisi kunci urut
+ * ISBN angka (KodeIsbn.kunciUrut) dan TreeMap untuk ISBN bukan angka yang jarang, sehingga
+ * satu halaman hanya membaca baris di halaman itu. Autocomplete mencocokkan awalan langsung
+ * di byte teks; hanya baris yang cocok yang di-decode.
+ *
+ * Judul dan ISBN bukan angka dari buku yang dihapus atau ditimpa dicatat sebagai byte mati.
+ * Jika byte mati melebihi separuh teks, teks yang masih hidup disalin ke penyimpanan baru.
+ */
+public class RepositoriBukuOffHeap implements RepositoriBuku {
+
+    private static final int BIT_BARIS_PER_BLOK = 14;
+    private static final int BARIS_PER_BLOK = 1 << BIT_BARIS_PER_BLOK;
+    private static final int MASK_BARIS = BARIS_PER_BLOK - 1;
+
+    // Offset awal setiap kolom di dalam blok
+    private static final int KOLOM_KODE = 0;
+    private static final int KOLOM_TEKS_ISBN = KOLOM_KODE + Long.BYTES * BARIS_PER_BLOK;
+    private static final int KOLOM_JUDUL = KOLOM_TEKS_ISBN + Long.BYTES * BARIS_PER_BLOK;
+    private static final int KOLOM_HARGA = KOLOM_JUDUL + Long.BYTES * BARIS_PER_BLOK;
+    private static final int KOLOM_PENGARANG = KOLOM_HARGA + Double.BYTES * BARIS_PER_BLOK;
+    private static final int KOLOM_TOTAL = KOLOM_PENGARANG + Integer.BYTES * BARIS_PER_BLOK;
+    private static final int KOLOM_TERSEDIA = KOLOM_TOTAL + Integer.BYTES * BARIS_PER_BLOK;
+    private static final int KOLOM_STATUS = KOLOM_TERSEDIA + Integer.BYTES * BARIS_PER_BLOK;
+    private static final int UKURAN_BLOK = KOLOM_STATUS + BARIS_PER_BLOK;
+
+    private static final byte STATUS_KOSONG = 0;
+    private static final byte STATUS_AKTIF = 1;
+
+    private static final int TANPA_PENGARANG = -1;
+
+    // CAS int pada ByteBuffer direct; offset kolom int selalu kelipatan 4
+    private static final VarHandle INT_OFF_HEAP =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final ReadWriteLock kunci = new ReentrantReadWriteLock();
+
+    private ByteBuffer[] blok = new ByteBuffer[4];
+    private int jumlahBaris; // Batas atas baris yang pernah dipakai
+    private int jumlahAktif;
+    private int[] barisBebas = new int[16];
+    private int jumlahBarisBebas;
+
+    private final IndeksIsbnPrimitif indeksIsbn;
+    private final DaftarKunciTerurut urutanIsbn = new DaftarKunciTerurut();
+    private final NavigableMap<String, Integer> indeksIsbnLain = new TreeMap<>(); // ISBN bukan angka
+    private TeksOffHeap teks = new TeksOffHeap();
+
+    private final Map<String, Integer> idPengarang = new HashMap<>();
+    private final List<String> daftarPengarang = new ArrayList<>();
+
+    public RepositoriBukuOffHeap() {
+        this(1024);
+    }
+
+    /**
+     * @param perkiraanJumlahBuku kapasitas awal indeks ISBN, agar tidak perlu resize saat muat awal
+     */
+    public RepositoriBukuOffHeap(int perkiraanJumlahBuku) {
+        this.indeksIsbn = new IndeksIsbnPrimitif(perkiraanJumlahBuku);
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return false;
+        }
+
+        Lock tulis = kunci.writeLock();
+        tulis.lock();
+        try {
+            int baris = cariBaris(buku.getIsbn());
+            if (baris < 0) {
+                baris = alokasiBaris();
+                long kode = KodeIsbn.kode(buku.getIsbn());
+                if (kode == KodeIsbn.TIDAK_BISA_DIKODE) {
+                    indeksIsbnLain.put(buku.getIsbn(), baris);
+                } else {
+                    indeksIsbn.simpan(kode, baris);
+                    urutanIsbn.tambah(KodeIsbn.kunciUrut(kode));
+                }
+                ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+                int i = baris & MASK_BARIS;
+                b.putLong(KOLOM_KODE + i * Long.BYTES, kode);
+                b.putLong(KOLOM_TEKS_ISBN + i * Long.BYTES,
+                        kode == KodeIsbn.TIDAK_BISA_DIKODE ? teks.tambah(buku.getIsbn()) : TeksOffHeap.TIDAK_ADA);
+                b.put(KOLOM_STATUS + i, STATUS_AKTIF);
+                jumlahAktif++;
+            } else {
+                teks.lepas(blok[baris >>> BIT_BARIS_PER_BLOK].getLong(KOLOM_JUDUL + (baris & MASK_BARIS) * Long.BYTES));
+            }
+            tulisBaris(baris, buku);
+            kompaksiTeksJikaPerlu();
+            return true;
+        } finally {
+            tulis.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            int baris = cariBaris(isbn);
+            return baris < 0 ? Optional.empty() : Optional.of(bacaBaris(baris));
+        } finally {
+            baca.unlock();
+        }
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String query = judul.toLowerCase().trim();
+        // Pola byte hanya bisa dipakai jika query seluruhnya ASCII
+        byte[] polaAscii = isAscii(query) ? query.getBytes(StandardCharsets.US_ASCII) : null;
+
+        List<Buku> hasil = new ArrayList<>();
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            for (int baris = 0; baris < jumlahBaris; baris++) {
+                ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+                int i = baris & MASK_BARIS;
+                if (b.get(KOLOM_STATUS + i) != STATUS_AKTIF) {
+                    continue;
+                }
+
+                long alamatJudul = b.getLong(KOLOM_JUDUL + i * Long.BYTES);
+                int cocok = polaAscii != null ? teks.cocokAscii(alamatJudul, polaAscii) : -1;
+                if (cocok < 0) {
+                    String teksJudul = teks.baca(alamatJudul);
+                    cocok = teksJudul != null && teksJudul.toLowerCase().contains(query) ? 1 : 0;
+                }
+                if (cocok == 1) {
+                    hasil.add(bacaBaris(baris));
+                }
+            }
+        } finally {
+            baca.unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String query = pengarang.toLowerCase().trim();
+        List<Buku> hasil = new ArrayList<>();
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            // Cukup cocokkan setiap pengarang unik sekali, lalu scan kolom int
+            boolean[] pengarangCocok = new boolean[daftarPengarang.size()];
+            boolean adaYangCocok = false;
+            for (int id = 0; id < pengarangCocok.length; id++) {
+                pengarangCocok[id] = daftarPengarang.get(id).toLowerCase().contains(query);
+                adaYangCocok |= pengarangCocok[id];
+            }
+            if (!adaYangCocok) {
+                return hasil;
+            }
+
+            for (int baris = 0; baris < jumlahBaris; baris++) {
+                ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+                int i = baris & MASK_BARIS;
+                if (b.get(KOLOM_STATUS + i) != STATUS_AKTIF) {
+                    continue;
+                }
+                int id = b.getInt(KOLOM_PENGARANG + i * Integer.BYTES);
+                if (id != TANPA_PENGARANG && pengarangCocok[id]) {
+                    hasil.add(bacaBaris(baris));
+                }
+            }
+        } finally {
+            baca.unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        Lock tulis = kunci.writeLock();
+        tulis.lock();
+        try {
+            long kode = KodeIsbn.kode(isbn);
+            int baris;
+            if (kode == KodeIsbn.TIDAK_BISA_DIKODE) {
+                Integer barisLain = indeksIsbnLain.remove(isbn);
+                baris = barisLain == null ? -1 : barisLain;
+            } else {
+                baris = indeksIsbn.hapus(kode);
+                if (baris >= 0) {
+                    urutanIsbn.hapus(KodeIsbn.kunciUrut(kode));
+                }
+            }
+            if (baris < 0) {
+                return false;
+            }
+
+            ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+            int i = baris & MASK_BARIS;
+            b.put(KOLOM_STATUS + i, STATUS_KOSONG);
+            teks.lepas(b.getLong(KOLOM_JUDUL + i * Long.BYTES));
+            teks.lepas(b.getLong(KOLOM_TEKS_ISBN + i * Long.BYTES));
+            if (jumlahBarisBebas == barisBebas.length) {
+                barisBebas = Arrays.copyOf(barisBebas, barisBebas.length * 2);
+            }
+            barisBebas[jumlahBarisBebas++] = baris;
+            jumlahAktif--;
+            kompaksiTeksJikaPerlu();
+            return true;
+        } finally {
+            tulis.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (isbn == null || jumlahTersediaBaru < 0) {
+            return false;
+        }
+
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            int baris = cariBaris(isbn);
+            if (baris < 0) {
+                return false;
+            }
+
+            ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+            int i = baris & MASK_BARIS;
+            // Cek apakah jumlah tersedia baru valid
+            if (jumlahTersediaBaru > b.getInt(KOLOM_TOTAL + i * Integer.BYTES)) {
+                return false;
+            }
+
+            INT_OFF_HEAP.setVolatile(b, KOLOM_TERSEDIA + i * Integer.BYTES, jumlahTersediaBaru);
+            return true;
+        } finally {
+            baca.unlock();
+        }
+    }
+
+    @Override
+    public boolean kurangiTersedia(String isbn) {
+        return ubahTersedia(isbn, -1);
+    }
+
+    @Override
+    public boolean tambahTersedia(String isbn) {
+        return ubahTersedia(isbn, 1);
+    }
+
+    private boolean ubahTersedia(String isbn, int delta) {
+        if (isbn == null) {
+            return false;
+        }
+
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            int baris = cariBaris(isbn);
+            if (baris < 0) {
+                return false;
+            }
+
+            ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+            int i = baris & MASK_BARIS;
+            int total = b.getInt(KOLOM_TOTAL + i * Integer.BYTES);
+            int offset = KOLOM_TERSEDIA + i * Integer.BYTES;
+            int sekarang;
+            do {
+                sekarang = (int) INT_OFF_HEAP.getVolatile(b, offset);
+                int baru = sekarang + delta;
+                if (baru < 0 || baru > total) {
+                    return false;
+                }
+            } while (!INT_OFF_HEAP.compareAndSet(b, offset, sekarang, sekarang + delta));
+            return true;
+        } finally {
+            baca.unlock();
+        }
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        List<Buku> hasil = new ArrayList<>();
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            for (int baris = 0; baris < jumlahBaris; baris++) {
+                if (isAktif(baris)) {
+                    hasil.add(bacaBaris(baris));
+                }
+            }
+        } finally {
+            baca.unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Buku> cariSemua(String setelahIsbn, int ukuranHalaman) {
+        if (ukuranHalaman <= 0) {
+            return new ArrayList<>();
+        }
+
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            // Dua sumber terurut digabung: ISBN angka dan ISBN bukan angka
+            long[] kunciAngka = new long[Math.min(ukuranHalaman, urutanIsbn.ukuran())];
+            int jumlahAngka = urutanIsbn.salinSetelah(
+                    setelahIsbn == null ? -1 : KodeIsbn.batasKunciUrut(setelahIsbn), kunciAngka, kunciAngka.length);
+            Iterator<Map.Entry<String, Integer>> lain = (setelahIsbn == null
+                    ? indeksIsbnLain : indeksIsbnLain.tailMap(setelahIsbn, false)).entrySet().iterator();
+
+            List<Buku> halaman = new ArrayList<>(Math.min(ukuranHalaman, 256));
+            int a = 0;
+            Map.Entry<String, Integer> berikutnyaLain = lain.hasNext() ? lain.next() : null;
+            String berikutnyaAngka = jumlahAngka > 0 ? KodeIsbn.keString(KodeIsbn.dariKunciUrut(kunciAngka[0])) : null;
+            while (halaman.size() < ukuranHalaman && (berikutnyaAngka != null || berikutnyaLain != null)) {
+                if (berikutnyaLain == null
+                        || (berikutnyaAngka != null && berikutnyaAngka.compareTo(berikutnyaLain.getKey()) < 0)) {
+                    halaman.add(bacaBaris(indeksIsbn.cari(KodeIsbn.kode(berikutnyaAngka))));
+                    a++;
+                    berikutnyaAngka = a < jumlahAngka ? KodeIsbn.keString(KodeIsbn.dariKunciUrut(kunciAngka[a])) : null;
+                } else {
+                    halaman.add(bacaBaris(berikutnyaLain.getValue()));
+                    berikutnyaLain = lain.hasNext() ? lain.next() : null;
+                }
+            }
+            return halaman;
+        } finally {
+            baca.unlock();
+        }
+    }
+
+    @Override
+    public List<Buku> autocompleteJudul(String prefix, int batas) {
+        if (prefix == null || prefix.trim().isEmpty() || batas <= 0) {
+            return new ArrayList<>();
+        }
+
+        String prefixNormal = prefix.toLowerCase().stripLeading();
+        byte[] polaAscii = isAscii(prefixNormal) ? prefixNormal.getBytes(StandardCharsets.US_ASCII) : null;
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            PriorityQueue<Kandidat> terbaik = new PriorityQueue<>(batas, URUTAN_KANDIDAT.reversed());
+            for (int baris = 0; baris < jumlahBaris; baris++) {
+                ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+                int i = baris & MASK_BARIS;
+                if (b.get(KOLOM_STATUS + i) != STATUS_AKTIF) {
+                    continue;
+                }
+
+                long alamatJudul = b.getLong(KOLOM_JUDUL + i * Long.BYTES);
+                int cocok = polaAscii != null ? teks.awalanAscii(alamatJudul, polaAscii) : -1;
+                if (cocok == 0) {
+                    continue;
+                }
+                // Hanya judul yang (mungkin) cocok yang di-decode
+                String judul = teks.baca(alamatJudul);
+                String judulLower = judul == null ? null : judul.toLowerCase();
+                if (judulLower != null && judulLower.startsWith(prefixNormal)) {
+                    tawarkan(terbaik, batas, judulLower, baris);
+                }
+            }
+            return keDaftarBuku(terbaik);
+        } finally {
+            baca.unlock();
+        }
+    }
+
+    @Override
+    public List<Buku> autocompletePengarang(String prefix, int batas) {
+        if (prefix == null || prefix.trim().isEmpty() || batas <= 0) {
+            return new ArrayList<>();
+        }
+
+        String prefixNormal = prefix.toLowerCase().stripLeading();
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            // Cukup cocokkan setiap pengarang unik sekali, lalu scan kolom int
+            String[] pengarangCocok = new String[daftarPengarang.size()];
+            boolean adaYangCocok = false;
+            for (int id = 0; id < pengarangCocok.length; id++) {
+                String lower = daftarPengarang.get(id).toLowerCase();
+                if (lower.startsWith(prefixNormal)) {
+                    pengarangCocok[id] = lower;
+                    adaYangCocok = true;
+                }
+            }
+
+            PriorityQueue<Kandidat> terbaik = new PriorityQueue<>(batas, URUTAN_KANDIDAT.reversed());
+            for (int baris = 0; adaYangCocok && baris < jumlahBaris; baris++) {
+                ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+                int i = baris & MASK_BARIS;
+                if (b.get(KOLOM_STATUS + i) != STATUS_AKTIF) {
+                    continue;
+                }
+                int id = b.getInt(KOLOM_PENGARANG + i * Integer.BYTES);
+                if (id != TANPA_PENGARANG && pengarangCocok[id] != null) {
+                    tawarkan(terbaik, batas, pengarangCocok[id], baris);
+                }
+            }
+            return keDaftarBuku(terbaik);
+        } finally {
+            baca.unlock();
+        }
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        // Lazy: Buku dibuat satu per satu saat stream dikonsumsi
+        int batas;
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            batas = jumlahBaris;
+        } finally {
+            baca.unlock();
+        }
+        return IntStream.range(0, batas)
+                .mapToObj(this::bacaBarisJikaAktif)
+                .filter(Objects::nonNull);
+    }
+
+    public int ukuran() {
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            return jumlahAktif;
+        } finally {
+            baca.unlock();
+        }
+    }
+
+    /**
+     * Total memori off-heap yang dialokasikan (kolom dan teks), dalam byte.
+     */
+    public long getUkuranOffHeapByte() {
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            long totalBlok = 0;
+            for (ByteBuffer b : blok) {
+                if (b != null) {
+                    totalBlok += b.capacity();
+                }
+            }
+            return totalBlok + teks.getKapasitasByte();
+        } finally {
+            baca.unlock();
+        }
+    }
+
+    // Menyimpan baris ke top-k (urut teks lalu ISBN) tanpa membuat Buku; ISBN baru di-decode
+    // jika teksnya tidak lebih besar dari kandidat terburuk
+    private void tawarkan(PriorityQueue<Kandidat> terbaik, int batas, String teksLower, int baris) {
+        if (terbaik.size() == batas && teksLower.compareTo(terbaik.peek().teks) > 0) {
+            return;
+        }
+        Kandidat kandidat = new Kandidat(teksLower, isbnBaris(baris), baris);
+        if (terbaik.size() < batas) {
+            terbaik.add(kandidat);
+        } else if (URUTAN_KANDIDAT.compare(kandidat, terbaik.peek()) < 0) {
+            terbaik.poll();
+            terbaik.add(kandidat);
+        }
+    }
+
+    private List<Buku> keDaftarBuku(PriorityQueue<Kandidat> terbaik) {
+        Kandidat[] urut = terbaik.toArray(new Kandidat[0]);
+        Arrays.sort(urut, URUTAN_KANDIDAT);
+        List<Buku> hasil = new ArrayList<>(urut.length);
+        for (Kandidat kandidat : urut) {
+            hasil.add(bacaBaris(kandidat.baris));
+        }
+        return hasil;
+    }
+
+    // Dipanggil di bawah write lock setelah simpan atau hapus
+    private void kompaksiTeksJikaPerlu() {
+        if (!teks.perluKompaksi()) {
+            return;
+        }
+
+        TeksOffHeap baru = new TeksOffHeap();
+        for (int baris = 0; baris < jumlahBaris; baris++) {
+            ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+            int i = baris & MASK_BARIS;
+            if (b.get(KOLOM_STATUS + i) != STATUS_AKTIF) {
+                continue;
+            }
+            b.putLong(KOLOM_JUDUL + i * Long.BYTES, baru.salin(teks, b.getLong(KOLOM_JUDUL + i * Long.BYTES)));
+            b.putLong(KOLOM_TEKS_ISBN + i * Long.BYTES, baru.salin(teks, b.getLong(KOLOM_TEKS_ISBN + i * Long.BYTES)));
+        }
+        teks = baru; // Blok lama dilepas GC bersama ByteBuffer-nya
+    }
+
+    // Dipanggil di bawah read atau write lock
+    private int cariBaris(String isbn) {
+        long kode = KodeIsbn.kode(isbn);
+        if (kode == KodeIsbn.TIDAK_BISA_DIKODE) {
+            Integer baris = indeksIsbnLain.get(isbn);
+            return baris == null ? -1 : baris;
+        }
+        return indeksIsbn.cari(kode);
+    }
+
+    // Dipanggil di bawah write lock
+    private int alokasiBaris() {
+        if (jumlahBarisBebas > 0) {
+            return barisBebas[--jumlahBarisBebas];
+        }
+
+        int baris = jumlahBaris++;
+        int nomorBlok = baris >>> BIT_BARIS_PER_BLOK;
+        if (nomorBlok == blok.length) {
+            blok = Arrays.copyOf(blok, blok.length * 2);
+        }
+        if (blok[nomorBlok] == null) {
+            blok[nomorBlok] = ByteBuffer.allocateDirect(UKURAN_BLOK).order(ByteOrder.nativeOrder());
+        }
+        return baris;
+    }
+
+    // Dipanggil di bawah write lock
+    private void tulisBaris(int baris, Buku buku) {
+        ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+        int i = baris & MASK_BARIS;
+        b.putLong(KOLOM_JUDUL + i * Long.BYTES, teks.tambah(buku.getJudul()));
+        b.putDouble(KOLOM_HARGA + i * Double.BYTES, buku.getHarga());
+        b.putInt(KOLOM_PENGARANG + i * Integer.BYTES, idPengarang(buku.getPengarang()));
+        b.putInt(KOLOM_TOTAL + i * Integer.BYTES, buku.getJumlahTotal());
+        INT_OFF_HEAP.setVolatile(b, KOLOM_TERSEDIA + i * Integer.BYTES, buku.getJumlahTersedia());
+    }
+
+    private int idPengarang(String pengarang) {
+        if (pengarang == null) {
+            return TANPA_PENGARANG;
+        }
+        return idPengarang.computeIfAbsent(pengarang, p -> {
+            daftarPengarang.add(p);
+            return daftarPengarang.size() - 1;
+        });
+    }
+
+    private boolean isAktif(int baris) {
+        return blok[baris >>> BIT_BARIS_PER_BLOK].get(KOLOM_STATUS + (baris & MASK_BARIS)) == STATUS_AKTIF;
+    }
+
+    private Buku bacaBarisJikaAktif(int baris) {
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            return baris < jumlahBaris && isAktif(baris) ? bacaBaris(baris) : null;
+        } finally {
+            baca.unlock();
+        }
+    }
+
+    private String isbnBaris(int baris) {
+        ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+        int i = baris & MASK_BARIS;
+        long kode = b.getLong(KOLOM_KODE + i * Long.BYTES);
+        return kode == KodeIsbn.TIDAK_BISA_DIKODE
+                ? teks.baca(b.getLong(KOLOM_TEKS_ISBN + i * Long.BYTES))
+                : KodeIsbn.keString(kode);
+    }
+
+    // Membuat objek Buku dari satu baris, dipanggil di bawah read atau write lock
+    private Buku bacaBaris(int baris) {
+        ByteBuffer b = blok[baris >>> BIT_BARIS_PER_BLOK];
+        int i = baris & MASK_BARIS;
+
+        String isbn = isbnBaris(baris);
+        int id = b.getInt(KOLOM_PENGARANG + i * Integer.BYTES);
+
+        Buku buku = new Buku(isbn,
+                teks.baca(b.getLong(KOLOM_JUDUL + i * Long.BYTES)),
+                id == TANPA_PENGARANG ? null : daftarPengarang.get(id),
+                b.getInt(KOLOM_TOTAL + i * Integer.BYTES),
+                b.getDouble(KOLOM_HARGA + i * Double.BYTES));
+        buku.setJumlahTersedia((int) INT_OFF_HEAP.getVolatile(b, KOLOM_TERSEDIA + i * Integer.BYTES));
+        return buku;
+    }
+
+    private static final Comparator<Kandidat> URUTAN_KANDIDAT =
+            Comparator.comparing((Kandidat k) -> k.teks).thenComparing(k -> k.isbn);
+
+    private static final class Kandidat {
+        final String teks;
+        final String isbn;
+        final int baris;
+
+        Kandidat(String teks, String isbn, int baris) {
+            this.teks = teks;
+            this.isbn = isbn;
+            this.baris = baris;
+        }
+    }
+
+    private static boolean isAscii(String teks) {
+        for (int i = 0; i < teks.length(); i++) {
+            if (teks.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
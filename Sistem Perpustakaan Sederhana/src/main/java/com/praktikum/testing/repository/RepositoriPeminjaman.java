@@ -0,0 +1,30 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Peminjaman;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface RepositoriPeminjaman {
+    boolean simpan(Peminjaman peminjaman);
+    Optional<Peminjaman> cariById(String idPeminjaman);
+    List<Peminjaman> cariByAnggota(String idAnggota);
+    List<Peminjaman> cariByIsbn(String isbnBuku);
+
+    /**
+     * Mencari peminjaman dengan tanggal jatuh tempo di antara dari dan sampai (inklusif).
+     */
+    List<Peminjaman> cariByJatuhTempo(LocalDate dari, LocalDate sampai);
+    boolean hapus(String idPeminjaman);
+
+    /**
+     * Mencari peminjaman yang belum dikembalikan dan sudah lewat jatuh tempo per tanggal tertentu.
+     */
+    List<Peminjaman> cariTerlambat(LocalDate perTanggal);
+
+    /**
+     * Menandai peminjaman sudah dikembalikan pada tanggal tertentu.
+     */
+    boolean tandaiDikembalikan(String idPeminjaman, LocalDate tanggalKembali);
+    List<Peminjaman> cariSemua();
+}
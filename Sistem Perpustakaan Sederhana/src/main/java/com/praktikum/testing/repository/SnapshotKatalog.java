@@ -0,0 +1,418 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Ekspor dan impor katalog (buku dan anggota) ke satu berkas snapshot biner, agar cold start
+ * tidak perlu menambahkan ulang setiap buku lewat tambahBuku atau impor CSV.
+ *
+ * Format (big-endian), ditulis dan dibaca dalam satu lintasan berurutan:
+ * <pre>
+ *   header  : magic "PSNP" (int), versi (int)
+ *   buku    : { 1, isbn, judul, pengarang, jumlahTotal (int), jumlahTersedia (int), harga (double) }* 0
+ *   anggota : { 1, id, nama, email, telepon, tipe, aktif, jumlahDipinjam (varint), isbn* }* 0
+ *   footer  : jumlahPengarang (int), jumlahBuku (int), jumlahAnggota (int), CRC32 semua byte sebelumnya (int)
+ * </pre>
+ * String ditulis sebagai varint (panjang byte UTF-8 + 1, 0 untuk null) lalu isinya. Pengarang
+ * dikodekan dengan kamus: varint 0 untuk null, atau nomor pengarang + 1. Pengarang yang baru
+ * pertama kali muncul langsung diikuti namanya, sehingga kamus tidak perlu dibangun sebelum
+ * menulis. Hasil impor juga berbagi satu objek String per pengarang.
+ *
+ * Seluruh isi dibaca dan checksum dicocokkan sebelum ada yang disimpan ke repositori,
+ * sehingga snapshot rusak tidak pernah dimuat sebagian.
+ */
+public final class SnapshotKatalog {
+
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final int VERSI = 1;
+
+    private static final byte ADA_RECORD = 1;
+    private static final byte AKHIR_BAGIAN = 0;
+
+    private static final int UKURAN_BUFFER = 1 << 16;
+    private static final int UKURAN_BATCH_SIMPAN = 10_000;
+
+    public enum ModeBaca {
+        /** Dibaca berurutan lewat FileChannel dengan buffer 64 KB. */
+        SEKUENSIAL,
+        /** Seluruh berkas di-memory-map; berkas di atas 2 GB otomatis dibaca sekuensial. */
+        MEMORY_MAP
+    }
+
+    /**
+     * Jumlah data yang ditulis atau dimuat.
+     */
+    public static final class Ringkasan {
+        private final int jumlahBuku;
+        private final int jumlahAnggota;
+        private final int jumlahPengarang;
+        private final long ukuranByte;
+
+        private Ringkasan(int jumlahBuku, int jumlahAnggota, int jumlahPengarang, long ukuranByte) {
+            this.jumlahBuku = jumlahBuku;
+            this.jumlahAnggota = jumlahAnggota;
+            this.jumlahPengarang = jumlahPengarang;
+            this.ukuranByte = ukuranByte;
+        }
+
+        public int getJumlahBuku() {
+            return jumlahBuku;
+        }
+
+        public int getJumlahAnggota() {
+            return jumlahAnggota;
+        }
+
+        /**
+         * @return jumlah pengarang unik di kamus
+         */
+        public int getJumlahPengarang() {
+            return jumlahPengarang;
+        }
+
+        public long getUkuranByte() {
+            return ukuranByte;
+        }
+    }
+
+    private SnapshotKatalog() {
+    }
+
+    /**
+     * Menulis snapshot ke berkas sementara lalu memindahkannya secara atomik ke tujuan.
+     *
+     * @param repositoriAnggota boleh null jika hanya buku yang diekspor (begitu juga sebaliknya)
+     */
+    public static Ringkasan ekspor(Path tujuan, RepositoriBuku repositoriBuku,
+                                   RepositoriAnggota repositoriAnggota) throws IOException {
+        Path sementara = tujuan.resolveSibling(tujuan.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        int jumlahBuku = 0;
+        int jumlahAnggota = 0;
+        Map<String, Integer> kamusPengarang = new HashMap<>();
+        try (FileOutputStream fos = new FileOutputStream(sementara.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                     new CheckedOutputStream(fos, crc), UKURAN_BUFFER))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSI);
+
+            if (repositoriBuku != null) {
+                Iterator<Buku> iterator = repositoriBuku.streamSemua().iterator();
+                while (iterator.hasNext()) {
+                    out.writeByte(ADA_RECORD);
+                    tulisBuku(out, iterator.next(), kamusPengarang);
+                    jumlahBuku++;
+                }
+            }
+            out.writeByte(AKHIR_BAGIAN);
+
+            if (repositoriAnggota != null) {
+                for (Anggota anggota : repositoriAnggota.cariSemua()) {
+                    out.writeByte(ADA_RECORD);
+                    tulisAnggota(out, anggota);
+                    jumlahAnggota++;
+                }
+            }
+            out.writeByte(AKHIR_BAGIAN);
+
+            out.writeInt(kamusPengarang.size());
+            out.writeInt(jumlahBuku);
+            out.writeInt(jumlahAnggota);
+            out.flush();
+            // CRC ditulis langsung ke file, di luar data yang di-checksum
+            new DataOutputStream(fos).writeInt((int) crc.getValue());
+            fos.getChannel().force(true);
+        }
+        Files.move(sementara, tujuan, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Ringkasan(jumlahBuku, jumlahAnggota, kamusPengarang.size(), Files.size(tujuan));
+    }
+
+    public static Ringkasan impor(Path sumber, RepositoriBuku repositoriBuku,
+                                  RepositoriAnggota repositoriAnggota) throws IOException {
+        return impor(sumber, ModeBaca.MEMORY_MAP, repositoriBuku, repositoriAnggota);
+    }
+
+    /**
+     * Memuat snapshot ke repositori. Repositori tujuan sebaiknya kosong: buku dengan ISBN
+     * yang sama ditimpa, dan anggota yang ditolak repositori (misalnya email bentrok) dilewati.
+     *
+     * @param repositoriAnggota boleh null untuk melewati data anggota (begitu juga sebaliknya)
+     * @return jumlah buku dan anggota yang benar-benar tersimpan
+     * @throws IOException jika berkas tidak bisa dibaca, formatnya tidak dikenal, atau checksum tidak cocok
+     */
+    public static Ringkasan impor(Path sumber, ModeBaca mode, RepositoriBuku repositoriBuku,
+                                  RepositoriAnggota repositoriAnggota) throws IOException {
+        List<Buku> daftarBuku = new ArrayList<>();
+        List<Anggota> daftarAnggota = new ArrayList<>();
+        List<String> kamusPengarang = new ArrayList<>();
+        long ukuranByte;
+
+        try (FileChannel channel = FileChannel.open(sumber, StandardOpenOption.READ)) {
+            ukuranByte = channel.size();
+            Pembaca in = mode == ModeBaca.MEMORY_MAP && ukuranByte <= Integer.MAX_VALUE
+                    ? new Pembaca(channel.map(FileChannel.MapMode.READ_ONLY, 0, ukuranByte), null, ukuranByte)
+                    : new Pembaca(ByteBuffer.allocateDirect(UKURAN_BUFFER).limit(0), channel, ukuranByte);
+
+            if (in.bacaInt() != MAGIC || in.bacaInt() != VERSI) {
+                throw new IOException("Format snapshot katalog tidak dikenal: " + sumber);
+            }
+            while (in.bacaByte() == ADA_RECORD) {
+                daftarBuku.add(bacaBuku(in, kamusPengarang));
+            }
+            while (in.bacaByte() == ADA_RECORD) {
+                daftarAnggota.add(bacaAnggota(in));
+            }
+
+            boolean jumlahCocok = in.bacaInt() == kamusPengarang.size()
+                    & in.bacaInt() == daftarBuku.size()
+                    & in.bacaInt() == daftarAnggota.size();
+            int crcDihitung = in.crcSejauhIni();
+            if (in.bacaInt() != crcDihitung || !in.habis() || !jumlahCocok) {
+                throw new IOException("Checksum snapshot katalog tidak cocok: " + sumber);
+            }
+        } catch (EOFException e) {
+            // Panjang atau marker yang rusak bisa membuat pembacaan melewati akhir berkas
+            throw new IOException("Snapshot katalog rusak: " + sumber, e);
+        }
+
+        int bukuTersimpan = 0;
+        if (repositoriBuku != null) {
+            for (int awal = 0; awal < daftarBuku.size(); awal += UKURAN_BATCH_SIMPAN) {
+                List<Buku> batch = daftarBuku.subList(awal, Math.min(awal + UKURAN_BATCH_SIMPAN, daftarBuku.size()));
+                for (boolean berhasil : repositoriBuku.simpanBatch(batch)) {
+                    if (berhasil) {
+                        bukuTersimpan++;
+                    }
+                }
+            }
+        }
+        int anggotaTersimpan = 0;
+        if (repositoriAnggota != null) {
+            for (Anggota anggota : daftarAnggota) {
+                if (repositoriAnggota.simpan(anggota)) {
+                    anggotaTersimpan++;
+                }
+            }
+        }
+        return new Ringkasan(bukuTersimpan, anggotaTersimpan, kamusPengarang.size(), ukuranByte);
+    }
+
+    // ---------------------------------------------------------------- encoding
+
+    private static void tulisBuku(DataOutputStream out, Buku buku, Map<String, Integer> kamusPengarang)
+            throws IOException {
+        tulisString(out, buku.getIsbn());
+        tulisString(out, buku.getJudul());
+
+        String pengarang = buku.getPengarang();
+        if (pengarang == null) {
+            tulisVarint(out, 0);
+        } else {
+            Integer nomor = kamusPengarang.get(pengarang);
+            if (nomor == null) {
+                nomor = kamusPengarang.size();
+                kamusPengarang.put(pengarang, nomor);
+                tulisVarint(out, nomor + 1);
+                tulisString(out, pengarang); // Pengarang baru: nama langsung menyusul
+            } else {
+                tulisVarint(out, nomor + 1);
+            }
+        }
+
+        out.writeInt(buku.getJumlahTotal());
+        out.writeInt(buku.getJumlahTersedia());
+        out.writeDouble(buku.getHarga());
+    }
+
+    private static Buku bacaBuku(Pembaca in, List<String> kamusPengarang) throws IOException {
+        Buku buku = new Buku();
+        buku.setIsbn(in.bacaString());
+        buku.setJudul(in.bacaString());
+
+        int nomor = in.bacaVarint() - 1;
+        if (nomor == kamusPengarang.size()) {
+            kamusPengarang.add(in.bacaString());
+        } else if (nomor > kamusPengarang.size()) {
+            throw new IOException("Nomor pengarang di luar kamus: " + nomor);
+        }
+        buku.setPengarang(nomor < 0 ? null : kamusPengarang.get(nomor));
+
+        buku.setJumlahTotal(in.bacaInt());
+        buku.setJumlahTersedia(in.bacaInt());
+        buku.setHarga(in.bacaDouble());
+        return buku;
+    }
+
+    private static void tulisAnggota(DataOutputStream out, Anggota anggota) throws IOException {
+        tulisString(out, anggota.getIdAnggota());
+        tulisString(out, anggota.getNama());
+        tulisString(out, anggota.getEmail());
+        tulisString(out, anggota.getTelepon());
+        out.writeByte(anggota.getTipeAnggota() == null ? 0 : anggota.getTipeAnggota().ordinal() + 1);
+        out.writeBoolean(anggota.isAktif());
+
+        List<String> dipinjam = anggota.getBukuDipinjamView();
+        tulisVarint(out, dipinjam.size());
+        for (String isbn : dipinjam) {
+            tulisString(out, isbn);
+        }
+    }
+
+    private static Anggota bacaAnggota(Pembaca in) throws IOException {
+        Anggota anggota = new Anggota();
+        anggota.setIdAnggota(in.bacaString());
+        anggota.setNama(in.bacaString());
+        anggota.setEmail(in.bacaString());
+        anggota.setTelepon(in.bacaString());
+
+        int tipe = in.bacaByte();
+        Anggota.TipeAnggota[] semuaTipe = Anggota.TipeAnggota.values();
+        if (tipe < 0 || tipe > semuaTipe.length) {
+            throw new IOException("Tipe anggota tidak dikenal: " + tipe);
+        }
+        anggota.setTipeAnggota(tipe == 0 ? null : semuaTipe[tipe - 1]);
+        anggota.setAktif(in.bacaByte() != 0);
+
+        int jumlahDipinjam = in.bacaVarint();
+        for (int i = 0; i < jumlahDipinjam; i++) {
+            anggota.tambahBukuDipinjam(in.bacaString());
+        }
+        return anggota;
+    }
+
+    private static void tulisString(DataOutputStream out, String teks) throws IOException {
+        if (teks == null) {
+            tulisVarint(out, 0);
+            return;
+        }
+        byte[] bytes = teks.getBytes(StandardCharsets.UTF_8);
+        tulisVarint(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    // Varint tak bertanda: 7 bit per byte, bit tertinggi menandakan masih ada byte berikutnya
+    private static void tulisVarint(DataOutputStream out, int nilai) throws IOException {
+        while ((nilai & ~0x7F) != 0) {
+            out.writeByte((nilai & 0x7F) | 0x80);
+            nilai >>>= 7;
+        }
+        out.writeByte(nilai);
+    }
+
+    /**
+     * Pembaca berurutan di atas ByteBuffer, baik hasil memory-map (channel null, seluruh berkas
+     * sudah ada di buffer) maupun buffer yang diisi ulang dari FileChannel. CRC dihitung dari
+     * byte yang sudah dikonsumsi, tepat sebelum buffer dipadatkan.
+     */
+    private static final class Pembaca {
+        private final ByteBuffer buffer;
+        private final FileChannel channel;
+        private final long ukuranBerkas;
+        private final CRC32 crc = new CRC32();
+        private int awalBelumDiCrc;
+
+        private Pembaca(ByteBuffer buffer, FileChannel channel, long ukuranBerkas) {
+            this.buffer = buffer;
+            this.channel = channel;
+            this.ukuranBerkas = ukuranBerkas;
+        }
+
+        int bacaByte() throws IOException {
+            pastikan(1);
+            return buffer.get() & 0xFF;
+        }
+
+        int bacaInt() throws IOException {
+            pastikan(4);
+            return buffer.getInt();
+        }
+
+        double bacaDouble() throws IOException {
+            pastikan(8);
+            return buffer.getDouble();
+        }
+
+        int bacaVarint() throws IOException {
+            int hasil = 0;
+            for (int geser = 0; geser < 35; geser += 7) {
+                int b = bacaByte();
+                hasil |= (b & 0x7F) << geser;
+                if ((b & 0x80) == 0) {
+                    return hasil;
+                }
+            }
+            throw new IOException("Varint terlalu panjang");
+        }
+
+        String bacaString() throws IOException {
+            int panjang = bacaVarint() - 1;
+            if (panjang < 0) {
+                return null;
+            }
+            if (panjang > ukuranBerkas) {
+                throw new IOException("Panjang string melebihi ukuran berkas: " + panjang);
+            }
+
+            // Dengan buffer sekuensial, string yang lebih panjang dari buffer disalin per potongan
+            byte[] bytes = new byte[panjang];
+            int posisi = 0;
+            while (posisi < panjang) {
+                int potong = Math.min(panjang - posisi, buffer.capacity());
+                pastikan(potong);
+                buffer.get(bytes, posisi, potong);
+                posisi += potong;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int crcSejauhIni() {
+            crc.update(buffer.slice(awalBelumDiCrc, buffer.position() - awalBelumDiCrc));
+            awalBelumDiCrc = buffer.position();
+            return (int) crc.getValue();
+        }
+
+        boolean habis() throws IOException {
+            return !buffer.hasRemaining() && (channel == null || channel.position() == channel.size());
+        }
+
+        private void pastikan(int jumlah) throws IOException {
+            if (buffer.remaining() >= jumlah) {
+                return;
+            }
+            if (channel == null) {
+                throw new EOFException();
+            }
+
+            crcSejauhIni();
+            buffer.compact();
+            while (buffer.position() < jumlah) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException();
+                }
+            }
+            buffer.flip();
+            awalBelumDiCrc = 0;
+        }
+    }
+}
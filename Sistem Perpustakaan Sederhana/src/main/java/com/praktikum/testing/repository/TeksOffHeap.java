@@ -0,0 +1,188 @@
+package com.praktikum.testing.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Penyimpanan teks append-only di luar heap untuk RepositoriBukuOffHeap.
+ *
+ * Setiap teks ditulis sebagai int panjang diikuti byte UTF-8, di dalam blok
+ * ByteBuffer direct. Posisi teks dikodekan menjadi satu long: indeks blok di
+ * 32 bit atas dan offset di dalam blok di 32 bit bawah.
+ *
+ * Teks yang tidak dipakai lagi dicatat lewat lepas(). Ruangnya tidak langsung dipakai
+ * ulang; jika perluKompaksi(), pemilik menyalin teks yang masih hidup ke TeksOffHeap
+ * baru (lihat salin()) dan membuang yang lama.
+ *
+ * Tidak thread-safe untuk tulis; pemanggil mengatur lock. Baca memakai get absolut
+ * sehingga aman dipanggil paralel selama tidak ada tulis.
+ */
+class TeksOffHeap {
+
+    static final long TIDAK_ADA = -1L;
+
+    private static final int UKURAN_BLOK = 1 << 20;
+
+    private ByteBuffer[] blok = new ByteBuffer[4];
+    private int jumlahBlok;
+    private long jumlahByte;
+    private long jumlahByteMati;
+
+    long tambah(String teks) {
+        if (teks == null) {
+            return TIDAK_ADA;
+        }
+
+        byte[] isi = teks.getBytes(StandardCharsets.UTF_8);
+        int perlu = Integer.BYTES + isi.length;
+        ByteBuffer tujuan = siapkanRuang(perlu);
+        int posisi = tujuan.position();
+        tujuan.putInt(isi.length);
+        tujuan.put(isi);
+        jumlahByte += perlu;
+        return ((long) (jumlahBlok - 1) << 32) | posisi;
+    }
+
+    /**
+     * Menandai teks sebagai tidak dipakai lagi, untuk keputusan kompaksi.
+     */
+    void lepas(long alamat) {
+        if (alamat != TIDAK_ADA) {
+            jumlahByteMati += Integer.BYTES + blok[(int) (alamat >>> 32)].getInt((int) alamat);
+        }
+    }
+
+    /**
+     * Menyalin byte teks dari TeksOffHeap lain tanpa men-decode String.
+     *
+     * @return alamat teks di penyimpanan ini
+     */
+    long salin(TeksOffHeap sumber, long alamat) {
+        if (alamat == TIDAK_ADA) {
+            return TIDAK_ADA;
+        }
+
+        ByteBuffer asal = sumber.blok[(int) (alamat >>> 32)];
+        int posisiAsal = (int) alamat;
+        int perlu = Integer.BYTES + asal.getInt(posisiAsal);
+        ByteBuffer tujuan = siapkanRuang(perlu);
+        int posisi = tujuan.position();
+        tujuan.put(posisi, asal, posisiAsal, perlu);
+        tujuan.position(posisi + perlu);
+        jumlahByte += perlu;
+        return ((long) (jumlahBlok - 1) << 32) | posisi;
+    }
+
+    /**
+     * @return true jika lebih dari separuh byte yang pernah ditulis sudah mati
+     *         (dan minimal satu blok), sehingga kompaksi sepadan biayanya
+     */
+    boolean perluKompaksi() {
+        return jumlahByteMati > UKURAN_BLOK && jumlahByteMati * 2 > jumlahByte;
+    }
+
+    String baca(long alamat) {
+        if (alamat == TIDAK_ADA) {
+            return null;
+        }
+
+        ByteBuffer sumber = blok[(int) (alamat >>> 32)];
+        int posisi = (int) alamat;
+        byte[] isi = new byte[sumber.getInt(posisi)];
+        sumber.get(posisi + Integer.BYTES, isi);
+        return new String(isi, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Mengecek apakah teks diawali pola (byte ASCII yang sudah lowercase) tanpa men-decode String.
+     *
+     * @return 1 jika diawali pola, 0 jika tidak, -1 jika tidak bisa dipastikan karena ada
+     *         karakter non-ASCII sebelum kepastian didapat
+     */
+    int awalanAscii(long alamat, byte[] polaLower) {
+        if (alamat == TIDAK_ADA) {
+            return 0;
+        }
+
+        ByteBuffer sumber = blok[(int) (alamat >>> 32)];
+        int awal = (int) alamat + Integer.BYTES;
+        int panjang = sumber.getInt((int) alamat);
+        for (int i = 0; i < polaLower.length; i++) {
+            if (i >= panjang) {
+                return 0;
+            }
+            byte b = sumber.get(awal + i);
+            if (b < 0) {
+                return -1;
+            }
+            if (keLowerAscii(b) != polaLower[i]) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Mencari pola (byte ASCII yang sudah lowercase) di dalam teks tanpa men-decode String.
+     *
+     * @return 1 jika cocok, 0 jika tidak cocok, -1 jika tidak bisa dipastikan karena teks
+     *         berisi karakter non-ASCII (pemanggil harus memakai baca() lalu toLowerCase())
+     */
+    int cocokAscii(long alamat, byte[] polaLower) {
+        if (alamat == TIDAK_ADA) {
+            return 0;
+        }
+
+        ByteBuffer sumber = blok[(int) (alamat >>> 32)];
+        int awal = (int) alamat + Integer.BYTES;
+        int panjang = sumber.getInt((int) alamat);
+        boolean adaNonAscii = false;
+        for (int i = 0; i < panjang; i++) {
+            byte b = sumber.get(awal + i);
+            if (b < 0) {
+                adaNonAscii = true;
+                continue;
+            }
+            if (i + polaLower.length > panjang) {
+                continue; // Sisa teks terlalu pendek, tetap dibaca untuk cek non-ASCII
+            }
+            int j = 0;
+            while (j < polaLower.length && keLowerAscii(sumber.get(awal + i + j)) == polaLower[j]) {
+                j++;
+            }
+            if (j == polaLower.length) {
+                // Kecocokan di bagian ASCII selalu sama dengan hasil toLowerCase().contains()
+                return 1;
+            }
+        }
+        return adaNonAscii ? -1 : 0;
+    }
+
+    long getJumlahByte() {
+        return jumlahByte;
+    }
+
+    long getKapasitasByte() {
+        long total = 0;
+        for (int i = 0; i < jumlahBlok; i++) {
+            total += blok[i].capacity();
+        }
+        return total;
+    }
+
+    private ByteBuffer siapkanRuang(int perlu) {
+        if (jumlahBlok == 0 || blok[jumlahBlok - 1].remaining() < perlu) {
+            // Teks yang lebih besar dari ukuran blok mendapat blok sendiri
+            if (jumlahBlok == blok.length) {
+                blok = Arrays.copyOf(blok, blok.length * 2);
+            }
+            blok[jumlahBlok++] = ByteBuffer.allocateDirect(Math.max(UKURAN_BLOK, perlu));
+        }
+        return blok[jumlahBlok - 1];
+    }
+
+    private static byte keLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+}
@@ -0,0 +1,161 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.util.KodeIsbn;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Himpunan ISBN terurut untuk cursor MockRepositoryBuku dalam mode kunci primitif.
+ *
+ * ISBN angka disimpan sebagai KodeIsbn.kunciUrut di DaftarKunciTerurut (8 byte per ISBN,
+ * tanpa objek per entri), ISBN lain yang jarang di TreeSet. Gabungan keduanya urut sama
+ * dengan urutan String. Iterator membaca per halaman, sehingga weakly consistent seperti
+ * ConcurrentSkipListSet dan tidak menahan lock di antara halaman.
+ */
+class UrutanIsbnRingkas {
+
+    private static final int UKURAN_HALAMAN = 256;
+
+    private final ReadWriteLock kunci = new ReentrantReadWriteLock();
+    private DaftarKunciTerurut angka = new DaftarKunciTerurut();
+    private final NavigableSet<String> lain = new TreeSet<>();
+
+    void tambah(String isbn) {
+        Lock tulis = kunci.writeLock();
+        tulis.lock();
+        try {
+            tambahTanpaKunci(isbn);
+        } finally {
+            tulis.unlock();
+        }
+    }
+
+    void tambahSemua(Collection<String> daftarIsbn) {
+        Lock tulis = kunci.writeLock();
+        tulis.lock();
+        try {
+            for (String isbn : daftarIsbn) {
+                tambahTanpaKunci(isbn);
+            }
+        } finally {
+            tulis.unlock();
+        }
+    }
+
+    void hapus(String isbn) {
+        Lock tulis = kunci.writeLock();
+        tulis.lock();
+        try {
+            long kode = KodeIsbn.kode(isbn);
+            if (kode == KodeIsbn.TIDAK_BISA_DIKODE) {
+                lain.remove(isbn);
+            } else {
+                angka.hapus(KodeIsbn.kunciUrut(kode));
+            }
+        } finally {
+            tulis.unlock();
+        }
+    }
+
+    void bersihkan() {
+        Lock tulis = kunci.writeLock();
+        tulis.lock();
+        try {
+            angka = new DaftarKunciTerurut();
+            lain.clear();
+        } finally {
+            tulis.unlock();
+        }
+    }
+
+    /**
+     * Paling banyak maks ISBN yang lebih besar dari setelahIsbn (null untuk dari awal), urut naik.
+     */
+    List<String> setelah(String setelahIsbn, int maks) {
+        Lock baca = kunci.readLock();
+        baca.lock();
+        try {
+            // Dua sumber terurut digabung: ISBN angka dan ISBN bukan angka
+            long[] kunciAngka = new long[Math.min(maks, angka.ukuran())];
+            int jumlahAngka = angka.salinSetelah(
+                    setelahIsbn == null ? -1 : KodeIsbn.batasKunciUrut(setelahIsbn), kunciAngka, kunciAngka.length);
+            Iterator<String> sisaLain = (setelahIsbn == null ? lain : lain.tailSet(setelahIsbn, false)).iterator();
+
+            List<String> hasil = new ArrayList<>(Math.min(maks, UKURAN_HALAMAN));
+            int a = 0;
+            String berikutnyaLain = sisaLain.hasNext() ? sisaLain.next() : null;
+            String berikutnyaAngka = jumlahAngka > 0 ? keIsbn(kunciAngka[0]) : null;
+            while (hasil.size() < maks && (berikutnyaAngka != null || berikutnyaLain != null)) {
+                if (berikutnyaLain == null
+                        || (berikutnyaAngka != null && berikutnyaAngka.compareTo(berikutnyaLain) < 0)) {
+                    hasil.add(berikutnyaAngka);
+                    a++;
+                    berikutnyaAngka = a < jumlahAngka ? keIsbn(kunciAngka[a]) : null;
+                } else {
+                    hasil.add(berikutnyaLain);
+                    berikutnyaLain = sisaLain.hasNext() ? sisaLain.next() : null;
+                }
+            }
+            return hasil;
+        } finally {
+            baca.unlock();
+        }
+    }
+
+    /**
+     * Iterator lazy atas ISBN setelah setelahIsbn (null untuk dari awal).
+     */
+    Iterator<String> iterator(String setelahIsbn) {
+        return new Iterator<>() {
+            private List<String> halaman = List.of();
+            private int posisi;
+            private String terakhir = setelahIsbn;
+            private boolean habis;
+
+            @Override
+            public boolean hasNext() {
+                if (posisi < halaman.size()) {
+                    return true;
+                }
+                if (habis) {
+                    return false;
+                }
+                halaman = setelah(terakhir, UKURAN_HALAMAN);
+                posisi = 0;
+                habis = halaman.size() < UKURAN_HALAMAN;
+                return !halaman.isEmpty();
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                terakhir = halaman.get(posisi++);
+                return terakhir;
+            }
+        };
+    }
+
+    private void tambahTanpaKunci(String isbn) {
+        long kode = KodeIsbn.kode(isbn);
+        if (kode == KodeIsbn.TIDAK_BISA_DIKODE) {
+            lain.add(isbn);
+        } else {
+            angka.tambah(KodeIsbn.kunciUrut(kode));
+        }
+    }
+
+    private static String keIsbn(long kunciUrut) {
+        return KodeIsbn.keString(KodeIsbn.dariKunciUrut(kunciUrut));
+    }
+}
@@ -3,6 +3,16 @@ package com.praktikum.testing.service;
 import com.praktikum.testing.model.Peminjaman;
 import com.praktikum.testing.model.Anggota;
 import com.praktikum.testing.model.Anggota.TipeAnggota;
+import com.praktikum.testing.repository.RepositoriPeminjaman;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 public class KalkulatorDenda {
 
@@ -16,16 +26,51 @@ public class KalkulatorDenda {
     private static final double DENDA_MAX_DOSEN = 100000.0;
     private static final double DENDA_MAX_UMUM = 75000.0;
 
+    // null berarti Clock.systemDefaultZone() dibaca setiap panggilan, sehingga perubahan
+    // zona waktu default JVM setelah kelas dimuat tetap terbaca
+    private final Clock jam;
+
+    public KalkulatorDenda() {
+        this.jam = null;
+    }
+
+    public KalkulatorDenda(Clock jam) {
+        if (jam == null) {
+            throw new IllegalArgumentException("Clock tidak boleh null");
+        }
+        this.jam = jam;
+    }
+
+    /**
+     * Clock yang dipakai untuk "hari ini" pada method tanpa parameter tanggal.
+     */
+    public Clock getJam() {
+        return jam != null ? jam : Clock.systemDefaultZone();
+    }
+
     public double hitungDenda(Peminjaman peminjaman, Anggota anggota) {
         if (peminjaman == null || anggota == null) {
             throw new IllegalArgumentException("Peminjaman dan Anggota tidak boleh null");
         }
 
-        if (!peminjaman.isTerlambat()) {
-            return 0.0;
+        // Jam cukup dibaca sekali untuk cek terlambat sekaligus jumlah hari
+        return hitungDendaPadaHari(peminjaman, anggota, Peminjaman.hariIni(getJam()));
+    }
+
+    /**
+     * Menghitung denda per tanggal tertentu (bukan hari ini), misalnya untuk proses denda harian.
+     * Untuk peminjaman yang belum dikembalikan, keterlambatan dihitung sampai perTanggal.
+     */
+    public double hitungDenda(Peminjaman peminjaman, Anggota anggota, LocalDate perTanggal) {
+        if (peminjaman == null || anggota == null || perTanggal == null) {
+            throw new IllegalArgumentException("Peminjaman, Anggota, dan tanggal tidak boleh null");
         }
 
-        long hariTerlambat = peminjaman.getHariTerlambat();
+        return hitungDendaPadaHari(peminjaman, anggota, perTanggal.toEpochDay());
+    }
+
+    private double hitungDendaPadaHari(Peminjaman peminjaman, Anggota anggota, long hariPerTanggal) {
+        long hariTerlambat = peminjaman.getHariTerlambatPada(hariPerTanggal);
         if (hariTerlambat <= 0) {
             return 0.0;
         }
@@ -37,6 +82,126 @@ public class KalkulatorDenda {
         return Math.min(totalDenda, dendaMax);
     }
 
+    /**
+     * Proses denda harian: mengambil peminjaman terlambat per tanggal dari indeks
+     * keterlambatan repository, lalu menghitung dendanya.
+     *
+     * @param cariAnggota pencarian anggota berdasarkan idAnggota; peminjaman yang anggotanya
+     *                    tidak ditemukan dilewati
+     * @return denda per idPeminjaman
+     */
+    public Map<String, Double> hitungDendaHarian(RepositoriPeminjaman repositoriPeminjaman,
+                                                 Function<String, Anggota> cariAnggota,
+                                                 LocalDate perTanggal) {
+        if (repositoriPeminjaman == null || cariAnggota == null || perTanggal == null) {
+            throw new IllegalArgumentException("Repository, pencarian anggota, dan tanggal tidak boleh null");
+        }
+
+        return hitungDendaMassal(repositoriPeminjaman.cariTerlambat(perTanggal), cariAnggota, perTanggal)
+                .getDendaPerPeminjaman();
+    }
+
+    /**
+     * Menghitung denda untuk banyak peminjaman sekaligus dengan fork/join.
+     * Jam hanya dibaca sekali di awal, sehingga seluruh batch memakai tanggal yang sama.
+     */
+    public RingkasanDenda hitungDendaMassal(Collection<Peminjaman> daftarPeminjaman,
+                                            Function<String, Anggota> cariAnggota) {
+        return hitungDendaMassal(daftarPeminjaman, cariAnggota, LocalDate.now(getJam()));
+    }
+
+    /**
+     * Menghitung denda untuk banyak peminjaman per tanggal tertentu dengan fork/join.
+     *
+     * @param cariAnggota pencarian anggota berdasarkan idAnggota, dipanggil dari banyak thread
+     *                    sehingga harus thread-safe; peminjaman yang anggotanya tidak ditemukan dilewati
+     */
+    public RingkasanDenda hitungDendaMassal(Collection<Peminjaman> daftarPeminjaman,
+                                            Function<String, Anggota> cariAnggota,
+                                            LocalDate perTanggal) {
+        if (daftarPeminjaman == null || cariAnggota == null || perTanggal == null) {
+            throw new IllegalArgumentException("Peminjaman, pencarian anggota, dan tanggal tidak boleh null");
+        }
+
+        Peminjaman[] larik = daftarPeminjaman.toArray(new Peminjaman[0]);
+        long hariPerTanggal = perTanggal.toEpochDay();
+        return ForkJoinPool.commonPool()
+                .invoke(new TugasDenda(larik, 0, larik.length, cariAnggota, hariPerTanggal))
+                .selesai();
+    }
+
+    /**
+     * Varian stream dari hitungDendaMassal, untuk sumber peminjaman yang tidak muat dalam satu List.
+     * Stream diproses paralel di common fork/join pool.
+     */
+    public RingkasanDenda hitungDendaMassal(Stream<Peminjaman> streamPeminjaman,
+                                            Function<String, Anggota> cariAnggota,
+                                            LocalDate perTanggal) {
+        if (streamPeminjaman == null || cariAnggota == null || perTanggal == null) {
+            throw new IllegalArgumentException("Peminjaman, pencarian anggota, dan tanggal tidak boleh null");
+        }
+
+        long hariPerTanggal = perTanggal.toEpochDay();
+        return streamPeminjaman.parallel()
+                .collect(Collector.of(RingkasanDenda.Akumulator::new,
+                        (akumulator, peminjaman) -> akumulasi(akumulator, peminjaman, cariAnggota, hariPerTanggal),
+                        RingkasanDenda.Akumulator::gabung,
+                        RingkasanDenda.Akumulator::selesai));
+    }
+
+    private void akumulasi(RingkasanDenda.Akumulator akumulator, Peminjaman peminjaman,
+                           Function<String, Anggota> cariAnggota, long hariPerTanggal) {
+        if (peminjaman == null) {
+            return;
+        }
+        Anggota anggota = cariAnggota.apply(peminjaman.getIdAnggota());
+        if (anggota == null) {
+            return;
+        }
+        double denda = hitungDendaPadaHari(peminjaman, anggota, hariPerTanggal);
+        if (denda > 0) {
+            akumulator.tambah(peminjaman.getIdPeminjaman(), peminjaman.getIdAnggota(), denda);
+        }
+    }
+
+    @SuppressWarnings("serial") // Tidak pernah diserialisasi, hanya dijalankan di fork/join pool
+    private class TugasDenda extends RecursiveTask<RingkasanDenda.Akumulator> {
+        private static final int AMBANG_SEKUENSIAL = 4096;
+
+        private final Peminjaman[] larik;
+        private final int awal;
+        private final int akhir;
+        private final Function<String, Anggota> cariAnggota;
+        private final long hariPerTanggal;
+
+        TugasDenda(Peminjaman[] larik, int awal, int akhir,
+                   Function<String, Anggota> cariAnggota, long hariPerTanggal) {
+            this.larik = larik;
+            this.awal = awal;
+            this.akhir = akhir;
+            this.cariAnggota = cariAnggota;
+            this.hariPerTanggal = hariPerTanggal;
+        }
+
+        @Override
+        protected RingkasanDenda.Akumulator compute() {
+            if (akhir - awal <= AMBANG_SEKUENSIAL) {
+                RingkasanDenda.Akumulator akumulator = new RingkasanDenda.Akumulator();
+                for (int i = awal; i < akhir; i++) {
+                    akumulasi(akumulator, larik[i], cariAnggota, hariPerTanggal);
+                }
+                return akumulator;
+            }
+
+            int tengah = (awal + akhir) >>> 1;
+            TugasDenda kiri = new TugasDenda(larik, awal, tengah, cariAnggota, hariPerTanggal);
+            TugasDenda kanan = new TugasDenda(larik, tengah, akhir, cariAnggota, hariPerTanggal);
+            kiri.fork();
+            RingkasanDenda.Akumulator hasilKanan = kanan.compute();
+            return kiri.join().gabung(hasilKanan);
+        }
+    }
+
     public double getTarifDendaHarian(Anggota.TipeAnggota tipeAnggota) {
         if (tipeAnggota == null) {
             throw new IllegalArgumentException("Tipe anggota tidak boleh null");
@@ -72,7 +237,7 @@ public class KalkulatorDenda {
     }
 
     public boolean adaDenda(Peminjaman peminjaman) {
-        return peminjaman != null && peminjaman.isTerlambat() && peminjaman.getHariTerlambat() > 0;
+        return peminjaman != null && peminjaman.getHariTerlambat(getJam()) > 0;
     }
 
     public String getDeskripsiDenda(double jumlahDenda) {
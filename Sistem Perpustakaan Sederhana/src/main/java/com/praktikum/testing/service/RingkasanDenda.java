@@ -0,0 +1,68 @@
+package com.praktikum.testing.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hasil perhitungan denda massal: denda per peminjaman, total per anggota, dan total keseluruhan.
+ * Hanya peminjaman dengan denda lebih dari 0 yang dicatat.
+ */
+public class RingkasanDenda {
+
+    private final Map<String, Double> dendaPerPeminjaman;
+    private final Map<String, Double> totalPerAnggota;
+    private final double totalDenda;
+
+    RingkasanDenda(Map<String, Double> dendaPerPeminjaman, Map<String, Double> totalPerAnggota) {
+        this.dendaPerPeminjaman = Collections.unmodifiableMap(dendaPerPeminjaman);
+        this.totalPerAnggota = Collections.unmodifiableMap(totalPerAnggota);
+        double total = 0.0;
+        for (double denda : totalPerAnggota.values()) {
+            total += denda;
+        }
+        this.totalDenda = total;
+    }
+
+    public Map<String, Double> getDendaPerPeminjaman() {
+        return dendaPerPeminjaman;
+    }
+
+    public Map<String, Double> getTotalPerAnggota() {
+        return totalPerAnggota;
+    }
+
+    public double getTotalDenda() {
+        return totalDenda;
+    }
+
+    public double getTotalAnggota(String idAnggota) {
+        return totalPerAnggota.getOrDefault(idAnggota, 0.0);
+    }
+
+    /**
+     * Penampung hasil sementara per thread, digabung setelah fork/join selesai.
+     */
+    static class Akumulator {
+        final Map<String, Double> dendaPerPeminjaman = new HashMap<>();
+        final Map<String, Double> totalPerAnggota = new HashMap<>();
+
+        void tambah(String idPeminjaman, String idAnggota, double denda) {
+            dendaPerPeminjaman.put(idPeminjaman, denda);
+            totalPerAnggota.merge(idAnggota, denda, Double::sum);
+        }
+
+        Akumulator gabung(Akumulator lain) {
+            // Gabungkan yang kecil ke yang besar agar salinan seminimal mungkin
+            Akumulator besar = dendaPerPeminjaman.size() >= lain.dendaPerPeminjaman.size() ? this : lain;
+            Akumulator kecil = besar == this ? lain : this;
+            besar.dendaPerPeminjaman.putAll(kecil.dendaPerPeminjaman);
+            kecil.totalPerAnggota.forEach((id, denda) -> besar.totalPerAnggota.merge(id, denda, Double::sum));
+            return besar;
+        }
+
+        RingkasanDenda selesai() {
+            return new RingkasanDenda(dendaPerPeminjaman, totalPerAnggota);
+        }
+    }
+}
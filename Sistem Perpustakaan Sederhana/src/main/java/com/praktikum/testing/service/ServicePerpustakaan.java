@@ -3,18 +3,45 @@ package com.praktikum.testing.service;
 import com.praktikum.testing.model.Buku;
 import com.praktikum.testing.model.Anggota;
 import com.praktikum.testing.repository.RepositoriBuku;
+import com.praktikum.testing.util.KunciBergaris;
 import com.praktikum.testing.util.ValidationUtils;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 
 public class ServicePerpustakaan {
 
     private final RepositoriBuku repositoriBuku;
     private final KalkulatorDenda kalkulatorDenda;
 
+    // Null jika mode thread-safe tidak aktif. Urutan akuisisi selalu anggota dulu,
+    // lalu ISBN (terurut indeks garis), sehingga tidak mungkin deadlock.
+    private final KunciBergaris kunciAnggota;
+    private final KunciBergaris kunciIsbn;
+
     public ServicePerpustakaan(RepositoriBuku repositoryBuku, KalkulatorDenda kalkulatorDenda) {
+        this(repositoryBuku, kalkulatorDenda, false);
+    }
+
+    /**
+     * @param threadSafe true untuk mengunci per anggota dan per ISBN (striped lock), sehingga
+     *                   batas pinjam anggota dan cek-lalu-ubah pada buku tetap benar walau
+     *                   dipanggil dari banyak thread. Peminjaman yang tidak berkaitan tetap paralel.
+     */
+    public ServicePerpustakaan(RepositoriBuku repositoryBuku, KalkulatorDenda kalkulatorDenda,
+                               boolean threadSafe) {
         this.repositoriBuku = repositoryBuku;
         this.kalkulatorDenda = kalkulatorDenda;
+        int jumlahGaris = Runtime.getRuntime().availableProcessors() * 16;
+        this.kunciAnggota = threadSafe ? new KunciBergaris(jumlahGaris) : null;
+        this.kunciIsbn = threadSafe ? new KunciBergaris(jumlahGaris) : null;
     }
 
     public boolean tambahBuku(Buku buku) {
@@ -22,13 +49,22 @@ public class ServicePerpustakaan {
             return false;
         }
 
+        // Cek lalu simpan harus satu langkah agar ISBN yang sama tidak tersimpan dua kali
+        return denganKunci(null, List.of(buku.getIsbn()), () -> tambahBukuTanpaKunci(buku));
+    }
+
+    private boolean tambahBukuTanpaKunci(Buku buku) {
         // Cek apakah buku dengan ISBN yang sama sudah ada
         Optional<Buku> bukuExisting = repositoriBuku.cariByIsbn(buku.getIsbn());
         if (bukuExisting.isPresent()) {
             return false; // Buku sudah ada
         }
 
-        return repositoriBuku.simpan(buku);
+        if (!repositoriBuku.simpan(buku)) {
+            return false;
+        }
+        setelahTambahBuku(buku);
+        return true;
     }
 
     public boolean hapusBuku(String isbn) {
@@ -36,6 +72,10 @@ public class ServicePerpustakaan {
             return false;
         }
 
+        return denganKunci(null, List.of(isbn), () -> hapusBukuTanpaKunci(isbn));
+    }
+
+    private boolean hapusBukuTanpaKunci(String isbn) {
         Optional<Buku> buku = repositoriBuku.cariByIsbn(isbn);
         if (buku.isEmpty()) {
             return false; // Buku tidak ditemukan
@@ -46,7 +86,11 @@ public class ServicePerpustakaan {
             return false; // Tidak bisa hapus karena ada yang dipinjam
         }
 
-        return repositoriBuku.hapus(isbn);
+        if (!repositoriBuku.hapus(isbn)) {
+            return false;
+        }
+        setelahHapusBuku(isbn);
+        return true;
     }
 
     public Optional<Buku> cariBukuByIsbn(String isbn) {
@@ -64,6 +108,14 @@ public class ServicePerpustakaan {
         return repositoriBuku.cariByPengarang(pengarang);
     }
 
+    public List<Buku> autocompleteJudul(String prefix, int batas) {
+        return repositoriBuku.autocompleteJudul(prefix, batas);
+    }
+
+    public List<Buku> autocompletePengarang(String prefix, int batas) {
+        return repositoriBuku.autocompletePengarang(prefix, batas);
+    }
+
     public boolean bukuTersedia(String isbn) {
         Optional<Buku> buku = repositoriBuku.cariByIsbn(isbn);
         return buku.isPresent() && buku.get().isTersedia();
@@ -80,28 +132,24 @@ public class ServicePerpustakaan {
             return false;
         }
 
+        return denganKunci(anggota.getIdAnggota(), Collections.singletonList(isbn),
+                () -> pinjamBukuTanpaKunci(isbn, anggota));
+    }
+
+    private boolean pinjamBukuTanpaKunci(String isbn, Anggota anggota) {
         // Cek apakah anggota masih bisa pinjam
         if (!anggota.bolehPinjamLagi()) {
             return false;
         }
 
-        // Cek ketersediaan buku
-        Optional<Buku> bukuOpt = repositoriBuku.cariByIsbn(isbn);
-        if (bukuOpt.isEmpty() || !bukuOpt.get().isTersedia()) {
+        // Cek ketersediaan dan kurangi stok dalam satu langkah atomik
+        if (!repositoriBuku.kurangiTersedia(isbn)) {
             return false;
         }
 
-        Buku buku = bukuOpt.get();
-
-        // Update jumlah tersedia
-        boolean updateBerhasil = repositoriBuku.updateJumlahTersedia(isbn, buku.getJumlahTersedia() - 1);
-
-        if (updateBerhasil) {
-            anggota.tambahBukuDipinjam(isbn);
-            return true;
-        }
-
-        return false;
+        anggota.tambahBukuDipinjam(isbn);
+        setelahPinjam(isbn, anggota);
+        return true;
     }
 
     public boolean kembalikanBuku(String isbn, Anggota anggota) {
@@ -110,26 +158,259 @@ public class ServicePerpustakaan {
             return false;
         }
 
+        return denganKunci(anggota.getIdAnggota(), List.of(isbn), () -> kembalikanBukuTanpaKunci(isbn, anggota));
+    }
+
+    private boolean kembalikanBukuTanpaKunci(String isbn, Anggota anggota) {
         // Cek apakah anggota meminjam buku ini
-        if (!anggota.getIdBukuDipinjam().contains(isbn)) {
+        if (!anggota.sedangMeminjam(isbn)) {
             return false;
         }
 
-        Optional<Buku> bukuOpt = repositoriBuku.cariByIsbn(isbn);
-        if (bukuOpt.isEmpty()) {
+        // Tambah jumlah tersedia secara atomik
+        if (!repositoriBuku.tambahTersedia(isbn)) {
             return false;
         }
 
-        Buku buku = bukuOpt.get();
+        anggota.hapusBukuDipinjam(isbn);
+        setelahKembali(isbn, anggota);
+        return true;
+    }
+
+    /**
+     * Menambah banyak buku sekaligus. Validasi per buku, lalu cek keberadaan dan simpan
+     * masing-masing cukup satu panggilan batch ke repository.
+     *
+     * @return hasil per buku dengan urutan sama seperti daftarBuku
+     */
+    public List<Boolean> tambahBukuBatch(List<Buku> daftarBuku) {
+        if (daftarBuku == null) {
+            return new ArrayList<>();
+        }
+
+        List<Boolean> hasil = new ArrayList<>(Collections.nCopies(daftarBuku.size(), false));
+
+        // Buku valid, ISBN duplikat dalam batch yang sama hanya diambil yang pertama
+        List<Integer> indeksValid = new ArrayList<>();
+        Set<String> isbnDalamBatch = new HashSet<>();
+        for (int i = 0; i < daftarBuku.size(); i++) {
+            Buku buku = daftarBuku.get(i);
+            if (ValidationUtils.isValidBuku(buku) && isbnDalamBatch.add(buku.getIsbn())) {
+                indeksValid.add(i);
+            }
+        }
+        if (indeksValid.isEmpty()) {
+            return hasil;
+        }
+
+        return denganKunci(null, isbnDalamBatch,
+                () -> simpanBukuBaruTanpaKunci(daftarBuku, indeksValid, isbnDalamBatch, hasil));
+    }
+
+    private List<Boolean> simpanBukuBaruTanpaKunci(List<Buku> daftarBuku, List<Integer> indeksValid,
+                                                   Set<String> isbnDalamBatch, List<Boolean> hasil) {
+        // Cek apakah buku dengan ISBN yang sama sudah ada
+        Map<String, Buku> bukuExisting = repositoriBuku.cariByIsbnBatch(isbnDalamBatch);
+
+        List<Integer> indeksBaru = new ArrayList<>();
+        List<Buku> bukuBaru = new ArrayList<>();
+        for (int i : indeksValid) {
+            Buku buku = daftarBuku.get(i);
+            if (!bukuExisting.containsKey(buku.getIsbn())) {
+                indeksBaru.add(i);
+                bukuBaru.add(buku);
+            }
+        }
+        if (bukuBaru.isEmpty()) {
+            return hasil;
+        }
+
+        List<Boolean> hasilSimpan = repositoriBuku.simpanBatch(bukuBaru);
+        for (int i = 0; i < indeksBaru.size(); i++) {
+            if (hasilSimpan.get(i)) {
+                setelahTambahBuku(bukuBaru.get(i));
+                hasil.set(indeksBaru.get(i), true);
+            }
+        }
+        return hasil;
+    }
+
+    /**
+     * Meminjam banyak buku sekaligus untuk satu anggota. Anggota divalidasi sekali,
+     * dan stok seluruh buku dikurangi lewat satu panggilan batch ke repository.
+     * Jika sisa kuota pinjam tidak cukup, buku yang berada di akhir daftar ditolak.
+     *
+     * @return hasil per ISBN dengan urutan sama seperti daftarIsbn
+     */
+    public List<Boolean> pinjamBukuBatch(List<String> daftarIsbn, Anggota anggota) {
+        if (daftarIsbn == null) {
+            return new ArrayList<>();
+        }
+
+        List<Boolean> hasil = new ArrayList<>(Collections.nCopies(daftarIsbn.size(), false));
 
-        // Update jumlah tersedia
-        boolean updateBerhasil = repositoriBuku.updateJumlahTersedia(isbn, buku.getJumlahTersedia() + 1);
+        // Validasi anggota
+        if (!ValidationUtils.isValidAnggota(anggota) || !anggota.isAktif()) {
+            return hasil;
+        }
 
-        if (updateBerhasil) {
-            anggota.hapusBukuDipinjam(isbn);
-            return true;
+        return denganKunci(anggota.getIdAnggota(), daftarIsbn,
+                () -> pinjamBukuBatchTanpaKunci(daftarIsbn, anggota, hasil));
+    }
+
+    private List<Boolean> pinjamBukuBatchTanpaKunci(List<String> daftarIsbn, Anggota anggota,
+                                                    List<Boolean> hasil) {
+        List<Integer> indeksKandidat = new ArrayList<>();
+        List<String> isbnKandidat = new ArrayList<>();
+        pilihKandidatPinjam(daftarIsbn, anggota, indeksKandidat, isbnKandidat);
+        if (isbnKandidat.isEmpty()) {
+            return hasil;
+        }
+
+        List<Boolean> hasilKurangi = repositoriBuku.kurangiTersediaBatch(isbnKandidat);
+        for (int i = 0; i < isbnKandidat.size(); i++) {
+            if (hasilKurangi.get(i)) {
+                anggota.tambahBukuDipinjam(isbnKandidat.get(i));
+                setelahPinjam(isbnKandidat.get(i), anggota);
+                hasil.set(indeksKandidat.get(i), true);
+            }
         }
+        return hasil;
+    }
+
+    /**
+     * Mengembalikan banyak buku sekaligus untuk satu anggota, misalnya dari scanner
+     * di meja pengembalian. Stok seluruh buku ditambah lewat satu panggilan batch.
+     *
+     * @return hasil per ISBN dengan urutan sama seperti daftarIsbn
+     */
+    public List<Boolean> kembalikanBukuBatch(List<String> daftarIsbn, Anggota anggota) {
+        if (daftarIsbn == null) {
+            return new ArrayList<>();
+        }
+
+        List<Boolean> hasil = new ArrayList<>(Collections.nCopies(daftarIsbn.size(), false));
+        if (anggota == null) {
+            return hasil;
+        }
+
+        return denganKunci(anggota.getIdAnggota(), daftarIsbn,
+                () -> kembalikanBukuBatchTanpaKunci(daftarIsbn, anggota, hasil));
+    }
+
+    private List<Boolean> kembalikanBukuBatchTanpaKunci(List<String> daftarIsbn, Anggota anggota,
+                                                        List<Boolean> hasil) {
+        List<Integer> indeksKandidat = new ArrayList<>();
+        List<String> isbnKandidat = new ArrayList<>();
+        pilihKandidatKembali(daftarIsbn, anggota, indeksKandidat, isbnKandidat);
+        if (isbnKandidat.isEmpty()) {
+            return hasil;
+        }
+
+        List<Boolean> hasilTambah = repositoriBuku.tambahTersediaBatch(isbnKandidat);
+        for (int i = 0; i < isbnKandidat.size(); i++) {
+            if (hasilTambah.get(i)) {
+                anggota.hapusBukuDipinjam(isbnKandidat.get(i));
+                setelahKembali(isbnKandidat.get(i), anggota);
+                hasil.set(indeksKandidat.get(i), true);
+            }
+        }
+        return hasil;
+    }
 
-        return false;
+    /**
+     * Dipanggil setelah stok dan data anggota sama-sama berubah untuk satu peminjaman,
+     * masih di dalam lock anggota dan ISBN (mode thread-safe). Subclass bisa mencatat
+     * perubahan di sini dengan urutan yang sama seperti urutan perubahannya.
+     */
+    protected void setelahPinjam(String isbn, Anggota anggota) {
+    }
+
+    /**
+     * Sama seperti setelahPinjam, untuk satu pengembalian.
+     */
+    protected void setelahKembali(String isbn, Anggota anggota) {
+    }
+
+    /**
+     * Dipanggil setelah buku baru tersimpan (juga dari tambahBukuBatch), masih di dalam lock ISBN.
+     */
+    protected void setelahTambahBuku(Buku buku) {
+    }
+
+    /**
+     * Dipanggil setelah buku terhapus dari repository, masih di dalam lock ISBN.
+     */
+    protected void setelahHapusBuku(String isbn) {
+    }
+
+    /**
+     * Memilih ISBN dari batch yang boleh dicoba dipinjam: tidak kosong, belum dipinjam,
+     * bukan duplikat, dan masih dalam sisa kuota anggota (urut dari awal daftar).
+     * Dipakai juga oleh ServicePerpustakaanAsync.
+     */
+    static void pilihKandidatPinjam(List<String> daftarIsbn, Anggota anggota,
+                                    List<Integer> indeksKandidat, List<String> isbnKandidat) {
+        int sisaKuota = anggota.getBatasPinjam() - anggota.getJumlahBukuDipinjam();
+        Set<String> sudahDipinjam = new HashSet<>(anggota.getBukuDipinjamView());
+
+        for (int i = 0; i < daftarIsbn.size() && sisaKuota > 0; i++) {
+            String isbn = daftarIsbn.get(i);
+            if (isbn == null || !sudahDipinjam.add(isbn)) {
+                continue; // ISBN kosong, sudah dipinjam, atau duplikat dalam batch
+            }
+            indeksKandidat.add(i);
+            isbnKandidat.add(isbn);
+            sisaKuota--;
+        }
+    }
+
+    /**
+     * Memilih ISBN dari batch yang valid dan memang sedang dipinjam anggota, tanpa duplikat.
+     */
+    static void pilihKandidatKembali(List<String> daftarIsbn, Anggota anggota,
+                                     List<Integer> indeksKandidat, List<String> isbnKandidat) {
+        // Cukup satu kali salin daftar pinjaman anggota untuk seluruh batch
+        Set<String> sedangDipinjam = new HashSet<>(anggota.getBukuDipinjamView());
+
+        for (int i = 0; i < daftarIsbn.size(); i++) {
+            String isbn = daftarIsbn.get(i);
+            if (!ValidationUtils.isValidISBN(isbn) || !sedangDipinjam.remove(isbn)) {
+                continue; // ISBN tidak valid, tidak dipinjam, atau duplikat dalam batch
+            }
+            indeksKandidat.add(i);
+            isbnKandidat.add(isbn);
+        }
+    }
+
+    /**
+     * Menjalankan aksi sambil memegang lock anggota (jika idAnggota tidak null) lalu lock
+     * seluruh ISBN. Tanpa mode thread-safe, aksi langsung dijalankan.
+     */
+    private <T> T denganKunci(String idAnggota, Collection<String> daftarIsbn, Supplier<T> aksi) {
+        if (kunciIsbn == null) {
+            return aksi.get();
+        }
+
+        Lock lockAnggota = idAnggota == null ? null : kunciAnggota.untuk(idAnggota);
+        List<Lock> lockIsbn = kunciIsbn.untukSemua(daftarIsbn);
+        if (lockAnggota != null) {
+            lockAnggota.lock();
+        }
+        int terkunci = 0;
+        try {
+            for (Lock lock : lockIsbn) {
+                lock.lock();
+                terkunci++;
+            }
+            return aksi.get();
+        } finally {
+            for (int i = terkunci - 1; i >= 0; i--) {
+                lockIsbn.get(i).unlock();
+            }
+            if (lockAnggota != null) {
+                lockAnggota.unlock();
+            }
+        }
     }
 }
\ No newline at end of file
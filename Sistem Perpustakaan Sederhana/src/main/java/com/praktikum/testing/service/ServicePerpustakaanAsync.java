@@ -0,0 +1,227 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.RepositoriBukuAsync;
+import com.praktikum.testing.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Facade non-blocking di atas RepositoriBukuAsync, dengan aturan bisnis yang sama seperti
+ * ServicePerpustakaan. Tidak ada thread yang menunggu round trip storage; lookup yang tidak
+ * saling bergantung dijalankan bersamaan (misalnya validasi buku selagi cek ISBN berjalan).
+ *
+ * Operasi pada anggota yang sama dijalankan berurutan lewat antrian future per anggota,
+ * sehingga batas pinjam tetap benar dan objek Anggota tidak diubah dari dua thread sekaligus.
+ * tambahBuku/hapusBuku diurutkan per ISBN dengan cara yang sama. Seperti ServicePerpustakaan
+ * tanpa mode thread-safe, hapusBuku tidak diurutkan terhadap peminjaman buku yang sama.
+ *
+ * Kegagalan storage diteruskan sebagai future yang selesai dengan exception.
+ */
+public class ServicePerpustakaanAsync {
+
+    private static final CompletableFuture<Void> SELESAI = CompletableFuture.completedFuture(null);
+
+    private final RepositoriBukuAsync repositoriBuku;
+
+    // Ekor antrian per kunci; entri dihapus lagi saat operasi terakhirnya selesai
+    private final Map<String, CompletableFuture<Void>> antrianAnggota = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Void>> antrianIsbn = new ConcurrentHashMap<>();
+
+    public ServicePerpustakaanAsync(RepositoriBukuAsync repositoriBuku) {
+        if (repositoriBuku == null) {
+            throw new IllegalArgumentException("Repositori tidak boleh null");
+        }
+        this.repositoriBuku = repositoriBuku;
+    }
+
+    public CompletableFuture<Boolean> tambahBuku(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return berurutan(antrianIsbn, buku.getIsbn(), () -> {
+            // Cek ISBN sudah dikirim ke storage sebelum validasi, keduanya berjalan bersamaan
+            CompletableFuture<Optional<Buku>> bukuExisting = repositoriBuku.cariByIsbn(buku.getIsbn());
+            if (!ValidationUtils.isValidBuku(buku)) {
+                return CompletableFuture.completedFuture(false);
+            }
+            return bukuExisting.thenCompose(existing -> existing.isPresent()
+                    ? CompletableFuture.completedFuture(false) // Buku sudah ada
+                    : repositoriBuku.simpan(buku));
+        });
+    }
+
+    public CompletableFuture<Boolean> hapusBuku(String isbn) {
+        if (!ValidationUtils.isValidISBN(isbn)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return berurutan(antrianIsbn, isbn, () -> repositoriBuku.cariByIsbn(isbn).thenCompose(buku -> {
+            // Tidak bisa hapus jika tidak ditemukan atau ada salinan yang sedang dipinjam
+            if (buku.isEmpty() || buku.get().getJumlahTersedia() < buku.get().getJumlahTotal()) {
+                return CompletableFuture.completedFuture(false);
+            }
+            return repositoriBuku.hapus(isbn);
+        }));
+    }
+
+    public CompletableFuture<Optional<Buku>> cariBukuByIsbn(String isbn) {
+        if (!ValidationUtils.isValidISBN(isbn)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return repositoriBuku.cariByIsbn(isbn);
+    }
+
+    public CompletableFuture<List<Buku>> cariBukuByJudul(String judul) {
+        return repositoriBuku.cariByJudul(judul);
+    }
+
+    public CompletableFuture<List<Buku>> cariBukuByPengarang(String pengarang) {
+        return repositoriBuku.cariByPengarang(pengarang);
+    }
+
+    public CompletableFuture<Boolean> bukuTersedia(String isbn) {
+        return repositoriBuku.cariByIsbn(isbn).thenApply(buku -> buku.isPresent() && buku.get().isTersedia());
+    }
+
+    public CompletableFuture<Integer> getJumlahTersedia(String isbn) {
+        return repositoriBuku.cariByIsbn(isbn).thenApply(buku -> buku.map(Buku::getJumlahTersedia).orElse(0));
+    }
+
+    /**
+     * Stok dikurangi dengan satu round trip atomik (kurangiTersedia), tanpa cek buku lebih dulu.
+     */
+    public CompletableFuture<Boolean> pinjamBuku(String isbn, Anggota anggota) {
+        // Validasi anggota tidak butuh storage, jadi dilakukan langsung
+        if (!ValidationUtils.isValidAnggota(anggota) || !anggota.isAktif()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return berurutan(antrianAnggota, anggota.getIdAnggota(), () -> {
+            if (!anggota.bolehPinjamLagi()) {
+                return CompletableFuture.completedFuture(false);
+            }
+            return repositoriBuku.kurangiTersedia(isbn).thenApply(berhasil -> {
+                if (berhasil) {
+                    anggota.tambahBukuDipinjam(isbn);
+                }
+                return berhasil;
+            });
+        });
+    }
+
+    public CompletableFuture<Boolean> kembalikanBuku(String isbn, Anggota anggota) {
+        // idAnggota null ditolak di sini, karena kunci antrian ConcurrentHashMap tidak boleh null
+        if (!ValidationUtils.isValidISBN(isbn) || anggota == null || anggota.getIdAnggota() == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return berurutan(antrianAnggota, anggota.getIdAnggota(), () -> {
+            if (!anggota.sedangMeminjam(isbn)) {
+                return CompletableFuture.completedFuture(false);
+            }
+            return repositoriBuku.tambahTersedia(isbn).thenApply(berhasil -> {
+                if (berhasil) {
+                    anggota.hapusBukuDipinjam(isbn);
+                }
+                return berhasil;
+            });
+        });
+    }
+
+    /**
+     * Sama seperti ServicePerpustakaan.pinjamBukuBatch: stok seluruh buku dikurangi dengan
+     * satu panggilan batch, dan buku di akhir daftar ditolak jika kuota tidak cukup.
+     */
+    public CompletableFuture<List<Boolean>> pinjamBukuBatch(List<String> daftarIsbn, Anggota anggota) {
+        if (daftarIsbn == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        List<Boolean> hasil = new ArrayList<>(Collections.nCopies(daftarIsbn.size(), false));
+        if (!ValidationUtils.isValidAnggota(anggota) || !anggota.isAktif()) {
+            return CompletableFuture.completedFuture(hasil);
+        }
+
+        return berurutan(antrianAnggota, anggota.getIdAnggota(), () -> {
+            List<Integer> indeksKandidat = new ArrayList<>();
+            List<String> isbnKandidat = new ArrayList<>();
+            ServicePerpustakaan.pilihKandidatPinjam(daftarIsbn, anggota, indeksKandidat, isbnKandidat);
+            if (isbnKandidat.isEmpty()) {
+                return CompletableFuture.completedFuture(hasil);
+            }
+
+            return repositoriBuku.kurangiTersediaBatch(isbnKandidat).thenApply(hasilKurangi -> {
+                for (int i = 0; i < isbnKandidat.size(); i++) {
+                    if (hasilKurangi.get(i)) {
+                        anggota.tambahBukuDipinjam(isbnKandidat.get(i));
+                        hasil.set(indeksKandidat.get(i), true);
+                    }
+                }
+                return hasil;
+            });
+        });
+    }
+
+    public CompletableFuture<List<Boolean>> kembalikanBukuBatch(List<String> daftarIsbn, Anggota anggota) {
+        if (daftarIsbn == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        List<Boolean> hasil = new ArrayList<>(Collections.nCopies(daftarIsbn.size(), false));
+        if (anggota == null || anggota.getIdAnggota() == null) {
+            return CompletableFuture.completedFuture(hasil);
+        }
+
+        return berurutan(antrianAnggota, anggota.getIdAnggota(), () -> {
+            List<Integer> indeksKandidat = new ArrayList<>();
+            List<String> isbnKandidat = new ArrayList<>();
+            ServicePerpustakaan.pilihKandidatKembali(daftarIsbn, anggota, indeksKandidat, isbnKandidat);
+            if (isbnKandidat.isEmpty()) {
+                return CompletableFuture.completedFuture(hasil);
+            }
+
+            return repositoriBuku.tambahTersediaBatch(isbnKandidat).thenApply(hasilTambah -> {
+                for (int i = 0; i < isbnKandidat.size(); i++) {
+                    if (hasilTambah.get(i)) {
+                        anggota.hapusBukuDipinjam(isbnKandidat.get(i));
+                        hasil.set(indeksKandidat.get(i), true);
+                    }
+                }
+                return hasil;
+            });
+        });
+    }
+
+    /**
+     * Menjalankan aksi setelah operasi sebelumnya dengan kunci yang sama selesai (berhasil
+     * maupun gagal). Tidak ada thread yang diblok; aksi dirangkai ke future operasi sebelumnya.
+     * Kunci tidak boleh null; pemanggil menolaknya lebih dulu dengan future bernilai false.
+     */
+    private <T> CompletableFuture<T> berurutan(Map<String, CompletableFuture<Void>> antrian, String kunci,
+                                               Supplier<CompletableFuture<T>> aksi) {
+        CompletableFuture<Void> giliranSelesai = new CompletableFuture<>();
+        CompletableFuture<Void> sebelumnya = antrian.put(kunci, giliranSelesai);
+
+        // Jika masih harus menunggu, aksi dijalankan lewat common pool (aksi tidak memblok).
+        // Tanpa ini, antrian panjang yang selesai beruntun akan saling memanggil di satu stack
+        // sampai StackOverflowError, yang tertelan di dalam future.
+        CompletableFuture<T> hasil = sebelumnya == null || sebelumnya.isDone()
+                ? SELESAI.thenCompose(x -> aksi.get())
+                : sebelumnya.thenComposeAsync(x -> aksi.get());
+        hasil.whenComplete((nilai, galat) -> {
+            antrian.remove(kunci, giliranSelesai);
+            giliranSelesai.complete(null);
+        });
+        return hasil;
+    }
+}
@@ -0,0 +1,283 @@
+package com.praktikum.testing.transaksi;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log untuk peminjaman dan pengembalian, dengan group commit.
+ *
+ * tambah() hanya menaruh record di buffer memori. sinkronkan() menunggu sampai record
+ * tersebut ada di disk: thread pertama yang menunggu menjadi pemimpin, menulis semua record
+ * yang tertunda lalu memanggil satu fsync, sementara thread lain menunggu hasilnya dan
+ * record baru terus masuk ke buffer kedua. Saat beban tinggi, satu fsync menutup banyak
+ * transaksi sekaligus tanpa jeda tunggu buatan.
+ *
+ * Format sama seperti log RepositoriBukuBerkas: header (magic, versi, epoch) lalu record
+ * berbentuk panjang, CRC32, dan payload. Ekor yang tidak utuh dibuang saat log dibuka.
+ */
+public class LogTransaksi implements Closeable {
+
+    private static final int MAGIC = 0x5457414C; // "TWAL"
+    private static final int VERSI = 1;
+    static final int PANJANG_HEADER = 16;
+
+    private final FileChannel channel;
+    private final OutputStream keChannel;
+    private final long epoch;
+
+    private final Object kunci = new Object();
+    private final ByteArrayOutputStream bufferRecord = new ByteArrayOutputStream(64);
+    private final DataOutputStream outRecord = new DataOutputStream(bufferRecord);
+    private final CRC32 crc = new CRC32();
+
+    // Record yang sudah ditambahkan tetapi belum ditulis; ditukar dengan cadangan saat flush
+    private ByteArrayOutputStream tertunda = new ByteArrayOutputStream(1 << 12);
+    private ByteArrayOutputStream cadangan = new ByteArrayOutputStream(1 << 12);
+    private DataOutputStream outTertunda = new DataOutputStream(tertunda);
+
+    private long lsnTerakhir; // Nomor record terakhir yang ditambahkan
+    private long lsnDurable;  // Nomor record terakhir yang sudah di-fsync
+    private boolean sedangFlush;
+    private IOException galat;
+    private boolean ditutup;
+    private long jumlahFsync;
+
+    private LogTransaksi(FileChannel channel, long epoch, long jumlahRecordLama) {
+        this.channel = channel;
+        this.keChannel = Channels.newOutputStream(channel);
+        this.epoch = epoch;
+        this.lsnTerakhir = jumlahRecordLama;
+        this.lsnDurable = jumlahRecordLama;
+    }
+
+    /**
+     * Membuka (atau membuat) log, menjalankan replay untuk setiap record utuh sesuai urutan
+     * tulis, membuang ekor yang rusak, lalu menyiapkan log untuk ditambah.
+     *
+     * @throws IOException jika berkas berisi log lain (magic, versi, atau epoch berbeda)
+     */
+    public static LogTransaksi buka(Path file, long epoch, Consumer<RecordTransaksi> replay) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long[] jumlahRecord = new long[1];
+            long panjangValid = channel.size() < PANJANG_HEADER ? 0 : replay(channel, epoch, replay, jumlahRecord);
+            if (panjangValid < PANJANG_HEADER) {
+                // Log baru, atau crash sebelum header selesai ditulis
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(PANJANG_HEADER);
+                header.putInt(MAGIC).putInt(VERSI).putLong(epoch).flip();
+                channel.write(header, 0);
+                panjangValid = PANJANG_HEADER;
+            }
+            channel.truncate(panjangValid);
+            channel.position(panjangValid);
+            channel.force(true);
+            return new LogTransaksi(channel, epoch, jumlahRecord[0]);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return panjang log (byte) sampai record utuh terakhir
+     */
+    private static long replay(FileChannel channel, long epoch, Consumer<RecordTransaksi> replay,
+                               long[] jumlahRecord) throws IOException {
+        channel.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+        if (in.readInt() != MAGIC || in.readInt() != VERSI) {
+            throw new IOException("Format log transaksi tidak dikenal");
+        }
+        long epochLog = in.readLong();
+        if (epochLog != epoch) {
+            throw new IOException("Epoch log transaksi " + epochLog + " tidak sama dengan " + epoch);
+        }
+
+        long ukuranFile = channel.size();
+        long posisi = PANJANG_HEADER;
+        CRC32 crcBaca = new CRC32();
+        while (true) {
+            byte[] payload;
+            try {
+                int panjang = in.readInt();
+                int crcTersimpan = in.readInt();
+                if (panjang <= 0 || panjang > ukuranFile - posisi) {
+                    break;
+                }
+                payload = new byte[panjang];
+                in.readFully(payload);
+                crcBaca.reset();
+                crcBaca.update(payload);
+                if ((int) crcBaca.getValue() != crcTersimpan) {
+                    break; // Record rusak, anggap sebagai akhir log
+                }
+            } catch (EOFException e) {
+                break;
+            }
+            replay.accept(dekode(payload));
+            posisi += 8 + payload.length;
+            jumlahRecord[0]++;
+        }
+        return posisi;
+    }
+
+    /**
+     * Menaruh record di buffer. Record belum tentu ada di disk sampai sinkronkan() kembali.
+     *
+     * @return nomor urut record di log ini
+     */
+    public long tambah(RecordTransaksi.Jenis jenis, String idAnggota, String isbn) {
+        synchronized (kunci) {
+            if (ditutup) {
+                throw new IllegalStateException("Log transaksi sudah ditutup");
+            }
+            try {
+                bufferRecord.reset();
+                outRecord.writeByte(jenis.ordinal());
+                outRecord.writeUTF(idAnggota);
+                outRecord.writeUTF(isbn);
+                outRecord.flush();
+                crc.reset();
+                crc.update(bufferRecord.toByteArray(), 0, bufferRecord.size());
+
+                outTertunda.writeInt(bufferRecord.size());
+                outTertunda.writeInt((int) crc.getValue());
+                bufferRecord.writeTo(outTertunda);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal menyusun record transaksi", e); // Hanya ke memori
+            }
+            return ++lsnTerakhir;
+        }
+    }
+
+    /**
+     * Menunggu sampai semua record yang sudah ditambahkan (termasuk milik thread lain)
+     * aman di disk.
+     *
+     * @throws IOException jika penulisan atau fsync pernah gagal; log tidak bisa dipakai lagi
+     */
+    public void sinkronkan() throws IOException {
+        long lsn;
+        synchronized (kunci) {
+            lsn = lsnTerakhir;
+        }
+        tungguDurable(lsn);
+    }
+
+    private void tungguDurable(long lsn) throws IOException {
+        ByteArrayOutputStream batch;
+        long target;
+        synchronized (kunci) {
+            while (true) {
+                if (galat != null) {
+                    throw new IOException("Log transaksi gagal ditulis", galat);
+                }
+                if (lsnDurable >= lsn) {
+                    return;
+                }
+                if (!sedangFlush) {
+                    break;
+                }
+                try {
+                    kunci.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Menunggu log transaksi dibatalkan");
+                }
+            }
+
+            // Menjadi pemimpin: ambil semua record tertunda, record baru masuk ke buffer cadangan
+            sedangFlush = true;
+            batch = tertunda;
+            tertunda = cadangan;
+            outTertunda = new DataOutputStream(tertunda);
+            target = lsnTerakhir;
+        }
+
+        IOException gagal = null;
+        try {
+            batch.writeTo(keChannel);
+            channel.force(false);
+        } catch (IOException e) {
+            gagal = e;
+        }
+
+        synchronized (kunci) {
+            batch.reset();
+            cadangan = batch;
+            sedangFlush = false;
+            if (gagal == null) {
+                lsnDurable = target;
+                jumlahFsync++;
+            } else {
+                galat = gagal;
+            }
+            kunci.notifyAll();
+        }
+        if (gagal != null) {
+            throw new IOException("Log transaksi gagal ditulis", gagal);
+        }
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * @return jumlah record di log, termasuk yang dimuat saat dibuka
+     */
+    public long getJumlahRecord() {
+        synchronized (kunci) {
+            return lsnTerakhir;
+        }
+    }
+
+    /**
+     * @return jumlah fsync sejak log dibuka; jauh lebih kecil dari jumlah record saat group commit bekerja
+     */
+    public long getJumlahFsync() {
+        synchronized (kunci) {
+            return jumlahFsync;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sinkronkan();
+        } finally {
+            synchronized (kunci) {
+                ditutup = true;
+            }
+            channel.close();
+        }
+    }
+
+    private static RecordTransaksi dekode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int jenis = in.readUnsignedByte();
+        RecordTransaksi.Jenis[] semuaJenis = RecordTransaksi.Jenis.values();
+        if (jenis >= semuaJenis.length) {
+            throw new IOException("Jenis record transaksi tidak dikenal: " + jenis);
+        }
+        return new RecordTransaksi(semuaJenis[jenis], in.readUTF(), in.readUTF());
+    }
+}
@@ -0,0 +1,40 @@
+package com.praktikum.testing.transaksi;
+
+/**
+ * Satu peminjaman atau pengembalian di log transaksi. Satu record mencakup kedua sisi
+ * (stok buku dan data anggota), sehingga saat pemulihan keduanya selalu diterapkan bersama.
+ */
+public class RecordTransaksi {
+
+    public enum Jenis {
+        PINJAM,
+        KEMBALI
+    }
+
+    private final Jenis jenis;
+    private final String idAnggota;
+    private final String isbn;
+
+    public RecordTransaksi(Jenis jenis, String idAnggota, String isbn) {
+        this.jenis = jenis;
+        this.idAnggota = idAnggota;
+        this.isbn = isbn;
+    }
+
+    public Jenis getJenis() {
+        return jenis;
+    }
+
+    public String getIdAnggota() {
+        return idAnggota;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    @Override
+    public String toString() {
+        return jenis + " " + idAnggota + " " + isbn;
+    }
+}
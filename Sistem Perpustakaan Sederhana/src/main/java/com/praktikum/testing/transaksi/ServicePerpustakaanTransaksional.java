@@ -0,0 +1,262 @@
+package com.praktikum.testing.transaksi;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.repository.RepositoriAnggota;
+import com.praktikum.testing.repository.RepositoriBuku;
+import com.praktikum.testing.repository.SnapshotKatalog;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ServicePerpustakaan yang mencatat setiap peminjaman dan pengembalian di LogTransaksi
+ * sebelum hasilnya dikembalikan ke pemanggil, sehingga stok buku dan data anggota tetap
+ * sepakat setelah crash.
+ *
+ * Satu record mencakup kedua sisi dan ditambahkan di dalam lock yang sama dengan perubahannya
+ * (lihat ServicePerpustakaan.setelahPinjam), jadi urutan di log sama dengan urutan perubahan.
+ * Pemanggil baru menerima true setelah record ada di disk lewat group commit.
+ *
+ * Pemulihan: state dibangun ulang dari checkpoint terakhir (SnapshotKatalog berisi buku dan
+ * anggota) lalu record log epoch yang sama diterapkan ulang. Perubahan di memori yang belum
+ * sempat tercatat otomatis batal karena memori dibangun ulang; record terakhir yang tidak utuh
+ * dibuang. Record yang tidak bisa diterapkan ke kedua sisi (misalnya anggota atau buku tidak
+ * ada di checkpoint) dilewati seluruhnya.
+ *
+ * Buku dan anggota baru belum tercatat di log; panggil checkpoint() setelah mengubah katalog
+ * atau mendaftarkan anggota. Objek Anggota yang dipinjamkan harus berasal dari repositoriAnggota.
+ */
+public class ServicePerpustakaanTransaksional extends ServicePerpustakaan implements Closeable {
+
+    private static final Pattern POLA_BERKAS = Pattern.compile("(katalog|transaksi)-(\\d+)\\.(snap|wal)(\\.tmp)?");
+
+    private final RepositoriBuku repositoriBuku;
+    private final RepositoriAnggota repositoriAnggota;
+    private final Path direktori;
+
+    // Peminjaman memegang read lock; checkpoint memegang write lock agar snapshot
+    // mencakup tepat semua record di log lama
+    private final ReadWriteLock kunciCheckpoint = new ReentrantReadWriteLock();
+
+    private volatile LogTransaksi log;
+    private long epoch;
+    private int jumlahDipulihkan;
+    private int jumlahDilewati;
+
+    /**
+     * Memuat checkpoint terakhir (jika ada) ke repositori lalu memutar ulang log transaksinya.
+     *
+     * @param repositoriBuku    sebaiknya kosong dan hanya di memori; isinya berasal dari checkpoint
+     * @param repositoriAnggota sebaiknya kosong; isinya berasal dari checkpoint
+     */
+    public ServicePerpustakaanTransaksional(Path direktori, RepositoriBuku repositoriBuku,
+                                            RepositoriAnggota repositoriAnggota, KalkulatorDenda kalkulatorDenda,
+                                            boolean threadSafe) throws IOException {
+        super(repositoriBuku, kalkulatorDenda, threadSafe);
+        if (repositoriBuku == null || repositoriAnggota == null) {
+            throw new IllegalArgumentException("Repositori tidak boleh null");
+        }
+        this.repositoriBuku = repositoriBuku;
+        this.repositoriAnggota = repositoriAnggota;
+        this.direktori = direktori;
+        Files.createDirectories(direktori);
+
+        this.epoch = epochCheckpointTerakhir();
+        if (epoch > 0) {
+            SnapshotKatalog.impor(berkasSnapshot(epoch), repositoriBuku, repositoriAnggota);
+        }
+        this.log = LogTransaksi.buka(berkasLog(epoch), epoch, this::terapkan);
+        hapusBerkasLama();
+    }
+
+    @Override
+    public boolean pinjamBuku(String isbn, Anggota anggota) {
+        boolean berhasil;
+        kunciCheckpoint.readLock().lock();
+        try {
+            berhasil = super.pinjamBuku(isbn, anggota);
+        } finally {
+            kunciCheckpoint.readLock().unlock();
+        }
+        return berhasil && durable();
+    }
+
+    @Override
+    public boolean kembalikanBuku(String isbn, Anggota anggota) {
+        boolean berhasil;
+        kunciCheckpoint.readLock().lock();
+        try {
+            berhasil = super.kembalikanBuku(isbn, anggota);
+        } finally {
+            kunciCheckpoint.readLock().unlock();
+        }
+        return berhasil && durable();
+    }
+
+    @Override
+    public List<Boolean> pinjamBukuBatch(List<String> daftarIsbn, Anggota anggota) {
+        List<Boolean> hasil;
+        kunciCheckpoint.readLock().lock();
+        try {
+            hasil = super.pinjamBukuBatch(daftarIsbn, anggota);
+        } finally {
+            kunciCheckpoint.readLock().unlock();
+        }
+        // Seluruh batch cukup menunggu satu kali
+        if (hasil.contains(true)) {
+            durable();
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Boolean> kembalikanBukuBatch(List<String> daftarIsbn, Anggota anggota) {
+        List<Boolean> hasil;
+        kunciCheckpoint.readLock().lock();
+        try {
+            hasil = super.kembalikanBukuBatch(daftarIsbn, anggota);
+        } finally {
+            kunciCheckpoint.readLock().unlock();
+        }
+        if (hasil.contains(true)) {
+            durable();
+        }
+        return hasil;
+    }
+
+    @Override
+    protected void setelahPinjam(String isbn, Anggota anggota) {
+        log.tambah(RecordTransaksi.Jenis.PINJAM, anggota.getIdAnggota(), isbn);
+    }
+
+    @Override
+    protected void setelahKembali(String isbn, Anggota anggota) {
+        log.tambah(RecordTransaksi.Jenis.KEMBALI, anggota.getIdAnggota(), isbn);
+    }
+
+    /**
+     * Menulis seluruh buku dan anggota ke checkpoint baru lalu memulai log baru.
+     * Peminjaman dan pengembalian menunggu selama checkpoint berlangsung.
+     */
+    public void checkpoint() throws IOException {
+        kunciCheckpoint.writeLock().lock();
+        try {
+            log.sinkronkan();
+            long epochBaru = epoch + 1;
+            SnapshotKatalog.ekspor(berkasSnapshot(epochBaru), repositoriBuku, repositoriAnggota);
+
+            // Checkpoint sudah aman di disk, log lama sudah tercakup dan boleh diganti
+            LogTransaksi logLama = log;
+            log = LogTransaksi.buka(berkasLog(epochBaru), epochBaru, record -> { });
+            epoch = epochBaru;
+            logLama.close();
+            hapusBerkasLama();
+        } finally {
+            kunciCheckpoint.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return jumlah record log yang diterapkan ulang saat service dibuka
+     */
+    public int getJumlahDipulihkan() {
+        return jumlahDipulihkan;
+    }
+
+    /**
+     * @return jumlah record log yang dilewati saat pemulihan karena tidak bisa diterapkan ke kedua sisi
+     */
+    public int getJumlahDilewati() {
+        return jumlahDilewati;
+    }
+
+    LogTransaksi getLog() {
+        return log;
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    private boolean durable() {
+        try {
+            log.sinkronkan();
+            return true;
+        } catch (IOException e) {
+            // Perubahan di memori tidak tercatat; setelah restart perubahan ini tidak ada
+            throw new UncheckedIOException("Transaksi tidak bisa dicatat ke log", e);
+        }
+    }
+
+    // Replay satu record: stok dan anggota berubah bersama, atau tidak sama sekali
+    private void terapkan(RecordTransaksi record) {
+        Optional<Anggota> anggota = repositoriAnggota.cariById(record.getIdAnggota());
+        String isbn = record.getIsbn();
+        boolean diterapkan = false;
+        if (anggota.isPresent()) {
+            if (record.getJenis() == RecordTransaksi.Jenis.PINJAM) {
+                if (repositoriBuku.kurangiTersedia(isbn)) {
+                    anggota.get().tambahBukuDipinjam(isbn);
+                    diterapkan = true;
+                }
+            } else if (anggota.get().sedangMeminjam(isbn) && repositoriBuku.tambahTersedia(isbn)) {
+                anggota.get().hapusBukuDipinjam(isbn);
+                diterapkan = true;
+            }
+        }
+
+        if (diterapkan) {
+            jumlahDipulihkan++;
+        } else {
+            jumlahDilewati++;
+        }
+    }
+
+    private long epochCheckpointTerakhir() throws IOException {
+        long terbesar = 0;
+        try (DirectoryStream<Path> isi = Files.newDirectoryStream(direktori, "katalog-*.snap")) {
+            for (Path berkas : isi) {
+                Matcher m = POLA_BERKAS.matcher(berkas.getFileName().toString());
+                if (m.matches()) {
+                    terbesar = Math.max(terbesar, Long.parseLong(m.group(2)));
+                }
+            }
+        }
+        return terbesar;
+    }
+
+    // Checkpoint dan log dari epoch sebelumnya sudah tercakup oleh checkpoint terbaru.
+    // Berkas .tmp selalu sisa checkpoint yang gagal di tengah jalan (bisa untuk epoch + 1),
+    // karena dipanggil saat tidak ada checkpoint yang sedang menulis.
+    private void hapusBerkasLama() throws IOException {
+        try (DirectoryStream<Path> isi = Files.newDirectoryStream(direktori)) {
+            for (Path berkas : isi) {
+                Matcher m = POLA_BERKAS.matcher(berkas.getFileName().toString());
+                if (m.matches() && (m.group(4) != null || Long.parseLong(m.group(2)) < epoch)) {
+                    Files.deleteIfExists(berkas);
+                }
+            }
+        }
+    }
+
+    private Path berkasSnapshot(long epochBerkas) {
+        return direktori.resolve("katalog-" + epochBerkas + ".snap");
+    }
+
+    private Path berkasLog(long epochBerkas) {
+        return direktori.resolve("transaksi-" + epochBerkas + ".wal");
+    }
+}
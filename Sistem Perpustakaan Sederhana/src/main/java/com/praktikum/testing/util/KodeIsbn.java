@@ -0,0 +1,123 @@
+package com.praktikum.testing.util;
+
+/**
+ * Mengkodekan ISBN (atau ID lain yang seluruhnya angka) menjadi satu long,
+ * sehingga bisa disimpan di array primitif dan dibandingkan tanpa alokasi.
+ *
+ * Format: bit 57-61 berisi panjang string, bit 0-56 berisi nilai angkanya.
+ * Panjang ikut disimpan agar "0123456789" dan "123456789" tidak bertabrakan.
+ */
+public class KodeIsbn {
+
+    /** Nilai untuk string yang tidak bisa dikodekan (null, kosong, bukan angka, atau terlalu panjang). */
+    public static final long TIDAK_BISA_DIKODE = -1L;
+
+    // 17 digit masih muat di 57 bit (10^17 < 2^57)
+    public static final int PANJANG_MAKS = 17;
+
+    private static final int GESER_PANJANG = 57;
+    private static final long MASK_NILAI = (1L << GESER_PANJANG) - 1;
+
+    // 10^0 sampai 10^17, untuk meratakan nilai ke kiri menjadi 17 digit
+    private static final long[] PANGKAT_SEPULUH = new long[PANJANG_MAKS + 1];
+
+    static {
+        PANGKAT_SEPULUH[0] = 1;
+        for (int i = 1; i <= PANJANG_MAKS; i++) {
+            PANGKAT_SEPULUH[i] = PANGKAT_SEPULUH[i - 1] * 10;
+        }
+    }
+
+    private KodeIsbn() {
+    }
+
+    /**
+     * @return kode non-negatif, atau TIDAK_BISA_DIKODE jika teks bukan 1-17 digit angka
+     */
+    public static long kode(String teks) {
+        if (teks == null || teks.isEmpty() || teks.length() > PANJANG_MAKS) {
+            return TIDAK_BISA_DIKODE;
+        }
+
+        long nilai = 0;
+        for (int i = 0; i < teks.length(); i++) {
+            char c = teks.charAt(i);
+            if (c < '0' || c > '9') {
+                return TIDAK_BISA_DIKODE;
+            }
+            nilai = nilai * 10 + (c - '0');
+        }
+        return ((long) teks.length() << GESER_PANJANG) | nilai;
+    }
+
+    /**
+     * Kebalikan dari kode(), termasuk nol di depan.
+     */
+    public static String keString(long kode) {
+        if (kode < 0) {
+            throw new IllegalArgumentException("Kode ISBN tidak valid: " + kode);
+        }
+
+        int panjang = (int) (kode >>> GESER_PANJANG);
+        long nilai = kode & MASK_NILAI;
+        char[] hasil = new char[panjang];
+        for (int i = panjang - 1; i >= 0; i--) {
+            hasil[i] = (char) ('0' + nilai % 10);
+            nilai /= 10;
+        }
+        return new String(hasil);
+    }
+
+    /**
+     * Mengubah kode menjadi kunci yang urutannya sama dengan urutan string ISBN
+     * (String.compareTo), misalnya "10" sebelum "9" dan "1" sebelum "10". Nilai diratakan ke kiri
+     * menjadi 17 digit, lalu panjang dipakai sebagai pemecah seri (awalan lebih dulu).
+     */
+    public static long kunciUrut(long kode) {
+        int panjang = (int) (kode >>> GESER_PANJANG);
+        long rataKiri = (kode & MASK_NILAI) * PANGKAT_SEPULUH[PANJANG_MAKS - panjang];
+        return rataKiri * (PANJANG_MAKS + 1) + panjang;
+    }
+
+    /**
+     * Kebalikan dari kunciUrut().
+     */
+    public static long dariKunciUrut(long kunci) {
+        int panjang = (int) (kunci % (PANJANG_MAKS + 1));
+        long nilai = kunci / (PANJANG_MAKS + 1) / PANGKAT_SEPULUH[PANJANG_MAKS - panjang];
+        return ((long) panjang << GESER_PANJANG) | nilai;
+    }
+
+    /**
+     * Untuk teks apa pun (juga yang tidak bisa dikode), mencari kunciUrut terbesar yang
+     * string ISBN-nya tidak lebih besar dari teks. Semua ISBN angka dengan kunci di atas
+     * nilai ini lebih besar dari teks.
+     *
+     * @return -1 jika semua ISBN angka lebih besar dari teks, Long.MAX_VALUE jika tidak ada
+     */
+    public static long batasKunciUrut(String teks) {
+        long kode = kode(teks);
+        if (kode != TIDAK_BISA_DIKODE) {
+            return kunciUrut(kode);
+        }
+        if (teks.isEmpty()) {
+            return -1;
+        }
+
+        int digitAwal = 0;
+        while (digitAwal < teks.length() && digitAwal < PANJANG_MAKS
+                && teks.charAt(digitAwal) >= '0' && teks.charAt(digitAwal) <= '9') {
+            digitAwal++;
+        }
+        String awalan = teks.substring(0, digitAwal);
+        if (digitAwal == PANJANG_MAKS || (digitAwal < teks.length() && teks.charAt(digitAwal) < '0')) {
+            // Semua angka yang diawali awalan (kecuali awalan itu sendiri) lebih besar dari teks
+            return digitAwal == 0 ? -1 : kunciUrut(kode(awalan));
+        }
+        // Karakter setelah awalan lebih besar dari '9': semua angka yang diawali awalan lebih kecil
+        if (digitAwal == 0) {
+            return Long.MAX_VALUE;
+        }
+        return kunciUrut(kode(awalan + "9".repeat(PANJANG_MAKS - digitAwal)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.praktikum.testing.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sekumpulan lock (garis) yang dipilih berdasarkan hash kunci, misalnya ISBN atau ID anggota.
+ * Kunci yang berbeda umumnya jatuh ke garis berbeda sehingga bisa diproses paralel,
+ * sementara memori tetap tetap berapa pun jumlah kuncinya.
+ *
+ * Untuk mengunci banyak kunci sekaligus, gunakan untukSemua() yang mengurutkan garis
+ * berdasarkan indeks, agar urutan akuisisi selalu sama dan tidak terjadi deadlock.
+ */
+public class KunciBergaris {
+
+    private final Lock[] garis;
+
+    /**
+     * @param jumlahGaris dibulatkan ke atas menjadi pangkat dua
+     */
+    public KunciBergaris(int jumlahGaris) {
+        if (jumlahGaris <= 0) {
+            throw new IllegalArgumentException("Jumlah garis harus lebih dari 0");
+        }
+
+        int ukuran = jumlahGaris == 1 ? 1 : Integer.highestOneBit(jumlahGaris - 1) << 1;
+        garis = new Lock[ukuran];
+        for (int i = 0; i < ukuran; i++) {
+            garis[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock untuk(String kunci) {
+        return garis[indeks(kunci)];
+    }
+
+    /**
+     * Lock untuk seluruh kunci, tanpa duplikat dan terurut berdasarkan indeks garis.
+     * Kunci null diabaikan.
+     */
+    public List<Lock> untukSemua(Collection<String> daftarKunci) {
+        BitSet dipakai = new BitSet(garis.length);
+        for (String kunci : daftarKunci) {
+            if (kunci != null) {
+                dipakai.set(indeks(kunci));
+            }
+        }
+
+        List<Lock> hasil = new ArrayList<>(dipakai.cardinality());
+        for (int i = dipakai.nextSetBit(0); i >= 0; i = dipakai.nextSetBit(i + 1)) {
+            hasil.add(garis[i]);
+        }
+        return hasil;
+    }
+
+    public int getJumlahGaris() {
+        return garis.length;
+    }
+
+    int indeks(String kunci) {
+        int h = kunci == null ? 0 : kunci.hashCode();
+        h ^= h >>> 16; // Sebar bit atas seperti HashMap
+        return h & (garis.length - 1);
+    }
+}
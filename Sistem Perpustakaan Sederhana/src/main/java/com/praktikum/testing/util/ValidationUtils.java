@@ -3,44 +3,237 @@ package com.praktikum.testing.util;
 import com.praktikum.testing.model.Anggota;
 import com.praktikum.testing.model.Buku;
 
+import java.util.Locale;
+
 public class ValidationUtils {
 
-    // Validasi email
+    // Validator di bawah ditulis manual satu kali jalan (tanpa regex, tanpa replaceAll)
+    // agar tidak ada alokasi di jalur tambahBuku/pinjamBuku. Hasilnya sama dengan
+    // pola regex yang dicantumkan di komentar masing-masing method.
+
+    // Validasi email sederhana: pola dasar [a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,6}
     public static boolean isValidEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
+        if (email == null) {
+            return false;
+        }
+
+        int panjang = email.length();
+        int posisiAt = -1;
+        int titikTerakhir = -1;
+        for (int i = 0; i < panjang; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (posisiAt >= 0) {
+                    return false; // Hanya boleh satu '@'
+                }
+                posisiAt = i;
+            } else if (posisiAt < 0) {
+                if (!isHurufAtauAngka(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                    return false;
+                }
+            } else if (c == '.') {
+                titikTerakhir = i;
+            } else if (!isHurufAtauAngka(c) && c != '-') {
+                return false;
+            }
+        }
+
+        // Bagian lokal dan domain (sebelum titik terakhir) tidak boleh kosong
+        if (posisiAt <= 0 || titikTerakhir < posisiAt + 2) {
             return false;
         }
 
-        // Validasi email sederhana: pola dasar [a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,6}
-        String emailRegex = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$";
-        return email.matches(emailRegex);
+        // Top-level domain: 2-6 huruf
+        int panjangTld = panjang - titikTerakhir - 1;
+        if (panjangTld < 2 || panjangTld > 6) {
+            return false;
+        }
+        for (int i = titikTerakhir + 1; i < panjang; i++) {
+            if (!isHuruf(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     // Validasi nomor telepon Format (minimal 10-13 digit, dimulai 08 atau +628)
+    // Setara dengan menghapus [\s\-]+ lalu mencocokkan ^(08|\+628)\d{8,11}$
     public static boolean isValidNomorTelepon(String telepon) {
-        if (telepon == null || telepon.trim().isEmpty()) {
+        if (telepon == null) {
             return false;
         }
 
-        // Hapus spasi dan tanda hubung
-        String teleponBersih = telepon.replaceAll("[\\s\\-]+", "");
+        int posisi = 0; // Posisi pada nomor yang sudah dibersihkan dari spasi dan tanda hubung
+        boolean awalanPlus = false;
+        int jumlahDigit = 0; // Digit setelah awalan 08 / +628
+        for (int i = 0; i < telepon.length(); i++) {
+            char c = telepon.charAt(i);
+            if (isSpasiAtauStrip(c)) {
+                continue;
+            }
 
-        // Nomor telepon Indonesia harus dimulai dengan 08 atau +628 dan memiliki 10-13 digit
-        // Regex sederhana: memastikan panjang 10-13 dan dimulai dengan 08 atau +628
-        return teleponBersih.matches("^(08|\\+628)\\d{8,11}$");
+            if (posisi == 0) {
+                if (c == '+') {
+                    awalanPlus = true;
+                } else if (c != '0') {
+                    return false;
+                }
+            } else if (!awalanPlus && posisi == 1) {
+                if (c != '8') {
+                    return false;
+                }
+            } else if (awalanPlus && posisi <= 3) {
+                if (c != "+628".charAt(posisi)) {
+                    return false;
+                }
+            } else if (isAngka(c)) {
+                jumlahDigit++;
+            } else {
+                return false;
+            }
+            posisi++;
+        }
+
+        return jumlahDigit >= 8 && jumlahDigit <= 11;
     }
 
-    // Validasi ISBN sederhana (10 atau 13 digit)
+    // Validasi ISBN sederhana (10 atau 13 digit, boleh dipisah spasi atau tanda hubung)
     public static boolean isValidISBN(String isbn) {
-        if (isbn == null || isbn.trim().isEmpty()) {
+        if (isbn == null) {
             return false;
         }
 
-        // Hapus tanda hubung dan spasi
-        String isbnBersih = isbn.replaceAll("[\\s\\-]+", "");
+        int jumlahDigit = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (isAngka(c)) {
+                jumlahDigit++;
+            } else if (!isSpasiAtauStrip(c)) {
+                return false;
+            }
+        }
+        return jumlahDigit == 10 || jumlahDigit == 13;
+    }
+
+    /**
+     * Validasi ISBN-10 atau ISBN-13 termasuk check digit-nya.
+     * ISBN-10 boleh diakhiri 'X' (nilai 10).
+     */
+    public static boolean isValidISBNChecksum(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        int jumlahKarakter = 0;
+        int jumlahIsbn10 = 0; // Bobot 10..1, harus habis dibagi 11
+        int jumlahIsbn13 = 0; // Bobot 1,3,1,3,..., harus habis dibagi 10
+        boolean adaX = false;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (isSpasiAtauStrip(c)) {
+                continue;
+            }
+            if (adaX) {
+                return false; // 'X' hanya boleh di posisi terakhir
+            }
+
+            int nilai;
+            if (isAngka(c)) {
+                nilai = c - '0';
+            } else if ((c == 'X' || c == 'x') && jumlahKarakter == 9) {
+                nilai = 10;
+                adaX = true;
+            } else {
+                return false;
+            }
+
+            if (jumlahKarakter < 10) {
+                jumlahIsbn10 += (10 - jumlahKarakter) * nilai;
+            }
+            jumlahIsbn13 += (jumlahKarakter % 2 == 0 ? 1 : 3) * nilai;
+            jumlahKarakter++;
+            if (jumlahKarakter > 13) {
+                return false;
+            }
+        }
+
+        if (jumlahKarakter == 10) {
+            return jumlahIsbn10 % 11 == 0;
+        }
+        return jumlahKarakter == 13 && !adaX && jumlahIsbn13 % 10 == 0;
+    }
+
+    /**
+     * Mengubah ISBN-10 atau ISBN-13 yang valid (termasuk check digit) menjadi ISBN-13
+     * tanpa pemisah, misalnya "0-306-40615-2" menjadi "9780306406157".
+     *
+     * @return ISBN-13 kanonik, atau null jika ISBN tidak valid
+     */
+    public static String keIsbn13(String isbn) {
+        if (!isValidISBNChecksum(isbn)) {
+            return null;
+        }
+
+        char[] hasil = new char[13];
+        int posisi = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (!isSpasiAtauStrip(c)) {
+                hasil[posisi++] = c;
+            }
+        }
+        if (posisi == 13) {
+            return new String(hasil);
+        }
 
-        // Harus berupa 10 atau 13 digit
-        return isbnBersih.matches("^\\d{10}$") || isbnBersih.matches("^\\d{13}$");
+        // ISBN-10: tambah awalan 978, buang check digit lama, hitung ulang check digit
+        System.arraycopy(hasil, 0, hasil, 3, 9);
+        hasil[0] = '9';
+        hasil[1] = '7';
+        hasil[2] = '8';
+        int jumlah = 0;
+        for (int i = 0; i < 12; i++) {
+            jumlah += (i % 2 == 0 ? 1 : 3) * (hasil[i] - '0');
+        }
+        hasil[12] = (char) ('0' + (10 - jumlah % 10) % 10);
+        return new String(hasil);
+    }
+
+    /**
+     * Bentuk kanonik email untuk indeks unik: huruf kecil semua,
+     * sehingga "John@Student.AC.ID" dan "john@student.ac.id" dianggap sama.
+     *
+     * @return email kanonik, atau null jika email tidak valid
+     */
+    public static String normalisasiEmail(String email) {
+        if (!isValidEmail(email)) {
+            return null;
+        }
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Bentuk kanonik nomor telepon untuk indeks unik: tanpa spasi dan tanda hubung,
+     * dengan awalan +628 diganti 08, misalnya "+62 812-3456-7890" menjadi "081234567890".
+     *
+     * @return nomor kanonik, atau null jika nomor tidak valid
+     */
+    public static String normalisasiTelepon(String telepon) {
+        if (!isValidNomorTelepon(telepon)) {
+            return null;
+        }
+
+        StringBuilder hasil = new StringBuilder(telepon.length());
+        for (int i = 0; i < telepon.length(); i++) {
+            char c = telepon.charAt(i);
+            if (!isSpasiAtauStrip(c)) {
+                hasil.append(c);
+            }
+        }
+        if (hasil.charAt(0) == '+') {
+            hasil.replace(0, 3, "0"); // +62 -> 0
+        }
+        return hasil.toString();
     }
 
     // Validasi Buku
@@ -73,7 +266,15 @@ public class ValidationUtils {
 
     // Validasi String (tidak null dan tidak kosong setelah trim)
     public static boolean isValidString(String str) {
-        return str != null && !str.trim().isEmpty();
+        if (str == null) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > ' ') {
+                return true; // Sama dengan trim(): karakter <= ' ' dianggap spasi
+            }
+        }
+        return false;
     }
 
     // Validasi angka positif
@@ -85,4 +286,21 @@ public class ValidationUtils {
     public static boolean isAngkaNonNegatif(double angka) {
         return angka >= 0;
     }
+
+    private static boolean isAngka(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHuruf(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isHurufAtauAngka(char c) {
+        return isHuruf(c) || isAngka(c);
+    }
+
+    // Sama dengan kelas regex [\s\-]: spasi, \t, \n, \x0B, \f, \r, dan '-'
+    private static boolean isSpasiAtauStrip(char c) {
+        return c == ' ' || c == '-' || (c >= '\t' && c <= '\r');
+    }
 }
\ No newline at end of file
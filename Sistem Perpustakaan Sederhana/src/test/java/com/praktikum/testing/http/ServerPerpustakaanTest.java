@@ -0,0 +1,275 @@
+package com.praktikum.testing.http;
+
+import com.praktikum.testing.instrumentasi.Instrumentasi;
+import com.praktikum.testing.instrumentasi.RegistriMetrik;
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.MockRepositoryPeminjaman;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Server Perpustakaan - Endpoint HTTP/JSON")
+class ServerPerpustakaanTest {
+
+    // Jumlah klien bersamaan untuk uji beban, bisa dinaikkan dengan -Duji.beban.klien=10000
+    private static final int JUMLAH_KLIEN = Integer.getInteger("uji.beban.klien", 1000);
+
+    private MockRepositoryBuku repositoriBuku;
+    private MockRepositoryPeminjaman repositoriPeminjaman;
+    private ServicePerpustakaan servicePerpustakaan;
+    private Map<String, Anggota> daftarAnggota;
+    private ServerPerpustakaan server;
+    private HttpClient klien;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repositoriBuku = new MockRepositoryBuku();
+        repositoriPeminjaman = new MockRepositoryPeminjaman();
+        KalkulatorDenda kalkulatorDenda = new KalkulatorDenda();
+        servicePerpustakaan = new ServicePerpustakaan(repositoriBuku, kalkulatorDenda, true);
+        daftarAnggota = new ConcurrentHashMap<>();
+
+        repositoriBuku.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 2, 150000.0));
+        repositoriBuku.simpan(new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Doe", 5, 120000.0));
+        tambahAnggota("A001");
+
+        server = new ServerPerpustakaan(servicePerpustakaan, kalkulatorDenda, repositoriPeminjaman, daftarAnggota::get);
+        server.mulai(0);
+        klien = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        klien.close();
+    }
+
+    private Anggota tambahAnggota(String idAnggota) {
+        Anggota anggota = new Anggota(idAnggota, "Anggota " + idAnggota, idAnggota.toLowerCase() + "@kampus.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA);
+        daftarAnggota.put(idAnggota, anggota);
+        return anggota;
+    }
+
+    private HttpResponse<String> kirim(String metode, String pathDanQuery) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + pathDanQuery))
+                .method(metode, HttpRequest.BodyPublishers.noBody())
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        return klien.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    @DisplayName("GET /buku/{isbn} mengembalikan JSON buku atau 404")
+    void testCariBukuByIsbn() throws Exception {
+        // Act
+        HttpResponse<String> ada = kirim("GET", "/buku/1234567890");
+        HttpResponse<String> tidakAda = kirim("GET", "/buku/9999999999");
+
+        // Assert
+        assertEquals(200, ada.statusCode());
+        assertEquals("application/json; charset=utf-8", ada.headers().firstValue("Content-Type").orElse(null));
+        assertTrue(ada.body().contains("\"isbn\":\"1234567890\""));
+        assertTrue(ada.body().contains("\"judul\":\"Pemrograman Java\""));
+        assertTrue(ada.body().contains("\"jumlahTersedia\":2"));
+        assertEquals(404, tidakAda.statusCode());
+        assertTrue(tidakAda.body().contains("\"galat\""));
+    }
+
+    @Test
+    @DisplayName("GET /buku dengan judul atau pengarang mengembalikan daftar buku")
+    void testCariBukuByJudulDanPengarang() throws Exception {
+        // Act
+        HttpResponse<String> judul = kirim("GET", "/buku?judul=java");
+        HttpResponse<String> pengarang = kirim("GET", "/buku?pengarang=Jane%20Doe");
+        HttpResponse<String> tanpaParameter = kirim("GET", "/buku");
+
+        // Assert
+        assertEquals(200, judul.statusCode());
+        assertTrue(judul.body().startsWith("[") && judul.body().contains("\"isbn\":\"1234567890\""));
+        assertFalse(judul.body().contains("0987654321"));
+        assertEquals(200, pengarang.statusCode());
+        assertTrue(pengarang.body().contains("\"isbn\":\"0987654321\""));
+        assertEquals(400, tanpaParameter.statusCode());
+    }
+
+    @Test
+    @DisplayName("POST /pinjam dan /kembalikan mengubah stok, 409 jika ditolak")
+    void testPinjamDanKembalikan() throws Exception {
+        // Act & Assert
+        assertEquals(200, kirim("POST", "/pinjam?isbn=1234567890&idAnggota=A001").statusCode());
+        assertEquals(200, kirim("POST", "/pinjam?isbn=1234567890&idAnggota=A001").statusCode());
+        HttpResponse<String> stokHabis = kirim("POST", "/pinjam?isbn=1234567890&idAnggota=A001");
+        assertEquals(409, stokHabis.statusCode());
+        assertEquals("{\"berhasil\":false}", stokHabis.body());
+        assertEquals(0, repositoriBuku.cariByIsbn("1234567890").get().getJumlahTersedia());
+
+        assertEquals(200, kirim("POST", "/kembalikan?isbn=1234567890&idAnggota=A001").statusCode());
+        assertEquals(1, repositoriBuku.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertEquals(409, kirim("POST", "/kembalikan?isbn=0987654321&idAnggota=A001").statusCode(),
+                "Tidak bisa mengembalikan buku yang tidak dipinjam");
+    }
+
+    @Test
+    @DisplayName("Parameter kurang, anggota tidak dikenal, dan metode salah ditolak")
+    void testPermintaanTidakValid() throws Exception {
+        // Act
+        HttpResponse<String> tanpaAnggota = kirim("POST", "/pinjam?isbn=1234567890");
+        HttpResponse<String> anggotaTidakAda = kirim("POST", "/pinjam?isbn=1234567890&idAnggota=X999");
+        HttpResponse<String> metodeSalah = kirim("GET", "/pinjam?isbn=1234567890&idAnggota=A001");
+        HttpResponse<String> tanggalSalah = kirim("GET", "/denda?idAnggota=A001&perTanggal=kemarin");
+
+        // Assert
+        assertEquals(400, tanpaAnggota.statusCode());
+        assertEquals(404, anggotaTidakAda.statusCode());
+        assertEquals(405, metodeSalah.statusCode());
+        assertEquals("POST", metodeSalah.headers().firstValue("Allow").orElse(null));
+        assertEquals(400, tanggalSalah.statusCode());
+        assertEquals(2, repositoriBuku.cariByIsbn("1234567890").get().getJumlahTersedia(),
+                "Permintaan yang ditolak tidak boleh mengubah stok");
+    }
+
+    @Test
+    @DisplayName("GET /denda menjumlahkan denda peminjaman anggota per tanggal")
+    void testDendaPerTanggal() throws Exception {
+        // Arrange
+        LocalDate jatuhTempo = LocalDate.of(2024, 1, 10);
+        repositoriPeminjaman.simpan(new Peminjaman("P001", "A001", "1234567890", jatuhTempo.minusDays(7), jatuhTempo));
+        repositoriPeminjaman.simpan(new Peminjaman("P002", "A001", "0987654321", jatuhTempo.minusDays(7),
+                jatuhTempo.plusDays(10)));
+
+        // Act
+        HttpResponse<String> respons = kirim("GET", "/denda?idAnggota=A001&perTanggal=2024-01-15");
+
+        // Assert
+        assertEquals(200, respons.statusCode());
+        assertEquals("{\"idAnggota\":\"A001\",\"totalDenda\":5000.0,"
+                + "\"rincian\":[{\"idPeminjaman\":\"P001\",\"isbn\":\"1234567890\",\"denda\":5000.0}]}",
+                respons.body(), "Hanya P001 yang terlambat 5 hari dengan tarif mahasiswa 1000/hari");
+    }
+
+    @Test
+    @DisplayName("Uji beban: ribuan klien bersamaan tidak melanggar stok")
+    void testBebanKlienBersamaan() throws Exception {
+        // Arrange
+        int stok = Math.max(1, JUMLAH_KLIEN / 10);
+        repositoriBuku.simpan(new Buku("1111111111", "Basis Data", "John Doe", stok, 100000.0));
+        List<String> idAnggota = new ArrayList<>();
+        for (int i = 0; i < JUMLAH_KLIEN; i++) {
+            idAnggota.add(tambahAnggota(String.format("B%05d", i)).getIdAnggota());
+        }
+
+        // Act: semua klien meminjam buku yang sama pada saat bersamaan
+        CountDownLatch mulai = new CountDownLatch(1);
+        List<Future<Integer>> hasil = new ArrayList<>();
+        try (ExecutorService pelaksana = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String id : idAnggota) {
+                hasil.add(pelaksana.submit(() -> {
+                    mulai.await();
+                    return kirim("POST", "/pinjam?isbn=1111111111&idAnggota=" + id).statusCode();
+                }));
+            }
+            mulai.countDown();
+        }
+
+        // Assert
+        int berhasil = 0;
+        for (Future<Integer> status : hasil) {
+            int kode = status.get();
+            assertTrue(kode == 200 || kode == 409, "Status tak terduga: " + kode);
+            if (kode == 200) {
+                berhasil++;
+            }
+        }
+        assertEquals(stok, berhasil, "Jumlah pinjaman berhasil harus tepat sama dengan stok");
+        assertEquals(0, repositoriBuku.cariByIsbn("1111111111").get().getJumlahTersedia());
+
+        // Semua peminjam mengembalikan bersamaan, stok harus kembali penuh
+        try (ExecutorService pelaksana = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String id : idAnggota) {
+                if (daftarAnggota.get(id).sedangMeminjam("1111111111")) {
+                    pelaksana.submit(() -> kirim("POST", "/kembalikan?isbn=1111111111&idAnggota=" + id));
+                }
+            }
+        }
+        assertEquals(stok, repositoriBuku.cariByIsbn("1111111111").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("GET /metrik hanya tersedia jika server dibuat dengan RegistriMetrik")
+    void testEndpointMetrik() throws Exception {
+        // Arrange
+        RegistriMetrik registri = new RegistriMetrik();
+        ServicePerpustakaan serviceTerukur = Instrumentasi.service(repositoriBuku, new KalkulatorDenda(), true, registri);
+        try (ServerPerpustakaan serverTerukur = new ServerPerpustakaan(serviceTerukur, new KalkulatorDenda(),
+                repositoriPeminjaman, daftarAnggota::get, registri)) {
+            serverTerukur.mulai(0);
+            String alamat = "http://localhost:" + serverTerukur.getPort();
+            klien.send(HttpRequest.newBuilder(URI.create(alamat + "/buku/1234567890")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            // Act
+            HttpResponse<String> metrik = klien.send(HttpRequest.newBuilder(URI.create(alamat + "/metrik")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            // Assert
+            assertEquals(200, metrik.statusCode());
+            assertTrue(metrik.body().contains("\"service.cariBukuByIsbn\":{\"jumlah\":1,"), metrik.body());
+            assertTrue(metrik.body().contains("\"p99Nanos\":"));
+        }
+        assertEquals(404, kirim("GET", "/metrik").statusCode(), "Server tanpa registri tidak membuka /metrik");
+    }
+
+    @Test
+    @DisplayName("GET /denda tanpa perTanggal memakai Clock kalkulator denda")
+    void testDendaTanpaTanggalMemakaiClockKalkulator() throws Exception {
+        // Arrange
+        LocalDate jatuhTempo = LocalDate.of(2024, 1, 10);
+        repositoriPeminjaman.simpan(new Peminjaman("P001", "A001", "1234567890", jatuhTempo.minusDays(7), jatuhTempo));
+        Clock clock = Clock.fixed(LocalDate.of(2024, 1, 15).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        try (ServerPerpustakaan serverTetap = new ServerPerpustakaan(servicePerpustakaan, new KalkulatorDenda(clock),
+                repositoriPeminjaman, daftarAnggota::get)) {
+            serverTetap.mulai(0);
+            String alamat = "http://localhost:" + serverTetap.getPort();
+
+            // Act
+            HttpResponse<String> respons = klien.send(
+                    HttpRequest.newBuilder(URI.create(alamat + "/denda?idAnggota=A001")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            // Assert
+            assertEquals(200, respons.statusCode());
+            assertTrue(respons.body().contains("\"totalDenda\":5000.0"), respons.body());
+        }
+    }
+}
\ No newline at end of file
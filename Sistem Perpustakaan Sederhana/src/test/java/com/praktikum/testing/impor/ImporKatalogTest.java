@@ -0,0 +1,136 @@
+package com.praktikum.testing.impor;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.RepositoriBuku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Impor Katalog CSV")
+class ImporKatalogTest {
+
+    private static final String HEADER = "isbn,judul,pengarang,jumlahTotal,harga\n";
+
+    private MockRepositoryBuku repositori;
+
+    @BeforeEach
+    void setUp() {
+        repositori = new MockRepositoryBuku();
+    }
+
+    @Test
+    @DisplayName("Baris valid disimpan, baris bermasalah dilaporkan dengan nomor baris dan alasan")
+    void testImporDenganPenolakan() throws IOException {
+        // Arrange
+        repositori.simpan(new Buku("1111111111", "Sudah Ada", "Penulis", 1, 1000.0));
+        String csv = HEADER
+                + "978-0-306-40615-7,Pemrograman Java,John Doe,3,150000\n"
+                + "1234567890,\"Basis Data, Edisi 2\",Jane Doe,2,99000.5\n"
+                + "9780306406157,Duplikat,John Doe,1,1000\n"
+                + "1111111111,Sudah Ada,Penulis,1,1000\n"
+                + "12345,ISBN Pendek,Penulis,1,1000\n"
+                + "0987654321,Jumlah Salah,Penulis,tiga,1000\n"
+                + "0987654321,Kolom Kurang\n";
+
+        // Act
+        HasilImpor hasil = new ImporKatalog(repositori).impor(new StringReader(csv));
+
+        // Assert
+        assertEquals(7, hasil.getJumlahBaris());
+        assertEquals(2, hasil.getJumlahBerhasil());
+        assertEquals(5, hasil.getJumlahDitolak());
+        assertEquals("Basis Data, Edisi 2", repositori.cariByIsbn("1234567890").get().getJudul());
+        assertTrue(repositori.cariByIsbn("9780306406157").isPresent(), "ISBN disimpan tanpa tanda hubung");
+
+        List<PenolakanBaris> penolakan = hasil.getPenolakan();
+        assertEquals(List.of(4L, 5L, 6L, 7L, 8L),
+                penolakan.stream().map(PenolakanBaris::getNomorBaris).toList());
+        assertEquals(PenolakanBaris.Alasan.DUPLIKAT_DALAM_BERKAS, penolakan.get(0).getAlasan());
+        assertEquals(PenolakanBaris.Alasan.SUDAH_ADA, penolakan.get(1).getAlasan());
+        assertEquals(PenolakanBaris.Alasan.DATA_TIDAK_VALID, penolakan.get(2).getAlasan());
+        assertEquals("ISBN tidak valid", penolakan.get(2).getKeterangan());
+        assertEquals(PenolakanBaris.Alasan.DATA_TIDAK_VALID, penolakan.get(3).getAlasan());
+        assertEquals(PenolakanBaris.Alasan.FORMAT_TIDAK_VALID, penolakan.get(4).getAlasan());
+        assertEquals("12345", penolakan.get(2).getIsbn());
+    }
+
+    @Test
+    @DisplayName("Urutan kolom mengikuti header dan header tanpa kolom wajib ditolak")
+    void testHeader() throws IOException {
+        // Arrange
+        String csv = "\uFEFFHarga,PENGARANG,judul,isbn,jumlahTotal,catatan\n"
+                + "150000,John Doe,Pemrograman Java,1234567890,3,bebas\n";
+
+        // Act
+        HasilImpor hasil = new ImporKatalog(repositori).impor(new StringReader(csv));
+
+        // Assert
+        assertEquals(1, hasil.getJumlahBerhasil());
+        assertEquals("John Doe", repositori.cariByIsbn("1234567890").get().getPengarang());
+        assertThrows(IOException.class, () -> new ImporKatalog(repositori)
+                .impor(new StringReader("isbn,judul,pengarang,jumlahTotal\n")));
+        assertEquals(0, new ImporKatalog(repositori).impor(new StringReader("")).getJumlahBaris());
+    }
+
+    @Test
+    @DisplayName("Katalog besar diimpor paralel dengan satu cek dan satu simpan per batch")
+    void testImporBesarPerBatch() throws IOException {
+        // Arrange
+        RepositoriBuku repositoriSpy = spy(repositori);
+        StringBuilder csv = new StringBuilder(HEADER);
+        int jumlah = 25_000;
+        for (int i = 0; i < jumlah; i++) {
+            csv.append(String.format("978%010d,Judul %d,Pengarang %d,2,50000%n", i, i, i % 100));
+        }
+        csv.append(String.format("978%010d,Duplikat Terakhir,Penulis,1,1000%n", 0));
+
+        // Act
+        HasilImpor hasil = new ImporKatalog(repositoriSpy, 500, 4).impor(new StringReader(csv.toString()));
+
+        // Assert
+        assertEquals(jumlah, hasil.getJumlahBerhasil());
+        assertEquals(1, hasil.getJumlahDitolak(PenolakanBaris.Alasan.DUPLIKAT_DALAM_BERKAS));
+        assertEquals(jumlah, repositori.cariSemua().size());
+        assertEquals(50, hasil.getJumlahBatch());
+        verify(repositoriSpy, times(50)).cariByIsbnBatch(anyCollection());
+        verify(repositoriSpy, times(50)).simpanBatch(anyList());
+        assertEquals("Judul 0", repositori.cariByIsbn("9780000000000").get().getJudul(),
+                "Kemunculan pertama yang dipakai");
+        assertTrue(hasil.getBarisPerDetik() > 0);
+    }
+
+    @Test
+    @DisplayName("Pelapor menerima penolakan langsung tanpa ditampung di hasil")
+    void testPelaporStreaming() throws IOException {
+        // Arrange
+        List<PenolakanBaris> diterima = new ArrayList<>();
+        RepositoriBuku menolak = mock(RepositoriBuku.class);
+        when(menolak.cariByIsbnBatch(anyCollection())).thenReturn(Map.of());
+        when(menolak.simpanBatch(anyList())).thenReturn(List.of(true, false));
+        String csv = HEADER
+                + "1234567890,Buku A,Penulis,1,1000\n"
+                + "0987654321,Buku B,Penulis,1,1000\n";
+
+        // Act
+        HasilImpor hasil = new ImporKatalog(menolak).impor(new StringReader(csv), diterima::add);
+
+        // Assert
+        assertEquals(1, hasil.getJumlahBerhasil());
+        assertTrue(hasil.getPenolakan().isEmpty());
+        assertEquals(1, diterima.size());
+        assertEquals(PenolakanBaris.Alasan.GAGAL_DISIMPAN, diterima.get(0).getAlasan());
+        assertEquals(3, diterima.get(0).getNomorBaris());
+    }
+}
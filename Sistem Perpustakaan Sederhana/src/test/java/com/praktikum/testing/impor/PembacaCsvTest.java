@@ -0,0 +1,83 @@
+package com.praktikum.testing.impor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Pembaca CSV Streaming")
+class PembacaCsvTest {
+
+    @Test
+    @DisplayName("Field berkutip boleh memuat koma, kutip ganda, dan baris baru")
+    void testFieldBerkutip() throws IOException {
+        // Arrange
+        PembacaCsv csv = new PembacaCsv(new StringReader(
+                "a,\"b,c\",\"kata \"\"kutip\"\"\"\r\n\"baris\nbaru\",,x\n"));
+
+        // Act
+        String[] pertama = csv.bacaRecord();
+        long barisPertama = csv.getNomorBarisRecord();
+        String[] kedua = csv.bacaRecord();
+        long barisKedua = csv.getNomorBarisRecord();
+
+        // Assert
+        assertArrayEquals(new String[]{"a", "b,c", "kata \"kutip\""}, pertama);
+        assertArrayEquals(new String[]{"baris\nbaru", "", "x"}, kedua);
+        assertEquals(1, barisPertama);
+        assertEquals(2, barisKedua);
+        assertNull(csv.bacaRecord());
+    }
+
+    @Test
+    @DisplayName("Baris kosong dilewati tetapi tetap dihitung, record terakhir tanpa akhir baris terbaca")
+    void testBarisKosongDanAkhirBerkas() throws IOException {
+        // Arrange
+        PembacaCsv csv = new PembacaCsv(new StringReader("a,b\r\n\r\n\rc,d"));
+
+        // Act
+        String[] pertama = csv.bacaRecord();
+        String[] kedua = csv.bacaRecord();
+
+        // Assert
+        assertArrayEquals(new String[]{"a", "b"}, pertama);
+        assertArrayEquals(new String[]{"c", "d"}, kedua);
+        assertEquals(4, csv.getNomorBarisRecord());
+        assertNull(csv.bacaRecord());
+    }
+
+    @Test
+    @DisplayName("Record lebih panjang dari buffer baca tetap utuh")
+    void testRecordMelewatiBatasBuffer() throws IOException {
+        // Arrange
+        String panjang = "x".repeat(200_000);
+        PembacaCsv csv = new PembacaCsv(new StringReader(panjang + ",\"" + panjang + "\"\r\nakhir\r"));
+
+        // Act
+        String[] pertama = csv.bacaRecord();
+        String[] kedua = csv.bacaRecord();
+
+        // Assert
+        assertEquals(panjang, pertama[0]);
+        assertEquals(panjang, pertama[1]);
+        assertArrayEquals(new String[]{"akhir"}, kedua);
+        assertNull(csv.bacaRecord());
+    }
+
+    @Test
+    @DisplayName("Tanda kutip yang tidak ditutup ditolak dengan nomor baris")
+    void testKutipTidakDitutup() throws IOException {
+        // Arrange
+        PembacaCsv csv = new PembacaCsv(new StringReader("a,b\nc,\"tidak ditutup\n"));
+        csv.bacaRecord();
+
+        // Act
+        IOException galat = assertThrows(IOException.class, csv::bacaRecord);
+
+        // Assert
+        assertTrue(galat.getMessage().contains("baris 2"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.praktikum.testing.instrumentasi;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Peminjaman;
+import com.praktikum.testing.service.KalkulatorDenda;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kalkulator Denda Terinstrumentasi")
+class KalkulatorDendaTerinstrumentasiTest {
+
+    @Test
+    @DisplayName("Hasil sama dengan kalkulator biasa dan setiap perhitungan tercatat")
+    void testHasilSamaDanTercatat() {
+        // Arrange
+        RegistriMetrik registri = new RegistriMetrik();
+        KalkulatorDenda kalkulator = Instrumentasi.kalkulatorDenda(registri);
+        Anggota anggota = new Anggota("A001", "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA);
+        LocalDate jatuhTempo = LocalDate.of(2024, 1, 10);
+        Peminjaman peminjaman = new Peminjaman("P001", "A001", "1234567890", jatuhTempo.minusDays(7), jatuhTempo);
+        LocalDate perTanggal = jatuhTempo.plusDays(5);
+
+        // Act
+        double denda = kalkulator.hitungDenda(peminjaman, anggota, perTanggal);
+        double dendaMassal = kalkulator.hitungDendaMassal(List.of(peminjaman), id -> anggota, perTanggal)
+                .getTotalDenda();
+
+        // Assert
+        assertEquals(new KalkulatorDenda().hitungDenda(peminjaman, anggota, perTanggal), denda);
+        assertEquals(denda, dendaMassal);
+        Map<String, SnapshotOperasi> snapshot = registri.snapshot();
+        assertEquals(1, snapshot.get("denda.hitungDendaPerTanggal").getJumlah());
+        assertEquals(1, snapshot.get("denda.hitungDendaMassal").getJumlah());
+        assertEquals(0, snapshot.get("denda.hitungDenda").getJumlah());
+    }
+
+    @Test
+    @DisplayName("Argumen null tetap melempar exception dan dicatat sebagai galat")
+    void testArgumenNullDicatatSebagaiGalat() {
+        // Arrange
+        RegistriMetrik registri = new RegistriMetrik();
+        KalkulatorDenda kalkulator = Instrumentasi.kalkulatorDenda(registri);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> kalkulator.hitungDenda(null, null));
+        assertEquals(1, registri.snapshot().get("denda.hitungDenda").getJumlahGalat());
+    }
+}
@@ -0,0 +1,171 @@
+package com.praktikum.testing.instrumentasi;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Registri Metrik - Histogram, Snapshot, dan Event JFR")
+class RegistriMetrikTest {
+
+    @TempDir
+    Path direktori;
+
+    @Test
+    @DisplayName("Setiap nilai masuk ke bucket yang batas atasnya tidak lebih kecil dari nilai itu")
+    void testBucketHistogramKonsisten() {
+        // Arrange
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long nilai = random.nextInt(3) == 0 ? random.nextInt(64) : (random.nextLong() >>> 1) >>> random.nextInt(63);
+
+            // Act
+            int indeks = HistogramLatensi.indeks(nilai);
+
+            // Assert
+            assertTrue(indeks >= 0 && indeks < HistogramLatensi.JUMLAH_BUCKET);
+            assertTrue(HistogramLatensi.batasAtas(indeks) >= nilai, "Nilai melebihi batas atas bucket: " + nilai);
+            assertTrue(indeks == 0 || HistogramLatensi.batasAtas(indeks - 1) < nilai,
+                    "Nilai seharusnya masuk bucket sebelumnya: " + nilai);
+        }
+        assertEquals(Long.MAX_VALUE, HistogramLatensi.batasAtas(HistogramLatensi.indeks(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Snapshot berisi jumlah, gagal, galat, dan persentil latensi")
+    void testSnapshotOperasi() {
+        // Arrange
+        RegistriMetrik registri = new RegistriMetrik();
+        MetrikOperasi metrik = registri.operasi("uji.operasi");
+        for (int i = 1; i <= 100; i++) {
+            metrik.catat(i * 1000L, i <= 10 ? MetrikOperasi.Hasil.GAGAL : MetrikOperasi.Hasil.BERHASIL);
+        }
+        metrik.catat(1_000_000L, MetrikOperasi.Hasil.GALAT);
+
+        // Act
+        SnapshotOperasi snapshot = registri.snapshot().get("uji.operasi");
+
+        // Assert
+        assertEquals(101, snapshot.getJumlah());
+        assertEquals(10, snapshot.getJumlahGagal());
+        assertEquals(1, snapshot.getJumlahGalat());
+        assertEquals(1_000_000L, snapshot.getMaksNanos());
+        assertEquals(1_000_000L, snapshot.getPersentilNanos(100));
+        long p50 = snapshot.getPersentilNanos(50);
+        assertTrue(p50 >= 51_000 && p50 <= 51_000 * 1.125, "p50 harus dekat 51 us, didapat " + p50);
+        assertEquals((100 * 101 / 2 * 1000L + 1_000_000L) / 101.0, snapshot.getRataRataNanos(), 0.001);
+    }
+
+    @Test
+    @DisplayName("ukur mencatat hasil false sebagai gagal dan exception sebagai galat")
+    void testUkurMembedakanGagalDanGalat() {
+        // Arrange
+        RegistriMetrik registri = new RegistriMetrik();
+        MetrikOperasi metrik = registri.operasi("uji.boolean");
+
+        // Act
+        metrik.ukur(() -> true, Boolean.FALSE::equals);
+        metrik.ukur(() -> false, Boolean.FALSE::equals);
+        assertThrows(IllegalStateException.class, () -> metrik.ukur(() -> {
+            throw new IllegalStateException("rusak");
+        }));
+
+        // Assert
+        SnapshotOperasi snapshot = registri.snapshot().get("uji.boolean");
+        assertEquals(3, snapshot.getJumlah());
+        assertEquals(1, snapshot.getJumlahGagal());
+        assertEquals(1, snapshot.getJumlahGalat());
+        assertEquals(1.0 / 3, snapshot.getRasioGalat(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Operasi dengan nama sama memakai metrik yang sama, dan reset mengosongkan hitungan")
+    void testOperasiSamaDanReset() {
+        // Arrange
+        RegistriMetrik registri = new RegistriMetrik();
+
+        // Act
+        registri.operasi("a").catat(10, MetrikOperasi.Hasil.BERHASIL);
+        registri.operasi("a").catat(20, MetrikOperasi.Hasil.BERHASIL);
+        registri.operasi("b");
+        Map<String, SnapshotOperasi> sebelumReset = registri.snapshot();
+        registri.reset();
+
+        // Assert
+        assertEquals(List.of("a", "b"), List.copyOf(sebelumReset.keySet()));
+        assertEquals(2, sebelumReset.get("a").getJumlah());
+        assertEquals(0, registri.snapshot().get("a").getJumlah());
+        assertEquals(0, registri.snapshot().get("a").getPersentilNanos(99));
+    }
+
+    @Test
+    @DisplayName("Tanpa system property instrumentasi tidak aktif")
+    void testDariPropertiDefaultNonaktif() {
+        assertNull(RegistriMetrik.dariProperti());
+    }
+
+    @Test
+    @DisplayName("Setiap operasi yang diukur menghasilkan event JFR")
+    void testEventJfr() throws Exception {
+        // Arrange
+        RegistriMetrik registri = new RegistriMetrik();
+        MetrikOperasi metrik = registri.operasi("uji.jfr");
+        Path berkas = direktori.resolve("rekaman.jfr");
+
+        try (Recording rekaman = new Recording()) {
+            rekaman.enable(OperasiEvent.NAMA).withThreshold(Duration.ZERO);
+            rekaman.start();
+
+            // Act
+            metrik.ukur(() -> true, Boolean.FALSE::equals);
+            metrik.ukur(() -> false, Boolean.FALSE::equals);
+
+            rekaman.stop();
+            rekaman.dump(berkas);
+        }
+
+        // Assert
+        List<RecordedEvent> daftarEvent = RecordingFile.readAllEvents(berkas).stream()
+                .filter(event -> event.getEventType().getName().equals(OperasiEvent.NAMA))
+                .collect(Collectors.toList());
+        assertEquals(2, daftarEvent.size());
+        assertEquals("uji.jfr", daftarEvent.get(0).getString("operasi"));
+        assertEquals(List.of("BERHASIL", "GAGAL"), daftarEvent.stream()
+                .map(event -> event.getString("hasil")).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("ukurInt dan ukurDouble mengembalikan hasil primitif dan mencatat galat")
+    void testUkurPrimitif() {
+        // Arrange
+        RegistriMetrik registri = new RegistriMetrik();
+        MetrikOperasi metrikInt = registri.operasi("uji.int");
+        MetrikOperasi metrikDouble = registri.operasi("uji.double");
+
+        // Act
+        int hasilInt = metrikInt.ukurInt(() -> 42);
+        double hasilDouble = metrikDouble.ukurDouble(() -> 1.5);
+        assertThrows(IllegalArgumentException.class, () -> metrikDouble.ukurDouble(() -> {
+            throw new IllegalArgumentException("rusak");
+        }));
+
+        // Assert
+        assertEquals(42, hasilInt);
+        assertEquals(1.5, hasilDouble);
+        assertEquals(1, registri.snapshot().get("uji.int").getJumlah());
+        assertEquals(2, registri.snapshot().get("uji.double").getJumlah());
+        assertEquals(1, registri.snapshot().get("uji.double").getJumlahGalat());
+    }
+}
\ No newline at end of file
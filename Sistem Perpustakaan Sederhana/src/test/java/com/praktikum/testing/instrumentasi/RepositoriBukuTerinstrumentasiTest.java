@@ -0,0 +1,74 @@
+package com.praktikum.testing.instrumentasi;
+
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.RepositoriBuku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Repositori Buku Terinstrumentasi")
+class RepositoriBukuTerinstrumentasiTest {
+
+    private RegistriMetrik registri;
+    private RepositoriBuku repositori;
+
+    @BeforeEach
+    void setUp() {
+        registri = new RegistriMetrik();
+        repositori = Instrumentasi.repositori(new MockRepositoryBuku(), registri);
+    }
+
+    @Test
+    @DisplayName("Panggilan diteruskan dan dicatat per operasi")
+    void testPanggilanDicatat() {
+        // Arrange
+        Buku buku = new Buku("1234567890", "Pemrograman Java", "John Doe", 1, 150000.0);
+
+        // Act
+        assertTrue(repositori.simpan(buku));
+        assertTrue(repositori.cariByIsbn("1234567890").isPresent());
+        assertTrue(repositori.kurangiTersedia("1234567890"));
+        assertFalse(repositori.kurangiTersedia("1234567890"), "Stok sudah habis");
+        assertEquals(Arrays.asList(true, false), repositori.tambahTersediaBatch(Arrays.asList("1234567890", "9999999999")));
+
+        // Assert
+        Map<String, SnapshotOperasi> snapshot = registri.snapshot();
+        assertEquals(1, snapshot.get("repositori.simpan").getJumlah());
+        assertEquals(1, snapshot.get("repositori.cariByIsbn").getJumlah());
+        assertEquals(2, snapshot.get("repositori.kurangiTersedia").getJumlah());
+        assertEquals(1, snapshot.get("repositori.kurangiTersedia").getJumlahGagal());
+        assertEquals(1, snapshot.get("repositori.tambahTersediaBatch").getJumlahGagal(),
+                "Batch dengan elemen false dihitung gagal");
+        assertEquals(0, snapshot.get("repositori.hapus").getJumlah());
+    }
+
+    @Test
+    @DisplayName("Exception dari repository asli dicatat sebagai galat lalu dilempar ulang")
+    void testExceptionDicatatSebagaiGalat() {
+        // Arrange
+        RepositoriBuku rusak = mock(RepositoriBuku.class);
+        when(rusak.cariByIsbn("1234567890")).thenThrow(new IllegalStateException("Koneksi terputus"));
+        RepositoriBuku terinstrumentasi = Instrumentasi.repositori(rusak, registri);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> terinstrumentasi.cariByIsbn("1234567890"));
+        assertEquals(1, registri.snapshot().get("repositori.cariByIsbn").getJumlahGalat());
+    }
+
+    @Test
+    @DisplayName("Tanpa registri repository asli dikembalikan apa adanya")
+    void testTanpaRegistriTidakDibungkus() {
+        // Arrange
+        RepositoriBuku asli = new MockRepositoryBuku();
+
+        // Act & Assert
+        assertSame(asli, Instrumentasi.repositori(asli, null));
+    }
+}
@@ -0,0 +1,66 @@
+package com.praktikum.testing.instrumentasi;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import com.praktikum.testing.service.ServicePerpustakaan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Service Perpustakaan Terinstrumentasi")
+class ServicePerpustakaanTerinstrumentasiTest {
+
+    private RegistriMetrik registri;
+    private ServicePerpustakaan servicePerpustakaan;
+    private Anggota anggota;
+
+    @BeforeEach
+    void setUp() {
+        registri = new RegistriMetrik();
+        MockRepositoryBuku repositori = new MockRepositoryBuku();
+        repositori.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 1, 150000.0));
+        servicePerpustakaan = Instrumentasi.service(Instrumentasi.repositori(repositori, registri),
+                new KalkulatorDenda(), false, registri);
+        anggota = new Anggota("A001", "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    @Test
+    @DisplayName("Metrik service dan repository tercatat terpisah")
+    void testMetrikServiceDanRepositori() {
+        // Act
+        assertTrue(servicePerpustakaan.pinjamBuku("1234567890", anggota));
+        assertFalse(servicePerpustakaan.pinjamBuku("1234567890", anggota), "Stok sudah habis");
+        assertFalse(servicePerpustakaan.bukuTersedia("1234567890"));
+        assertTrue(servicePerpustakaan.kembalikanBuku("1234567890", anggota));
+
+        // Assert
+        Map<String, SnapshotOperasi> snapshot = registri.snapshot();
+        assertEquals(2, snapshot.get("service.pinjamBuku").getJumlah());
+        assertEquals(0.5, snapshot.get("service.pinjamBuku").getRasioGagal(), 0.0001);
+        assertEquals(0, snapshot.get("service.bukuTersedia").getJumlahGagal(),
+                "Buku tidak tersedia bukan kegagalan operasi");
+        assertEquals(1, snapshot.get("service.kembalikanBuku").getJumlah());
+        assertEquals(2, snapshot.get("repositori.kurangiTersedia").getJumlah());
+        assertEquals(1, snapshot.get("repositori.cariByIsbn").getJumlah());
+        assertTrue(snapshot.get("service.pinjamBuku").getTotalNanos()
+                >= snapshot.get("repositori.kurangiTersedia").getTotalNanos(),
+                "Waktu service mencakup waktu repository di dalamnya");
+    }
+
+    @Test
+    @DisplayName("Tanpa registri service biasa yang dibuat")
+    void testTanpaRegistriServiceBiasa() {
+        // Act
+        ServicePerpustakaan biasa = Instrumentasi.service(new MockRepositoryBuku(), new KalkulatorDenda(), false, null);
+
+        // Assert
+        assertEquals(ServicePerpustakaan.class, biasa.getClass());
+    }
+}
@@ -144,4 +144,68 @@ class AnggotaTest {
         anggota1.tambahBukuDipinjam(ISBN_1);
         assertTrue(anggota1.toString().contains("idAnggota='A001'"));
     }
+
+    @Test
+    @DisplayName("sedangMeminjam dan view read-only mengikuti pinjaman anggota")
+    void testSedangMeminjamDanView() {
+        // Arrange
+        Anggota anggota = new Anggota("A001", "John", "E", "T", Anggota.TipeAnggota.DOSEN);
+        List<String> view = anggota.getBukuDipinjamView();
+
+        // Act
+        anggota.tambahBukuDipinjam(ISBN_1);
+        anggota.tambahBukuDipinjam("B-001"); // Bukan angka, disimpan apa adanya
+        anggota.tambahBukuDipinjam("0123456789");
+
+        // Assert
+        assertTrue(anggota.sedangMeminjam(ISBN_1));
+        assertTrue(anggota.sedangMeminjam("B-001"));
+        assertTrue(anggota.sedangMeminjam("0123456789"));
+        assertFalse(anggota.sedangMeminjam("123456789"), "Nol di depan harus dibedakan");
+        assertFalse(anggota.sedangMeminjam(null));
+        assertEquals(List.of(ISBN_1, "B-001", "0123456789"), view, "View mengikuti urutan pinjam");
+
+        anggota.hapusBukuDipinjam("B-001");
+        assertEquals(List.of(ISBN_1, "0123456789"), view);
+        assertFalse(anggota.sedangMeminjam("B-001"));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(ISBN_2));
+    }
+
+    @Test
+    @DisplayName("Pinjaman melebihi kapasitas awal array tetap tersimpan")
+    void testKapasitasBertambah() {
+        // Arrange
+        Anggota anggota = new Anggota("A001", "John", "E", "T", Anggota.TipeAnggota.DOSEN);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            anggota.tambahBukuDipinjam(i % 2 == 0 ? "111111111" + i : "ID-" + i);
+        }
+
+        // Assert
+        assertEquals(10, anggota.getJumlahBukuDipinjam());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(anggota.sedangMeminjam(i % 2 == 0 ? "111111111" + i : "ID-" + i));
+        }
+        assertFalse(anggota.bolehPinjamLagi());
+    }
+
+    @Test
+    @DisplayName("Test setIdBukuDipinjam menyalin list apa adanya termasuk duplikat")
+    void testSetIdBukuDipinjamMempertahankanDuplikat() {
+        // Arrange
+        Anggota anggota = new Anggota("A1", "N", "E", "T", Anggota.TipeAnggota.UMUM);
+        List<String> pinjaman = Arrays.asList("1234567890", "BUKU-X", "1234567890");
+
+        // Act
+        anggota.setIdBukuDipinjam(pinjaman);
+        anggota.tambahBukuDipinjam("1234567890");
+
+        // Assert
+        assertEquals(pinjaman, anggota.getIdBukuDipinjam());
+        assertEquals(3, anggota.getJumlahBukuDipinjam());
+
+        anggota.hapusBukuDipinjam("1234567890");
+        assertEquals(Arrays.asList("BUKU-X", "1234567890"), anggota.getIdBukuDipinjam());
+    }
 }
\ No newline at end of file
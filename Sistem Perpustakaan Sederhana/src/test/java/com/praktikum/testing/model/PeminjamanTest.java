@@ -4,6 +4,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.time.Clock;
+import java.time.ZoneOffset;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -111,4 +113,65 @@ class PeminjamanTest {
         p2.setTanggalKembali(HARI_INI.minusDays(2)); // Kembali 8 hari setelah pinjam
         assertEquals(8, p2.getDurasiPeminjaman(), "Durasi pinjam (sudah kembali) harus 8 hari");
     }
+
+    @Test
+    @DisplayName("Test perhitungan dengan Clock dan epoch-day (tanpa LocalDate.now())")
+    void testPerhitunganDenganClockDanEpochDay() {
+        LocalDate acuan = LocalDate.of(2024, 5, 10);
+        Clock clock = Clock.fixed(acuan.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        Peminjaman pinjam = new Peminjaman("P1", "A1", "1", acuan.minusDays(10), acuan.minusDays(3));
+
+        // Epoch-day tersimpan konsisten dengan getter LocalDate
+        assertEquals(acuan.minusDays(10).toEpochDay(), pinjam.getHariPinjam());
+        assertEquals(acuan.minusDays(3), pinjam.getTanggalJatuhTempo());
+        assertEquals(Peminjaman.TANPA_TANGGAL, pinjam.getHariKembali());
+        assertNull(pinjam.getTanggalKembali());
+
+        // Berdasarkan Clock
+        assertEquals(acuan.toEpochDay(), Peminjaman.hariIni(clock));
+        assertTrue(pinjam.isTerlambat(clock));
+        assertEquals(3, pinjam.getHariTerlambat(clock));
+        assertEquals(10, pinjam.getDurasiPeminjaman(clock));
+
+        // Berdasarkan epoch-day langsung
+        long hariAcuan = acuan.toEpochDay();
+        assertFalse(pinjam.isTerlambatPada(hariAcuan - 3), "Tepat jatuh tempo tidak terlambat");
+        assertEquals(1, pinjam.getHariTerlambatPada(hariAcuan - 2));
+
+        // Setelah dikembalikan, tanggal acuan tidak berpengaruh
+        pinjam.setSudahDikembalikan(true);
+        pinjam.setTanggalKembali(acuan.minusDays(5));
+        assertEquals(0, pinjam.getHariTerlambatPada(hariAcuan + 100));
+        assertEquals(5, pinjam.getDurasiPeminjamanPada(hariAcuan + 100));
+    }
+
+    @Test
+    @DisplayName("Test tanggal wajib yang belum diisi")
+    void testTanggalBelumDiisi() {
+        Peminjaman pinjam = new Peminjaman();
+        pinjam.setSudahDikembalikan(true);
+
+        assertThrows(IllegalStateException.class, () -> pinjam.getHariTerlambatPada(0));
+
+        pinjam.setTanggalJatuhTempo(null);
+        assertNull(pinjam.getTanggalJatuhTempo());
+    }
+
+    @Test
+    @DisplayName("Test tanggal ekstrem (LocalDate.MIN/MAX) tetap diterima")
+    void testTanggalEkstremDiterima() {
+        // Arrange
+        Peminjaman pinjam = new Peminjaman("P1", "A1", "123", LocalDate.MIN, LocalDate.MAX);
+
+        // Act
+        pinjam.setSudahDikembalikan(true);
+        pinjam.setTanggalKembali(LocalDate.MAX);
+
+        // Assert
+        assertEquals(LocalDate.MIN, pinjam.getTanggalPinjam());
+        assertEquals(LocalDate.MAX, pinjam.getTanggalJatuhTempo());
+        assertEquals(LocalDate.MAX, pinjam.getTanggalKembali());
+        assertFalse(pinjam.isTerlambat());
+        assertEquals(LocalDate.MAX.toEpochDay() - LocalDate.MIN.toEpochDay(), pinjam.getDurasiPeminjaman());
+    }
 }
\ No newline at end of file
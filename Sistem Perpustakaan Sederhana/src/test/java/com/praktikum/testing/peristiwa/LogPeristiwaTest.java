@@ -0,0 +1,145 @@
+package com.praktikum.testing.peristiwa;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Log Peristiwa - Append-Only")
+class LogPeristiwaTest {
+
+    @Test
+    @DisplayName("Peristiwa mendapat nomor urut sesuai posisinya dan menyimpan datanya")
+    void testTambahDanBaca() {
+        // Arrange
+        LogPeristiwa log = new LogPeristiwa();
+        Buku buku = new Buku("1234567890", "Pemrograman Java", "John Doe", 3, 150000.0);
+
+        // Act
+        Peristiwa ditambah = log.catatBukuDitambah(buku);
+        Peristiwa dipinjam = log.catatPinjam("1234567890", "A001");
+        Peristiwa dikembalikan = log.catatKembali("1234567890", "A001");
+        Peristiwa dihapus = log.catatBukuDihapus("1234567890");
+
+        // Assert
+        assertEquals(4, log.ukuran());
+        assertEquals(0, ditambah.getUrutan());
+        assertEquals(3, dihapus.getUrutan());
+        assertSame(dipinjam, log.get(1));
+        assertEquals(Peristiwa.Jenis.BUKU_DITAMBAH, ditambah.getJenis());
+        assertEquals(3, ditambah.getJumlahTotal());
+        assertEquals(3, ditambah.getJumlahTersedia());
+        assertNull(ditambah.getIdAnggota());
+        assertEquals("A001", dikembalikan.getIdAnggota());
+        assertThrows(IndexOutOfBoundsException.class, () -> log.get(4));
+    }
+
+    @Test
+    @DisplayName("Penelusuran rentang melewati batas segmen sesuai urutan")
+    void testUntukSetiapMelewatiSegmen() {
+        // Arrange
+        LogPeristiwa log = new LogPeristiwa();
+        int jumlah = 40_000; // Lebih dari dua segmen
+        for (int i = 0; i < jumlah; i++) {
+            log.catatPinjam(String.format("%010d", i), "A001");
+        }
+
+        // Act
+        List<Long> urutan = new ArrayList<>();
+        log.untukSetiap(16_000, 33_000, peristiwa -> urutan.add(peristiwa.getUrutan()));
+
+        // Assert
+        assertEquals(17_000, urutan.size());
+        for (int i = 0; i < urutan.size(); i++) {
+            assertEquals(16_000 + i, urutan.get(i));
+        }
+        assertEquals(String.format("%010d", 39_999), log.get(39_999).getIsbn());
+        assertThrows(IndexOutOfBoundsException.class, () -> log.untukSetiap(0, jumlah + 1, peristiwa -> { }));
+    }
+
+    @Test
+    @DisplayName("Penulisan dari banyak thread tidak kehilangan atau menggandakan peristiwa")
+    void testTambahParalel() throws Exception {
+        // Arrange
+        LogPeristiwa log = new LogPeristiwa();
+        int jumlahThread = 8;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+
+        // Act
+        try {
+            List<Future<?>> daftarTugas = new ArrayList<>();
+            for (int t = 0; t < jumlahThread; t++) {
+                String idAnggota = "A" + t;
+                daftarTugas.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.catatPinjam("1234567890", idAnggota);
+                    }
+                }));
+            }
+            for (Future<?> tugas : daftarTugas) {
+                tugas.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertEquals(jumlahThread * perThread, log.ukuran());
+        int[] jumlahPerAnggota = new int[jumlahThread];
+        log.untukSetiap(0, log.ukuran(), peristiwa -> {
+            assertNotNull(peristiwa);
+            jumlahPerAnggota[Integer.parseInt(peristiwa.getIdAnggota().substring(1))]++;
+        });
+        for (int jumlah : jumlahPerAnggota) {
+            assertEquals(perThread, jumlah);
+        }
+        for (long i = 0; i < log.ukuran(); i++) {
+            assertEquals(i, log.get(i).getUrutan());
+        }
+    }
+
+    @Test
+    @DisplayName("Log persisten memuat ulang peristiwa dan membuang ekor yang terpotong")
+    void testLogPersistenDimuatUlang(@TempDir Path direktori) throws IOException {
+        // Arrange
+        Path berkas = direktori.resolve("peristiwa.log");
+        try (LogPeristiwa log = LogPeristiwa.buka(berkas, false)) {
+            log.catatBukuDitambah(new Buku("1234567890", "Pemrograman Java", "John Doe", 3, 150000.0));
+            log.catatPinjam("1234567890", "A001");
+            log.catatBukuDihapus("1234567890");
+        }
+        // Simulasi crash saat menulis record berikutnya
+        Files.write(berkas, new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        // Act
+        try (LogPeristiwa log = LogPeristiwa.buka(berkas, false)) {
+            log.catatKembali("1234567890", "A001");
+        }
+        List<Peristiwa> dimuat = new ArrayList<>();
+        try (LogPeristiwa log = LogPeristiwa.buka(berkas, false)) {
+            log.untukSetiap(0, log.ukuran(), dimuat::add);
+        }
+
+        // Assert
+        assertEquals(4, dimuat.size());
+        assertEquals(Peristiwa.Jenis.BUKU_DITAMBAH, dimuat.get(0).getJenis());
+        assertEquals(3, dimuat.get(0).getJumlahTotal());
+        assertNull(dimuat.get(0).getIdAnggota());
+        assertEquals("A001", dimuat.get(1).getIdAnggota());
+        assertEquals(Peristiwa.Jenis.DIKEMBALIKAN, dimuat.get(3).getJenis());
+        assertEquals(3, dimuat.get(3).getUrutan());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.praktikum.testing.peristiwa;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Proyeksi Katalog - Materialized View dari Peristiwa")
+class ProyeksiKatalogTest {
+
+    private static Buku buku(String isbn, int jumlahTotal) {
+        return new Buku(isbn, "Pemrograman Java", "John Doe", jumlahTotal, 150000.0);
+    }
+
+    @Test
+    @DisplayName("Peristiwa diterapkan inkremental ke stok, penghitung judul dan pinjaman anggota")
+    void testTerapkanInkremental() {
+        // Arrange
+        LogPeristiwa log = new LogPeristiwa();
+        ProyeksiKatalog proyeksi = new ProyeksiKatalog();
+
+        // Act
+        proyeksi.terapkan(log.catatBukuDitambah(buku("1234567890", 2)));
+        proyeksi.terapkan(log.catatBukuDitambah(buku("0987654321", 1)));
+        proyeksi.terapkan(log.catatPinjam("1234567890", "A001"));
+        proyeksi.terapkan(log.catatPinjam("0987654321", "A001"));
+        proyeksi.terapkan(log.catatPinjam("1234567890", "A002"));
+        proyeksi.terapkan(log.catatKembali("1234567890", "A001"));
+
+        // Assert
+        assertEquals(new StatusBuku(2, 1, 2, 1), proyeksi.getStatusBuku("1234567890").get());
+        assertEquals(0, proyeksi.getJumlahTersedia("0987654321"));
+        assertEquals(List.of("0987654321"), proyeksi.getPinjamanAnggota("A001"));
+        assertEquals(List.of("1234567890"), proyeksi.getPinjamanAnggota("A002"));
+        assertEquals(2, proyeksi.getJumlahJudul());
+    }
+
+    @Test
+    @DisplayName("Pengembalian terakhir menghapus anggota, hapus buku menghapus statusnya")
+    void testEntriKosongDihapus() {
+        // Arrange
+        LogPeristiwa log = new LogPeristiwa();
+        ProyeksiKatalog proyeksi = new ProyeksiKatalog(4);
+        proyeksi.terapkan(log.catatBukuDitambah(buku("1234567890", 1)));
+        proyeksi.terapkan(log.catatPinjam("1234567890", "A001"));
+
+        // Act
+        proyeksi.terapkan(log.catatKembali("1234567890", "A001"));
+        proyeksi.terapkan(log.catatBukuDihapus("1234567890"));
+
+        // Assert
+        assertTrue(proyeksi.getPinjamanAnggota("A001").isEmpty());
+        assertTrue(proyeksi.salinPinjamanAnggota().isEmpty());
+        assertFalse(proyeksi.getStatusBuku("1234567890").isPresent());
+        assertEquals(0, proyeksi.getJumlahTersedia("1234567890"));
+    }
+
+    @Test
+    @DisplayName("Bangun ulang paralel menghasilkan view yang sama dengan penerapan inkremental")
+    void testBangunUlangSamaDenganInkremental() {
+        // Arrange: campuran acak tambah, hapus, pinjam dan kembali
+        LogPeristiwa log = new LogPeristiwa();
+        ProyeksiKatalog inkremental = new ProyeksiKatalog();
+        Random acak = new Random(42);
+        int jumlahBuku = 500;
+        for (int i = 0; i < jumlahBuku; i++) {
+            inkremental.terapkan(log.catatBukuDitambah(buku(String.format("%010d", i), 3)));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            String isbn = String.format("%010d", acak.nextInt(jumlahBuku));
+            String idAnggota = "A" + acak.nextInt(200);
+            int pilihan = acak.nextInt(10);
+            if (pilihan < 5) {
+                inkremental.terapkan(log.catatPinjam(isbn, idAnggota));
+            } else if (pilihan < 9) {
+                if (inkremental.getPinjamanAnggota(idAnggota).contains(isbn)) {
+                    inkremental.terapkan(log.catatKembali(isbn, idAnggota));
+                }
+            } else if (inkremental.getStatusBuku(isbn).isPresent()) {
+                inkremental.terapkan(log.catatBukuDihapus(isbn));
+                inkremental.terapkan(log.catatBukuDitambah(buku(isbn, 2)));
+            }
+        }
+
+        // Act
+        ProyeksiKatalog satuThread = ProyeksiKatalog.bangunUlang(log, 16, 1);
+        ProyeksiKatalog empatThread = ProyeksiKatalog.bangunUlang(log, 16, 4);
+        ProyeksiKatalog partisiLain = ProyeksiKatalog.bangunUlang(log, 3, 8);
+
+        // Assert
+        assertEquals(inkremental.salinStatusBuku(), satuThread.salinStatusBuku());
+        assertEquals(inkremental.salinStatusBuku(), empatThread.salinStatusBuku());
+        assertEquals(inkremental.salinStatusBuku(), partisiLain.salinStatusBuku());
+        assertEquals(inkremental.salinPinjamanAnggota(), satuThread.salinPinjamanAnggota());
+        assertEquals(inkremental.salinPinjamanAnggota(), empatThread.salinPinjamanAnggota());
+        assertEquals(inkremental.salinPinjamanAnggota(), partisiLain.salinPinjamanAnggota());
+    }
+
+    @Test
+    @DisplayName("Bangun ulang hanya mencakup peristiwa yang ada saat dipanggil")
+    void testBangunUlangSampaiUkuranLog() {
+        // Arrange
+        LogPeristiwa log = new LogPeristiwa();
+        log.catatBukuDitambah(buku("1234567890", 2));
+        log.catatPinjam("1234567890", "A001");
+
+        // Act
+        ProyeksiKatalog proyeksi = ProyeksiKatalog.bangunUlang(log, 8, 2);
+        log.catatPinjam("1234567890", "A002");
+
+        // Assert
+        assertEquals(1, proyeksi.getJumlahTersedia("1234567890"));
+        assertTrue(proyeksi.getPinjamanAnggota("A002").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Jumlah partisi atau thread tidak valid ditolak")
+    void testParameterTidakValid() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ProyeksiKatalog(0));
+        assertThrows(IllegalArgumentException.class, () -> ProyeksiKatalog.bangunUlang(new LogPeristiwa(), 8, 0));
+    }
+}
@@ -0,0 +1,196 @@
+package com.praktikum.testing.peristiwa;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Service Perpustakaan Event-Sourced")
+class ServicePerpustakaanEventSourcedTest {
+
+    private MockRepositoryBuku repositori;
+    private ServicePerpustakaanEventSourced service;
+    private Anggota anggota;
+
+    @BeforeEach
+    void setUp() {
+        repositori = new MockRepositoryBuku();
+        repositori.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 2, 150000.0));
+        service = new ServicePerpustakaanEventSourced(repositori, new KalkulatorDenda(), true);
+        anggota = new Anggota("A001", "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    private Buku buku(String isbn, int jumlahTotal) {
+        return new Buku(isbn, "Algoritma", "Jane Doe", jumlahTotal, 99000.0);
+    }
+
+    @Test
+    @DisplayName("Katalog yang sudah ada dicatat sebagai peristiwa awal")
+    void testKatalogAwalDicatat() {
+        // Assert
+        assertEquals(1, service.getLog().ukuran());
+        assertEquals(Peristiwa.Jenis.BUKU_DITAMBAH, service.getLog().get(0).getJenis());
+        assertEquals(2, service.getJumlahTersedia("1234567890"));
+    }
+
+    @Test
+    @DisplayName("Setiap operasi yang berhasil menjadi satu peristiwa, yang gagal tidak dicatat")
+    void testOperasiDicatat() {
+        // Act
+        assertTrue(service.tambahBuku(buku("0987654321", 1)));
+        assertFalse(service.tambahBuku(buku("0987654321", 1)), "ISBN sudah ada");
+        assertTrue(service.pinjamBuku("0987654321", anggota));
+        assertFalse(service.pinjamBuku("0987654321", anggota), "Stok sudah habis");
+        assertTrue(service.kembalikanBuku("0987654321", anggota));
+        assertTrue(service.hapusBuku("0987654321"));
+
+        // Assert
+        List<Peristiwa.Jenis> jenis = new ArrayList<>();
+        service.getLog().untukSetiap(1, service.getLog().ukuran(), peristiwa -> jenis.add(peristiwa.getJenis()));
+        assertEquals(Arrays.asList(Peristiwa.Jenis.BUKU_DITAMBAH, Peristiwa.Jenis.DIPINJAM,
+                Peristiwa.Jenis.DIKEMBALIKAN, Peristiwa.Jenis.BUKU_DIHAPUS), jenis);
+        assertFalse(service.getProyeksi().getStatusBuku("0987654321").isPresent());
+    }
+
+    @Test
+    @DisplayName("Proyeksi mengikuti peminjaman dan pengembalian, termasuk lewat batch")
+    void testProyeksiMengikutiOperasi() {
+        // Arrange
+        service.tambahBukuBatch(Arrays.asList(buku("1111111111", 1), buku("2222222222", 1)));
+
+        // Act
+        service.pinjamBukuBatch(Arrays.asList("1234567890", "1111111111", "2222222222"), anggota);
+        service.kembalikanBukuBatch(List.of("1111111111"), anggota);
+
+        // Assert
+        ProyeksiKatalog proyeksi = service.getProyeksi();
+        assertEquals(1, service.getJumlahTersedia("1234567890"));
+        assertTrue(service.bukuTersedia("1111111111"));
+        assertFalse(service.bukuTersedia("2222222222"));
+        assertEquals(new StatusBuku(1, 1, 1, 1), proyeksi.getStatusBuku("1111111111").get());
+        assertEquals(List.of("1234567890", "2222222222"), proyeksi.getPinjamanAnggota("A001"));
+    }
+
+    @Test
+    @DisplayName("Ketersediaan dibaca dari peristiwa, bukan dari stok yang ditimpa langsung")
+    void testKetersediaanDariPeristiwa() {
+        // Arrange
+        assertTrue(service.pinjamBuku("1234567890", anggota));
+
+        // Act: stok di repository ditimpa tanpa lewat service
+        repositori.updateJumlahTersedia("1234567890", 0);
+
+        // Assert
+        assertEquals(1, service.getJumlahTersedia("1234567890"));
+        assertTrue(service.bukuTersedia("1234567890"));
+    }
+
+    @Test
+    @DisplayName("Bangun ulang proyeksi dari log menghasilkan view yang sama")
+    void testBangunUlangProyeksi() {
+        // Arrange
+        service.tambahBuku(buku("0987654321", 3));
+        service.pinjamBuku("1234567890", anggota);
+        service.pinjamBuku("0987654321", anggota);
+        service.kembalikanBuku("1234567890", anggota);
+        ProyeksiKatalog lama = service.getProyeksi();
+
+        // Act
+        ProyeksiKatalog baru = service.bangunUlangProyeksi(4);
+
+        // Assert
+        assertNotSame(lama, baru);
+        assertSame(baru, service.getProyeksi());
+        assertEquals(lama.salinStatusBuku(), baru.salinStatusBuku());
+        assertEquals(lama.salinPinjamanAnggota(), baru.salinPinjamanAnggota());
+        assertTrue(service.pinjamBuku("1234567890", anggota));
+        assertEquals(1, service.getJumlahTersedia("1234567890"), "Operasi setelah bangun ulang masuk ke proyeksi baru");
+    }
+
+    @Test
+    @DisplayName("Peminjaman paralel dan bangun ulang bersamaan tetap konsisten dengan log")
+    void testParalelDenganBangunUlang() throws Exception {
+        // Arrange
+        int jumlahAnggota = 8;
+        service.tambahBuku(buku("3333333333", 1_000));
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahAnggota + 1);
+
+        // Act
+        try {
+            List<Future<?>> daftarTugas = new ArrayList<>();
+            for (int t = 0; t < jumlahAnggota; t++) {
+                Anggota a = new Anggota(String.format("B%03d", t), "Anggota", "b" + t + "@mail.com",
+                        String.format("08120000%04d", t), Anggota.TipeAnggota.DOSEN);
+                daftarTugas.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        assertTrue(service.pinjamBuku("3333333333", a));
+                        assertTrue(service.kembalikanBuku("3333333333", a));
+                    }
+                    assertTrue(service.pinjamBuku("3333333333", a));
+                    return null;
+                }));
+            }
+            daftarTugas.add(executor.submit(() -> {
+                for (int i = 0; i < 20; i++) {
+                    service.bangunUlangProyeksi(2);
+                }
+                return null;
+            }));
+            for (Future<?> tugas : daftarTugas) {
+                tugas.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        ProyeksiKatalog proyeksi = service.getProyeksi();
+        ProyeksiKatalog dariLog = ProyeksiKatalog.bangunUlang(service.getLog(), 16, 1);
+        assertEquals(new StatusBuku(1_000, 1_000 - jumlahAnggota, jumlahAnggota * 201L, jumlahAnggota * 200L),
+                proyeksi.getStatusBuku("3333333333").get());
+        assertEquals(dariLog.salinStatusBuku(), proyeksi.salinStatusBuku());
+        assertEquals(dariLog.salinPinjamanAnggota(), proyeksi.salinPinjamanAnggota());
+    }
+
+    @Test
+    @DisplayName("Riwayat peristiwa bertahan setelah restart dan stok repository diselaraskan")
+    void testRiwayatBertahanSetelahRestart(@TempDir Path direktori) throws IOException {
+        // Arrange
+        Path berkas = direktori.resolve("peristiwa.log");
+        try (ServicePerpustakaanEventSourced sesiPertama = new ServicePerpustakaanEventSourced(
+                repositori, new KalkulatorDenda(), true, LogPeristiwa.buka(berkas, false))) {
+            assertTrue(sesiPertama.pinjamBuku("1234567890", anggota));
+        }
+
+        // Act: repository baru di memori, stoknya belum tahu tentang peminjaman
+        MockRepositoryBuku repositoriBaru = new MockRepositoryBuku();
+        repositoriBaru.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 2, 150000.0));
+        repositoriBaru.simpan(buku("0987654321", 1));
+        try (ServicePerpustakaanEventSourced sesiKedua = new ServicePerpustakaanEventSourced(
+                repositoriBaru, new KalkulatorDenda(), true, LogPeristiwa.buka(berkas, false))) {
+
+            // Assert
+            assertEquals(3, sesiKedua.getLog().ukuran(), "Dua peristiwa lama ditambah satu buku baru");
+            assertEquals(1, sesiKedua.getJumlahTersedia("1234567890"));
+            assertEquals(1, repositoriBaru.cariByIsbn("1234567890").get().getJumlahTersedia());
+            assertEquals(List.of("1234567890"), sesiKedua.getProyeksi().getPinjamanAnggota("A001"));
+            assertEquals(1, sesiKedua.getJumlahTersedia("0987654321"));
+        }
+    }
+}
\ No newline at end of file
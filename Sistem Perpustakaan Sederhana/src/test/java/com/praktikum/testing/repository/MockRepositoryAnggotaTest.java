@@ -0,0 +1,171 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Mock Repository Anggota - Indeks Unik")
+class MockRepositoryAnggotaTest {
+
+    private MockRepositoryAnggota repository;
+    private Anggota anggota1;
+    private Anggota anggota2;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MockRepositoryAnggota();
+
+        anggota1 = new Anggota("A001", "John Student", "John@Student.AC.ID",
+                "+62 812-3456-7890", Anggota.TipeAnggota.MAHASISWA);
+        anggota2 = new Anggota("A002", "Jane Dosen", "jane@dosen.ac.id",
+                "081298765432", Anggota.TipeAnggota.DOSEN);
+    }
+
+    @Test
+    @DisplayName("Simpan dan cari by ID, email, dan telepon dalam bentuk kanonik")
+    void testSimpanDanCari() {
+        // Act
+        boolean hasil = repository.simpan(anggota1);
+
+        // Assert
+        assertTrue(hasil);
+        assertSame(anggota1, repository.cariById("A001").orElse(null));
+        assertSame(anggota1, repository.cariByEmail("john@student.ac.id").orElse(null));
+        assertSame(anggota1, repository.cariByTelepon("0812 3456 7890").orElse(null));
+        assertTrue(repository.emailTerdaftar("JOHN@student.ac.id"));
+        assertTrue(repository.teleponTerdaftar("081234567890"));
+        assertFalse(repository.emailTerdaftar("jane@dosen.ac.id"));
+        assertFalse(repository.cariByEmail(null).isPresent());
+    }
+
+    @Test
+    @DisplayName("Anggota null, tanpa ID, atau dengan kontak tidak valid ditolak")
+    void testSimpanTidakValid() {
+        // Arrange
+        Anggota emailTidakValid = new Anggota("A003", "Budi", "budi-at-mail", "081200000000",
+                Anggota.TipeAnggota.UMUM);
+
+        // Act & Assert
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Anggota()));
+        assertFalse(repository.simpan(emailTidakValid));
+        assertTrue(repository.cariSemua().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Email atau telepon yang sudah dipakai anggota lain ditolak")
+    void testDuplikatDitolak() {
+        // Arrange
+        repository.simpan(anggota1);
+        Anggota emailSama = new Anggota("A003", "Budi", "JOHN@student.ac.id", "081200000000",
+                Anggota.TipeAnggota.UMUM);
+        Anggota teleponSama = new Anggota("A004", "Citra", "citra@mail.com", "0812-3456-7890",
+                Anggota.TipeAnggota.UMUM);
+
+        // Act & Assert
+        assertFalse(repository.simpan(emailSama));
+        assertFalse(repository.simpan(teleponSama));
+        assertTrue(repository.simpan(anggota1), "Simpan ulang anggota yang sama tetap boleh");
+        assertEquals(1, repository.cariSemua().size());
+        assertFalse(repository.teleponTerdaftar("081200000000"), "Pendaftaran gagal tidak meninggalkan indeks");
+    }
+
+    @Test
+    @DisplayName("Simpan ulang setelah setter memindahkan indeks ke kontak baru")
+    void testSimpanUlangSetelahSetter() {
+        // Arrange
+        repository.simpan(anggota1);
+        anggota1.setEmail("john.baru@student.ac.id");
+
+        // Act
+        boolean hasil = repository.simpan(anggota1);
+
+        // Assert
+        assertTrue(hasil);
+        assertFalse(repository.emailTerdaftar("john@student.ac.id"), "Email lama harus dilepas");
+        assertSame(anggota1, repository.cariByEmail("john.baru@student.ac.id").orElse(null));
+        assertTrue(repository.simpan(new Anggota("A003", "Budi", "john@student.ac.id", "081200000000",
+                Anggota.TipeAnggota.UMUM)), "Email lama boleh dipakai anggota lain");
+    }
+
+    @Test
+    @DisplayName("Ubah kontak mengubah indeks dan objek sekaligus, atau tidak sama sekali")
+    void testUbahKontak() {
+        // Arrange
+        repository.simpan(anggota1);
+        repository.simpan(anggota2);
+
+        // Act
+        boolean bentrok = repository.ubahKontak("A001", "john.baru@student.ac.id", "081298765432");
+        boolean berhasil = repository.ubahKontak("A001", "john.baru@student.ac.id", null);
+
+        // Assert
+        assertFalse(bentrok, "Telepon baru milik A002");
+        assertTrue(berhasil);
+        assertEquals("john.baru@student.ac.id", anggota1.getEmail());
+        assertEquals("+62 812-3456-7890", anggota1.getTelepon(), "Telepon tidak diubah");
+        assertFalse(repository.emailTerdaftar("john@student.ac.id"));
+        assertSame(anggota1, repository.cariByTelepon("081234567890").orElse(null));
+        assertSame(anggota2, repository.cariByTelepon("081298765432").orElse(null));
+        assertFalse(repository.ubahKontak("A999", "x@mail.com", null));
+        assertFalse(repository.ubahKontak("A001", "bukan-email", null));
+    }
+
+    @Test
+    @DisplayName("Hapus melepas semua indeks anggota")
+    void testHapus() {
+        // Arrange
+        repository.simpan(anggota1);
+
+        // Act
+        boolean hasil = repository.hapus("A001");
+
+        // Assert
+        assertTrue(hasil);
+        assertFalse(repository.hapus("A001"));
+        assertFalse(repository.cariById("A001").isPresent());
+        assertFalse(repository.emailTerdaftar("john@student.ac.id"));
+        assertFalse(repository.teleponTerdaftar("081234567890"));
+    }
+
+    @Test
+    @DisplayName("Pendaftaran bersamaan dengan email yang sama hanya berhasil sekali")
+    void testPendaftaranBersamaan() {
+        // Arrange
+        int jumlahThread = 32;
+        CountDownLatch mulai = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> daftarHasil = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < jumlahThread; i++) {
+            Anggota anggota = new Anggota(String.format("B%03d", i), "Pendaftar", "sama@mail.com",
+                    String.format("08120000%04d", i), Anggota.TipeAnggota.UMUM);
+            CompletableFuture<Boolean> hasil = new CompletableFuture<>();
+            Thread.startVirtualThread(() -> {
+                try {
+                    mulai.await();
+                    hasil.complete(repository.simpan(anggota));
+                } catch (InterruptedException e) {
+                    hasil.completeExceptionally(e);
+                }
+            });
+            daftarHasil.add(hasil);
+        }
+        mulai.countDown();
+
+        // Assert
+        long berhasil = daftarHasil.stream().filter(CompletableFuture::join).count();
+        assertEquals(1, berhasil);
+        assertEquals(1, repository.cariSemua().size());
+        String pemenang = repository.cariSemua().get(0).getTelepon();
+        assertSame(repository.cariSemua().get(0), repository.cariByTelepon(pemenang).orElse(null));
+    }
+}
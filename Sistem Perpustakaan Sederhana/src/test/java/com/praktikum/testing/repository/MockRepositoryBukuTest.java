@@ -5,8 +5,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -401,4 +413,384 @@ class MockRepositoryBukuTest {
         assertEquals(2, mockRepository.ukuran());
         assertTrue(mockRepository.mengandung("0987654321"));
     }
+
+    @Test
+    @DisplayName("Indeks trigram - hasil sama dengan pencarian scan")
+    void testIndeksTrigramHasilSamaDenganScan() {
+        // Arrange
+        MockRepositoryBuku repoTerindeks = new MockRepositoryBuku(true);
+        for (Buku buku : List.of(buku1, buku2, buku3)) {
+            mockRepository.simpan(buku);
+            repoTerindeks.simpan(buku);
+        }
+
+        // Act & Assert - query panjang, pendek (< 3 karakter), dan tidak ada
+        for (String query : List.of("Java", "jav", "ava adv", "a", "Struktur", "tidak ada", " JAVA ")) {
+            assertEquals(new HashSet<>(mockRepository.cariByJudul(query)),
+                    new HashSet<>(repoTerindeks.cariByJudul(query)), "Judul: " + query);
+            assertEquals(new HashSet<>(mockRepository.cariByPengarang(query)),
+                    new HashSet<>(repoTerindeks.cariByPengarang(query)), "Pengarang: " + query);
+        }
+    }
+
+    @Test
+    @DisplayName("Indeks trigram - trigram cocok tapi bukan substring tidak ikut hasil")
+    void testIndeksTrigramFalsePositiveDisaring() {
+        // Arrange - "abcxbcd" mengandung trigram "abc" dan "bcd" tapi tidak "abcd"
+        MockRepositoryBuku repoTerindeks = new MockRepositoryBuku(true);
+        repoTerindeks.simpan(new Buku("1234567890", "abcxbcd", "John Doe", 1, 1000.0));
+
+        // Act
+        List<Buku> hasil = repoTerindeks.cariByJudul("abcd");
+
+        // Assert
+        assertTrue(hasil.isEmpty(), "Kandidat trigram harus diverifikasi dengan contains");
+    }
+
+    @Test
+    @DisplayName("Indeks trigram - ikut terupdate saat overwrite dan hapus")
+    void testIndeksTrigramTerupdateSaatSimpanDanHapus() {
+        // Arrange
+        MockRepositoryBuku repoTerindeks = new MockRepositoryBuku(true);
+        repoTerindeks.simpan(buku1); // "Pemrograman Java"
+
+        // Act - overwrite dengan judul berbeda
+        repoTerindeks.simpan(new Buku("1234567890", "Basis Data", "Jane Smith", 5, 150000.0));
+
+        // Assert
+        assertTrue(repoTerindeks.cariByJudul("Java").isEmpty(), "Judul lama harus keluar dari indeks");
+        assertTrue(repoTerindeks.cariByPengarang("John").isEmpty(), "Pengarang lama harus keluar dari indeks");
+        assertEquals(1, repoTerindeks.cariByJudul("basis").size());
+
+        // Act - hapus
+        repoTerindeks.hapus("1234567890");
+
+        // Assert
+        assertTrue(repoTerindeks.cariByJudul("basis").isEmpty(), "Buku terhapus harus keluar dari indeks");
+    }
+
+    @Test
+    @DisplayName("Autocomplete judul - terurut alfabetis dan dibatasi limit")
+    void testAutocompleteJudulTerurutDanDibatasi() {
+        // Arrange
+        mockRepository.simpan(buku1); // "Pemrograman Java"
+        mockRepository.simpan(buku3); // "Java Advanced"
+        mockRepository.simpan(new Buku("2222222222", "Java Dasar", "Jane Smith", 2, 90000.0));
+        mockRepository.simpan(buku2); // "Algoritma dan Struktur Data"
+
+        // Act
+        List<Buku> hasil = mockRepository.autocompleteJudul("jav", 10);
+        List<Buku> hasilTerbatas = mockRepository.autocompleteJudul("JAVA", 1);
+
+        // Assert
+        assertEquals(2, hasil.size(), "Hanya judul yang diawali prefix");
+        assertEquals("Java Advanced", hasil.get(0).getJudul());
+        assertEquals("Java Dasar", hasil.get(1).getJudul());
+        assertEquals(1, hasilTerbatas.size(), "Jumlah hasil harus dibatasi limit");
+        assertEquals("Java Advanced", hasilTerbatas.get(0).getJudul());
+    }
+
+    @Test
+    @DisplayName("Autocomplete - konsisten dengan simpan overwrite dan hapus")
+    void testAutocompleteKonsistenDenganSimpanDanHapus() {
+        // Arrange
+        mockRepository.simpan(buku1); // John Doe
+        mockRepository.simpan(buku3); // John Doe
+
+        // Act - overwrite buku1 dengan pengarang lain, lalu hapus buku3
+        mockRepository.simpan(new Buku("1234567890", "Pemrograman Java", "Jane Smith", 5, 150000.0));
+        mockRepository.hapus("1111111111");
+
+        // Assert
+        assertTrue(mockRepository.autocompletePengarang("john", 10).isEmpty());
+        assertEquals(1, mockRepository.autocompletePengarang("jane", 10).size());
+        assertTrue(mockRepository.autocompleteJudul("java", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Autocomplete - prefix kosong, null, atau limit tidak valid harus empty")
+    void testAutocompleteInputTidakValid() {
+        // Arrange
+        mockRepository.simpan(buku1);
+
+        // Act & Assert
+        assertTrue(mockRepository.autocompleteJudul("", 5).isEmpty());
+        assertTrue(mockRepository.autocompleteJudul(null, 5).isEmpty());
+        assertTrue(mockRepository.autocompleteJudul("Pem", 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari semua dengan cursor - halaman berurutan tanpa duplikat")
+    void testCariSemuaDenganCursor() {
+        // Arrange
+        mockRepository.simpan(buku1); // 1234567890
+        mockRepository.simpan(buku2); // 0987654321
+        mockRepository.simpan(buku3); // 1111111111
+
+        // Act
+        List<Buku> halaman1 = mockRepository.cariSemua(null, 2);
+        String cursor = halaman1.get(halaman1.size() - 1).getIsbn();
+        List<Buku> halaman2 = mockRepository.cariSemua(cursor, 2);
+        List<Buku> halaman3 = mockRepository.cariSemua(halaman2.get(0).getIsbn(), 2);
+
+        // Assert
+        assertEquals(List.of(buku2, buku3), halaman1, "Halaman pertama urut ISBN");
+        assertEquals(List.of(buku1), halaman2, "Halaman kedua berisi sisa buku");
+        assertTrue(halaman3.isEmpty(), "Setelah halaman terakhir harus kosong");
+        assertTrue(mockRepository.cariSemua(null, 0).isEmpty(), "Ukuran halaman 0 harus kosong");
+    }
+
+    @Test
+    @DisplayName("Stream semua - lazy dan konsisten dengan hapus")
+    void testStreamSemua() {
+        // Arrange
+        mockRepository.simpan(buku1);
+        mockRepository.simpan(buku2);
+        mockRepository.simpan(buku3);
+        mockRepository.hapus("1111111111");
+
+        // Act
+        List<String> isbn = mockRepository.streamSemua()
+                .map(Buku::getIsbn)
+                .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(List.of("0987654321", "1234567890"), isbn);
+    }
+
+    @Test
+    @DisplayName("Kurangi dan tambah tersedia - tidak melewati batas 0 dan jumlah total")
+    void testKurangiDanTambahTersediaBatas() {
+        // Arrange
+        Buku buku = new Buku("1234567890", "Pemrograman Java", "John Doe", 1, 150000.0);
+        mockRepository.simpan(buku);
+
+        // Act & Assert
+        assertFalse(mockRepository.tambahTersedia("1234567890"), "Tidak boleh melebihi jumlah total");
+        assertTrue(mockRepository.kurangiTersedia("1234567890"));
+        assertFalse(mockRepository.kurangiTersedia("1234567890"), "Stok habis harus gagal");
+        assertEquals(0, buku.getJumlahTersedia());
+        assertTrue(mockRepository.tambahTersedia("1234567890"));
+        assertEquals(1, buku.getJumlahTersedia());
+        assertFalse(mockRepository.kurangiTersedia("9999999999"), "Buku tidak ada harus gagal");
+        assertFalse(mockRepository.tambahTersedia(null));
+    }
+
+    @Test
+    @DisplayName("Kurangi tersedia konkuren - tidak terjadi overbooking")
+    void testKurangiTersediaKonkurenTidakOverbooking() throws InterruptedException {
+        // Arrange - 10 salinan diperebutkan 1000 peminjam
+        mockRepository.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 10, 150000.0));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch mulai = new CountDownLatch(1);
+        AtomicInteger berhasil = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                mulai.await();
+                if (mockRepository.kurangiTersedia("1234567890")) {
+                    berhasil.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(10, berhasil.get(), "Hanya 10 peminjaman yang boleh berhasil");
+        assertEquals(0, mockRepository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Simpan batch dan cari by ISBN batch")
+    void testSimpanDanCariBatch() {
+        // Act
+        List<Boolean> hasil = mockRepository.simpanBatch(Arrays.asList(buku1, null, buku2));
+        Map<String, Buku> ditemukan = mockRepository.cariByIsbnBatch(List.of("1234567890", "0987654321", "9999999999"));
+
+        // Assert
+        assertEquals(List.of(true, false, true), hasil);
+        assertEquals(2, mockRepository.ukuran());
+        assertEquals(2, ditemukan.size(), "Hanya ISBN yang ditemukan yang masuk hasil");
+        assertEquals(1, mockRepository.autocompleteJudul("pemrograman", 5).size(), "Indeks ikut terupdate");
+    }
+
+    @Test
+    @DisplayName("Mode kunci primitif - perilaku sama dengan mode ConcurrentHashMap")
+    void testModeKunciPrimitifSamaDenganDefault() {
+        // Arrange
+        MockRepositoryBuku repoPrimitif = new MockRepositoryBuku(false, true);
+        Buku bukuIsbnStrip = new Buku("978-0-306-40615-7", "Buku Strip", "Jane Smith", 2, 50000.0);
+        for (Buku buku : List.of(buku1, buku2, buku3, bukuIsbnStrip)) {
+            assertTrue(repoPrimitif.simpan(buku));
+        }
+
+        // Act & Assert
+        assertSame(buku1, repoPrimitif.cariByIsbn("1234567890").orElseThrow());
+        assertSame(bukuIsbnStrip, repoPrimitif.cariByIsbn("978-0-306-40615-7").orElseThrow());
+        assertFalse(repoPrimitif.cariByIsbn("234567890").isPresent());
+        assertTrue(repoPrimitif.updateJumlahTersedia("1234567890", 2));
+        assertEquals(2, buku1.getJumlahTersedia());
+        assertTrue(repoPrimitif.kurangiTersedia("0987654321"));
+        assertEquals(1, repoPrimitif.cariByJudul("java adv").size());
+        assertEquals(4, repoPrimitif.cariSemua().size());
+
+        assertTrue(repoPrimitif.hapus("1234567890"));
+        assertFalse(repoPrimitif.hapus("1234567890"));
+        assertTrue(repoPrimitif.hapus("978-0-306-40615-7"));
+        assertEquals(2, repoPrimitif.ukuran());
+        assertFalse(repoPrimitif.mengandung("1234567890"));
+
+        repoPrimitif.bersihkan();
+        assertEquals(0, repoPrimitif.ukuran());
+    }
+
+    @Test
+    @DisplayName("Batch dengan ISBN ganda hanya mengindeks buku terakhir")
+    void testSimpanBatchIsbnGandaIndeksBersih() {
+        // Arrange
+        Buku versiLama = new Buku("1234567890", "Judul Lama", "Penulis Lama", 1, 1000.0);
+        Buku versiBaru = new Buku("1234567890", "Judul Baru", "Penulis Baru", 1, 1000.0);
+
+        // Act
+        mockRepository.simpanBatch(Arrays.asList(versiLama, buku2, versiBaru));
+
+        // Assert
+        assertSame(versiBaru, mockRepository.cariByIsbn("1234567890").get());
+        assertTrue(mockRepository.autocompleteJudul("Judul Lama", 10).isEmpty(), "Versi lama tidak boleh tertinggal di indeks");
+        assertTrue(mockRepository.autocompletePengarang("Penulis Lama", 10).isEmpty());
+        assertEquals(List.of(versiBaru), mockRepository.autocompleteJudul("judul", 10));
+        assertEquals(2, mockRepository.cariSemua(null, 10).size());
+    }
+
+    @Test
+    @DisplayName("Indeks prefix opsional - hasil autocomplete sama dengan scan")
+    void testIndeksPrefiksSamaDenganScan() {
+        // Arrange
+        MockRepositoryBuku repoPrefiks = new MockRepositoryBuku(false, false, true);
+        String[] kata = {"Java", "jaringan", "Algoritma", "al", "Basis Data", "basis"};
+        Random acak = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            Buku buku = new Buku(String.format("%010d", acak.nextInt(1000)),
+                    kata[acak.nextInt(kata.length)] + " " + i, kata[acak.nextInt(kata.length)], 1, 1000.0);
+            mockRepository.simpan(buku);
+            repoPrefiks.simpan(buku);
+        }
+        for (int i = 0; i < 50; i++) {
+            String isbn = String.format("%010d", acak.nextInt(1000));
+            mockRepository.hapus(isbn);
+            repoPrefiks.hapus(isbn);
+        }
+
+        // Act & Assert
+        for (String prefix : new String[]{"j", "JA", "al", "basis d", "x", " java"}) {
+            assertEquals(mockRepository.autocompleteJudul(prefix, 7), repoPrefiks.autocompleteJudul(prefix, 7), prefix);
+            assertEquals(mockRepository.autocompletePengarang(prefix, 7),
+                    repoPrefiks.autocompletePengarang(prefix, 7), prefix);
+        }
+    }
+
+    @Test
+    @DisplayName("Simpan dan hapus konkuren - urutan ISBN untuk cursor tetap sama dengan isi map")
+    void testSimpanHapusKonkurenKonsisten() throws Exception {
+        // Arrange
+        MockRepositoryBuku repo = new MockRepositoryBuku(true, false, true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> daftarTugas = new ArrayList<>();
+
+        // Act: setiap thread mengubah ISBN yang sama berulang kali
+        for (int t = 0; t < 4; t++) {
+            int benih = t;
+            daftarTugas.add(executor.submit(() -> {
+                Random acak = new Random(benih);
+                for (int i = 0; i < 5_000; i++) {
+                    String isbn = String.format("%010d", acak.nextInt(50));
+                    if (acak.nextBoolean()) {
+                        repo.simpan(new Buku(isbn, "Judul " + isbn, "Pengarang", 1, 1000.0));
+                    } else {
+                        repo.hapus(isbn);
+                    }
+                }
+            }));
+        }
+        for (Future<?> tugas : daftarTugas) {
+            tugas.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        List<String> isbnMap = repo.cariSemua().stream().map(Buku::getIsbn).sorted().collect(Collectors.toList());
+        List<String> isbnCursor = repo.cariSemua(null, 100).stream().map(Buku::getIsbn).collect(Collectors.toList());
+        assertEquals(isbnMap, isbnCursor);
+        assertEquals(isbnMap.size(), repo.autocompleteJudul("judul", 100).size());
+        assertEquals(isbnMap.size(), repo.cariByJudul("judul").size());
+    }
+
+    @Test
+    @DisplayName("Mode kunci primitif - cursor dan stream berurutan sama dengan mode default")
+    void testModeKunciPrimitifCursorSamaDenganDefault() {
+        // Arrange: campuran ISBN angka berbagai panjang, nol di depan, dan ISBN bukan angka
+        MockRepositoryBuku repoPrimitif = new MockRepositoryBuku(false, true);
+        Random acak = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            String isbn = switch (i % 4) {
+                case 0 -> Long.toString(acak.nextInt(1_000_000));
+                case 1 -> String.format("%010d", acak.nextInt(100_000));
+                case 2 -> "978-" + acak.nextInt(1000);
+                default -> Long.toString(9_780_000_000_000L + acak.nextInt(1_000_000));
+            };
+            Buku buku = new Buku(isbn, "Judul " + i, "Pengarang", 1, 1000.0);
+            mockRepository.simpan(buku);
+            repoPrimitif.simpan(buku);
+        }
+        List<String> semua = mockRepository.streamSemua().map(Buku::getIsbn).collect(Collectors.toList());
+        for (int i = 0; i < semua.size(); i += 3) {
+            mockRepository.hapus(semua.get(i));
+            repoPrimitif.hapus(semua.get(i));
+        }
+
+        // Act & Assert
+        assertEquals(mockRepository.streamSemua().map(Buku::getIsbn).collect(Collectors.toList()),
+                repoPrimitif.streamSemua().map(Buku::getIsbn).collect(Collectors.toList()));
+        for (String cursor : new String[]{null, "", "1", "5000", "0000000500", "978-5", "9780000500000", "~"}) {
+            assertEquals(mockRepository.cariSemua(cursor, 300), repoPrimitif.cariSemua(cursor, 300), cursor);
+        }
+    }
+
+    @Test
+    @DisplayName("Indeks trigram dan prefix - judul diubah lalu simpan ulang, hasil sama dengan scan")
+    void testIndeksMengikutiPerubahanTeksSetelahSimpanUlang() {
+        // Arrange
+        MockRepositoryBuku repoTerindeks = new MockRepositoryBuku(true, false, true);
+        Buku bukuTerindeks = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0);
+        repoTerindeks.simpan(bukuTerindeks);
+        mockRepository.simpan(buku1);
+
+        // Act - teks diubah lewat setter, lalu disimpan ulang (objek yang sama)
+        bukuTerindeks.setJudul("Basis Data");
+        bukuTerindeks.setPengarang("Jane Smith");
+        buku1.setJudul("Basis Data");
+        buku1.setPengarang("Jane Smith");
+        repoTerindeks.simpan(bukuTerindeks);
+        mockRepository.simpan(buku1);
+
+        // Assert - posting teks lama ikut terhapus, teks baru terindeks
+        for (String query : List.of("Java", "basis", "Jane", "John", "da")) {
+            assertEquals(mockRepository.cariByJudul(query), repoTerindeks.cariByJudul(query), "Judul: " + query);
+            assertEquals(mockRepository.cariByPengarang(query), repoTerindeks.cariByPengarang(query),
+                    "Pengarang: " + query);
+            assertEquals(mockRepository.autocompleteJudul(query, 5), repoTerindeks.autocompleteJudul(query, 5),
+                    "Autocomplete: " + query);
+        }
+        assertEquals(1, repoTerindeks.autocompleteJudul("basis", 5).size());
+        assertTrue(repoTerindeks.autocompleteJudul("pemrograman", 5).isEmpty());
+
+        // Hapus memakai teks terindeks, jadi tidak ada entri yang tertinggal
+        repoTerindeks.hapus("1234567890");
+        assertTrue(repoTerindeks.autocompleteJudul("b", 5).isEmpty());
+        assertTrue(repoTerindeks.cariByJudul("basis").isEmpty());
+    }
 }
\ No newline at end of file
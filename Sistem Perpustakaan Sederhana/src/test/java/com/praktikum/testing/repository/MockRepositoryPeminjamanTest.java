@@ -0,0 +1,172 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Peminjaman;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Mock Repository Peminjaman - Indeks Sekunder")
+class MockRepositoryPeminjamanTest {
+
+    private static final LocalDate HARI_INI = LocalDate.of(2024, 5, 10);
+
+    private MockRepositoryPeminjaman repository;
+    private Peminjaman pinjam1;
+    private Peminjaman pinjam2;
+    private Peminjaman pinjam3;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MockRepositoryPeminjaman();
+
+        pinjam1 = new Peminjaman("P001", "A001", "1234567890", HARI_INI.minusDays(7), HARI_INI);
+        pinjam2 = new Peminjaman("P002", "A001", "0987654321", HARI_INI.minusDays(3), HARI_INI.plusDays(4));
+        pinjam3 = new Peminjaman("P003", "A002", "1234567890", HARI_INI.minusDays(1), HARI_INI.plusDays(6));
+    }
+
+    @Test
+    @DisplayName("Simpan dan cari by ID")
+    void testSimpanDanCariById() {
+        // Act
+        boolean hasil = repository.simpan(pinjam1);
+
+        // Assert
+        assertTrue(hasil);
+        assertEquals(pinjam1, repository.cariById("P001").orElse(null));
+        assertFalse(repository.cariById("P999").isPresent());
+        assertFalse(repository.simpan(null), "Peminjaman null harus gagal");
+        assertFalse(repository.simpan(new Peminjaman()), "Peminjaman tanpa ID harus gagal");
+    }
+
+    @Test
+    @DisplayName("Cari by anggota dan ISBN lewat indeks")
+    void testCariByAnggotaDanIsbn() {
+        // Arrange
+        repository.simpan(pinjam1);
+        repository.simpan(pinjam2);
+        repository.simpan(pinjam3);
+
+        // Act
+        List<Peminjaman> milikA001 = repository.cariByAnggota("A001");
+        List<Peminjaman> pemegangIsbn = repository.cariByIsbn("1234567890");
+
+        // Assert
+        assertEquals(2, milikA001.size());
+        assertTrue(milikA001.containsAll(List.of(pinjam1, pinjam2)));
+        assertEquals(2, pemegangIsbn.size());
+        assertTrue(pemegangIsbn.containsAll(List.of(pinjam1, pinjam3)));
+        assertTrue(repository.cariByAnggota("A999").isEmpty());
+        assertTrue(repository.cariByIsbn(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari by rentang jatuh tempo (inklusif)")
+    void testCariByJatuhTempo() {
+        // Arrange
+        repository.simpan(pinjam1); // Jatuh tempo hari ini
+        repository.simpan(pinjam2); // +4 hari
+        repository.simpan(pinjam3); // +6 hari
+
+        // Act & Assert
+        assertEquals(List.of(pinjam1, pinjam2), repository.cariByJatuhTempo(HARI_INI, HARI_INI.plusDays(4)));
+        assertEquals(List.of(pinjam3), repository.cariByJatuhTempo(HARI_INI.plusDays(5), HARI_INI.plusDays(30)));
+        assertTrue(repository.cariByJatuhTempo(HARI_INI.plusDays(1), HARI_INI).isEmpty(), "Rentang terbalik");
+    }
+
+    @Test
+    @DisplayName("Simpan ulang setelah data berubah - indeks lama dibersihkan")
+    void testSimpanUlangMemperbaruiIndeks() {
+        // Arrange
+        repository.simpan(pinjam1);
+
+        // Act - objek yang sama diubah lewat setter lalu disimpan ulang
+        pinjam1.setIdAnggota("A002");
+        pinjam1.setTanggalJatuhTempo(HARI_INI.plusDays(10));
+        repository.simpan(pinjam1);
+
+        // Assert
+        assertTrue(repository.cariByAnggota("A001").isEmpty(), "Indeks anggota lama harus dihapus");
+        assertTrue(repository.cariByJatuhTempo(HARI_INI, HARI_INI).isEmpty(), "Indeks tanggal lama harus dihapus");
+        assertEquals(List.of(pinjam1), repository.cariByAnggota("A002"));
+        assertEquals(1, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Hapus peminjaman - keluar dari semua indeks")
+    void testHapus() {
+        // Arrange
+        repository.simpan(pinjam1);
+        repository.simpan(pinjam3);
+
+        // Act
+        boolean hasil = repository.hapus("P001");
+
+        // Assert
+        assertTrue(hasil);
+        assertFalse(repository.hapus("P001"), "Hapus kedua kali harus gagal");
+        assertEquals(List.of(pinjam3), repository.cariByIsbn("1234567890"));
+        assertTrue(repository.cariByAnggota("A001").isEmpty());
+        assertTrue(repository.cariByJatuhTempo(HARI_INI, HARI_INI).isEmpty());
+        assertEquals(1, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Cari terlambat - hanya peminjaman terbuka dengan jatuh tempo sebelum tanggal")
+    void testCariTerlambat() {
+        // Arrange
+        repository.simpan(pinjam1); // Jatuh tempo hari ini
+        repository.simpan(pinjam2); // +4 hari
+        repository.simpan(pinjam3); // +6 hari
+
+        // Act & Assert
+        assertTrue(repository.cariTerlambat(HARI_INI).isEmpty(), "Jatuh tempo hari ini belum terlambat");
+        assertEquals(List.of(pinjam1), repository.cariTerlambat(HARI_INI.plusDays(1)));
+        assertEquals(List.of(pinjam1, pinjam2, pinjam3), repository.cariTerlambat(HARI_INI.plusDays(7)),
+                "Urut dari jatuh tempo paling lama");
+    }
+
+    @Test
+    @DisplayName("Tandai dikembalikan - keluar dari indeks keterlambatan")
+    void testTandaiDikembalikan() {
+        // Arrange
+        repository.simpan(pinjam1);
+        repository.simpan(pinjam2);
+
+        // Act
+        boolean hasil = repository.tandaiDikembalikan("P001", HARI_INI.plusDays(2));
+
+        // Assert
+        assertTrue(hasil);
+        assertTrue(pinjam1.isSudahDikembalikan());
+        assertEquals(HARI_INI.plusDays(2), pinjam1.getTanggalKembali());
+        assertEquals(List.of(pinjam2), repository.cariTerlambat(HARI_INI.plusDays(30)));
+        assertFalse(repository.tandaiDikembalikan("P001", HARI_INI), "Tidak boleh dikembalikan dua kali");
+        assertFalse(repository.tandaiDikembalikan("P999", HARI_INI));
+
+        // Peminjaman yang disimpan dalam keadaan sudah kembali tidak masuk indeks
+        repository.hapus("P002");
+        pinjam3.setSudahDikembalikan(true);
+        repository.simpan(pinjam3);
+        assertTrue(repository.cariTerlambat(HARI_INI.plusDays(30)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Bucket jatuh tempo yang sudah kosong dipakai ulang oleh peminjaman baru")
+    void testBucketKosongDipakaiUlang() {
+        // Arrange
+        repository.simpan(pinjam1);
+        repository.tandaiDikembalikan("P001", HARI_INI);
+        Peminjaman pinjamBaru = new Peminjaman("P004", "A003", "1111111111", HARI_INI.minusDays(7), HARI_INI);
+
+        // Act
+        repository.simpan(pinjamBaru);
+
+        // Assert
+        assertEquals(List.of(pinjamBaru), repository.cariTerlambat(HARI_INI.plusDays(1)));
+    }
+}
\ No newline at end of file
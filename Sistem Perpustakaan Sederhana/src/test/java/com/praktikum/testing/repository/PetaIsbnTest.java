@@ -0,0 +1,112 @@
+package com.praktikum.testing.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Peta ISBN - Map Open Addressing Primitif")
+class PetaIsbnTest {
+
+    @Test
+    @DisplayName("Operasi dasar sama dengan HashMap, termasuk ISBN bukan angka")
+    void testSamaDenganHashMap() {
+        // Arrange
+        PetaIsbn<Integer> peta = new PetaIsbn<>();
+        Map<String, Integer> pembanding = new HashMap<>();
+        Random random = new Random(7);
+
+        // Act - campuran put/remove acak, termasuk kunci dengan nol di depan dan tanda hubung
+        for (int n = 0; n < 50_000; n++) {
+            int angka = random.nextInt(2_000);
+            String isbn = switch (angka % 3) {
+                case 0 -> String.format("%010d", angka);
+                case 1 -> "978" + angka;
+                default -> "ISBN-" + angka;
+            };
+            if (random.nextInt(3) == 0) {
+                assertEquals(pembanding.remove(isbn), peta.remove(isbn), "remove " + isbn);
+            } else {
+                assertEquals(pembanding.put(isbn, n), peta.put(isbn, n), "put " + isbn);
+            }
+        }
+
+        // Assert
+        assertEquals(pembanding.size(), peta.size());
+        assertEquals(pembanding, new HashMap<>(peta), "entrySet harus mengembalikan ISBN asli");
+        assertEquals(new HashSet<>(pembanding.values()), new HashSet<>(peta.values()));
+        assertNull(peta.get("0000000000000"), "Kunci yang tidak pernah disimpan");
+        assertNull(peta.get(42));
+    }
+
+    @Test
+    @DisplayName("Clear mengosongkan tabel primitif dan map fallback")
+    void testClear() {
+        // Arrange
+        PetaIsbn<String> peta = new PetaIsbn<>();
+        peta.put("1234567890", "a");
+        peta.put("123-456", "b");
+
+        // Act
+        peta.clear();
+
+        // Assert
+        assertEquals(0, peta.size());
+        assertFalse(peta.containsKey("1234567890"));
+        assertFalse(peta.values().iterator().hasNext());
+        assertThrows(NullPointerException.class, () -> peta.put("1234567890", null));
+    }
+
+    @Test
+    @DisplayName("Pembaca konkuren tidak kehilangan kunci selama resize dan hapus")
+    void testBacaKonkurenSaatTulis() throws InterruptedException {
+        // Arrange - kunci tetap yang tidak pernah dihapus
+        PetaIsbn<String> peta = new PetaIsbn<>();
+        for (int i = 0; i < 100; i++) {
+            peta.put(tetap(i), "tetap");
+        }
+        AtomicBoolean selesai = new AtomicBoolean();
+        AtomicInteger hilang = new AtomicInteger();
+
+        Thread[] pembaca = new Thread[4];
+        for (int t = 0; t < pembaca.length; t++) {
+            pembaca[t] = new Thread(() -> {
+                while (!selesai.get()) {
+                    for (int i = 0; i < 100; i++) {
+                        if (!"tetap".equals(peta.get(tetap(i)))) {
+                            hilang.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            pembaca[t].start();
+        }
+
+        // Act - penulis menambah dan menghapus banyak kunci lain (memicu resize berkali-kali)
+        for (int i = 0; i < 200_000; i++) {
+            peta.put(Integer.toString(1_000_000 + i), "sementara");
+            if (i % 2 == 0) {
+                peta.remove(Integer.toString(1_000_000 + i));
+            }
+        }
+        selesai.set(true);
+        for (Thread t : pembaca) {
+            t.join();
+        }
+
+        // Assert
+        assertEquals(0, hilang.get(), "Kunci yang tidak dihapus harus selalu terlihat");
+        assertEquals(100 + 100_000, peta.size());
+    }
+
+    private static String tetap(int i) {
+        return "97800000" + String.format("%05d", i);
+    }
+}
@@ -0,0 +1,84 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Repositori Buku Async Adapter")
+class RepositoriBukuAsyncAdapterTest {
+
+    private MockRepositoryBuku repositori;
+    private RepositoriBukuAsync repositoriAsync;
+
+    @BeforeEach
+    void setUp() {
+        repositori = new MockRepositoryBuku();
+        repositoriAsync = new RepositoriBukuAsyncAdapter(repositori);
+    }
+
+    @Test
+    @DisplayName("Operasi async memberi hasil yang sama dengan repository sinkron")
+    void testHasilSamaDenganSinkron() {
+        // Arrange
+        Buku buku = new Buku("1234567890", "Pemrograman Java", "John Doe", 2, 150000.0);
+
+        // Act & Assert
+        assertTrue(repositoriAsync.simpan(buku).join());
+        assertSame(buku, repositoriAsync.cariByIsbn("1234567890").join().get());
+        assertEquals(1, repositoriAsync.cariByJudul("java").join().size());
+        assertEquals(Arrays.asList(true, true, false),
+                repositoriAsync.kurangiTersediaBatch(Arrays.asList("1234567890", "1234567890", "1234567890")).join());
+        assertTrue(repositoriAsync.tambahTersedia("1234567890").join());
+        assertEquals(1, repositori.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertEquals(Map.of("1234567890", buku),
+                repositoriAsync.cariByIsbnBatch(List.of("1234567890", "9999999999")).join());
+    }
+
+    @Test
+    @DisplayName("Pemanggil tidak menunggu storage yang lambat")
+    void testTidakMemblokirPemanggil() throws Exception {
+        // Arrange
+        CountDownLatch storageSelesai = new CountDownLatch(1);
+        RepositoriBuku lambat = mock(RepositoriBuku.class);
+        when(lambat.kurangiTersedia("1234567890")).thenAnswer(invocation -> {
+            storageSelesai.await();
+            return true;
+        });
+        RepositoriBukuAsync async = new RepositoriBukuAsyncAdapter(lambat);
+
+        // Act
+        CompletableFuture<Boolean> hasil = async.kurangiTersedia("1234567890");
+
+        // Assert
+        assertFalse(hasil.isDone(), "Future harus langsung kembali walau storage belum menjawab");
+        storageSelesai.countDown();
+        assertTrue(hasil.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Exception storage diteruskan lewat future")
+    void testExceptionDiteruskan() {
+        // Arrange
+        RepositoriBuku rusak = mock(RepositoriBuku.class);
+        when(rusak.hapus("1234567890")).thenThrow(new IllegalStateException("Koneksi terputus"));
+        RepositoriBukuAsync async = new RepositoriBukuAsyncAdapter(rusak, Runnable::run);
+
+        // Act
+        CompletionException galat = assertThrows(CompletionException.class, () -> async.hapus("1234567890").join());
+
+        // Assert
+        assertInstanceOf(IllegalStateException.class, galat.getCause());
+    }
+}
@@ -0,0 +1,192 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.io.UncheckedIOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repositori Buku Berkas - Log dan Snapshot")
+class RepositoriBukuBerkasTest {
+
+    @TempDir
+    Path direktori;
+
+    private Buku buatBuku(String isbn, String judul, int jumlahTotal) {
+        return new Buku(isbn, judul, "John Doe", jumlahTotal, 150000.0);
+    }
+
+    @Test
+    @DisplayName("Mutasi tetap ada setelah repository dibuka ulang (replay log)")
+    void testMutasiBertahanSetelahRestart() throws IOException {
+        // Arrange & Act
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            repo.simpan(buatBuku("1234567890", "Pemrograman Java", 5));
+            repo.simpan(buatBuku("0987654321", "Algoritma", 3));
+            repo.simpan(buatBuku("1111111111", "Basis Data", 2));
+            repo.updateJumlahTersedia("1234567890", 3);
+            repo.kurangiTersedia("0987654321");
+            repo.hapus("1111111111");
+        }
+
+        // Assert
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            assertEquals(2, repo.ukuran());
+            assertEquals(3, repo.cariByIsbn("1234567890").get().getJumlahTersedia());
+            assertEquals(2, repo.cariByIsbn("0987654321").get().getJumlahTersedia());
+            assertFalse(repo.cariByIsbn("1111111111").isPresent(), "Buku terhapus tidak boleh kembali");
+            assertEquals(1, repo.cariByJudul("java").size(), "Indeks pencarian harus ikut terbangun");
+        }
+    }
+
+    @Test
+    @DisplayName("Kompaksi menulis snapshot dan log dimulai ulang")
+    void testKompaksiDanStartupDariSnapshot() throws IOException {
+        // Arrange
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            repo.simpan(buatBuku("1234567890", "Pemrograman Java", 5));
+            repo.kurangiTersedia("1234567890");
+
+            // Act
+            repo.kompaksi();
+            repo.tambahTersedia("1234567890"); // Masuk ke ekor log setelah snapshot
+
+            assertEquals(1, repo.getJumlahRecordLog(), "Log harus berisi mutasi setelah kompaksi saja");
+        }
+
+        // Assert
+        assertTrue(Files.exists(direktori.resolve(RepositoriBukuBerkas.NAMA_SNAPSHOT)));
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            assertEquals(1, repo.getJumlahRecordLog(), "Hanya ekor log yang di-replay");
+            assertEquals(5, repo.cariByIsbn("1234567890").get().getJumlahTersedia());
+        }
+    }
+
+    @Test
+    @DisplayName("Kompaksi otomatis setelah batas record log")
+    void testKompaksiOtomatis() throws IOException {
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori, 3, false)) {
+            repo.simpan(buatBuku("1234567890", "Pemrograman Java", 5));
+            repo.kurangiTersedia("1234567890");
+            repo.kurangiTersedia("1234567890"); // Record ke-3 memicu kompaksi
+
+            assertEquals(0, repo.getJumlahRecordLog());
+        }
+
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori, 3, false)) {
+            assertEquals(3, repo.cariByIsbn("1234567890").get().getJumlahTersedia());
+        }
+    }
+
+    @Test
+    @DisplayName("Ekor log yang terpotong diabaikan saat startup")
+    void testEkorLogTerpotongDiabaikan() throws IOException {
+        // Arrange
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            repo.simpan(buatBuku("1234567890", "Pemrograman Java", 5));
+        }
+        // Simulasi crash di tengah penulisan record berikutnya
+        Files.write(direktori.resolve(RepositoriBukuBerkas.NAMA_LOG), new byte[]{0, 0, 0, 40, 1, 2},
+                StandardOpenOption.APPEND);
+
+        // Act
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            Optional<Buku> buku = repo.cariByIsbn("1234567890");
+
+            // Assert
+            assertTrue(buku.isPresent(), "Record utuh sebelum ekor rusak harus tetap dimuat");
+            assertTrue(repo.simpan(buatBuku("0987654321", "Algoritma", 3)));
+        }
+
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            assertEquals(2, repo.ukuran(), "Log harus bisa ditulis lagi setelah ekor dibuang");
+        }
+    }
+
+    @Test
+    @DisplayName("Panjang record rusak yang melebihi sisa file dianggap akhir log")
+    void testPanjangRecordRusakDiabaikan() throws IOException {
+        // Arrange
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            repo.simpan(buatBuku("1234567890", "Pemrograman Java", 5));
+        }
+        // Field panjang rusak menjadi hampir 2 GB; tanpa cek ini startup mencoba alokasi sebesar itu
+        Files.write(direktori.resolve(RepositoriBukuBerkas.NAMA_LOG), new byte[]{0x7F, -1, -1, -16, 0, 0, 0, 0, 1},
+                StandardOpenOption.APPEND);
+
+        // Act
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            // Assert
+            assertEquals(1, repo.ukuran());
+            assertTrue(repo.simpan(buatBuku("0987654321", "Algoritma", 3)));
+        }
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            assertEquals(2, repo.ukuran(), "Ekor rusak harus dipotong sebelum log ditulis lagi");
+        }
+    }
+
+    @Test
+    @DisplayName("Operasi yang gagal tidak ditulis ke log")
+    void testOperasiGagalTidakDitulis() throws IOException {
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori)) {
+            assertFalse(repo.simpan(null));
+            assertFalse(repo.hapus("9999999999"));
+            assertFalse(repo.kurangiTersedia("9999999999"));
+            assertFalse(repo.updateJumlahTersedia("9999999999", 1));
+
+            assertEquals(0, repo.getJumlahRecordLog());
+        }
+    }
+
+    @Test
+    @DisplayName("Gagal menulis log tidak mengubah jumlah tersedia di memori")
+    void testGagalTulisLogTidakMengubahMemori() throws IOException {
+        // Arrange
+        RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori);
+        repo.simpan(buatBuku("1234567890", "Pemrograman Java", 5));
+        repo.kurangiTersedia("1234567890");
+        repo.close(); // Setelah ditutup setiap penulisan log gagal
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () -> repo.kurangiTersedia("1234567890"));
+        assertThrows(UncheckedIOException.class, () -> repo.tambahTersedia("1234567890"));
+        assertThrows(UncheckedIOException.class, () -> repo.updateJumlahTersedia("1234567890", 1));
+        assertEquals(4, repo.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Kompaksi otomatis yang gagal tidak menggagalkan tulisan dan log lama tetap dipakai")
+    void testKompaksiGagalLogLamaTetapDipakai() throws IOException {
+        // Arrange: direktori dengan nama file sementara snapshot membuat kompaksi gagal
+        Path penghalang = Files.createDirectory(direktori.resolve(RepositoriBukuBerkas.NAMA_SNAPSHOT + ".tmp"));
+
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori, 2, false)) {
+            // Act
+            assertTrue(repo.simpan(buatBuku("1234567890", "Pemrograman Java", 5)));
+            assertTrue(repo.kurangiTersedia("1234567890"), "Record ke-2 memicu kompaksi yang gagal");
+            assertTrue(repo.kurangiTersedia("1234567890"));
+
+            // Assert
+            assertNotNull(repo.getGalatKompaksiTerakhir());
+            assertEquals(3, repo.getJumlahRecordLog(), "Log lama tetap menerima record");
+            assertFalse(Files.exists(direktori.resolve(RepositoriBukuBerkas.NAMA_LOG + ".tmp")));
+
+            Files.delete(penghalang);
+            assertTrue(repo.kurangiTersedia("1234567890"), "Record ke-4 mencoba kompaksi lagi");
+            assertNull(repo.getGalatKompaksiTerakhir());
+            assertEquals(0, repo.getJumlahRecordLog());
+        }
+
+        try (RepositoriBukuBerkas repo = new RepositoriBukuBerkas(direktori, 2, false)) {
+            assertEquals(2, repo.cariByIsbn("1234567890").get().getJumlahTersedia());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Test Repositori Buku Cache - Read-through dan Eviction")
+class RepositoriBukuCacheTest {
+
+    @Mock
+    private RepositoriBuku mockRepositori;
+
+    private Buku buku1;
+    private Buku buku2;
+
+    @BeforeEach
+    void setUp() {
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 120000.0);
+    }
+
+    @Test
+    @DisplayName("Pencarian kedua dilayani dari cache tanpa ke repository asli")
+    void testCariByIsbnHitSetelahMiss() {
+        // Arrange
+        RepositoriBukuCache cache = new RepositoriBukuCache(mockRepositori, 100);
+        when(mockRepositori.cariByIsbn("1234567890")).thenReturn(Optional.of(buku1));
+
+        // Act
+        Optional<Buku> pertama = cache.cariByIsbn("1234567890");
+        Optional<Buku> kedua = cache.cariByIsbn("1234567890");
+
+        // Assert
+        assertSame(buku1, pertama.get());
+        assertSame(buku1, kedua.get());
+        verify(mockRepositori, times(1)).cariByIsbn("1234567890");
+        assertEquals(1, cache.getJumlahMiss());
+        assertEquals(1, cache.getJumlahHit());
+        assertEquals(0.5, cache.getRasioHit(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Hasil tidak ditemukan di-cache dan dibuang saat buku disimpan")
+    void testNegatifCacheDiinvalidasiSimpan() {
+        // Arrange
+        RepositoriBukuCache cache = new RepositoriBukuCache(mockRepositori, 100);
+        when(mockRepositori.cariByIsbn("1234567890")).thenReturn(Optional.empty()).thenReturn(Optional.of(buku1));
+        when(mockRepositori.simpan(buku1)).thenReturn(true);
+
+        // Act & Assert
+        assertFalse(cache.cariByIsbn("1234567890").isPresent());
+        assertFalse(cache.cariByIsbn("1234567890").isPresent());
+        verify(mockRepositori, times(1)).cariByIsbn("1234567890");
+
+        assertTrue(cache.simpan(buku1));
+        assertSame(buku1, cache.cariByIsbn("1234567890").get(), "Simpan harus membuang hasil negatif lama");
+        verify(mockRepositori, times(2)).cariByIsbn("1234567890");
+    }
+
+    @Test
+    @DisplayName("Setiap operasi tulis diteruskan lalu membuang entri cache")
+    void testOperasiTulisMenginvalidasi() {
+        // Arrange
+        RepositoriBukuCache cache = new RepositoriBukuCache(mockRepositori, 100);
+        when(mockRepositori.cariByIsbn("1234567890")).thenReturn(Optional.of(buku1));
+        when(mockRepositori.kurangiTersedia("1234567890")).thenReturn(true);
+        when(mockRepositori.tambahTersedia("1234567890")).thenReturn(true);
+        when(mockRepositori.updateJumlahTersedia("1234567890", 2)).thenReturn(true);
+        when(mockRepositori.hapus("1234567890")).thenReturn(true);
+
+        // Act
+        cache.cariByIsbn("1234567890");
+        assertTrue(cache.kurangiTersedia("1234567890"));
+        cache.cariByIsbn("1234567890");
+        assertTrue(cache.tambahTersedia("1234567890"));
+        cache.cariByIsbn("1234567890");
+        assertTrue(cache.updateJumlahTersedia("1234567890", 2));
+        cache.cariByIsbn("1234567890");
+        assertTrue(cache.hapus("1234567890"));
+        cache.cariByIsbn("1234567890");
+
+        // Assert
+        verify(mockRepositori, times(5)).cariByIsbn("1234567890");
+        assertEquals(0, cache.getJumlahHit());
+    }
+
+    @Test
+    @DisplayName("Entri yang paling lama tidak dipakai dibuang saat kapasitas penuh")
+    void testEvictionLru() {
+        // Arrange
+        RepositoriBukuCache cache = new RepositoriBukuCache(mockRepositori, 2);
+        Buku buku3 = new Buku("1111111111", "Java Advanced", "John Doe", 4, 180000.0);
+        when(mockRepositori.cariByIsbn("1234567890")).thenReturn(Optional.of(buku1));
+        when(mockRepositori.cariByIsbn("0987654321")).thenReturn(Optional.of(buku2));
+        when(mockRepositori.cariByIsbn("1111111111")).thenReturn(Optional.of(buku3));
+
+        // Act
+        cache.cariByIsbn("1234567890");
+        cache.cariByIsbn("0987654321");
+        cache.cariByIsbn("1234567890"); // buku1 menjadi yang terbaru dipakai
+        cache.cariByIsbn("1111111111"); // buku2 dibuang
+        cache.cariByIsbn("1234567890");
+        cache.cariByIsbn("0987654321");
+
+        // Assert
+        assertEquals(2, cache.ukuranCache());
+        assertEquals(2, cache.getJumlahEviction());
+        verify(mockRepositori, times(1)).cariByIsbn("1234567890");
+        verify(mockRepositori, times(2)).cariByIsbn("0987654321");
+    }
+
+    @Test
+    @DisplayName("Batch hanya meneruskan ISBN yang belum ada di cache")
+    void testCariByIsbnBatchHanyaMiss() {
+        // Arrange
+        RepositoriBukuCache cache = new RepositoriBukuCache(mockRepositori, 100);
+        when(mockRepositori.cariByIsbn("1234567890")).thenReturn(Optional.of(buku1));
+        when(mockRepositori.cariByIsbnBatch(Set.of("0987654321", "9999999999")))
+                .thenReturn(Map.of("0987654321", buku2));
+        cache.cariByIsbn("1234567890");
+
+        // Act
+        List<String> daftarIsbn = Arrays.asList("1234567890", "0987654321", "9999999999");
+        Map<String, Buku> hasil = cache.cariByIsbnBatch(daftarIsbn);
+        Map<String, Buku> hasilKedua = cache.cariByIsbnBatch(daftarIsbn);
+
+        // Assert
+        assertEquals(Map.of("1234567890", buku1, "0987654321", buku2), hasil);
+        assertEquals(hasil, hasilKedua);
+        verify(mockRepositori, times(1)).cariByIsbnBatch(any());
+        assertEquals(4, cache.getJumlahHit());
+        assertEquals(3, cache.getJumlahMiss());
+    }
+
+    @Test
+    @DisplayName("Cache di atas repository asli mengikuti perubahan stok")
+    void testKonsistenDenganRepositoriAsli() {
+        // Arrange
+        RepositoriBukuOffHeap repositoriAsli = new RepositoriBukuOffHeap();
+        RepositoriBukuCache cache = new RepositoriBukuCache(repositoriAsli, 100);
+        cache.simpan(buku1);
+
+        // Act
+        int sebelum = cache.cariByIsbn("1234567890").get().getJumlahTersedia();
+        cache.kurangiTersedia("1234567890");
+        int sesudah = cache.cariByIsbn("1234567890").get().getJumlahTersedia();
+
+        // Assert
+        assertEquals(5, sebelum);
+        assertEquals(4, sesudah, "Salinan buku di cache harus dibuang setelah stok berubah");
+    }
+
+    @Test
+    @DisplayName("Kapasitas tidak valid ditolak")
+    void testKapasitasTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoriBukuCache(mockRepositori, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoriBukuCache(null, 10));
+    }
+}
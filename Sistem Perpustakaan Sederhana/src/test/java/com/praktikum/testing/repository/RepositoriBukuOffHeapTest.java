@@ -0,0 +1,305 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repositori Buku Off-Heap - Penyimpanan Kolom")
+class RepositoriBukuOffHeapTest {
+
+    private RepositoriBukuOffHeap repositori;
+
+    @BeforeEach
+    void setUp() {
+        repositori = new RepositoriBukuOffHeap();
+    }
+
+    @Test
+    @DisplayName("Buku yang disimpan bisa dibaca kembali dengan isi yang sama")
+    void testSimpanDanCariByIsbn() {
+        // Arrange
+        Buku buku = new Buku("0123456789", "Pemrograman Java", "John Doe", 5, 150000.0);
+        buku.setJumlahTersedia(3);
+
+        // Act
+        assertTrue(repositori.simpan(buku));
+        Optional<Buku> hasil = repositori.cariByIsbn("0123456789");
+
+        // Assert
+        assertTrue(hasil.isPresent());
+        assertNotSame(buku, hasil.get(), "Buku dibuat ulang dari kolom off-heap");
+        assertEquals("0123456789", hasil.get().getIsbn(), "Nol di depan ISBN harus tetap ada");
+        assertEquals("Pemrograman Java", hasil.get().getJudul());
+        assertEquals("John Doe", hasil.get().getPengarang());
+        assertEquals(5, hasil.get().getJumlahTotal());
+        assertEquals(3, hasil.get().getJumlahTersedia());
+        assertEquals(150000.0, hasil.get().getHarga());
+        assertFalse(repositori.cariByIsbn("123456789").isPresent());
+        assertFalse(repositori.cariByIsbn(null).isPresent());
+        assertFalse(repositori.simpan(null));
+    }
+
+    @Test
+    @DisplayName("ISBN bukan angka dan teks null tetap didukung")
+    void testIsbnBukanAngkaDanTeksNull() {
+        // Arrange
+        Buku buku = new Buku("978-0-306-40615-7", null, null, 2, 0.0);
+
+        // Act
+        repositori.simpan(buku);
+        Buku hasil = repositori.cariByIsbn("978-0-306-40615-7").orElseThrow();
+
+        // Assert
+        assertEquals("978-0-306-40615-7", hasil.getIsbn());
+        assertNull(hasil.getJudul());
+        assertNull(hasil.getPengarang());
+        assertTrue(repositori.cariByJudul("java").isEmpty());
+        assertTrue(repositori.hapus("978-0-306-40615-7"));
+        assertEquals(0, repositori.ukuran());
+    }
+
+    @Test
+    @DisplayName("Simpan dengan ISBN yang sama menimpa baris lama")
+    void testSimpanMenimpa() {
+        // Arrange
+        repositori.simpan(new Buku("1234567890", "Judul Lama", "Pengarang Lama", 5, 100000.0));
+
+        // Act
+        repositori.simpan(new Buku("1234567890", "Judul Baru", "Pengarang Baru", 7, 200000.0));
+
+        // Assert
+        assertEquals(1, repositori.ukuran());
+        assertEquals("Judul Baru", repositori.cariByIsbn("1234567890").get().getJudul());
+        assertTrue(repositori.cariByJudul("lama").isEmpty());
+        assertTrue(repositori.cariByPengarang("lama").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Update stok dilakukan langsung di kolom off-heap")
+    void testUpdateStok() {
+        // Arrange
+        repositori.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 2, 150000.0));
+
+        // Act & Assert
+        assertTrue(repositori.kurangiTersedia("1234567890"));
+        assertTrue(repositori.kurangiTersedia("1234567890"));
+        assertFalse(repositori.kurangiTersedia("1234567890"), "Stok sudah habis");
+        assertEquals(0, repositori.cariByIsbn("1234567890").get().getJumlahTersedia());
+
+        assertTrue(repositori.tambahTersedia("1234567890"));
+        assertTrue(repositori.updateJumlahTersedia("1234567890", 2));
+        assertFalse(repositori.tambahTersedia("1234567890"), "Tidak boleh melebihi jumlah total");
+        assertFalse(repositori.updateJumlahTersedia("1234567890", 3));
+        assertFalse(repositori.updateJumlahTersedia("1234567890", -1));
+        assertFalse(repositori.kurangiTersedia("9999999999"));
+        assertEquals(2, repositori.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Pencarian judul dan pengarang sama dengan MockRepositoryBuku")
+    void testPencarianSamaDenganMock() {
+        // Arrange
+        MockRepositoryBuku pembanding = new MockRepositoryBuku();
+        // Termasuk karakter non-ASCII yang toLowerCase()-nya menjadi ASCII (tanda Kelvin, İ)
+        String[] daftarJudul = {"Pemrograman Java", "Algoritma Dasar", "ÇALIŞMA Kitabı", "\u212AELVIN Java", "Ilmu İnformatika"};
+        String[] daftarPengarang = {"John Doe", "Jane Doe", "Ahmet Çelik", "Budi", "İlker"};
+        for (int i = 0; i < daftarJudul.length; i++) {
+            Buku buku = new Buku("100000000" + i, daftarJudul[i], daftarPengarang[i], 1, 1.0);
+            repositori.simpan(buku);
+            pembanding.simpan(buku);
+        }
+
+        // Act & Assert
+        for (String query : new String[]{"java", "JAVA", "  doe ", "ç", "çalışma", "i̇", "kelvin", "a", "xyz", ""}) {
+            assertEquals(isbnTerurut(pembanding.cariByJudul(query)), isbnTerurut(repositori.cariByJudul(query)),
+                    "Judul: " + query);
+            assertEquals(isbnTerurut(pembanding.cariByPengarang(query)), isbnTerurut(repositori.cariByPengarang(query)),
+                    "Pengarang: " + query);
+        }
+    }
+
+    @Test
+    @DisplayName("Baris yang dihapus dipakai ulang dan data melewati batas blok")
+    void testBanyakBukuDanHapus() {
+        // Arrange - lebih dari satu blok kolom (16384 baris)
+        int jumlah = 40_000;
+        for (int i = 0; i < jumlah; i++) {
+            repositori.simpan(new Buku(String.format("978%010d", i), "Judul " + i, "Pengarang " + (i % 100), 3, i));
+        }
+
+        // Act
+        for (int i = 0; i < jumlah; i += 2) {
+            assertTrue(repositori.hapus(String.format("978%010d", i)));
+        }
+        assertFalse(repositori.hapus("9780000000000"), "Sudah dihapus");
+        long offHeapSebelum = repositori.getUkuranOffHeapByte();
+        for (int i = 0; i < jumlah; i += 2) {
+            repositori.simpan(new Buku(String.format("979%010d", i), "Baru " + i, "Pengarang", 3, i));
+        }
+
+        // Assert
+        assertEquals(jumlah, repositori.ukuran());
+        assertEquals(jumlah, repositori.cariSemua().size());
+        assertEquals(jumlah, repositori.streamSemua().count());
+        assertEquals("Judul 39999", repositori.cariByIsbn("9780000039999").get().getJudul());
+        assertEquals(39998.0, repositori.cariByIsbn("9790000039998").get().getHarga());
+        assertFalse(repositori.cariByIsbn("9780000039998").isPresent());
+        assertEquals(1, repositori.cariByJudul("judul 39999").size());
+        assertEquals(400, repositori.cariByPengarang("pengarang 99").size(), "Semua i % 100 == 99 ganjil, tidak dihapus");
+        assertTrue(repositori.getUkuranOffHeapByte() - offHeapSebelum < 2_000_000,
+                "Baris kosong harus dipakai ulang, bukan membuat blok kolom baru");
+    }
+
+    @Test
+    @DisplayName("Kurangi tersedia konkuren - tidak terjadi overbooking")
+    void testKurangiTersediaKonkuren() throws InterruptedException {
+        // Arrange - 10 salinan diperebutkan 1000 peminjam
+        repositori.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 10, 150000.0));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch mulai = new CountDownLatch(1);
+        AtomicInteger berhasil = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                mulai.await();
+                if (repositori.kurangiTersedia("1234567890")) {
+                    berhasil.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(10, berhasil.get(), "Hanya 10 peminjaman yang boleh berhasil");
+        assertEquals(0, repositori.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    private static List<String> isbnTerurut(List<Buku> daftar) {
+        return daftar.stream().map(Buku::getIsbn).sorted().toList();
+    }
+
+    @Test
+    @DisplayName("Pagination cursor sama dengan MockRepositoryBuku, termasuk ISBN bukan angka")
+    void testCariSemuaCursorSamaDenganMock() {
+        // Arrange - lebih dari satu potongan kunci urut, dengan hapus dan simpan ulang
+        MockRepositoryBuku pembanding = new MockRepositoryBuku();
+        Random acak = new Random(11);
+        List<String> daftarIsbn = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            String isbn = acak.nextInt(10) == 0
+                    ? "978-" + acak.nextInt(1_000_000)
+                    : Long.toString(acak.nextInt(10) == 0 ? acak.nextInt(1000) : 9_780_000_000_000L + acak.nextInt(10_000_000));
+            Buku buku = new Buku(isbn, "Judul " + i, "Pengarang", 1, 1.0);
+            repositori.simpan(buku);
+            pembanding.simpan(buku);
+            daftarIsbn.add(isbn);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            String isbn = daftarIsbn.get(acak.nextInt(daftarIsbn.size()));
+            assertEquals(pembanding.hapus(isbn), repositori.hapus(isbn));
+        }
+
+        // Act & Assert - telusuri semua halaman
+        List<String> semua = new ArrayList<>();
+        String cursor = null;
+        List<Buku> halaman;
+        do {
+            halaman = repositori.cariSemua(cursor, 333);
+            assertEquals(isbnDari(pembanding.cariSemua(cursor, 333)), isbnDari(halaman), "Cursor " + cursor);
+            for (Buku buku : halaman) {
+                semua.add(buku.getIsbn());
+            }
+            cursor = halaman.isEmpty() ? cursor : halaman.get(halaman.size() - 1).getIsbn();
+        } while (halaman.size() == 333);
+        List<String> semuaTerurut = isbnDari(pembanding.cariSemua());
+        semuaTerurut.sort(null);
+        assertEquals(semuaTerurut, semua);
+
+        // Cursor yang bukan ISBN tersimpan
+        for (String c : new String[]{"", "0", "5", "978", "978-", "978-5", "9780000005000000", "A", "~"}) {
+            assertEquals(isbnDari(pembanding.cariSemua(c, 50)), isbnDari(repositori.cariSemua(c, 50)), "Cursor " + c);
+        }
+        assertTrue(repositori.cariSemua(null, 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Autocomplete judul dan pengarang sama dengan MockRepositoryBuku")
+    void testAutocompleteSamaDenganMock() {
+        // Arrange
+        MockRepositoryBuku pembanding = new MockRepositoryBuku();
+        String[] awalan = {"Pemrograman", "Algoritma", "ÇALIŞMA", "KELVIN", "İlmu", "pemrograman"};
+        for (int i = 0; i < 600; i++) {
+            Buku buku = new Buku(String.format("978%010d", (i * 7919) % 1000), awalan[i % awalan.length] + " " + (i % 37),
+                    i % 11 == 0 ? null : "Pengarang " + (char) ('A' + i % 5), 1, 1.0);
+            repositori.simpan(buku);
+            pembanding.simpan(buku);
+        }
+
+        // Act & Assert
+        for (String query : new String[]{"pem", "PEMROGRAMAN 1", "  alg", "ç", "kel", "i", "pengarang b", "x", " "}) {
+            for (int batas : new int[]{1, 5, 1000}) {
+                assertEquals(isbnDari(pembanding.autocompleteJudul(query, batas)),
+                        isbnDari(repositori.autocompleteJudul(query, batas)), "Judul: " + query + " batas " + batas);
+                assertEquals(isbnDari(pembanding.autocompletePengarang(query, batas)),
+                        isbnDari(repositori.autocompletePengarang(query, batas)), "Pengarang: " + query + " batas " + batas);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Teks dari buku yang dihapus atau ditimpa diklaim ulang lewat kompaksi")
+    void testKompaksiTeks() {
+        // Arrange
+        String judulPanjang = "Judul yang cukup panjang agar byte teks cepat bertambah ".repeat(2);
+        for (int i = 0; i < 2_000; i++) {
+            repositori.simpan(new Buku(String.format("978%010d", i), judulPanjang + i, "Pengarang", 1, 1.0));
+        }
+        repositori.simpan(new Buku("ISBN-LAIN-1", judulPanjang, "Pengarang", 1, 1.0));
+        long offHeapAwal = repositori.getUkuranOffHeapByte();
+
+        // Act - sekitar 20 MB teks ditulis ulang tanpa menambah jumlah buku
+        for (int putaran = 0; putaran < 50; putaran++) {
+            for (int i = 0; i < 2_000; i += 2) {
+                String isbn = String.format("978%010d", i);
+                repositori.hapus(isbn);
+                repositori.simpan(new Buku(isbn, judulPanjang + i + " v" + putaran, "Pengarang", 1, 1.0));
+                repositori.simpan(new Buku(String.format("978%010d", i + 1), judulPanjang + (i + 1) + " v" + putaran,
+                        "Pengarang", 1, 1.0));
+            }
+        }
+
+        // Assert
+        assertTrue(repositori.getUkuranOffHeapByte() - offHeapAwal < 4_000_000,
+                "Teks mati harus diklaim ulang: " + (repositori.getUkuranOffHeapByte() - offHeapAwal));
+        assertEquals(2_001, repositori.ukuran());
+        assertEquals(judulPanjang + "1998 v49", repositori.cariByIsbn("9780000001998").get().getJudul());
+        assertEquals(judulPanjang, repositori.cariByIsbn("ISBN-LAIN-1").get().getJudul());
+        assertEquals(1, repositori.cariByJudul("1999 v49").size());
+        assertEquals(1, repositori.autocompleteJudul(judulPanjang + "1999 v4", 10).size());
+    }
+
+    private static List<String> isbnDari(List<Buku> daftarBuku) {
+        List<String> hasil = new ArrayList<>();
+        for (Buku buku : daftarBuku) {
+            hasil.add(buku.getIsbn());
+        }
+        return hasil;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Repositori Buku - Implementasi Default")
+class RepositoriBukuTest {
+
+    private RepositoriBuku repositori;
+    private Buku buku;
+
+    @BeforeEach
+    void setUp() {
+        repositori = mock(RepositoriBuku.class, CALLS_REAL_METHODS);
+        buku = new Buku("1234567890", "Pemrograman Java", "John Doe", 2, 150000.0);
+    }
+
+    @Test
+    @DisplayName("Default kurangi dan tambah tersedia memakai cariByIsbn dan updateJumlahTersedia")
+    void testKurangiDanTambahTersediaDefault() {
+        // Arrange
+        doReturn(Optional.of(buku)).when(repositori).cariByIsbn("1234567890");
+        doReturn(true).when(repositori).updateJumlahTersedia(anyString(), anyInt());
+
+        // Act
+        boolean berhasilKurangi = repositori.kurangiTersedia("1234567890");
+        boolean berhasilTambah = repositori.tambahTersedia("1234567890");
+
+        // Assert
+        assertTrue(berhasilKurangi);
+        assertFalse(berhasilTambah, "Stok masih penuh karena updateJumlahTersedia di-mock");
+        verify(repositori).updateJumlahTersedia("1234567890", 1);
+        verify(repositori, never()).updateJumlahTersedia("1234567890", 3);
+    }
+
+    @Test
+    @DisplayName("Default kurangi tersedia gagal jika stok habis atau buku tidak ada")
+    void testKurangiTersediaDefaultGagal() {
+        // Arrange
+        buku.setJumlahTersedia(0);
+        doReturn(Optional.of(buku)).when(repositori).cariByIsbn("1234567890");
+        doReturn(Optional.empty()).when(repositori).cariByIsbn("0000000000");
+
+        // Act & Assert
+        assertFalse(repositori.kurangiTersedia("1234567890"));
+        assertFalse(repositori.kurangiTersedia("0000000000"));
+        assertFalse(repositori.tambahTersedia("0000000000"));
+        verify(repositori, never()).updateJumlahTersedia("1234567890", -1);
+    }
+}
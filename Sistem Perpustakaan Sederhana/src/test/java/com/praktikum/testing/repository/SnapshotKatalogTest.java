@@ -0,0 +1,131 @@
+package com.praktikum.testing.repository;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Snapshot Katalog Biner")
+class SnapshotKatalogTest {
+
+    @TempDir
+    Path direktori;
+
+    private Path berkas;
+    private MockRepositoryBuku repositoriBuku;
+    private MockRepositoryAnggota repositoriAnggota;
+
+    @BeforeEach
+    void setUp() {
+        berkas = direktori.resolve("katalog.snap");
+        repositoriBuku = new MockRepositoryBuku();
+        repositoriAnggota = new MockRepositoryAnggota();
+    }
+
+    @ParameterizedTest
+    @EnumSource(SnapshotKatalog.ModeBaca.class)
+    @DisplayName("Buku dan anggota kembali utuh setelah ekspor lalu impor")
+    void testEksporImporUtuh(SnapshotKatalog.ModeBaca mode) throws IOException {
+        // Arrange
+        Buku java = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0);
+        java.setJumlahTersedia(3);
+        repositoriBuku.simpan(java);
+        repositoriBuku.simpan(new Buku("0987654321", "Algoritma Ü", "John Doe", 2, 99000.5));
+        repositoriBuku.simpan(new Buku("1111111111", "Tanpa Pengarang", null, 1, 0.0));
+        Anggota anggota = new Anggota("A001", "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA);
+        anggota.tambahBukuDipinjam("1234567890");
+        anggota.tambahBukuDipinjam("KODE-LAMA");
+        anggota.setAktif(false);
+        repositoriAnggota.simpan(anggota);
+
+        // Act
+        SnapshotKatalog.Ringkasan ekspor = SnapshotKatalog.ekspor(berkas, repositoriBuku, repositoriAnggota);
+        MockRepositoryBuku bukuBaru = new MockRepositoryBuku();
+        MockRepositoryAnggota anggotaBaru = new MockRepositoryAnggota();
+        SnapshotKatalog.Ringkasan impor = SnapshotKatalog.impor(berkas, mode, bukuBaru, anggotaBaru);
+
+        // Assert
+        assertEquals(3, ekspor.getJumlahBuku());
+        assertEquals(1, ekspor.getJumlahPengarang(), "John Doe hanya sekali di kamus, null tidak masuk kamus");
+        assertEquals(3, impor.getJumlahBuku());
+        assertEquals(1, impor.getJumlahAnggota());
+
+        Buku hasilJava = bukuBaru.cariByIsbn("1234567890").get();
+        assertEquals(3, hasilJava.getJumlahTersedia());
+        assertEquals(5, hasilJava.getJumlahTotal());
+        assertEquals(150000.0, hasilJava.getHarga());
+        Buku hasilAlgoritma = bukuBaru.cariByIsbn("0987654321").get();
+        assertEquals("Algoritma Ü", hasilAlgoritma.getJudul());
+        assertSame(hasilJava.getPengarang(), hasilAlgoritma.getPengarang(), "Pengarang dari kamus berbagi objek");
+        assertNull(bukuBaru.cariByIsbn("1111111111").get().getPengarang());
+        assertEquals(1, bukuBaru.cariByJudul("java").size(), "Indeks pencarian ikut terbangun");
+
+        Anggota hasilAnggota = anggotaBaru.cariByEmail("john@student.ac.id").get();
+        assertEquals(Anggota.TipeAnggota.MAHASISWA, hasilAnggota.getTipeAnggota());
+        assertFalse(hasilAnggota.isAktif());
+        assertEquals(List.of("1234567890", "KODE-LAMA"), hasilAnggota.getIdBukuDipinjam());
+    }
+
+    @Test
+    @DisplayName("Katalog lebih besar dari buffer baca dimuat sama di kedua mode baca")
+    void testKatalogBesar() throws IOException {
+        // Arrange
+        List<Buku> daftarBuku = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            daftarBuku.add(new Buku(String.format("978%010d", i), "Judul " + i, "Pengarang " + (i % 50), 2, i));
+        }
+        daftarBuku.add(new Buku("9789999999999", "x".repeat(200_000), "Pengarang 0", 1, 1.0));
+        repositoriBuku.simpanBatch(daftarBuku);
+
+        // Act
+        SnapshotKatalog.Ringkasan ekspor = SnapshotKatalog.ekspor(berkas, repositoriBuku, null);
+        MockRepositoryBuku sekuensial = new MockRepositoryBuku();
+        MockRepositoryBuku memoryMap = new MockRepositoryBuku();
+        SnapshotKatalog.impor(berkas, SnapshotKatalog.ModeBaca.SEKUENSIAL, sekuensial, null);
+        SnapshotKatalog.impor(berkas, SnapshotKatalog.ModeBaca.MEMORY_MAP, memoryMap, null);
+
+        // Assert
+        assertEquals(50, ekspor.getJumlahPengarang());
+        assertEquals(20_001, sekuensial.cariSemua().size());
+        assertEquals(20_001, memoryMap.cariSemua().size());
+        assertEquals(200_000, sekuensial.cariByIsbn("9789999999999").get().getJudul().length());
+        assertEquals("Judul 12345", memoryMap.cariByIsbn("9780000012345").get().getJudul());
+    }
+
+    @Test
+    @DisplayName("Snapshot yang rusak atau terpotong ditolak tanpa memuat apa pun")
+    void testSnapshotRusakDitolak() throws IOException {
+        // Arrange
+        repositoriBuku.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 150000.0));
+        SnapshotKatalog.ekspor(berkas, repositoriBuku, null);
+        byte[] isi = Files.readAllBytes(berkas);
+        Path rusak = direktori.resolve("rusak.snap");
+        byte[] isiRusak = isi.clone();
+        isiRusak[12] ^= 0x01; // Satu bit di judul
+        Files.write(rusak, isiRusak);
+        Path terpotong = direktori.resolve("terpotong.snap");
+        Files.write(terpotong, Arrays.copyOf(isi, isi.length - 6));
+        MockRepositoryBuku tujuan = new MockRepositoryBuku();
+
+        // Act & Assert
+        for (SnapshotKatalog.ModeBaca mode : SnapshotKatalog.ModeBaca.values()) {
+            assertThrows(IOException.class, () -> SnapshotKatalog.impor(rusak, mode, tujuan, null));
+            assertThrows(IOException.class, () -> SnapshotKatalog.impor(terpotong, mode, tujuan, null));
+        }
+        assertTrue(tujuan.cariSemua().isEmpty());
+    }
+}
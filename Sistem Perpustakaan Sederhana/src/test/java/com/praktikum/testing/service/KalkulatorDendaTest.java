@@ -6,7 +6,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import com.praktikum.testing.repository.MockRepositoryPeminjaman;
+import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -152,4 +158,136 @@ public class KalkulatorDendaTest {
         assertEquals("Denda sedang", kalkulatorDenda.getDeskripsiDenda(25000.0));
         assertEquals("Denda berat", kalkulatorDenda.getDeskripsiDenda(75000.0));
     }
+
+    @Test
+    @DisplayName("Hitung denda per tanggal tertentu")
+    void testHitungDendaPerTanggal() {
+        LocalDate perTanggal = LocalDate.of(2024, 5, 10);
+        Peminjaman peminjaman = new Peminjaman("P001", "M001", "1234567890",
+                perTanggal.minusDays(10), perTanggal.minusDays(4));
+
+        assertEquals(4000.0, kalkulatorDenda.hitungDenda(peminjaman, anggotaMahasiswa, perTanggal));
+        assertEquals(0.0, kalkulatorDenda.hitungDenda(peminjaman, anggotaMahasiswa, perTanggal.minusDays(4)));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDenda.hitungDenda(peminjaman, anggotaMahasiswa, null));
+    }
+
+    @Test
+    @DisplayName("Denda harian hanya untuk peminjaman terlambat dari indeks repository")
+    void testHitungDendaHarian() {
+        LocalDate perTanggal = LocalDate.of(2024, 5, 10);
+        MockRepositoryPeminjaman repositoriPeminjaman = new MockRepositoryPeminjaman();
+        repositoriPeminjaman.simpan(new Peminjaman("P001", "M001", "1234567890",
+                perTanggal.minusDays(10), perTanggal.minusDays(3)));
+        repositoriPeminjaman.simpan(new Peminjaman("P002", "D001", "0987654321",
+                perTanggal.minusDays(10), perTanggal.minusDays(5)));
+        repositoriPeminjaman.simpan(new Peminjaman("P003", "U001", "1111111111",
+                perTanggal.minusDays(2), perTanggal.plusDays(5))); // Belum terlambat
+        repositoriPeminjaman.tandaiDikembalikan("P002", perTanggal.minusDays(1));
+        Map<String, Anggota> anggota = Map.of("M001", anggotaMahasiswa, "D001", anggotaDosen, "U001", anggotaUmum);
+
+        Map<String, Double> denda = kalkulatorDenda.hitungDendaHarian(repositoriPeminjaman, anggota::get, perTanggal);
+
+        assertEquals(Map.of("P001", 3000.0), denda, "Peminjaman yang sudah kembali atau belum jatuh tempo dilewati");
+    }
+
+    @Test
+    @DisplayName("Denda massal paralel - total per anggota dan per peminjaman")
+    void testHitungDendaMassal() {
+        // Arrange - cukup banyak peminjaman agar tugas fork/join terpecah
+        LocalDate perTanggal = LocalDate.of(2024, 5, 10);
+        Map<String, Anggota> anggota = Map.of("M001", anggotaMahasiswa, "D001", anggotaDosen);
+        List<Peminjaman> daftarPeminjaman = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String idAnggota = i % 2 == 0 ? "M001" : "D001";
+            LocalDate jatuhTempo = perTanggal.minusDays(i % 3); // Terlambat 0, 1, atau 2 hari
+            daftarPeminjaman.add(new Peminjaman("P" + i, idAnggota, "1234567890",
+                    jatuhTempo.minusDays(7), jatuhTempo));
+        }
+        daftarPeminjaman.add(new Peminjaman("PX", "X999", "1234567890",
+                perTanggal.minusDays(20), perTanggal.minusDays(10))); // Anggota tidak dikenal
+
+        // Act
+        RingkasanDenda ringkasan = kalkulatorDenda.hitungDendaMassal(daftarPeminjaman, anggota::get, perTanggal);
+        RingkasanDenda ringkasanStream = kalkulatorDenda.hitungDendaMassal(
+                daftarPeminjaman.stream(), anggota::get, perTanggal);
+
+        // Assert - bandingkan dengan perhitungan satu per satu
+        double totalMahasiswa = 0.0;
+        double totalDosen = 0.0;
+        for (Peminjaman peminjaman : daftarPeminjaman) {
+            Anggota pemilik = anggota.get(peminjaman.getIdAnggota());
+            if (pemilik == null) {
+                continue;
+            }
+            double denda = kalkulatorDenda.hitungDenda(peminjaman, pemilik, perTanggal);
+            if (pemilik == anggotaMahasiswa) {
+                totalMahasiswa += denda;
+            } else {
+                totalDosen += denda;
+            }
+        }
+        assertEquals(totalMahasiswa, ringkasan.getTotalAnggota("M001"), 0.001);
+        assertEquals(totalDosen, ringkasan.getTotalAnggota("D001"), 0.001);
+        assertEquals(totalMahasiswa + totalDosen, ringkasan.getTotalDenda(), 0.001);
+        assertEquals(0.0, ringkasan.getTotalAnggota("X999"));
+        assertEquals(2000.0, ringkasan.getDendaPerPeminjaman().get("P2"), "P2: mahasiswa, 2 hari");
+        assertFalse(ringkasan.getDendaPerPeminjaman().containsKey("P0"), "Denda 0 tidak dicatat");
+        assertEquals(ringkasan.getDendaPerPeminjaman(), ringkasanStream.getDendaPerPeminjaman());
+        assertEquals(ringkasan.getTotalPerAnggota(), ringkasanStream.getTotalPerAnggota());
+    }
+
+    @Test
+    @DisplayName("Tanggal perhitungan ekstrem (LocalDate.MIN/MAX) tetap dihitung")
+    void testTanggalPerhitunganEkstrem() {
+        // Arrange
+        Peminjaman peminjaman = new Peminjaman("P001", "M001", "1234567890",
+                LocalDate.now().minusDays(10), LocalDate.now().minusDays(3));
+
+        // Act & Assert
+        assertEquals(50000.0, kalkulatorDenda.hitungDenda(peminjaman, anggotaMahasiswa, LocalDate.MAX),
+                "Terlambat sangat lama dibatasi denda maksimal");
+        assertEquals(0.0, kalkulatorDenda.hitungDendaMassal(List.of(peminjaman), id -> anggotaMahasiswa,
+                LocalDate.MIN).getTotalDenda());
+        assertEquals(50000.0, kalkulatorDenda.hitungDendaMassal(List.of(peminjaman).stream(),
+                id -> anggotaMahasiswa, LocalDate.MAX).getTotalDenda());
+    }
+
+    @Test
+    @DisplayName("Hari ini dibaca dari Clock yang diinjeksikan")
+    void testHitungDendaDenganClock() {
+        // Arrange
+        LocalDate acuan = LocalDate.of(2024, 5, 10);
+        Clock clock = Clock.fixed(acuan.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        KalkulatorDenda kalkulatorTetap = new KalkulatorDenda(clock);
+        Peminjaman peminjaman = new Peminjaman("P001", "M001", "1234567890",
+                acuan.minusDays(10), acuan.minusDays(3));
+
+        // Act
+        double denda = kalkulatorTetap.hitungDenda(peminjaman, anggotaMahasiswa);
+
+        // Assert
+        assertEquals(3000.0, denda, "Mahasiswa 3 hari terlambat per tanggal clock");
+        assertTrue(kalkulatorTetap.adaDenda(peminjaman));
+        assertSame(clock, kalkulatorTetap.getJam());
+        assertThrows(IllegalArgumentException.class, () -> new KalkulatorDenda(null));
+    }
+
+    @Test
+    @DisplayName("Denda massal tanpa tanggal memakai Clock yang sama dengan hitungDenda")
+    void testHitungDendaMassalTanpaTanggalMemakaiClock() {
+        // Arrange
+        LocalDate acuan = LocalDate.of(2024, 5, 10);
+        Clock clock = Clock.fixed(acuan.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        KalkulatorDenda kalkulatorTetap = new KalkulatorDenda(clock);
+        Peminjaman peminjaman = new Peminjaman("P001", "M001", "1234567890",
+                acuan.minusDays(10), acuan.minusDays(3));
+
+        // Act
+        RingkasanDenda ringkasan = kalkulatorTetap.hitungDendaMassal(List.of(peminjaman), id -> anggotaMahasiswa);
+
+        // Assert
+        assertEquals(kalkulatorTetap.hitungDenda(peminjaman, anggotaMahasiswa), ringkasan.getTotalDenda());
+        assertEquals(3000.0, ringkasan.getTotalDenda());
+    }
 }
\ No newline at end of file
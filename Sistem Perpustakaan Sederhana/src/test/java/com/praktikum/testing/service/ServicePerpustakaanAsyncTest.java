@@ -0,0 +1,205 @@
+package com.praktikum.testing.service;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.repository.RepositoriBukuAsync;
+import com.praktikum.testing.repository.RepositoriBukuAsyncAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Service Perpustakaan Async")
+class ServicePerpustakaanAsyncTest {
+
+    private MockRepositoryBuku repositori;
+    private ServicePerpustakaanAsync service;
+    private Anggota anggota;
+
+    @BeforeEach
+    void setUp() {
+        repositori = new MockRepositoryBuku();
+        service = new ServicePerpustakaanAsync(new RepositoriBukuAsyncAdapter(repositori));
+        anggota = new Anggota("A001", "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    private Buku buatBuku(String isbn, int jumlahTotal) {
+        return new Buku(isbn, "Pemrograman Java", "John Doe", jumlahTotal, 150000.0);
+    }
+
+    @Test
+    @DisplayName("Pinjam dan kembalikan mengikuti aturan yang sama dengan service sinkron")
+    void testPinjamDanKembalikan() {
+        // Arrange
+        repositori.simpan(buatBuku("1234567890", 1));
+
+        // Act & Assert
+        assertTrue(service.pinjamBuku("1234567890", anggota).join());
+        assertFalse(service.pinjamBuku("1234567890", anggota).join(), "Stok sudah habis");
+        assertEquals(0, service.getJumlahTersedia("1234567890").join());
+        assertTrue(anggota.sedangMeminjam("1234567890"));
+
+        assertTrue(service.kembalikanBuku("1234567890", anggota).join());
+        assertFalse(service.kembalikanBuku("1234567890", anggota).join(), "Buku sudah dikembalikan");
+        assertTrue(service.bukuTersedia("1234567890").join());
+    }
+
+    @Test
+    @DisplayName("Tambah buku: validasi berjalan selagi cek ISBN ke storage masih berjalan")
+    void testTambahBukuValidasiSelagiCekIsbn() throws Exception {
+        // Arrange
+        RepositoriBukuAsync repositoriAsync = mock(RepositoriBukuAsync.class);
+        CompletableFuture<Optional<Buku>> cekIsbn = new CompletableFuture<>();
+        when(repositoriAsync.cariByIsbn("1234567890")).thenReturn(cekIsbn);
+        when(repositoriAsync.simpan(any())).thenReturn(CompletableFuture.completedFuture(true));
+        ServicePerpustakaanAsync serviceAsync = new ServicePerpustakaanAsync(repositoriAsync);
+
+        // Act
+        CompletableFuture<Boolean> hasil = serviceAsync.tambahBuku(buatBuku("1234567890", 3));
+
+        // Assert
+        assertFalse(hasil.isDone(), "Hasil menunggu cek ISBN, tidak memblokir pemanggil");
+        verify(repositoriAsync, never()).simpan(any());
+        cekIsbn.complete(Optional.empty());
+        assertTrue(hasil.get(5, TimeUnit.SECONDS));
+        verify(repositoriAsync).simpan(any());
+    }
+
+    @Test
+    @DisplayName("Tambah buku tidak valid atau sudah ada ditolak, hapus buku yang dipinjam ditolak")
+    void testTambahDanHapusBuku() {
+        // Arrange
+        Buku tidakValid = new Buku("1234567890", "", "John Doe", 3, 150000.0);
+
+        // Act & Assert
+        assertFalse(service.tambahBuku(tidakValid).join());
+        assertTrue(service.tambahBuku(buatBuku("1234567890", 3)).join());
+        assertFalse(service.tambahBuku(buatBuku("1234567890", 3)).join(), "ISBN sudah ada");
+
+        assertTrue(service.pinjamBuku("1234567890", anggota).join());
+        assertFalse(service.hapusBuku("1234567890").join(), "Ada salinan yang sedang dipinjam");
+        assertTrue(service.kembalikanBuku("1234567890", anggota).join());
+        assertTrue(service.hapusBuku("1234567890").join());
+        assertFalse(service.cariBukuByIsbn("1234567890").join().isPresent());
+    }
+
+    @Test
+    @DisplayName("Batch pinjam memakai satu panggilan storage dan menghormati kuota")
+    void testPinjamBukuBatch() {
+        // Arrange
+        List<String> daftarIsbn = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String isbn = "123456789" + i;
+            repositori.simpan(buatBuku(isbn, 1));
+            daftarIsbn.add(isbn);
+        }
+
+        // Act
+        List<Boolean> hasil = service.pinjamBukuBatch(daftarIsbn, anggota).join();
+        List<Boolean> hasilKembali = service.kembalikanBukuBatch(
+                Arrays.asList("1234567890", "1234567896", "1234567890"), anggota).join();
+
+        // Assert
+        assertEquals(Arrays.asList(true, true, true, true, true, false, false), hasil,
+                "Mahasiswa hanya boleh meminjam 5 buku");
+        assertEquals(Arrays.asList(true, false, false), hasilKembali);
+        assertEquals(4, anggota.getJumlahBukuDipinjam());
+    }
+
+    @Test
+    @DisplayName("Permintaan bersamaan untuk anggota yang sama tidak melewati batas pinjam")
+    void testPermintaanBersamaanAnggotaSama() {
+        // Arrange
+        List<CompletableFuture<Boolean>> daftarHasil = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String isbn = String.format("12345678%02d", i);
+            repositori.simpan(buatBuku(isbn, 1));
+        }
+
+        // Act: semua permintaan dikirim tanpa menunggu yang sebelumnya
+        for (int i = 0; i < 50; i++) {
+            daftarHasil.add(service.pinjamBuku(String.format("12345678%02d", i), anggota));
+        }
+        CompletableFuture.allOf(daftarHasil.toArray(CompletableFuture<?>[]::new)).join();
+
+        // Assert
+        long berhasil = daftarHasil.stream().filter(CompletableFuture::join).count();
+        assertEquals(anggota.getBatasPinjam(), berhasil);
+        assertEquals(anggota.getBatasPinjam(), anggota.getJumlahBukuDipinjam());
+    }
+
+    @Test
+    @DisplayName("Kegagalan storage diteruskan dan tidak menghentikan antrian anggota")
+    void testKegagalanStorageTidakMenghentikanAntrian() {
+        // Arrange
+        RepositoriBukuAsync repositoriAsync = mock(RepositoriBukuAsync.class);
+        when(repositoriAsync.kurangiTersedia("1234567890"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Koneksi terputus")))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        ServicePerpustakaanAsync serviceAsync = new ServicePerpustakaanAsync(repositoriAsync);
+
+        // Act
+        CompletableFuture<Boolean> pertama = serviceAsync.pinjamBuku("1234567890", anggota);
+        CompletableFuture<Boolean> kedua = serviceAsync.pinjamBuku("1234567890", anggota);
+
+        // Assert
+        assertTrue(pertama.isCompletedExceptionally());
+        assertTrue(kedua.join());
+        assertEquals(1, anggota.getJumlahBukuDipinjam());
+    }
+
+    @Test
+    @DisplayName("Antrian panjang untuk satu anggota selesai semua tanpa stack overflow")
+    void testAntrianPanjangSelesaiSemua() {
+        // Arrange: storage menahan semua panggilan sampai gerbang dibuka
+        CompletableFuture<Void> gerbang = new CompletableFuture<>();
+        ServicePerpustakaanAsync serviceAsync = new ServicePerpustakaanAsync(
+                new RepositoriBukuAsyncAdapter(repositori, perintah -> gerbang.thenRun(perintah)));
+        repositori.simpan(buatBuku("1234567890", 1));
+        List<CompletableFuture<Boolean>> daftarHasil = new ArrayList<>();
+        daftarHasil.add(serviceAsync.pinjamBuku("1234567890", anggota));
+        for (int i = 0; i < 20_000; i++) {
+            daftarHasil.add(serviceAsync.kembalikanBuku("1234567890", anggota));
+        }
+
+        // Act
+        gerbang.complete(null);
+
+        // Assert
+        CompletableFuture.allOf(daftarHasil.toArray(CompletableFuture<?>[]::new)).orTimeout(30, TimeUnit.SECONDS).join();
+        assertTrue(daftarHasil.get(0).join());
+        assertTrue(daftarHasil.get(1).join(), "Pengembalian pertama berhasil");
+        assertEquals(1, daftarHasil.stream().skip(1).filter(CompletableFuture::join).count());
+        assertEquals(0, anggota.getJumlahBukuDipinjam());
+    }
+
+    @Test
+    @DisplayName("Anggota tanpa ID ditolak dengan future false, bukan exception sinkron")
+    void testKembalikanAnggotaTanpaIdDitolak() {
+        // Arrange
+        repositori.simpan(buatBuku("1234567890", 1));
+        Anggota tanpaId = new Anggota(null, "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA);
+
+        // Act
+        CompletableFuture<Boolean> hasil = service.kembalikanBuku("1234567890", tanpaId);
+        CompletableFuture<List<Boolean>> hasilBatch = service.kembalikanBukuBatch(List.of("1234567890"), tanpaId);
+
+        // Assert
+        assertFalse(hasil.join());
+        assertEquals(List.of(false), hasilBatch.join());
+        assertFalse(service.pinjamBuku("1234567890", tanpaId).join());
+    }
+}
\ No newline at end of file
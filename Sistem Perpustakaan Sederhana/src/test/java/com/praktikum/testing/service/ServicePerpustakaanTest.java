@@ -2,6 +2,7 @@ package com.praktikum.testing.service;
 
 import com.praktikum.testing.model.Anggota;
 import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryBuku;
 import com.praktikum.testing.repository.RepositoriBuku;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +14,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -193,32 +200,31 @@ public class ServicePerpustakaanTest {
     @DisplayName("Pinjam buku berhasil ketika semua kondisi terpenuhi")
     void testPinjamBukuBerhasil() {
         Anggota anggota = anggotaTest;
-        Buku bukuTest = buatBukuTesting("1234567890", 5, 3); // Tersedia 3
 
-        when(mockRepositoriBuku.cariByIsbn("1234567890")).thenReturn(Optional.of(bukuTest));
-        when(mockRepositoriBuku.updateJumlahTersedia("1234567890", 2)).thenReturn(true); // 3-1=2
+        when(mockRepositoriBuku.kurangiTersedia("1234567890")).thenReturn(true);
 
         boolean hasil = servicePerpustakaan.pinjamBuku("1234567890", anggota);
 
         assertTrue(hasil, "Harus berhasil meminjam buku");
         assertTrue(anggota.getIdBukuDipinjam().contains("1234567890"));
-        verify(mockRepositoriBuku).cariByIsbn("1234567890");
-        verify(mockRepositoriBuku).updateJumlahTersedia("1234567890", 2);
+        // Stok dikurangi dalam satu langkah atomik, tanpa baca lalu tulis
+        verify(mockRepositoriBuku).kurangiTersedia("1234567890");
+        verify(mockRepositoriBuku, never()).cariByIsbn(anyString());
+        verify(mockRepositoriBuku, never()).updateJumlahTersedia(anyString(), anyInt());
     }
 
     @Test
     @DisplayName("Pinjam buku gagal ketika buku tidak tersedia")
     void testPinjamBukuGagalTidakTersedia() {
         Anggota anggota = anggotaTest;
-        Buku bukuTest = buatBukuTesting("1234567890", 5, 0); // Tersedia 0
 
-        when(mockRepositoriBuku.cariByIsbn("1234567890")).thenReturn(Optional.of(bukuTest));
+        when(mockRepositoriBuku.kurangiTersedia("1234567890")).thenReturn(false); // Tersedia 0
 
         boolean hasil = servicePerpustakaan.pinjamBuku("1234567890", anggota);
 
         assertFalse(hasil, "Tidak boleh meminjam buku yang tidak tersedia");
         assertFalse(anggota.getIdBukuDipinjam().contains("1234567890"));
-        verify(mockRepositoriBuku).cariByIsbn("1234567890");
+        verify(mockRepositoriBuku).kurangiTersedia("1234567890");
         verify(mockRepositoriBuku, never()).updateJumlahTersedia(anyString(), anyInt());
     }
 
@@ -254,18 +260,16 @@ public class ServicePerpustakaanTest {
     @DisplayName("Kembalikan buku berhasil")
     void testKembalikanBukuBerhasil() {
         Anggota anggota = anggotaTest;
-        Buku bukuTest = buatBukuTesting("1234567890", 5, 2); // Tersedia 2 sebelum kembali
 
         anggota.tambahBukuDipinjam("1234567890");
-        when(mockRepositoriBuku.cariByIsbn("1234567890")).thenReturn(Optional.of(bukuTest));
-        when(mockRepositoriBuku.updateJumlahTersedia("1234567890", 3)).thenReturn(true); // 2+1=3
+        when(mockRepositoriBuku.tambahTersedia("1234567890")).thenReturn(true);
 
         boolean hasil = servicePerpustakaan.kembalikanBuku("1234567890", anggota);
 
         assertTrue(hasil, "Harus berhasil mengembalikan buku");
         assertFalse(anggota.getIdBukuDipinjam().contains("1234567890"));
-        verify(mockRepositoriBuku).cariByIsbn("1234567890");
-        verify(mockRepositoriBuku).updateJumlahTersedia("1234567890", 3);
+        verify(mockRepositoriBuku).tambahTersedia("1234567890");
+        verify(mockRepositoriBuku, never()).updateJumlahTersedia(anyString(), anyInt());
     }
 
     @Test
@@ -313,4 +317,154 @@ public class ServicePerpustakaanTest {
         assertEquals(0, jumlah);
         verify(mockRepositoriBuku).cariByIsbn("9999999999");
     }
+
+    @Test
+    @DisplayName("Autocomplete judul diteruskan ke repository")
+    void testAutocompleteJudul() {
+        Buku bukuTest = buatBukuTesting("1234567890", 5, 5);
+        when(mockRepositoriBuku.autocompleteJudul("Pem", 5)).thenReturn(Arrays.asList(bukuTest));
+
+        List<Buku> hasil = servicePerpustakaan.autocompleteJudul("Pem", 5);
+
+        assertEquals(1, hasil.size());
+        verify(mockRepositoriBuku).autocompleteJudul("Pem", 5);
+    }
+
+    @Test
+    @DisplayName("Tambah buku batch - satu panggilan cek dan satu panggilan simpan")
+    void testTambahBukuBatch() {
+        Buku bukuBaru = buatBukuTesting("1234567890", 5, 5);
+        Buku bukuAda = buatBukuTesting("0987654321", 3, 3);
+        Buku bukuTidakValid = new Buku("123", "", "", 0, -1.0);
+        Buku bukuDuplikat = buatBukuTesting("1234567890", 2, 2);
+        when(mockRepositoriBuku.cariByIsbnBatch(any())).thenReturn(Map.of("0987654321", bukuAda));
+        when(mockRepositoriBuku.simpanBatch(List.of(bukuBaru))).thenReturn(List.of(true));
+
+        List<Boolean> hasil = servicePerpustakaan.tambahBukuBatch(
+                Arrays.asList(bukuBaru, bukuAda, bukuTidakValid, bukuDuplikat));
+
+        assertEquals(List.of(true, false, false, false), hasil);
+        verify(mockRepositoriBuku).cariByIsbnBatch(any());
+        verify(mockRepositoriBuku).simpanBatch(List.of(bukuBaru));
+        verify(mockRepositoriBuku, never()).cariByIsbn(anyString());
+        verify(mockRepositoriBuku, never()).simpan(any(Buku.class));
+    }
+
+    @Test
+    @DisplayName("Pinjam buku batch - dibatasi sisa kuota dan hasil per item")
+    void testPinjamBukuBatch() {
+        Anggota anggota = anggotaTest; // Mahasiswa, batas 5
+        anggota.tambahBukuDipinjam("1111111111");
+        anggota.tambahBukuDipinjam("2222222222");
+        anggota.tambahBukuDipinjam("3333333333"); // Sisa kuota 2
+        when(mockRepositoriBuku.kurangiTersediaBatch(List.of("4444444444", "5555555555")))
+                .thenReturn(List.of(true, false));
+
+        List<Boolean> hasil = servicePerpustakaan.pinjamBukuBatch(
+                Arrays.asList("1111111111", "4444444444", "5555555555", "6666666666"), anggota);
+
+        assertEquals(List.of(false, true, false, false), hasil,
+                "Sudah dipinjam, berhasil, stok habis, kuota habis");
+        assertTrue(anggota.getIdBukuDipinjam().contains("4444444444"));
+        assertFalse(anggota.getIdBukuDipinjam().contains("5555555555"));
+        verify(mockRepositoriBuku).kurangiTersediaBatch(anyList());
+        verify(mockRepositoriBuku, never()).kurangiTersedia(anyString());
+    }
+
+    @Test
+    @DisplayName("Pinjam buku batch gagal semua ketika anggota tidak aktif")
+    void testPinjamBukuBatchAnggotaTidakAktif() {
+        anggotaTest.setAktif(false);
+
+        List<Boolean> hasil = servicePerpustakaan.pinjamBukuBatch(List.of("1234567890"), anggotaTest);
+
+        assertEquals(List.of(false), hasil);
+        verifyNoInteractions(mockRepositoriBuku);
+    }
+
+    @Test
+    @DisplayName("Kembalikan buku batch - hanya buku yang dipinjam yang diproses")
+    void testKembalikanBukuBatch() {
+        Anggota anggota = anggotaTest;
+        anggota.tambahBukuDipinjam("1111111111");
+        anggota.tambahBukuDipinjam("2222222222");
+        when(mockRepositoriBuku.tambahTersediaBatch(List.of("1111111111", "2222222222")))
+                .thenReturn(List.of(true, true));
+
+        List<Boolean> hasil = servicePerpustakaan.kembalikanBukuBatch(
+                Arrays.asList("1111111111", "9999999999", "2222222222", "1111111111"), anggota);
+
+        assertEquals(List.of(true, false, true, false), hasil);
+        assertEquals(0, anggota.getJumlahBukuDipinjam());
+        verify(mockRepositoriBuku).tambahTersediaBatch(anyList());
+        verify(mockRepositoriBuku, never()).tambahTersedia(anyString());
+    }
+
+    @Test
+    @DisplayName("Mode thread-safe - anggota yang sama tidak bisa melewati batas pinjam")
+    void testModeThreadSafeBatasPinjamAnggota() throws InterruptedException {
+        // Arrange - 16 thread meminjam 64 buku berbeda untuk satu mahasiswa (batas 5)
+        MockRepositoryBuku repositori = new MockRepositoryBuku();
+        for (int i = 0; i < 64; i++) {
+            repositori.simpan(new Buku(String.format("97800000%05d", i), "Judul " + i, "John Doe", 1, 1000.0));
+        }
+        ServicePerpustakaan serviceAman = new ServicePerpustakaan(repositori, mockKalkulatorDenda, true);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch mulai = new CountDownLatch(1);
+        AtomicInteger berhasil = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 64; i++) {
+            String isbn = String.format("97800000%05d", i);
+            executor.submit(() -> {
+                mulai.await();
+                if (serviceAman.pinjamBuku(isbn, anggotaTest)) {
+                    berhasil.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(5, berhasil.get(), "Hanya sampai batas pinjam mahasiswa");
+        assertEquals(5, anggotaTest.getJumlahBukuDipinjam());
+        long stokTerpakai = repositori.cariSemua().stream().filter(buku -> !buku.isTersedia()).count();
+        assertEquals(5, stokTerpakai, "Stok yang berkurang harus sama dengan pinjaman anggota");
+    }
+
+    @Test
+    @DisplayName("Mode thread-safe - pinjam dan kembalikan paralel oleh banyak anggota tetap konsisten")
+    void testModeThreadSafeBanyakAnggota() throws InterruptedException {
+        // Arrange - 3 salinan diperebutkan 32 anggota, masing-masing pinjam lalu kembalikan berulang
+        MockRepositoryBuku repositori = new MockRepositoryBuku();
+        repositori.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 3, 150000.0));
+        ServicePerpustakaan serviceAman = new ServicePerpustakaan(repositori, mockKalkulatorDenda, true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger gagalKembali = new AtomicInteger();
+
+        // Act
+        for (int a = 0; a < 32; a++) {
+            Anggota anggota = new Anggota("A" + a, "Anggota " + a, "a" + a + "@univ.ac.id",
+                    "081234567890", Anggota.TipeAnggota.UMUM);
+            executor.submit(() -> {
+                for (int n = 0; n < 200; n++) {
+                    if (serviceAman.pinjamBuku("1234567890", anggota)
+                            && !serviceAman.kembalikanBuku("1234567890", anggota)) {
+                        gagalKembali.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(0, gagalKembali.get(), "Buku yang berhasil dipinjam harus bisa dikembalikan");
+        assertEquals(3, repositori.cariByIsbn("1234567890").get().getJumlahTersedia(),
+                "Semua salinan harus kembali tersedia");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.praktikum.testing.transaksi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Log Transaksi - Write-Ahead Log dan Group Commit")
+class LogTransaksiTest {
+
+    @TempDir
+    Path direktori;
+
+    @Test
+    @DisplayName("Record diputar ulang sesuai urutan tulis setelah log dibuka lagi")
+    void testReplaySesuaiUrutan() throws IOException {
+        // Arrange
+        Path berkas = direktori.resolve("transaksi-0.wal");
+        try (LogTransaksi log = LogTransaksi.buka(berkas, 0, record -> fail("Log baru harus kosong"))) {
+            log.tambah(RecordTransaksi.Jenis.PINJAM, "A001", "1234567890");
+            log.tambah(RecordTransaksi.Jenis.KEMBALI, "A001", "1234567890");
+            log.tambah(RecordTransaksi.Jenis.PINJAM, "A002", "0987654321");
+            log.sinkronkan();
+        }
+
+        // Act
+        List<String> hasil = new ArrayList<>();
+        try (LogTransaksi log = LogTransaksi.buka(berkas, 0, record -> hasil.add(record.toString()))) {
+            // Assert
+            assertEquals(List.of("PINJAM A001 1234567890", "KEMBALI A001 1234567890", "PINJAM A002 0987654321"), hasil);
+            assertEquals(3, log.getJumlahRecord());
+        }
+    }
+
+    @Test
+    @DisplayName("Ekor log yang tidak utuh dibuang dan log tetap bisa ditambah")
+    void testEkorRusakDibuang() throws IOException {
+        // Arrange
+        Path berkas = direktori.resolve("transaksi-0.wal");
+        try (LogTransaksi log = LogTransaksi.buka(berkas, 0, record -> { })) {
+            log.tambah(RecordTransaksi.Jenis.PINJAM, "A001", "1234567890");
+        }
+        long panjangUtuh = Files.size(berkas);
+        // Crash di tengah menulis record kedua: hanya panjang dan sebagian payload yang sampai
+        Files.write(berkas, new byte[]{0, 0, 0, 20, 1, 2, 3, 4, 0, 4}, StandardOpenOption.APPEND);
+
+        // Act
+        List<RecordTransaksi> hasil = new ArrayList<>();
+        try (LogTransaksi log = LogTransaksi.buka(berkas, 0, hasil::add)) {
+            assertEquals(panjangUtuh, Files.size(berkas), "Ekor rusak harus dipotong");
+            log.tambah(RecordTransaksi.Jenis.KEMBALI, "A001", "1234567890");
+        }
+        List<RecordTransaksi> setelahTambah = new ArrayList<>();
+        LogTransaksi.buka(berkas, 0, setelahTambah::add).close();
+
+        // Assert
+        assertEquals(1, hasil.size());
+        assertEquals(2, setelahTambah.size());
+        assertEquals(RecordTransaksi.Jenis.KEMBALI, setelahTambah.get(1).getJenis());
+    }
+
+    @Test
+    @DisplayName("Log dengan epoch berbeda ditolak")
+    void testEpochBerbedaDitolak() throws IOException {
+        // Arrange
+        Path berkas = direktori.resolve("transaksi-1.wal");
+        LogTransaksi.buka(berkas, 1, record -> { }).close();
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> LogTransaksi.buka(berkas, 2, record -> { }));
+    }
+
+    @Test
+    @DisplayName("Banyak thread yang menunggu bersamaan berbagi fsync (group commit)")
+    void testGroupCommit() throws Exception {
+        // Arrange
+        Path berkas = direktori.resolve("transaksi-0.wal");
+        int jumlahThread = 16;
+        int perThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        long jumlahFsync;
+
+        // Act
+        try (LogTransaksi log = LogTransaksi.buka(berkas, 0, record -> { })) {
+            List<Future<?>> daftarTugas = new ArrayList<>();
+            for (int t = 0; t < jumlahThread; t++) {
+                String idAnggota = "A" + t;
+                daftarTugas.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.tambah(RecordTransaksi.Jenis.PINJAM, idAnggota, String.format("978%010d", i));
+                        log.sinkronkan();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tugas : daftarTugas) {
+                tugas.get();
+            }
+            jumlahFsync = log.getJumlahFsync();
+        } finally {
+            executor.shutdown();
+        }
+        int[] jumlahPerAnggota = new int[jumlahThread];
+        LogTransaksi.buka(berkas, 0, record ->
+                jumlahPerAnggota[Integer.parseInt(record.getIdAnggota().substring(1))]++).close();
+
+        // Assert
+        for (int jumlah : jumlahPerAnggota) {
+            assertEquals(perThread, jumlah);
+        }
+        assertTrue(jumlahFsync < jumlahThread * perThread,
+                "Fsync " + jumlahFsync + " harus lebih sedikit dari jumlah record");
+    }
+}
@@ -0,0 +1,224 @@
+package com.praktikum.testing.transaksi;
+
+import com.praktikum.testing.model.Anggota;
+import com.praktikum.testing.model.Buku;
+import com.praktikum.testing.repository.MockRepositoryAnggota;
+import com.praktikum.testing.repository.MockRepositoryBuku;
+import com.praktikum.testing.service.KalkulatorDenda;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Service Perpustakaan Transaksional - Pemulihan Setelah Crash")
+class ServicePerpustakaanTransaksionalTest {
+
+    @TempDir
+    Path direktori;
+
+    private MockRepositoryBuku repositoriBuku;
+    private MockRepositoryAnggota repositoriAnggota;
+    private ServicePerpustakaanTransaksional service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repositoriBuku = new MockRepositoryBuku();
+        repositoriAnggota = new MockRepositoryAnggota();
+        service = buka(repositoriBuku, repositoriAnggota);
+
+        repositoriBuku.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 2, 150000.0));
+        repositoriBuku.simpan(new Buku("0987654321", "Algoritma", "Jane Doe", 1, 99000.0));
+        repositoriAnggota.simpan(new Anggota("A001", "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA));
+        repositoriAnggota.simpan(new Anggota("A002", "Jane Dosen", "jane@dosen.ac.id",
+                "081298765432", Anggota.TipeAnggota.DOSEN));
+        service.checkpoint();
+    }
+
+    private ServicePerpustakaanTransaksional buka(MockRepositoryBuku buku, MockRepositoryAnggota anggota)
+            throws IOException {
+        return new ServicePerpustakaanTransaksional(direktori, buku, anggota, new KalkulatorDenda(), true);
+    }
+
+    private Anggota anggota(String id) {
+        return repositoriAnggota.cariById(id).get();
+    }
+
+    // Crash disimulasikan dengan meninggalkan service tanpa close lalu membuka ulang ke repositori kosong
+    private ServicePerpustakaanTransaksional restart() throws IOException {
+        repositoriBuku = new MockRepositoryBuku();
+        repositoriAnggota = new MockRepositoryAnggota();
+        service = buka(repositoriBuku, repositoriAnggota);
+        return service;
+    }
+
+    @Test
+    @DisplayName("Peminjaman dan pengembalian yang sudah berhasil tetap ada setelah crash")
+    void testTransaksiBertahanSetelahCrash() throws IOException {
+        // Arrange
+        assertTrue(service.pinjamBuku("1234567890", anggota("A001")));
+        assertTrue(service.pinjamBuku("0987654321", anggota("A001")));
+        assertTrue(service.pinjamBuku("1234567890", anggota("A002")));
+        assertTrue(service.kembalikanBuku("0987654321", anggota("A001")));
+        assertEquals(Arrays.asList(true, false), service.pinjamBukuBatch(
+                Arrays.asList("0987654321", "1234567890"), anggota("A002")));
+
+        // Act
+        ServicePerpustakaanTransaksional pulih = restart();
+
+        // Assert
+        assertEquals(5, pulih.getJumlahDipulihkan());
+        assertEquals(0, pulih.getJumlahDilewati());
+        assertEquals(0, pulih.getJumlahTersedia("1234567890"));
+        assertEquals(0, pulih.getJumlahTersedia("0987654321"));
+        assertEquals(List.of("1234567890"), anggota("A001").getIdBukuDipinjam());
+        assertEquals(List.of("1234567890", "0987654321"), anggota("A002").getIdBukuDipinjam());
+    }
+
+    @Test
+    @DisplayName("Perubahan yang belum tercatat di log batal setelah crash, kedua sisi tetap sepakat")
+    void testPerubahanTanpaLogBatal() throws IOException {
+        // Arrange: crash setelah stok dikurangi tetapi sebelum anggota diubah dan record ditulis
+        assertTrue(service.pinjamBuku("1234567890", anggota("A001")));
+        repositoriBuku.kurangiTersedia("1234567890");
+
+        // Act
+        ServicePerpustakaanTransaksional pulih = restart();
+
+        // Assert
+        assertEquals(1, pulih.getJumlahTersedia("1234567890"), "Hanya peminjaman yang tercatat yang bertahan");
+        assertEquals(List.of("1234567890"), anggota("A001").getIdBukuDipinjam());
+        assertTrue(anggota("A002").getIdBukuDipinjam().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Record terakhir yang tidak utuh dibuang saat pemulihan")
+    void testRecordTidakUtuhDibuang() throws IOException {
+        // Arrange
+        assertTrue(service.pinjamBuku("1234567890", anggota("A001")));
+        Path log = direktori.resolve("transaksi-1.wal");
+        Files.write(log, new byte[]{0, 0, 0, 30, 7, 7}, StandardOpenOption.APPEND);
+
+        // Act
+        ServicePerpustakaanTransaksional pulih = restart();
+
+        // Assert
+        assertEquals(1, pulih.getJumlahDipulihkan());
+        assertEquals(1, pulih.getJumlahTersedia("1234567890"));
+        assertTrue(pulih.pinjamBuku("1234567890", anggota("A002")), "Log tetap bisa ditambah setelah ekor dibuang");
+    }
+
+    @Test
+    @DisplayName("Checkpoint memulai log baru dan menghapus berkas epoch lama")
+    void testCheckpoint() throws IOException {
+        // Arrange
+        assertTrue(service.pinjamBuku("1234567890", anggota("A001")));
+
+        // Act
+        service.checkpoint();
+        assertTrue(service.pinjamBuku("0987654321", anggota("A002")));
+        ServicePerpustakaanTransaksional pulih = restart();
+
+        // Assert
+        assertTrue(Files.exists(direktori.resolve("katalog-2.snap")));
+        assertFalse(Files.exists(direktori.resolve("katalog-1.snap")));
+        assertFalse(Files.exists(direktori.resolve("transaksi-1.wal")));
+        assertEquals(1, pulih.getJumlahDipulihkan(), "Hanya record setelah checkpoint yang diputar ulang");
+        assertEquals(1, pulih.getJumlahTersedia("1234567890"));
+        assertEquals(0, pulih.getJumlahTersedia("0987654321"));
+        assertEquals(List.of("0987654321"), anggota("A002").getIdBukuDipinjam());
+    }
+
+    @Test
+    @DisplayName("Record untuk anggota yang belum masuk checkpoint dilewati di kedua sisi")
+    void testRecordTanpaAnggotaDilewati() throws IOException {
+        // Arrange
+        Anggota baru = new Anggota("A003", "Budi", "budi@mail.com", "081200000000", Anggota.TipeAnggota.UMUM);
+        repositoriAnggota.simpan(baru);
+        assertTrue(service.pinjamBuku("0987654321", baru));
+
+        // Act
+        ServicePerpustakaanTransaksional pulih = restart();
+
+        // Assert
+        assertEquals(1, pulih.getJumlahDilewati());
+        assertEquals(1, pulih.getJumlahTersedia("0987654321"), "Stok tidak dikurangi tanpa anggotanya");
+    }
+
+    @Test
+    @DisplayName("Peminjaman paralel berbagi fsync dan seluruhnya pulih")
+    void testPeminjamanParalel() throws Exception {
+        // Arrange
+        int jumlahAnggota = 16;
+        repositoriBuku.simpan(new Buku("1111111111", "Stok Besar", "Penulis", 1_000, 1000.0));
+        List<Anggota> daftarAnggota = new ArrayList<>();
+        for (int i = 0; i < jumlahAnggota; i++) {
+            Anggota a = new Anggota(String.format("B%03d", i), "Anggota", "b" + i + "@mail.com",
+                    String.format("08120000%04d", i), Anggota.TipeAnggota.DOSEN);
+            repositoriAnggota.simpan(a);
+            daftarAnggota.add(a);
+        }
+        service.checkpoint();
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahAnggota);
+
+        // Act
+        try {
+            List<Future<?>> daftarTugas = new ArrayList<>();
+            for (Anggota a : daftarAnggota) {
+                daftarTugas.add(executor.submit(() -> {
+                    for (int i = 0; i < 20; i++) {
+                        assertTrue(service.pinjamBuku("1111111111", a));
+                        assertTrue(service.kembalikanBuku("1111111111", a));
+                    }
+                    assertTrue(service.pinjamBuku("1111111111", a));
+                    return null;
+                }));
+            }
+            for (Future<?> tugas : daftarTugas) {
+                tugas.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long jumlahRecord = service.getLog().getJumlahRecord();
+        long jumlahFsync = service.getLog().getJumlahFsync();
+        ServicePerpustakaanTransaksional pulih = restart();
+
+        // Assert
+        assertEquals(jumlahAnggota * 41, jumlahRecord);
+        assertTrue(jumlahFsync < jumlahRecord, "Fsync " + jumlahFsync + " dari " + jumlahRecord + " record");
+        assertEquals(1_000 - jumlahAnggota, pulih.getJumlahTersedia("1111111111"));
+        for (int i = 0; i < jumlahAnggota; i++) {
+            assertEquals(List.of("1111111111"), anggota(String.format("B%03d", i)).getIdBukuDipinjam());
+        }
+    }
+
+    @Test
+    @DisplayName("Sisa snapshot .tmp dari checkpoint yang gagal dihapus saat service dibuka")
+    void testSisaSnapshotSementaraDihapus() throws IOException {
+        // Arrange - checkpoint epoch 2 crash sebelum rename
+        Path sisa = direktori.resolve("katalog-2.snap.tmp");
+        Files.write(sisa, new byte[]{1, 2, 3});
+
+        // Act
+        ServicePerpustakaanTransaksional pulih = restart();
+
+        // Assert
+        assertFalse(Files.exists(sisa));
+        assertTrue(Files.exists(direktori.resolve("katalog-1.snap")), "Checkpoint utuh tetap dipakai");
+        assertEquals(2, pulih.getJumlahTersedia("1234567890"));
+    }
+}
\ No newline at end of file
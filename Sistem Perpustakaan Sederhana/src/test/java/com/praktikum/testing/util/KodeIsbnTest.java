@@ -0,0 +1,93 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kode ISBN")
+class KodeIsbnTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1234567890", "9781234567897", "0000000001", "0", "12345678901234567"})
+    @DisplayName("Kode harus bisa dikembalikan ke string semula")
+    void testBolakBalik(String isbn) {
+        // Act
+        long kode = KodeIsbn.kode(isbn);
+
+        // Assert
+        assertTrue(kode >= 0);
+        assertEquals(isbn, KodeIsbn.keString(kode));
+    }
+
+    @Test
+    @DisplayName("Nol di depan harus menghasilkan kode berbeda")
+    void testNolDiDepan() {
+        assertNotEquals(KodeIsbn.kode("0123456789"), KodeIsbn.kode("123456789"));
+        assertNotEquals(KodeIsbn.kode("00"), KodeIsbn.kode("0"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "123-456-789", "B001", "978123456789012345"})
+    @DisplayName("Teks bukan angka atau terlalu panjang tidak bisa dikodekan")
+    void testTidakBisaDikode(String teks) {
+        assertEquals(KodeIsbn.TIDAK_BISA_DIKODE, KodeIsbn.kode(teks));
+    }
+
+    @Test
+    @DisplayName("Null tidak bisa dikodekan dan kode negatif ditolak")
+    void testNullDanKodeNegatif() {
+        assertEquals(KodeIsbn.TIDAK_BISA_DIKODE, KodeIsbn.kode(null));
+        assertThrows(IllegalArgumentException.class, () -> KodeIsbn.keString(KodeIsbn.TIDAK_BISA_DIKODE));
+    }
+
+    @Test
+    @DisplayName("Kunci urut mengikuti urutan string ISBN dan bisa dikembalikan ke kode")
+    void testKunciUrutSamaDenganUrutanString() {
+        // Arrange
+        List<String> daftar = new ArrayList<>(List.of("0", "00", "1", "10", "9", "99999999999999999",
+                "12345678901234567", "1234567890", "123456789"));
+        Random acak = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            int panjang = 1 + acak.nextInt(KodeIsbn.PANJANG_MAKS);
+            StringBuilder teks = new StringBuilder();
+            for (int j = 0; j < panjang; j++) {
+                teks.append((char) ('0' + acak.nextInt(10)));
+            }
+            daftar.add(teks.toString());
+        }
+
+        // Act & Assert
+        for (String a : daftar) {
+            long kunciA = KodeIsbn.kunciUrut(KodeIsbn.kode(a));
+            assertEquals(KodeIsbn.kode(a), KodeIsbn.dariKunciUrut(kunciA));
+            for (int k = 0; k < 20; k++) {
+                String b = daftar.get(acak.nextInt(daftar.size()));
+                long kunciB = KodeIsbn.kunciUrut(KodeIsbn.kode(b));
+                assertEquals(Integer.signum(a.compareTo(b)), Long.signum(Long.compare(kunciA, kunciB)), a + " vs " + b);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Batas kunci urut untuk teks apa pun memisahkan ISBN angka yang lebih kecil dan lebih besar")
+    void testBatasKunciUrut() {
+        // Arrange
+        String[] angka = {"0", "1", "12", "123", "1239", "124", "978", "9780", "97899999999999999", "979", "9"};
+        String[] batas = {"", "-", "1", "12-", "12A", "123", "978-0", "978A", "97899999999999999X", "A", "z"};
+
+        // Act & Assert
+        for (String teks : batas) {
+            long kunciBatas = KodeIsbn.batasKunciUrut(teks);
+            for (String isbn : angka) {
+                boolean lebihBesar = KodeIsbn.kunciUrut(KodeIsbn.kode(isbn)) > kunciBatas;
+                assertEquals(isbn.compareTo(teks) > 0, lebihBesar, isbn + " dibanding batas " + teks);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.praktikum.testing.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kunci Bergaris")
+class KunciBergarisTest {
+
+    @Test
+    @DisplayName("Jumlah garis dibulatkan ke pangkat dua")
+    void testJumlahGaris() {
+        assertEquals(1, new KunciBergaris(1).getJumlahGaris());
+        assertEquals(64, new KunciBergaris(50).getJumlahGaris());
+        assertEquals(64, new KunciBergaris(64).getJumlahGaris());
+        assertThrows(IllegalArgumentException.class, () -> new KunciBergaris(0));
+    }
+
+    @Test
+    @DisplayName("Kunci yang sama selalu mendapat lock yang sama")
+    void testKunciSamaLockSama() {
+        KunciBergaris kunci = new KunciBergaris(16);
+        assertSame(kunci.untuk("1234567890"), kunci.untuk(new String("1234567890")));
+    }
+
+    @Test
+    @DisplayName("untukSemua terurut berdasarkan indeks garis, tanpa duplikat dan null")
+    void testUntukSemuaTerurutTanpaDuplikat() {
+        // Arrange
+        KunciBergaris kunci = new KunciBergaris(8);
+        List<String> daftarKunci = Arrays.asList("z", "a", null, "a", "m", "1234567890", "z");
+
+        // Act
+        List<Lock> hasil = kunci.untukSemua(daftarKunci);
+
+        // Assert
+        for (int i = 1; i < hasil.size(); i++) {
+            assertNotSame(hasil.get(i - 1), hasil.get(i), "Tidak boleh ada lock ganda");
+        }
+        int indeksSebelum = -1;
+        for (Lock lock : hasil) {
+            int indeks = indeksLock(kunci, lock);
+            assertTrue(indeks > indeksSebelum, "Lock harus terurut berdasarkan indeks garis");
+            indeksSebelum = indeks;
+        }
+        assertTrue(hasil.contains(kunci.untuk("a")));
+        assertTrue(hasil.contains(kunci.untuk("1234567890")));
+    }
+
+    private static int indeksLock(KunciBergaris kunci, Lock lock) {
+        for (String kandidat : new String[]{"z", "a", "m", "1234567890"}) {
+            if (kunci.untuk(kandidat) == lock) {
+                return kunci.indeks(kandidat);
+            }
+        }
+        throw new AssertionError("Lock tidak dikenal");
+    }
+}
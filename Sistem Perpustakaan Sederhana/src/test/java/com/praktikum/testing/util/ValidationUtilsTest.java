@@ -6,6 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -150,4 +151,92 @@ public class ValidationUtilsTest {
         assertTrue(ValidationUtils.isAngkaNonNegatif(10.0));
         assertFalse(ValidationUtils.isAngkaNonNegatif(-0.1));
     }
+
+    @Test
+    @DisplayName("Validator manual harus memberi hasil yang sama dengan versi regex")
+    void testHasilSamaDenganRegex() {
+        // Arrange: string acak dari alfabet yang relevan untuk email, telepon, dan ISBN
+        Random random = new Random(42);
+        String alfabet = "01234567890123456789012345678901234567890123456789+-@._%aZxy \t";
+        int jumlahValid = 0;
+
+        for (int n = 0; n < 200_000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int panjang = random.nextInt(16);
+            for (int i = 0; i < panjang; i++) {
+                sb.append(alfabet.charAt(random.nextInt(alfabet.length())));
+            }
+            // Sisipkan awalan yang sering valid agar cabang positif ikut teruji
+            String teks = switch (n % 4) {
+                case 0 -> "08" + sb;
+                case 1 -> "+628" + sb;
+                case 2 -> "a@b." + sb;
+                default -> sb.toString();
+            };
+
+            // Act & Assert
+            assertEquals(emailRegex(teks), ValidationUtils.isValidEmail(teks), "Email: [" + teks + "]");
+            assertEquals(teleponRegex(teks), ValidationUtils.isValidNomorTelepon(teks), "Telepon: [" + teks + "]");
+            assertEquals(isbnRegex(teks), ValidationUtils.isValidISBN(teks), "ISBN: [" + teks + "]");
+            assertEquals(teks.trim().isEmpty(), !ValidationUtils.isValidString(teks), "String: [" + teks + "]");
+            if (teleponRegex(teks) || isbnRegex(teks) || emailRegex(teks)) {
+                jumlahValid++;
+            }
+        }
+
+        assertTrue(jumlahValid > 1000, "Input acak harus cukup sering menghasilkan data valid");
+    }
+
+    @Test
+    @DisplayName("Check digit ISBN-10 dan ISBN-13 harus diverifikasi")
+    void testISBNChecksum() {
+        assertTrue(ValidationUtils.isValidISBNChecksum("0-306-40615-2"));
+        assertTrue(ValidationUtils.isValidISBNChecksum("978-0-306-40615-7"));
+        assertTrue(ValidationUtils.isValidISBNChecksum("0-8044-2957-X"));
+        assertTrue(ValidationUtils.isValidISBNChecksum("080442957x"));
+
+        assertFalse(ValidationUtils.isValidISBNChecksum(null));
+        assertFalse(ValidationUtils.isValidISBNChecksum("0-306-40615-3"), "Check digit salah");
+        assertFalse(ValidationUtils.isValidISBNChecksum("978-0-306-40615-8"), "Check digit salah");
+        assertFalse(ValidationUtils.isValidISBNChecksum("1234567890"), "Format benar tapi checksum salah");
+        assertFalse(ValidationUtils.isValidISBNChecksum("08044X2957"), "X hanya boleh di akhir");
+        assertFalse(ValidationUtils.isValidISBNChecksum("978030640615X"), "ISBN-13 tidak mengenal X");
+    }
+
+    @Test
+    @DisplayName("ISBN harus bisa dikanonikkan menjadi ISBN-13")
+    void testKeIsbn13() {
+        assertEquals("9780306406157", ValidationUtils.keIsbn13("0-306-40615-2"));
+        assertEquals("9780306406157", ValidationUtils.keIsbn13("978 0 306 40615 7"));
+        assertEquals("9780804429573", ValidationUtils.keIsbn13("0-8044-2957-X"));
+        assertNull(ValidationUtils.keIsbn13("1234567890"));
+        assertNull(ValidationUtils.keIsbn13(null));
+    }
+
+    @Test
+    @DisplayName("Email dan telepon harus bisa dinormalisasi untuk indeks unik")
+    void testNormalisasiKontak() {
+        assertEquals("john@student.ac.id", ValidationUtils.normalisasiEmail("John@Student.AC.ID"));
+        assertNull(ValidationUtils.normalisasiEmail("bukan-email"));
+        assertEquals("081234567890", ValidationUtils.normalisasiTelepon("+62 812-3456-7890"));
+        assertEquals("081234567890", ValidationUtils.normalisasiTelepon("0812 3456 7890"));
+        assertNull(ValidationUtils.normalisasiTelepon("12345"));
+        assertNull(ValidationUtils.normalisasiTelepon(null));
+    }
+
+    // Implementasi regex lama, dipakai sebagai pembanding
+    private static boolean emailRegex(String email) {
+        return !email.trim().isEmpty()
+                && email.matches("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$");
+    }
+
+    private static boolean teleponRegex(String telepon) {
+        return !telepon.trim().isEmpty()
+                && telepon.replaceAll("[\\s\\-]+", "").matches("^(08|\\+628)\\d{8,11}$");
+    }
+
+    private static boolean isbnRegex(String isbn) {
+        String bersih = isbn.replaceAll("[\\s\\-]+", "");
+        return !isbn.trim().isEmpty() && (bersih.matches("^\\d{10}$") || bersih.matches("^\\d{13}$"));
+    }
 }
\ No newline at end of file